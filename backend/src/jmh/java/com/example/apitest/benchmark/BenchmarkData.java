@@ -0,0 +1,157 @@
+package com.example.apitest.benchmark;
+
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineFolder;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.entity.StepExecution;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크 입력 데이터. 실제 파이프라인과 비슷한 크기와 모양의 본문, 컨텍스트, 엔티티 그래프를 만든다.
+ */
+final class BenchmarkData {
+
+    static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.payload.signature";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 변수 치환이 items 개수만큼 들어가는 요청 본문 템플릿 (항목당 약 150바이트).
+     */
+    static String requestBodyTemplate(int items) {
+        StringBuilder body = new StringBuilder("{\"auth\":\"{{token}}\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(i)
+                .append(",\"name\":\"item-").append(i)
+                .append("\",\"ref\":\"{{var").append(i % 50).append("}}\"")
+                .append(",\"tag\":\"{{tag").append(i % 7).append(":none}}\"")
+                .append(",\"description\":\"Lorem ipsum dolor sit amet, consectetur adipiscing elit\"}");
+        }
+        return body.append("]}").toString();
+    }
+
+    /**
+     * 앞선 스텝들이 추출한 값이 쌓인 실행 컨텍스트.
+     */
+    static Map<String, Object> context() {
+        Map<String, Object> context = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            context.put("var" + i, "value-" + i);
+        }
+        context.put("token", TOKEN);
+        context.put("userId", "42");
+        context.put("orderId", "1001");
+        return context;
+    }
+
+    /**
+     * 목록 조회 API 응답 형태의 JSON (항목당 약 200바이트).
+     */
+    static String responseBody(int items) {
+        StringBuilder body = new StringBuilder("{\"status\":\"ok\",\"data\":{\"token\":\"").append(TOKEN)
+                .append("\",\"user\":{\"id\":42,\"name\":\"alice\"},\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(i)
+                .append(",\"status\":\"").append(i % 3 == 0 ? "active" : "inactive")
+                .append("\",\"price\":").append(i * 10)
+                .append(",\"owner\":{\"id\":").append(i % 17).append(",\"name\":\"owner-").append(i % 17).append("\"}")
+                .append(",\"description\":\"Lorem ipsum dolor sit amet, consectetur adipiscing elit\"}");
+        }
+        return body.append("],\"total\":").append(items).append("}}").toString();
+    }
+
+    /**
+     * 일반적인 스텝의 추출 규칙 (단일 값, 배열 인덱스, 와일드카드, 필터, 함수).
+     */
+    static String extractionRules() {
+        return "{\"token\":\"data.token\",\"userId\":\"$.data.user.id\",\"firstItem\":\"$.data.items[0].id\","
+                + "\"itemIds\":\"$.data.items[*].id\",\"activeIds\":\"$.data.items[?(@.status == 'active')].id\","
+                + "\"count\":\"$.data.items.length()\"}";
+    }
+
+    static String headersJson() {
+        return "{\"Authorization\":\"Bearer {{token}}\",\"Content-Type\":\"application/json\",\"Accept\":\"application/json\","
+                + "\"X-Request-Id\":\"{{orderId}}\",\"X-User-Id\":\"{{userId}}\",\"X-Client\":\"feature-test\"}";
+    }
+
+    static String paramsJson() {
+        return "{\"page\":\"1\",\"size\":\"50\",\"userId\":\"{{userId}}\",\"sort\":\"createdAt,desc\",\"status\":\"active\"}";
+    }
+
+    static ApiItem apiItem(long id, ApiItem.HttpMethod method, int bodyItems) {
+        ApiItem apiItem = new ApiItem();
+        apiItem.setId(id);
+        apiItem.setName("api-" + id);
+        apiItem.setMethod(method);
+        apiItem.setUrl("https://api.example.com/users/{{userId}}/orders/{{orderId}}");
+        apiItem.setRequestHeaders(headersJson());
+        apiItem.setRequestParams(paramsJson());
+        apiItem.setRequestBody(bodyItems > 0 ? requestBodyTemplate(bodyItems) : null);
+        apiItem.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return apiItem;
+    }
+
+    /**
+     * 폴더 하나에 pipelines 개의 파이프라인, 파이프라인마다 stepsPerPipeline 개의 스텝.
+     */
+    static List<Pipeline> pipelines(PipelineFolder folder, int pipelines, int stepsPerPipeline, List<PipelineStep> allSteps) {
+        List<Pipeline> result = new ArrayList<>(pipelines);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int p = 0; p < pipelines; p++) {
+            Pipeline pipeline = new Pipeline("pipeline-" + p, "benchmark pipeline " + p, folder);
+            pipeline.setId((long) p + 1);
+            pipeline.setCreatedAt(now);
+            pipeline.setUpdatedAt(now);
+            for (int s = 0; s < stepsPerPipeline; s++) {
+                PipelineStep step = new PipelineStep(pipeline, apiItem((long) s + 1, ApiItem.HttpMethod.POST, 0), s + 1);
+                step.setId((long) p * stepsPerPipeline + s + 1);
+                step.setStepName("step-" + s);
+                allSteps.add(step);
+            }
+            result.add(pipeline);
+        }
+        return result;
+    }
+
+    /**
+     * 본문이 StepExecution 에 그대로 남아 있는 (blob 저장소를 거치지 않는) 스텝 실행 기록.
+     */
+    static List<StepExecution> stepExecutions(int count, String requestData, String responseData) {
+        List<StepExecution> executions = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            PipelineStep step = new PipelineStep(null, apiItem((long) i + 1, ApiItem.HttpMethod.GET, 0), i + 1);
+            step.setId((long) i + 1);
+            step.setStepName("step-" + i);
+            StepExecution execution = new StepExecution();
+            execution.setId((long) i + 1);
+            execution.setPipelineStep(step);
+            execution.setStepOrder(i + 1);
+            execution.setStepName(step.getStepName());
+            execution.setStatus(StepExecution.StepStatus.SUCCESS);
+            execution.setStartedAt(now);
+            execution.setCompletedAt(now.plusNanos(25_000_000));
+            execution.setHttpStatus(200);
+            execution.setResponseTime(25L);
+            execution.setAttempts(1);
+            execution.setRequestData(requestData);
+            execution.setResponseData(responseData);
+            execution.setExtractedData("{\"token\":\"" + TOKEN + "\",\"userId\":\"42\"}");
+            executions.add(execution);
+        }
+        return executions;
+    }
+}
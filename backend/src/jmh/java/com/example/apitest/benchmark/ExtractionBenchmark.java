@@ -0,0 +1,61 @@
+package com.example.apitest.benchmark;
+
+import com.example.apitest.service.pipeline.CompiledExtractionRules;
+import com.example.apitest.service.pipeline.ExtractionEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답에서 값 추출 (기존 extractData/extractValueByPath 자리).
+ * tree 는 본문 문자열을 readTree 한 뒤 규칙을 적용하는 일반 경로, streaming 은 본문을 남기지 않는 스텝의 스트리밍 경로다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExtractionBenchmark {
+
+    // 응답 항목 수: 5 이면 약 1KB, 5000 이면 약 1MB
+    @Param({"5", "5000"})
+    public int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CompiledExtractionRules rules;
+    private String body;
+    private byte[] bodyBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        rules = new ExtractionEngine().compile(BenchmarkData.extractionRules());
+        body = BenchmarkData.responseBody(items);
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<String, Object> tree() throws IOException {
+        return rules.extract(objectMapper.readTree(body));
+    }
+
+    @Benchmark
+    public Map<String, Object> streaming() throws IOException {
+        return rules.extract(new ByteArrayInputStream(bodyBytes), objectMapper);
+    }
+
+    // 추출 결과를 StepExecution.extractedData 로 직렬화하는 비용까지 포함
+    @Benchmark
+    public String treeAndSerialize() throws IOException {
+        return objectMapper.writeValueAsString(rules.extract(objectMapper.readTree(body)));
+    }
+}
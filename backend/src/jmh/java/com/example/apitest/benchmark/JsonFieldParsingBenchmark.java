@@ -0,0 +1,70 @@
+package com.example.apitest.benchmark;
+
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.service.pipeline.ApiItemTemplates;
+import com.example.apitest.service.pipeline.CompiledTemplate;
+import com.example.apitest.service.pipeline.TemplateEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiItem 의 헤더/파라미터 JSON 처리. 요청마다 readTree 하던 기존 방식과, 컴파일해 둔 필드를 렌더링만 하는 현재 방식을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonFieldParsingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TemplateEngine templateEngine = new TemplateEngine();
+    private String headersJson;
+    private String paramsJson;
+    private ApiItem apiItem;
+    private ApiItemTemplates templates;
+    private Map<String, Object> context;
+
+    @Setup
+    public void setUp() throws IOException {
+        headersJson = BenchmarkData.headersJson();
+        paramsJson = BenchmarkData.paramsJson();
+        apiItem = BenchmarkData.apiItem(1L, ApiItem.HttpMethod.GET, 0);
+        templates = templateEngine.compile(apiItem);
+        context = BenchmarkData.context();
+    }
+
+    @Benchmark
+    public void readTree(Blackhole blackhole) throws IOException {
+        JsonNode headers = objectMapper.readTree(headersJson);
+        JsonNode params = objectMapper.readTree(paramsJson);
+        blackhole.consume(headers);
+        blackhole.consume(params);
+    }
+
+    @Benchmark
+    public void renderCompiledFields(Blackhole blackhole) {
+        for (Map.Entry<String, CompiledTemplate> header : templates.getHeaders().entrySet()) {
+            blackhole.consume(templateEngine.render(header.getValue(), context));
+        }
+        for (Map.Entry<String, CompiledTemplate> param : templates.getParams().entrySet()) {
+            blackhole.consume(templateEngine.render(param.getValue(), context));
+        }
+    }
+
+    // ApiItem 이 수정되어 캐시가 무효화될 때 한 번 드는 비용
+    @Benchmark
+    public ApiItemTemplates compileApiItem() throws IOException {
+        return templateEngine.compile(apiItem);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.apitest.benchmark;
+
+import com.example.apitest.dto.pipeline.response.PipelineFolderDTO;
+import com.example.apitest.dto.pipeline.response.StepExecutionDTO;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineFolder;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.mapper.PipelineMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 API 의 DTO 변환. 실행 상세(스텝 실행 목록)와 폴더 목록(파이프라인별 스텝 수)을 큰 그래프에서 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineMapperBenchmark {
+
+    // 스텝 실행 수이자 폴더의 전체 스텝 수 (파이프라인마다 10개)
+    @Param({"100", "2000"})
+    public int steps;
+
+    private final PipelineMapper pipelineMapper = new PipelineMapper();
+    private List<StepExecution> stepExecutions;
+    private PipelineFolder folder;
+    private List<Pipeline> pipelines;
+    private List<PipelineStep> allSteps;
+
+    @Setup
+    public void setUp() {
+        String requestData = "{\"url\":\"https://api.example.com/orders\",\"method\":\"POST\",\"headers\":{},\"body\":"
+                + "\"" + BenchmarkData.requestBodyTemplate(10).replace("\"", "\\\"") + "\"}";
+        stepExecutions = BenchmarkData.stepExecutions(steps, requestData, BenchmarkData.responseBody(20));
+
+        folder = new PipelineFolder("benchmark", "benchmark folder");
+        folder.setId(1L);
+        allSteps = new ArrayList<>(steps);
+        pipelines = BenchmarkData.pipelines(folder, steps / 10, 10, allSteps);
+    }
+
+    @Benchmark
+    public List<StepExecutionDTO> toStepExecutionDTOs() {
+        List<StepExecutionDTO> dtos = new ArrayList<>(stepExecutions.size());
+        for (StepExecution stepExecution : stepExecutions) {
+            dtos.add(pipelineMapper.toStepExecutionDTO(stepExecution));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public PipelineFolderDTO toPipelineFolderDTO() {
+        return pipelineMapper.toPipelineFolderDTO(folder, pipelines, allSteps);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.apitest.benchmark;
+
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.service.pipeline.ApiItemTemplates;
+import com.example.apitest.service.pipeline.PreparedStepRequest;
+import com.example.apitest.service.pipeline.StepRequestBuilder;
+import com.example.apitest.service.pipeline.TemplateEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * executeStep 이 요청마다 하는 일: 컴파일된 템플릿으로 HttpRequest 를 만들고, 기록용 requestData JSON 으로 직렬화한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestPreparationBenchmark {
+
+    @Param({"10", "500"})
+    public int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StepRequestBuilder stepRequestBuilder;
+    private ApiItemTemplates templates;
+    private PreparedStepRequest prepared;
+    private Map<String, Object> context;
+
+    @Setup
+    public void setUp() throws IOException {
+        TemplateEngine templateEngine = new TemplateEngine();
+        stepRequestBuilder = new StepRequestBuilder(templateEngine, 30_000);
+        templates = templateEngine.compile(BenchmarkData.apiItem(1L, ApiItem.HttpMethod.POST, items));
+        context = BenchmarkData.context();
+        prepared = stepRequestBuilder.prepare(templates, "POST", context, null);
+    }
+
+    @Benchmark
+    public PreparedStepRequest prepare() {
+        return stepRequestBuilder.prepare(templates, "POST", context, null);
+    }
+
+    @Benchmark
+    public String serializeRequestData() throws IOException {
+        return prepared.toRequestData(objectMapper);
+    }
+
+    @Benchmark
+    public String prepareAndSerialize() throws IOException {
+        return stepRequestBuilder.prepare(templates, "POST", context, null).toRequestData(objectMapper);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.apitest.benchmark;
+
+import com.example.apitest.service.pipeline.CompiledTemplate;
+import com.example.apitest.service.pipeline.TemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 본문 템플릿 치환 (기존 processTemplate 자리). 실행마다 하는 렌더링과 ApiItem 이 바뀔 때만 하는 컴파일을 나눠 잰다.
+ * renderLegacy 는 컴파일된 템플릿 이전의 정규식 치환으로, 같은 입력에서 render 와 비교하기 위한 기준값이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TemplateRenderingBenchmark {
+
+    // 본문 항목 수: 10 이면 약 1.5KB, 500 이면 약 75KB
+    @Param({"10", "500"})
+    public int items;
+
+    private final TemplateEngine templateEngine = new TemplateEngine();
+    private String source;
+    private CompiledTemplate template;
+    private Map<String, Object> context;
+
+    @Setup
+    public void setUp() {
+        source = BenchmarkData.requestBodyTemplate(items);
+        template = CompiledTemplate.compile(source);
+        context = BenchmarkData.context();
+        if (!legacyRender(source, context).equals(templateEngine.render(template, context))) {
+            throw new IllegalStateException("Legacy and compiled rendering differ");
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        return templateEngine.render(template, context);
+    }
+
+    @Benchmark
+    public CompiledTemplate compile() {
+        return CompiledTemplate.compile(source);
+    }
+
+    @Benchmark
+    public String renderLegacy() {
+        return legacyRender(source, context);
+    }
+
+    // PipelineExecutionService.processTemplate 의 기존 구현 (로그 출력 제외, 호출마다 패턴 컴파일)
+    private static String legacyRender(String template, Map<String, Object> context) {
+        Pattern pattern = Pattern.compile("\\{\\{([^:}]+)(?::([^}]*))?\\}\\}");
+        Matcher matcher = pattern.matcher(template);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            Object value = context.get(matcher.group(1));
+            String defaultValue = matcher.group(2);
+            String replacement = value != null ? value.toString() : (defaultValue != null ? defaultValue : "");
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
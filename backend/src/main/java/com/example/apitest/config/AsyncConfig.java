@@ -1,15 +1,23 @@
 package com.example.apitest.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
+
+    // 켜면 파이프라인 워커, 스텝 워커, 데이터셋 행 워커, UI 테스트 실행기가 작업마다 가상 스레드를 사용하고
+    // 풀 크기 설정은 동시 실행 수(세마포어) 상한으로만 쓰인다
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
     
     @Bean(name = "activityLoggingExecutor")
     public Executor activityLoggingExecutor() {
@@ -23,13 +31,136 @@ public class AsyncConfig {
     }
 
     @Bean(name = "uiTestExecutor")
-    public Executor uiTestExecutor() {
+    public Executor uiTestExecutor(@Value("${ui-test.executor.core-pool-size:3}") int corePoolSize,
+                                   @Value("${ui-test.executor.max-pool-size:10}") int maxPoolSize,
+                                   @Value("${ui-test.executor.queue-capacity:50}") int queueCapacity) {
+        if (virtualThreads) {
+            // Runner 호출은 응답을 기다리는 동안 가상 스레드만 점유
+            return new VirtualThreadTaskExecutor("UiTest-", maxPoolSize, queueCapacity, 0);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(3);  // 동시 실행 가능한 기본 쓰레드 수
-        executor.setMaxPoolSize(10);  // 최대 쓰레드 수
-        executor.setQueueCapacity(50); // 대기 큐 크기
+        executor.setCorePoolSize(corePoolSize);   // 동시 실행 가능한 기본 쓰레드 수
+        executor.setMaxPoolSize(maxPoolSize);     // 최대 쓰레드 수
+        executor.setQueueCapacity(queueCapacity); // 대기 큐 크기
         executor.setThreadNamePrefix("UiTest-");
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "pipelineExecutor")
+    public Executor pipelineExecutor(@Value("${pipeline.execution.worker-pool-size:4}") int workerPoolSize,
+                                     @Value("${pipeline.execution.max-queued:100}") int maxQueued) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("Pipeline-", workerPoolSize, maxQueued, 30);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize); // 동시에 실행되는 파이프라인 수
+        executor.setMaxPoolSize(workerPoolSize);
+        executor.setQueueCapacity(maxQueued);     // DB의 QUEUED 상한과 동일하게 유지
+        executor.setThreadNamePrefix("Pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 데이터셋 실행마다 파일을 읽어 행을 분배하는 코디네이터 (실행이 끝날 때까지 스레드 하나를 점유)
+    @Bean(name = "datasetCoordinatorExecutor")
+    public Executor datasetCoordinatorExecutor(@Value("${pipeline.dataset.max-active-runs:2}") int maxActiveRuns) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxActiveRuns);
+        executor.setMaxPoolSize(maxActiveRuns);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("DatasetRun-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "datasetRowExecutor")
+    public Executor datasetRowExecutor(@Value("${pipeline.dataset.worker-pool-size:8}") int workerPoolSize) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("DatasetRow-", workerPoolSize, Integer.MAX_VALUE, 30);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize); // 모든 데이터셋 실행이 공유하는 행 워커 수
+        executor.setMaxPoolSize(workerPoolSize);
+        // 실행별 세마포어가 대기 행 수를 concurrency 이하로 묶으므로 큐는 실행 수 * concurrency 를 넘지 않음
+        executor.setThreadNamePrefix("DatasetRow-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 폴더 일괄 실행에서 동기 엔진으로 실행되는 파이프라인의 워커 (실행별 concurrency 상한을 겸함)
+    @Bean(name = "folderRunExecutor")
+    public Executor folderRunExecutor(@Value("${pipeline.folder-run.worker-pool-size:8}") int workerPoolSize) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("FolderRun-", workerPoolSize, Integer.MAX_VALUE, 30);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize);
+        executor.setMaxPoolSize(workerPoolSize);
+        // 실행별 레인 수가 concurrency 로 묶이므로 큐는 실행 수 * concurrency 를 넘지 않음
+        executor.setThreadNamePrefix("FolderRun-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 병렬 실행 파이프라인의 스텝 워커 (파이프라인 워커 스레드가 의존 관계에 따라 스텝을 제출)
+    @Bean(name = "pipelineStepExecutor")
+    public Executor pipelineStepExecutor(@Value("${pipeline.dag.worker-pool-size:16}") int workerPoolSize) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("PipelineStep-", workerPoolSize, Integer.MAX_VALUE, 30);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize);
+        executor.setMaxPoolSize(workerPoolSize);
+        // 실행별로 동시에 제출되는 스텝 수가 max-parallel-steps 로 묶이므로 큐는 실행 수 * max-parallel-steps 를 넘지 않음
+        executor.setThreadNamePrefix("PipelineStep-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 비동기 엔진(pipeline.engine.mode=async)의 응답 처리 스레드 (응답, 지연, 재시도 대기 중에는 스레드를 점유하지 않음)
+    @Bean(name = "pipelineAsyncExecutor")
+    public Executor pipelineAsyncExecutor(@Value("${pipeline.engine.async.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("PipelineAsync-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 실행 기록 flush 전용 (비동기 엔진에서 DB 기록이 응답 처리 스레드를 막지 않도록 분리)
+    @Bean(name = "pipelineRecorderExecutor")
+    public Executor pipelineRecorderExecutor(@Value("${pipeline.engine.async.recorder-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("PipelineRecorder-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 부하 테스트 코디네이터 (테스트 하나가 끝날 때까지 스레드 하나를 점유, 가상 사용자 스레드는 테스트별로 생성)
+    @Bean(name = "loadTestExecutor")
+    public Executor loadTestExecutor(@Value("${pipeline.load-test.max-active-tests:2}") int maxActiveTests) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxActiveTests);
+        executor.setMaxPoolSize(maxActiveTests);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("LoadTest-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.apitest.config;
+
+import com.example.apitest.service.pipeline.FixtureHttpClient;
+import com.example.apitest.service.pipeline.HttpFixtureStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 파이프라인 실행에 공유되는 HttpClient 설정.
+ *
+ * 모든 실행이 하나의 클라이언트(커넥션 풀, selector 쓰레드)를 공유하므로 같은 호스트에 대한
+ * 실행은 keep-alive 커넥션을 재사용한다. 쿠키는 클라이언트가 아니라 실행별 ExecutionCookieJar가 관리한다.
+ * pipeline.http.fixtures.mode 가 record/replay 이면 응답을 녹화하거나 녹화한 응답을 재생하는 FixtureHttpClient 로 감싼다.
+ */
+@Configuration
+public class PipelineHttpClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineHttpClientConfig.class);
+
+    @Bean(name = "pipelineHttpClient")
+    public HttpClient pipelineHttpClient(@Value("${pipeline.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                         @Value("${pipeline.http.keep-alive-seconds:300}") int keepAliveSeconds,
+                                         @Value("${pipeline.http.max-pooled-connections:200}") int maxPooledConnections,
+                                         @Value("${pipeline.http.fixtures.mode:off}") String fixtureMode,
+                                         @Value("${pipeline.http.fixtures.file:fixtures/http-fixtures.jsonl}") String fixtureFile)
+            throws IOException {
+        // JDK HttpClient 커넥션 풀 설정은 시스템 프로퍼티로만 조정 가능 (명시적으로 지정된 값은 유지)
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+        setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(maxPooledConnections));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // 서버가 지원하지 않으면 HTTP/1.1로 협상
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        if (fixtureMode == null || fixtureMode.isBlank() || "off".equalsIgnoreCase(fixtureMode)) {
+            return client;
+        }
+
+        FixtureHttpClient.Mode mode = FixtureHttpClient.Mode.fromConfig(fixtureMode);
+        HttpFixtureStore store = HttpFixtureStore.load(Paths.get(fixtureFile), new ObjectMapper());
+        logger.warn("Pipeline HTTP fixtures in {} mode ({} fixtures loaded from {})", mode, store.size(), fixtureFile);
+        return new FixtureHttpClient(client, store, mode);
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.apitest.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 가상 스레드를 만드는 실행기 (spring.threads.virtual.enabled=true 일 때 사용).
+ *
+ * 동시 실행 수는 스레드 수가 아니라 세마포어로 제한한다. 자리를 기다리는 작업은 풀의 큐 대신 세마포어에서 대기하는
+ * 가상 스레드로 남으며(공정 세마포어라 들어온 순서대로 실행), 실행 중 + 대기 작업이 maxConcurrent + queueCapacity 를 넘으면
+ * ThreadPoolTaskExecutor 와 같이 TaskRejectedException 을 던진다.
+ */
+public class VirtualThreadTaskExecutor implements Executor, DisposableBean {
+
+    private final String threadNamePrefix;
+    private final Semaphore slots;
+    private final long maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long awaitTerminationSeconds;
+    private final ExecutorService executor;
+
+    /**
+     * @param queueCapacity          대기 작업 수 상한, Integer.MAX_VALUE 면 제한 없음
+     * @param awaitTerminationSeconds 종료 시 실행 중인 작업을 기다리는 시간 (0 이면 바로 중단)
+     */
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrent, int queueCapacity, long awaitTerminationSeconds) {
+        this.threadNamePrefix = threadNamePrefix;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.maxPending = queueCapacity == Integer.MAX_VALUE ? Long.MAX_VALUE : (long) Math.max(1, maxConcurrent) + queueCapacity;
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new TaskRejectedException(threadNamePrefix + " executor is saturated");
+        }
+        try {
+            executor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw new TaskRejectedException(threadNamePrefix + " executor is shut down", e);
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            // 자리를 기다리다 종료된 작업은 실행하지 않음
+            pending.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            slots.release();
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * 실행 중이거나 자리를 기다리는 작업 수.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -6,20 +6,30 @@ import com.example.apitest.dto.pipeline.request.BatchUpdateStepOrderRequest;
 import com.example.apitest.dto.pipeline.request.ReorderPipelinesRequest;
 import com.example.apitest.dto.pipeline.response.*;
 import com.example.apitest.entity.ApiKey;
+import com.example.apitest.entity.DatasetRun;
+import com.example.apitest.entity.FolderRun;
+import com.example.apitest.entity.LoadTestRun;
 import com.example.apitest.entity.Pipeline;
 import com.example.apitest.entity.PipelineExecution;
 import com.example.apitest.entity.PipelineFolder;
 import com.example.apitest.entity.PipelineStep;
 import com.example.apitest.entity.StepExecution;
 import com.example.apitest.mapper.PipelineMapper;
+import com.example.apitest.service.DatasetRunService;
+import com.example.apitest.service.FolderRunService;
+import com.example.apitest.service.LoadTestService;
 import com.example.apitest.service.PipelineService;
 import com.example.apitest.service.PipelineExecutionService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,6 +44,15 @@ public class PipelineController {
     @Autowired
     private PipelineExecutionService pipelineExecutionService;
 
+    @Autowired
+    private DatasetRunService datasetRunService;
+
+    @Autowired
+    private FolderRunService folderRunService;
+
+    @Autowired
+    private LoadTestService loadTestService;
+
     @Autowired
     private PipelineMapper pipelineMapper;
 
@@ -85,6 +104,68 @@ public class PipelineController {
         return ResponseEntity.notFound().build();
     }
 
+    // Folder Run Operations
+    @PostMapping("/folders/{id}/execute")
+    @RequireApiAuth
+    public ResponseEntity<FolderRunDTO> executeFolder(@PathVariable Long id,
+                                                      @RequestParam(required = false) Integer concurrency) {
+        try {
+            // 폴더의 활성 파이프라인을 concurrency 개씩 실행하며, 진행 상태와 집계 결과는 GET /folder-runs/{id}
+            FolderRun run = folderRunService.startRun(id, concurrency);
+            return ResponseEntity.accepted().body(pipelineMapper.toFolderRunDTO(run));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid folder run request: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            System.err.println("Folder run rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            System.err.println("Error starting folder run: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/folders/{id}/runs")
+    @RequireApiAuth
+    public ResponseEntity<List<FolderRunDTO>> getFolderRuns(@PathVariable Long id) {
+        try {
+            List<FolderRunDTO> dtos = folderRunService.getRuns(id).stream()
+                    .map(pipelineMapper::toFolderRunDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(dtos);
+        } catch (Exception e) {
+            System.err.println("Error getting folder runs: " + e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/folder-runs/{runId}")
+    @RequireApiAuth
+    public ResponseEntity<FolderRunDTO> getFolderRun(@PathVariable Long runId) {
+        try {
+            return ResponseEntity.ok(pipelineMapper.toFolderRunDTO(folderRunService.getRun(runId)));
+        } catch (Exception e) {
+            System.err.println("Error getting folder run: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // 폴더 실행에 속한 파이프라인별 실행 (시작 순)
+    @GetMapping("/folder-runs/{runId}/executions")
+    @RequireApiAuth
+    public ResponseEntity<List<PipelineExecutionDTO>> getFolderRunExecutions(@PathVariable Long runId) {
+        try {
+            List<PipelineExecutionDTO> dtos = folderRunService.getPipelineExecutions(runId).stream()
+                    .map(pipelineMapper::toPipelineExecutionDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(dtos);
+        } catch (Exception e) {
+            System.err.println("Error getting folder run executions: " + e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     // Pipeline Operations
     @GetMapping
     @RequireApiAuth
@@ -261,9 +342,13 @@ public class PipelineController {
     @RequireApiAuth
     public ResponseEntity<PipelineExecutionDTO> executePipeline(@PathVariable Long pipelineId) {
         try {
+            // 실행은 큐에 등록만 하고 즉시 202 + execution id 반환 (진행 상태는 GET /executions/{id})
             PipelineExecution execution = pipelineExecutionService.startExecution(pipelineId);
             PipelineExecutionDTO dto = pipelineMapper.toPipelineExecutionDTO(execution);
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.accepted().body(dto);
+        } catch (IllegalStateException e) {
+            System.err.println("Pipeline execution rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
         } catch (Exception e) {
             System.err.println("Error starting pipeline execution: " + e.getMessage());
             e.printStackTrace();
@@ -284,13 +369,63 @@ public class PipelineController {
         }
     }
 
+    // 진행 중인 요청과 대기를 즉시 중단; 최종 상태는 워커가 기록하므로 202 로 응답
+    @PostMapping("/executions/{executionId}/cancel")
+    @RequireApiAuth
+    public ResponseEntity<PipelineExecutionDTO> cancelExecution(@PathVariable Long executionId) {
+        try {
+            PipelineExecution execution = pipelineExecutionService.cancelExecution(executionId);
+            PipelineExecutionDTO dto = pipelineMapper.toPipelineExecutionDTO(execution);
+            return ResponseEntity.accepted().body(dto);
+        } catch (IllegalStateException e) {
+            System.err.println("Pipeline execution cancel rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            System.err.println("Error cancelling pipeline execution: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // 끝난 실행을 체크포인트에서 이어서 실행: fromStep 앞에서 성공한 스텝은 다시 보내지 않음 (새 실행을 큐에 등록)
+    @PostMapping("/executions/{executionId}/resume")
+    @RequireApiAuth
+    public ResponseEntity<PipelineExecutionDTO> resumeExecution(@PathVariable Long executionId,
+                                                                @RequestParam Integer fromStep) {
+        return queueResumedExecution(executionId, fromStep);
+    }
+
+    // 실패했거나 실행되지 않은 스텝만 다시 실행
+    @PostMapping("/executions/{executionId}/rerun-failed")
+    @RequireApiAuth
+    public ResponseEntity<PipelineExecutionDTO> rerunFailedSteps(@PathVariable Long executionId) {
+        return queueResumedExecution(executionId, null);
+    }
+
+    private ResponseEntity<PipelineExecutionDTO> queueResumedExecution(Long executionId, Integer fromStep) {
+        try {
+            PipelineExecution execution = pipelineExecutionService.resumeExecution(executionId, fromStep);
+            PipelineExecutionDTO dto = pipelineMapper.toPipelineExecutionDTO(execution);
+            return ResponseEntity.accepted().body(dto);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid resume request: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            System.err.println("Pipeline execution resume rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            System.err.println("Error resuming pipeline execution: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/executions/{executionId}/steps")
     @RequireApiAuth
-    public ResponseEntity<List<StepExecutionDTO>> getExecutionSteps(@PathVariable Long executionId) {
+    public ResponseEntity<List<StepExecutionDTO>> getExecutionSteps(@PathVariable Long executionId,
+                                                                     @RequestParam(defaultValue = "true") boolean includeBodies) {
         try {
             List<StepExecution> stepExecutions = pipelineExecutionService.getStepExecutions(executionId);
             List<StepExecutionDTO> dtos = stepExecutions.stream()
-                    .map(pipelineMapper::toStepExecutionDTO)
+                    .map(stepExecution -> pipelineMapper.toStepExecutionDTO(stepExecution, includeBodies))
                     .collect(Collectors.toList());
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
@@ -299,6 +434,37 @@ public class PipelineController {
         }
     }
 
+    // 진행 이벤트에는 본문이 없으므로 필요한 스텝만 따로 조회
+    @GetMapping("/executions/{executionId}/steps/{stepExecutionId}/bodies")
+    @RequireApiAuth
+    public ResponseEntity<Map<String, String>> getStepExecutionBodies(@PathVariable Long executionId,
+                                                                      @PathVariable Long stepExecutionId) {
+        try {
+            StepExecution stepExecution = pipelineExecutionService.getStepExecution(executionId, stepExecutionId);
+            Map<String, String> bodies = new HashMap<>();
+            bodies.put("requestData", pipelineMapper.requestDataOf(stepExecution));
+            bodies.put("responseData", pipelineMapper.responseDataOf(stepExecution));
+            return ResponseEntity.ok(bodies);
+        } catch (Exception e) {
+            System.err.println("Error getting step execution bodies: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // 진행 이벤트의 본문 해시로 조회 (아직 DB 에 기록되지 않아 stepExecutionId 가 없는 스텝도 조회 가능)
+    @GetMapping("/executions/{executionId}/bodies/{hash}")
+    @RequireApiAuth
+    public ResponseEntity<Map<String, String>> getExecutionBody(@PathVariable Long executionId, @PathVariable String hash) {
+        try {
+            Map<String, String> body = new HashMap<>();
+            body.put("data", pipelineExecutionService.getExecutionBody(executionId, hash));
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            System.err.println("Error getting execution body: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/{pipelineId}/executions")
     @RequireApiAuth
     public ResponseEntity<List<PipelineExecutionDTO>> getExecutionHistory(@PathVariable Long pipelineId) {
@@ -313,4 +479,147 @@ public class PipelineController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // Dataset Run Operations
+    @PostMapping("/{pipelineId}/dataset-runs")
+    @RequireApiAuth
+    public ResponseEntity<DatasetRunDTO> startDatasetRun(@PathVariable Long pipelineId,
+                                                         @RequestParam("file") MultipartFile file,
+                                                         @RequestParam(required = false) Integer concurrency) {
+        try {
+            // 각 행이 파이프라인 실행 하나가 되며, 진행 상태는 GET /dataset-runs/{id}
+            DatasetRun run = datasetRunService.startUploadedRun(pipelineId, file, concurrency);
+            return ResponseEntity.accepted().body(pipelineMapper.toDatasetRunDTO(run));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid dataset run request: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            System.err.println("Dataset run rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            System.err.println("Error starting dataset run: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/{pipelineId}/dataset-runs/reference")
+    @RequireApiAuth
+    public ResponseEntity<DatasetRunDTO> startReferencedDatasetRun(@PathVariable Long pipelineId,
+                                                                   @RequestBody StartDatasetRunRequest request) {
+        try {
+            DatasetRun run = datasetRunService.startReferencedRun(pipelineId, request.getPath(), request.getConcurrency());
+            return ResponseEntity.accepted().body(pipelineMapper.toDatasetRunDTO(run));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid dataset run request: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            System.err.println("Dataset run rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            System.err.println("Error starting dataset run: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/{pipelineId}/dataset-runs")
+    @RequireApiAuth
+    public ResponseEntity<List<DatasetRunDTO>> getDatasetRuns(@PathVariable Long pipelineId) {
+        try {
+            List<DatasetRunDTO> dtos = datasetRunService.getRuns(pipelineId).stream()
+                    .map(pipelineMapper::toDatasetRunDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(dtos);
+        } catch (Exception e) {
+            System.err.println("Error getting dataset runs: " + e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/dataset-runs/{runId}")
+    @RequireApiAuth
+    public ResponseEntity<DatasetRunDTO> getDatasetRun(@PathVariable Long runId) {
+        try {
+            return ResponseEntity.ok(pipelineMapper.toDatasetRunDTO(datasetRunService.getRun(runId)));
+        } catch (Exception e) {
+            System.err.println("Error getting dataset run: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // 행별 실행 결과 (행 번호 순, 페이지 단위)
+    @GetMapping("/dataset-runs/{runId}/executions")
+    @RequireApiAuth
+    public ResponseEntity<List<PipelineExecutionDTO>> getDatasetRunExecutions(@PathVariable Long runId,
+                                                                              @RequestParam(defaultValue = "0") int page,
+                                                                              @RequestParam(defaultValue = "100") int size) {
+        try {
+            List<PipelineExecutionDTO> dtos = datasetRunService.getRowExecutions(runId, page, Math.min(size, 1000)).stream()
+                    .map(pipelineMapper::toPipelineExecutionDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(dtos);
+        } catch (Exception e) {
+            System.err.println("Error getting dataset run executions: " + e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Load Test Operations
+    @PostMapping("/{pipelineId}/load-tests")
+    @RequireApiAuth
+    public ResponseEntity<LoadTestRunDTO> startLoadTest(@PathVariable Long pipelineId,
+                                                        @RequestBody StartLoadTestRequest request) {
+        try {
+            // 진행 상황은 /topic/load-tests/{id} 또는 GET /load-tests/{id}
+            LoadTestRun run = loadTestService.start(pipelineId, request);
+            return ResponseEntity.accepted().body(pipelineMapper.toLoadTestRunDTO(run));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid load test request: " + e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            System.err.println("Load test rejected: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (Exception e) {
+            System.err.println("Error starting load test: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @PostMapping("/load-tests/{runId}/stop")
+    @RequireApiAuth
+    public ResponseEntity<Void> stopLoadTest(@PathVariable Long runId) {
+        return loadTestService.stop(runId) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/load-tests/{runId}")
+    @RequireApiAuth
+    public ResponseEntity<LoadTestRunDTO> getLoadTest(@PathVariable Long runId) {
+        try {
+            LoadTestRunDTO dto = pipelineMapper.toLoadTestRunDTO(loadTestService.getRun(runId));
+            // 진행 중이면 마지막 스냅샷을 요약 자리에 채워서 반환
+            if (dto.getSummary() == null) {
+                dto.setSummary(loadTestService.getLiveSnapshot(runId));
+            }
+            return ResponseEntity.ok(dto);
+        } catch (Exception e) {
+            System.err.println("Error getting load test: " + e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{pipelineId}/load-tests")
+    @RequireApiAuth
+    public ResponseEntity<List<LoadTestRunDTO>> getLoadTests(@PathVariable Long pipelineId) {
+        try {
+            List<LoadTestRunDTO> dtos = loadTestService.getRuns(pipelineId).stream()
+                    .map(pipelineMapper::toLoadTestRunDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(dtos);
+        } catch (Exception e) {
+            System.err.println("Error getting load tests: " + e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
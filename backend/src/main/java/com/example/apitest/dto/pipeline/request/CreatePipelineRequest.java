@@ -4,6 +4,10 @@ public class CreatePipelineRequest {
     private String name;
     private String description;
     private Long folderId;
+    private Boolean parallelExecution;
+    private Integer maxConcurrentRequests;
+    private Double maxRequestsPerSecond;
+    private Integer timeoutSeconds;
 
     public CreatePipelineRequest() {}
 
@@ -15,4 +19,16 @@ public class CreatePipelineRequest {
     
     public Long getFolderId() { return folderId; }
     public void setFolderId(Long folderId) { this.folderId = folderId; }
+
+    public Boolean getParallelExecution() { return parallelExecution; }
+    public void setParallelExecution(Boolean parallelExecution) { this.parallelExecution = parallelExecution; }
+
+    public Integer getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) { this.maxConcurrentRequests = maxConcurrentRequests; }
+
+    public Double getMaxRequestsPerSecond() { return maxRequestsPerSecond; }
+    public void setMaxRequestsPerSecond(Double maxRequestsPerSecond) { this.maxRequestsPerSecond = maxRequestsPerSecond; }
+
+    public Integer getTimeoutSeconds() { return timeoutSeconds; }
+    public void setTimeoutSeconds(Integer timeoutSeconds) { this.timeoutSeconds = timeoutSeconds; }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.apitest.dto.pipeline.request;
 
+import java.util.List;
+
 public class CreateStepRequest {
     private Long apiItemId;
     private String stepName;
@@ -7,7 +9,15 @@ public class CreateStepRequest {
     private String dataExtractions;
     private String dataInjections;
     private String executionCondition;
+    private String retryPolicy;
+    private Integer timeoutMs;
+    private Integer authCacheTtlSeconds;
+    private String forEachSource;
+    private String forEachVariable;
+    private Integer forEachConcurrency;
     private Integer delayAfter;
+    // 병렬 실행 시 선행 스텝 id. null 이면 변수 참조로 추론
+    private List<Long> dependsOn;
 
     public CreateStepRequest() {}
 
@@ -29,6 +39,27 @@ public class CreateStepRequest {
     public String getExecutionCondition() { return executionCondition; }
     public void setExecutionCondition(String executionCondition) { this.executionCondition = executionCondition; }
     
+    public String getRetryPolicy() { return retryPolicy; }
+    public void setRetryPolicy(String retryPolicy) { this.retryPolicy = retryPolicy; }
+    
+    public Integer getTimeoutMs() { return timeoutMs; }
+    public void setTimeoutMs(Integer timeoutMs) { this.timeoutMs = timeoutMs; }
+    
+    public Integer getAuthCacheTtlSeconds() { return authCacheTtlSeconds; }
+    public void setAuthCacheTtlSeconds(Integer authCacheTtlSeconds) { this.authCacheTtlSeconds = authCacheTtlSeconds; }
+    
+    public String getForEachSource() { return forEachSource; }
+    public void setForEachSource(String forEachSource) { this.forEachSource = forEachSource; }
+    
+    public String getForEachVariable() { return forEachVariable; }
+    public void setForEachVariable(String forEachVariable) { this.forEachVariable = forEachVariable; }
+    
+    public Integer getForEachConcurrency() { return forEachConcurrency; }
+    public void setForEachConcurrency(Integer forEachConcurrency) { this.forEachConcurrency = forEachConcurrency; }
+    
     public Integer getDelayAfter() { return delayAfter; }
     public void setDelayAfter(Integer delayAfter) { this.delayAfter = delayAfter; }
+    
+    public List<Long> getDependsOn() { return dependsOn; }
+    public void setDependsOn(List<Long> dependsOn) { this.dependsOn = dependsOn; }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.apitest.dto.pipeline.request;
+
+public class StartDatasetRunRequest {
+    // pipeline.dataset.base-dir 기준 상대 경로
+    private String path;
+    private Integer concurrency;
+
+    public StartDatasetRunRequest() {}
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public Integer getConcurrency() { return concurrency; }
+    public void setConcurrency(Integer concurrency) { this.concurrency = concurrency; }
+}
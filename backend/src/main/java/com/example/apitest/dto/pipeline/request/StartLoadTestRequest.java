@@ -0,0 +1,32 @@
+package com.example.apitest.dto.pipeline.request;
+
+public class StartLoadTestRequest {
+    // CLOSED 모델: 가상 사용자 수 / OPEN 모델: 동시에 진행될 수 있는 최대 반복 수
+    private Integer virtualUsers;
+    // 지정하면 OPEN 모델 (초당 반복 시작 수)
+    private Double targetRps;
+    private Integer rampUpSeconds;
+    private Integer durationSeconds;
+    private Integer warmUpSeconds;
+    private Integer pacingMs;
+
+    public StartLoadTestRequest() {}
+
+    public Integer getVirtualUsers() { return virtualUsers; }
+    public void setVirtualUsers(Integer virtualUsers) { this.virtualUsers = virtualUsers; }
+
+    public Double getTargetRps() { return targetRps; }
+    public void setTargetRps(Double targetRps) { this.targetRps = targetRps; }
+
+    public Integer getRampUpSeconds() { return rampUpSeconds; }
+    public void setRampUpSeconds(Integer rampUpSeconds) { this.rampUpSeconds = rampUpSeconds; }
+
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public Integer getWarmUpSeconds() { return warmUpSeconds; }
+    public void setWarmUpSeconds(Integer warmUpSeconds) { this.warmUpSeconds = warmUpSeconds; }
+
+    public Integer getPacingMs() { return pacingMs; }
+    public void setPacingMs(Integer pacingMs) { this.pacingMs = pacingMs; }
+}
@@ -4,6 +4,10 @@ public class UpdatePipelineRequest {
     private String name;
     private String description;
     private Long folderId;
+    private Boolean parallelExecution;
+    private Integer maxConcurrentRequests;
+    private Double maxRequestsPerSecond;
+    private Integer timeoutSeconds;
     private Integer orderIndex;
 
     public UpdatePipelineRequest() {}
@@ -19,4 +23,16 @@ public class UpdatePipelineRequest {
 
     public Integer getOrderIndex() { return orderIndex; }
     public void setOrderIndex(Integer orderIndex) { this.orderIndex = orderIndex; }
+
+    public Boolean getParallelExecution() { return parallelExecution; }
+    public void setParallelExecution(Boolean parallelExecution) { this.parallelExecution = parallelExecution; }
+
+    public Integer getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) { this.maxConcurrentRequests = maxConcurrentRequests; }
+
+    public Double getMaxRequestsPerSecond() { return maxRequestsPerSecond; }
+    public void setMaxRequestsPerSecond(Double maxRequestsPerSecond) { this.maxRequestsPerSecond = maxRequestsPerSecond; }
+
+    public Integer getTimeoutSeconds() { return timeoutSeconds; }
+    public void setTimeoutSeconds(Integer timeoutSeconds) { this.timeoutSeconds = timeoutSeconds; }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.apitest.dto.pipeline.response;
+
+import java.time.LocalDateTime;
+
+public class DatasetRunDTO {
+    private Long id;
+    private Long pipelineId;
+    private String sourceName;
+    private String format;
+    private String status;
+    private Integer concurrency;
+    private Long totalRows;
+    private Long completedRows;
+    private Long successfulRows;
+    private Long failedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private String errorMessage;
+
+    public DatasetRunDTO() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPipelineId() { return pipelineId; }
+    public void setPipelineId(Long pipelineId) { this.pipelineId = pipelineId; }
+
+    public String getSourceName() { return sourceName; }
+    public void setSourceName(String sourceName) { this.sourceName = sourceName; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getConcurrency() { return concurrency; }
+    public void setConcurrency(Integer concurrency) { this.concurrency = concurrency; }
+
+    public Long getTotalRows() { return totalRows; }
+    public void setTotalRows(Long totalRows) { this.totalRows = totalRows; }
+
+    public Long getCompletedRows() { return completedRows; }
+    public void setCompletedRows(Long completedRows) { this.completedRows = completedRows; }
+
+    public Long getSuccessfulRows() { return successfulRows; }
+    public void setSuccessfulRows(Long successfulRows) { this.successfulRows = successfulRows; }
+
+    public Long getFailedRows() { return failedRows; }
+    public void setFailedRows(Long failedRows) { this.failedRows = failedRows; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
@@ -0,0 +1,57 @@
+package com.example.apitest.dto.pipeline.response;
+
+import java.time.LocalDateTime;
+
+public class FolderRunDTO {
+    private Long id;
+    private Long folderId;
+    private String status;
+    private Integer concurrency;
+    private Integer totalPipelines;
+    private Integer completedPipelines;
+    private Integer successfulPipelines;
+    private Integer failedPipelines;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private String errorMessage;
+    // 완료 후 집계 결과 JSON (합계, 느린 스텝, 실패 목록, 파이프라인별 결과)
+    private String report;
+
+    public FolderRunDTO() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getFolderId() { return folderId; }
+    public void setFolderId(Long folderId) { this.folderId = folderId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getConcurrency() { return concurrency; }
+    public void setConcurrency(Integer concurrency) { this.concurrency = concurrency; }
+
+    public Integer getTotalPipelines() { return totalPipelines; }
+    public void setTotalPipelines(Integer totalPipelines) { this.totalPipelines = totalPipelines; }
+
+    public Integer getCompletedPipelines() { return completedPipelines; }
+    public void setCompletedPipelines(Integer completedPipelines) { this.completedPipelines = completedPipelines; }
+
+    public Integer getSuccessfulPipelines() { return successfulPipelines; }
+    public void setSuccessfulPipelines(Integer successfulPipelines) { this.successfulPipelines = successfulPipelines; }
+
+    public Integer getFailedPipelines() { return failedPipelines; }
+    public void setFailedPipelines(Integer failedPipelines) { this.failedPipelines = failedPipelines; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getReport() { return report; }
+    public void setReport(String report) { this.report = report; }
+}
@@ -0,0 +1,92 @@
+package com.example.apitest.dto.pipeline.response;
+
+import java.time.LocalDateTime;
+
+public class LoadTestRunDTO {
+    private Long id;
+    private Long pipelineId;
+    private String loadModel;
+    private Integer virtualUsers;
+    private Double targetRps;
+    private Integer rampUpSeconds;
+    private Integer durationSeconds;
+    private Integer warmUpSeconds;
+    private Integer pacingMs;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long iterations;
+    private Long failedIterations;
+    private Double throughput;
+    private Double p50Ms;
+    private Double p90Ms;
+    private Double p99Ms;
+    private Double p999Ms;
+    private LoadTestSnapshotDTO summary;
+    private String errorMessage;
+
+    public LoadTestRunDTO() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPipelineId() { return pipelineId; }
+    public void setPipelineId(Long pipelineId) { this.pipelineId = pipelineId; }
+
+    public String getLoadModel() { return loadModel; }
+    public void setLoadModel(String loadModel) { this.loadModel = loadModel; }
+
+    public Integer getVirtualUsers() { return virtualUsers; }
+    public void setVirtualUsers(Integer virtualUsers) { this.virtualUsers = virtualUsers; }
+
+    public Double getTargetRps() { return targetRps; }
+    public void setTargetRps(Double targetRps) { this.targetRps = targetRps; }
+
+    public Integer getRampUpSeconds() { return rampUpSeconds; }
+    public void setRampUpSeconds(Integer rampUpSeconds) { this.rampUpSeconds = rampUpSeconds; }
+
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public Integer getWarmUpSeconds() { return warmUpSeconds; }
+    public void setWarmUpSeconds(Integer warmUpSeconds) { this.warmUpSeconds = warmUpSeconds; }
+
+    public Integer getPacingMs() { return pacingMs; }
+    public void setPacingMs(Integer pacingMs) { this.pacingMs = pacingMs; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public Long getIterations() { return iterations; }
+    public void setIterations(Long iterations) { this.iterations = iterations; }
+
+    public Long getFailedIterations() { return failedIterations; }
+    public void setFailedIterations(Long failedIterations) { this.failedIterations = failedIterations; }
+
+    public Double getThroughput() { return throughput; }
+    public void setThroughput(Double throughput) { this.throughput = throughput; }
+
+    public Double getP50Ms() { return p50Ms; }
+    public void setP50Ms(Double p50Ms) { this.p50Ms = p50Ms; }
+
+    public Double getP90Ms() { return p90Ms; }
+    public void setP90Ms(Double p90Ms) { this.p90Ms = p90Ms; }
+
+    public Double getP99Ms() { return p99Ms; }
+    public void setP99Ms(Double p99Ms) { this.p99Ms = p99Ms; }
+
+    public Double getP999Ms() { return p999Ms; }
+    public void setP999Ms(Double p999Ms) { this.p999Ms = p999Ms; }
+
+    public LoadTestSnapshotDTO getSummary() { return summary; }
+    public void setSummary(LoadTestSnapshotDTO summary) { this.summary = summary; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
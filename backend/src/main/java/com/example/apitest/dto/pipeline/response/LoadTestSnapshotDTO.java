@@ -0,0 +1,60 @@
+package com.example.apitest.dto.pipeline.response;
+
+import java.util.List;
+
+/**
+ * 부하 테스트 진행 스냅샷. 누적 통계는 워밍업 이후 전체, interval 통계는 직전 보고 이후 구간이다.
+ */
+public class LoadTestSnapshotDTO {
+    private Long runId;
+    private String status;
+    private long elapsedMs;
+    private boolean warmingUp;
+    private int activeUsers;
+    private long droppedIterations;
+    private LoadTestStatsDTO iterations;
+    private List<LoadTestStatsDTO> steps;
+    private LoadTestStatsDTO intervalIterations;
+    private List<LoadTestStatsDTO> intervalSteps;
+    // 호출 제한 대기 시간 (스텝 지연에는 포함되지 않음)
+    private LoadTestStatsDTO limiterWait;
+    private LoadTestStatsDTO intervalLimiterWait;
+
+    public LoadTestSnapshotDTO() {}
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public boolean isWarmingUp() { return warmingUp; }
+    public void setWarmingUp(boolean warmingUp) { this.warmingUp = warmingUp; }
+
+    public int getActiveUsers() { return activeUsers; }
+    public void setActiveUsers(int activeUsers) { this.activeUsers = activeUsers; }
+
+    public long getDroppedIterations() { return droppedIterations; }
+    public void setDroppedIterations(long droppedIterations) { this.droppedIterations = droppedIterations; }
+
+    public LoadTestStatsDTO getIterations() { return iterations; }
+    public void setIterations(LoadTestStatsDTO iterations) { this.iterations = iterations; }
+
+    public List<LoadTestStatsDTO> getSteps() { return steps; }
+    public void setSteps(List<LoadTestStatsDTO> steps) { this.steps = steps; }
+
+    public LoadTestStatsDTO getIntervalIterations() { return intervalIterations; }
+    public void setIntervalIterations(LoadTestStatsDTO intervalIterations) { this.intervalIterations = intervalIterations; }
+
+    public List<LoadTestStatsDTO> getIntervalSteps() { return intervalSteps; }
+    public void setIntervalSteps(List<LoadTestStatsDTO> intervalSteps) { this.intervalSteps = intervalSteps; }
+
+    public LoadTestStatsDTO getLimiterWait() { return limiterWait; }
+    public void setLimiterWait(LoadTestStatsDTO limiterWait) { this.limiterWait = limiterWait; }
+
+    public LoadTestStatsDTO getIntervalLimiterWait() { return intervalLimiterWait; }
+    public void setIntervalLimiterWait(LoadTestStatsDTO intervalLimiterWait) { this.intervalLimiterWait = intervalLimiterWait; }
+}
@@ -0,0 +1,53 @@
+package com.example.apitest.dto.pipeline.response;
+
+/**
+ * 부하 테스트 구간 통계. 지연 시간은 밀리초 단위.
+ */
+public class LoadTestStatsDTO {
+    private String name;
+    private long requests;
+    private long errors;
+    private double errorRate;
+    private double throughput;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+
+    public LoadTestStatsDTO() {}
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getRequests() { return requests; }
+    public void setRequests(long requests) { this.requests = requests; }
+
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+
+    public double getErrorRate() { return errorRate; }
+    public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+
+    public double getThroughput() { return throughput; }
+    public void setThroughput(double throughput) { this.throughput = throughput; }
+
+    public double getMeanMs() { return meanMs; }
+    public void setMeanMs(double meanMs) { this.meanMs = meanMs; }
+
+    public double getP50Ms() { return p50Ms; }
+    public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+
+    public double getP90Ms() { return p90Ms; }
+    public void setP90Ms(double p90Ms) { this.p90Ms = p90Ms; }
+
+    public double getP99Ms() { return p99Ms; }
+    public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+
+    public double getP999Ms() { return p999Ms; }
+    public void setP999Ms(double p999Ms) { this.p999Ms = p999Ms; }
+
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+}
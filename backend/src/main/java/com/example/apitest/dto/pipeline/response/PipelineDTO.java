@@ -8,6 +8,10 @@ public class PipelineDTO {
     private String description;
     private Long folderId;
     private Integer stepCount;
+    private Boolean parallelExecution;
+    private Integer maxConcurrentRequests;
+    private Double maxRequestsPerSecond;
+    private Integer timeoutSeconds;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -28,6 +32,18 @@ public class PipelineDTO {
     public Integer getStepCount() { return stepCount; }
     public void setStepCount(Integer stepCount) { this.stepCount = stepCount; }
     
+    public Boolean getParallelExecution() { return parallelExecution; }
+    public void setParallelExecution(Boolean parallelExecution) { this.parallelExecution = parallelExecution; }
+
+    public Integer getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) { this.maxConcurrentRequests = maxConcurrentRequests; }
+
+    public Double getMaxRequestsPerSecond() { return maxRequestsPerSecond; }
+    public void setMaxRequestsPerSecond(Double maxRequestsPerSecond) { this.maxRequestsPerSecond = maxRequestsPerSecond; }
+
+    public Integer getTimeoutSeconds() { return timeoutSeconds; }
+    public void setTimeoutSeconds(Integer timeoutSeconds) { this.timeoutSeconds = timeoutSeconds; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
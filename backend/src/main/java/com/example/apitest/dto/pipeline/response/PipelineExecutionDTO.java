@@ -15,6 +15,11 @@ public class PipelineExecutionDTO {
     private Integer successfulSteps;
     private Integer failedSteps;
     private String sessionCookies;
+    private Long datasetRunId;
+    private Long datasetRow;
+    private String executionContext;
+    private Long resumedFromId;
+    private Integer resumeFromStep;
 
     public PipelineExecutionDTO() {}
 
@@ -53,4 +58,19 @@ public class PipelineExecutionDTO {
 
     public String getSessionCookies() { return sessionCookies; }
     public void setSessionCookies(String sessionCookies) { this.sessionCookies = sessionCookies; }
-}
\ No newline at end of file
+
+    public Long getDatasetRunId() { return datasetRunId; }
+    public void setDatasetRunId(Long datasetRunId) { this.datasetRunId = datasetRunId; }
+
+    public Long getDatasetRow() { return datasetRow; }
+    public void setDatasetRow(Long datasetRow) { this.datasetRow = datasetRow; }
+
+    public String getExecutionContext() { return executionContext; }
+    public void setExecutionContext(String executionContext) { this.executionContext = executionContext; }
+
+    public Long getResumedFromId() { return resumedFromId; }
+    public void setResumedFromId(Long resumedFromId) { this.resumedFromId = resumedFromId; }
+
+    public Integer getResumeFromStep() { return resumeFromStep; }
+    public void setResumeFromStep(Integer resumeFromStep) { this.resumeFromStep = resumeFromStep; }
+}
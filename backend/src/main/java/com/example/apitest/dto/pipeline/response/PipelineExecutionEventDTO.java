@@ -0,0 +1,92 @@
+package com.example.apitest.dto.pipeline.response;
+
+import java.util.List;
+
+/**
+ * /topic/pipeline-executions/{id} 로 전송되는 실행 진행 이벤트.
+ * 요청/응답 본문은 포함하지 않으며, 필요하면 본문 해시로 /executions/{id}/bodies/{hash} 에서 조회한다.
+ * stepExecutionId 는 스텝이 아직 DB 에 기록되지 않았으면(기록기 flush 전) null 이다.
+ */
+public class PipelineExecutionEventDTO {
+    public static final String TYPE_STEP = "STEP";
+    public static final String TYPE_EXECUTION = "EXECUTION";
+
+    private String type;
+    private Long executionId;
+    private String executionStatus;
+    private Integer totalSteps;
+    private Integer completedSteps;
+    private Integer successfulSteps;
+    private Integer failedSteps;
+    private Long stepExecutionId;
+    private Integer stepOrder;
+    private String stepName;
+    private String stepStatus;
+    private Integer httpStatus;
+    private String requestBlobHash;
+    private String responseBlobHash;
+    private Long responseTime;
+    private Long queueWaitTime;
+    private List<String> extractedKeys;
+    private String errorMessage;
+    private long timestamp;
+
+    public PipelineExecutionEventDTO() {}
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getExecutionId() { return executionId; }
+    public void setExecutionId(Long executionId) { this.executionId = executionId; }
+
+    public String getExecutionStatus() { return executionStatus; }
+    public void setExecutionStatus(String executionStatus) { this.executionStatus = executionStatus; }
+
+    public Integer getTotalSteps() { return totalSteps; }
+    public void setTotalSteps(Integer totalSteps) { this.totalSteps = totalSteps; }
+
+    public Integer getCompletedSteps() { return completedSteps; }
+    public void setCompletedSteps(Integer completedSteps) { this.completedSteps = completedSteps; }
+
+    public Integer getSuccessfulSteps() { return successfulSteps; }
+    public void setSuccessfulSteps(Integer successfulSteps) { this.successfulSteps = successfulSteps; }
+
+    public Integer getFailedSteps() { return failedSteps; }
+    public void setFailedSteps(Integer failedSteps) { this.failedSteps = failedSteps; }
+
+    public Long getStepExecutionId() { return stepExecutionId; }
+    public void setStepExecutionId(Long stepExecutionId) { this.stepExecutionId = stepExecutionId; }
+
+    public Integer getStepOrder() { return stepOrder; }
+    public void setStepOrder(Integer stepOrder) { this.stepOrder = stepOrder; }
+
+    public String getStepName() { return stepName; }
+    public void setStepName(String stepName) { this.stepName = stepName; }
+
+    public String getStepStatus() { return stepStatus; }
+    public void setStepStatus(String stepStatus) { this.stepStatus = stepStatus; }
+
+    public Integer getHttpStatus() { return httpStatus; }
+    public void setHttpStatus(Integer httpStatus) { this.httpStatus = httpStatus; }
+
+    public String getRequestBlobHash() { return requestBlobHash; }
+    public void setRequestBlobHash(String requestBlobHash) { this.requestBlobHash = requestBlobHash; }
+
+    public String getResponseBlobHash() { return responseBlobHash; }
+    public void setResponseBlobHash(String responseBlobHash) { this.responseBlobHash = responseBlobHash; }
+
+    public Long getResponseTime() { return responseTime; }
+    public void setResponseTime(Long responseTime) { this.responseTime = responseTime; }
+
+    public Long getQueueWaitTime() { return queueWaitTime; }
+    public void setQueueWaitTime(Long queueWaitTime) { this.queueWaitTime = queueWaitTime; }
+
+    public List<String> getExtractedKeys() { return extractedKeys; }
+    public void setExtractedKeys(List<String> extractedKeys) { this.extractedKeys = extractedKeys; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+}
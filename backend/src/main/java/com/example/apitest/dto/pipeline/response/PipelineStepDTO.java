@@ -1,6 +1,7 @@
 package com.example.apitest.dto.pipeline.response;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class PipelineStepDTO {
     private Long id;
@@ -10,7 +11,14 @@ public class PipelineStepDTO {
     private String dataExtractions;
     private String dataInjections;
     private String executionCondition;
+    private String retryPolicy;
+    private Integer timeoutMs;
+    private Integer authCacheTtlSeconds;
+    private String forEachSource;
+    private String forEachVariable;
+    private Integer forEachConcurrency;
     private Integer delayAfter;
+    private List<Long> dependsOn;
     private Boolean isActive;
     private Boolean isSkip;
     private ApiItemDTO apiItem;
@@ -40,9 +48,30 @@ public class PipelineStepDTO {
     public String getExecutionCondition() { return executionCondition; }
     public void setExecutionCondition(String executionCondition) { this.executionCondition = executionCondition; }
     
+    public String getRetryPolicy() { return retryPolicy; }
+    public void setRetryPolicy(String retryPolicy) { this.retryPolicy = retryPolicy; }
+    
+    public Integer getTimeoutMs() { return timeoutMs; }
+    public void setTimeoutMs(Integer timeoutMs) { this.timeoutMs = timeoutMs; }
+    
+    public Integer getAuthCacheTtlSeconds() { return authCacheTtlSeconds; }
+    public void setAuthCacheTtlSeconds(Integer authCacheTtlSeconds) { this.authCacheTtlSeconds = authCacheTtlSeconds; }
+    
+    public String getForEachSource() { return forEachSource; }
+    public void setForEachSource(String forEachSource) { this.forEachSource = forEachSource; }
+    
+    public String getForEachVariable() { return forEachVariable; }
+    public void setForEachVariable(String forEachVariable) { this.forEachVariable = forEachVariable; }
+    
+    public Integer getForEachConcurrency() { return forEachConcurrency; }
+    public void setForEachConcurrency(Integer forEachConcurrency) { this.forEachConcurrency = forEachConcurrency; }
+    
     public Integer getDelayAfter() { return delayAfter; }
     public void setDelayAfter(Integer delayAfter) { this.delayAfter = delayAfter; }
     
+    public List<Long> getDependsOn() { return dependsOn; }
+    public void setDependsOn(List<Long> dependsOn) { this.dependsOn = dependsOn; }
+    
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
 
@@ -12,6 +12,9 @@ public class StepExecutionDTO {
     private LocalDateTime completedAt;
     private Integer httpStatus;
     private Long responseTime;
+    private Long queueWaitTime;
+    private Integer attempts;
+    private String attemptLog;
     private String errorMessage;
     private String requestData;
     private String responseData;
@@ -47,6 +50,15 @@ public class StepExecutionDTO {
     public Long getResponseTime() { return responseTime; }
     public void setResponseTime(Long responseTime) { this.responseTime = responseTime; }
 
+    public Long getQueueWaitTime() { return queueWaitTime; }
+    public void setQueueWaitTime(Long queueWaitTime) { this.queueWaitTime = queueWaitTime; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public String getAttemptLog() { return attemptLog; }
+    public void setAttemptLog(String attemptLog) { this.attemptLog = attemptLog; }
+
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
 
@@ -0,0 +1,96 @@
+package com.example.apitest.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 요청/응답 본문 저장소. 내용의 SHA-256 해시를 키로 gzip 압축된 본문을 한 번만 저장하고,
+ * StepExecution 은 해시로 참조한다.
+ */
+@Entity
+@Table(name = "body_blobs")
+public class BodyBlob implements Persistable<String> {
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Lob
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    // 압축 전 크기 (bytes)
+    @Column(name = "original_size", nullable = false)
+    private Long originalSize;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // 해시가 직접 지정되는 키라서 save 시 merge(SELECT) 대신 바로 INSERT 하도록 신규 여부를 직접 관리
+    @Transient
+    private boolean isNew = true;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public BodyBlob() {}
+
+    public BodyBlob(String hash, byte[] data, Long originalSize) {
+        this.hash = hash;
+        this.data = data;
+        this.originalSize = originalSize;
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters and Setters
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public Long getOriginalSize() {
+        return originalSize;
+    }
+
+    public void setOriginalSize(Long originalSize) {
+        this.originalSize = originalSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.apitest.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 데이터셋(CSV/JSONL) 기반 실행의 부모 레코드.
+ * 데이터셋의 각 행은 해당 행 값을 초기 컨텍스트로 하는 PipelineExecution 하나로 실행되며,
+ * 행 단위 결과는 이 레코드의 카운터로 집계된다.
+ */
+@Entity
+@Table(name = "dataset_runs")
+public class DatasetRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pipeline_id", nullable = false)
+    private Pipeline pipeline;
+
+    // 업로드된 파일명 또는 참조한 경로
+    @Column(name = "source_name", nullable = false)
+    private String sourceName;
+
+    @Column(name = "file_path", nullable = false)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false)
+    private DatasetFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RunStatus status = RunStatus.RUNNING;
+
+    // 동시에 실행되는 행 수
+    @Column(name = "concurrency", nullable = false)
+    private Integer concurrency = 1;
+
+    // 지금까지 읽은 행 수 (파일을 끝까지 읽기 전에는 전체 행 수를 알 수 없음)
+    @Column(name = "total_rows")
+    private Long totalRows = 0L;
+
+    @Column(name = "completed_rows")
+    private Long completedRows = 0L;
+
+    @Column(name = "successful_rows")
+    private Long successfulRows = 0L;
+
+    @Column(name = "failed_rows")
+    private Long failedRows = 0L;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+    }
+
+    public enum DatasetFormat {
+        CSV,
+        JSONL
+    }
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Constructors
+    public DatasetRun() {}
+
+    public DatasetRun(Pipeline pipeline, String sourceName, String filePath, DatasetFormat format, Integer concurrency) {
+        this.pipeline = pipeline;
+        this.sourceName = sourceName;
+        this.filePath = filePath;
+        this.format = format;
+        this.concurrency = concurrency;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    public void setPipeline(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public void setSourceName(String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public DatasetFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(DatasetFormat format) {
+        this.format = format;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public Long getCompletedRows() {
+        return completedRows;
+    }
+
+    public void setCompletedRows(Long completedRows) {
+        this.completedRows = completedRows;
+    }
+
+    public Long getSuccessfulRows() {
+        return successfulRows;
+    }
+
+    public void setSuccessfulRows(Long successfulRows) {
+        this.successfulRows = successfulRows;
+    }
+
+    public Long getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(Long failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.apitest.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 폴더 일괄 실행의 부모 레코드.
+ * 폴더의 활성 파이프라인마다 PipelineExecution 하나가 folderRunId 를 달고 실행되며,
+ * 파이프라인 단위 결과는 카운터로, 전체 결과(합계, 느린 스텝, 실패 목록)는 완료 시 report 에 집계된다.
+ */
+@Entity
+@Table(name = "folder_runs")
+public class FolderRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "folder_id", nullable = false)
+    private PipelineFolder folder;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RunStatus status = RunStatus.RUNNING;
+
+    // 동시에 실행되는 파이프라인 수
+    @Column(name = "concurrency", nullable = false)
+    private Integer concurrency = 1;
+
+    @Column(name = "total_pipelines")
+    private Integer totalPipelines = 0;
+
+    @Column(name = "completed_pipelines")
+    private Integer completedPipelines = 0;
+
+    @Column(name = "successful_pipelines")
+    private Integer successfulPipelines = 0;
+
+    @Column(name = "failed_pipelines")
+    private Integer failedPipelines = 0;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    // 완료 시 집계한 결과 (JSON)
+    @Column(name = "report", columnDefinition = "TEXT")
+    private String report;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+    }
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Constructors
+    public FolderRun() {}
+
+    public FolderRun(PipelineFolder folder, Integer totalPipelines, Integer concurrency) {
+        this.folder = folder;
+        this.totalPipelines = totalPipelines;
+        this.concurrency = concurrency;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PipelineFolder getFolder() {
+        return folder;
+    }
+
+    public void setFolder(PipelineFolder folder) {
+        this.folder = folder;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Integer concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Integer getTotalPipelines() {
+        return totalPipelines;
+    }
+
+    public void setTotalPipelines(Integer totalPipelines) {
+        this.totalPipelines = totalPipelines;
+    }
+
+    public Integer getCompletedPipelines() {
+        return completedPipelines;
+    }
+
+    public void setCompletedPipelines(Integer completedPipelines) {
+        this.completedPipelines = completedPipelines;
+    }
+
+    public Integer getSuccessfulPipelines() {
+        return successfulPipelines;
+    }
+
+    public void setSuccessfulPipelines(Integer successfulPipelines) {
+        this.successfulPipelines = successfulPipelines;
+    }
+
+    public Integer getFailedPipelines() {
+        return failedPipelines;
+    }
+
+    public void setFailedPipelines(Integer failedPipelines) {
+        this.failedPipelines = failedPipelines;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public void setReport(String report) {
+        this.report = report;
+    }
+}
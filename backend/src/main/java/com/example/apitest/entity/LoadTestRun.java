@@ -0,0 +1,276 @@
+package com.example.apitest.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 파이프라인 부하 테스트 실행.
+ * 반복마다 StepExecution 을 남기지 않고, 종료 시 지연 시간 백분위와 처리량 요약만 저장한다.
+ */
+@Entity
+@Table(name = "load_test_runs")
+public class LoadTestRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pipeline_id", nullable = false)
+    private Pipeline pipeline;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "load_model", nullable = false)
+    private LoadModel loadModel;
+
+    // CLOSED: 가상 사용자 수, OPEN: 동시에 진행될 수 있는 최대 반복 수
+    @Column(name = "virtual_users", nullable = false)
+    private Integer virtualUsers;
+
+    // OPEN 모델의 목표 도착률 (초당 반복 수)
+    @Column(name = "target_rps")
+    private Double targetRps;
+
+    @Column(name = "ramp_up_seconds")
+    private Integer rampUpSeconds = 0;
+
+    @Column(name = "duration_seconds", nullable = false)
+    private Integer durationSeconds;
+
+    // 집계에서 제외하는 초기 구간
+    @Column(name = "warm_up_seconds")
+    private Integer warmUpSeconds = 0;
+
+    // CLOSED 모델에서 가상 사용자별 반복 간격 (0 이면 쉬지 않고 반복)
+    @Column(name = "pacing_ms")
+    private Integer pacingMs = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // 워밍업 이후 집계된 반복 수 (시작하지 못한 반복 포함)
+    @Column(name = "iterations")
+    private Long iterations = 0L;
+
+    @Column(name = "failed_iterations")
+    private Long failedIterations = 0L;
+
+    // 초당 반복 수
+    @Column(name = "throughput")
+    private Double throughput;
+
+    // 반복 지연 시간 백분위 (ms)
+    @Column(name = "p50_ms")
+    private Double p50Ms;
+
+    @Column(name = "p90_ms")
+    private Double p90Ms;
+
+    @Column(name = "p99_ms")
+    private Double p99Ms;
+
+    @Column(name = "p999_ms")
+    private Double p999Ms;
+
+    // 스텝별 통계를 포함한 최종 스냅샷 (LoadTestSnapshotDTO JSON)
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+    }
+
+    public enum LoadModel {
+        CLOSED,
+        OPEN
+    }
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    // Constructors
+    public LoadTestRun() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    public void setPipeline(Pipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public LoadModel getLoadModel() {
+        return loadModel;
+    }
+
+    public void setLoadModel(LoadModel loadModel) {
+        this.loadModel = loadModel;
+    }
+
+    public Integer getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public void setVirtualUsers(Integer virtualUsers) {
+        this.virtualUsers = virtualUsers;
+    }
+
+    public Double getTargetRps() {
+        return targetRps;
+    }
+
+    public void setTargetRps(Double targetRps) {
+        this.targetRps = targetRps;
+    }
+
+    public Integer getRampUpSeconds() {
+        return rampUpSeconds;
+    }
+
+    public void setRampUpSeconds(Integer rampUpSeconds) {
+        this.rampUpSeconds = rampUpSeconds;
+    }
+
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public Integer getWarmUpSeconds() {
+        return warmUpSeconds;
+    }
+
+    public void setWarmUpSeconds(Integer warmUpSeconds) {
+        this.warmUpSeconds = warmUpSeconds;
+    }
+
+    public Integer getPacingMs() {
+        return pacingMs;
+    }
+
+    public void setPacingMs(Integer pacingMs) {
+        this.pacingMs = pacingMs;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Long getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(Long iterations) {
+        this.iterations = iterations;
+    }
+
+    public Long getFailedIterations() {
+        return failedIterations;
+    }
+
+    public void setFailedIterations(Long failedIterations) {
+        this.failedIterations = failedIterations;
+    }
+
+    public Double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(Double throughput) {
+        this.throughput = throughput;
+    }
+
+    public Double getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(Double p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public Double getP90Ms() {
+        return p90Ms;
+    }
+
+    public void setP90Ms(Double p90Ms) {
+        this.p90Ms = p90Ms;
+    }
+
+    public Double getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(Double p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public Double getP999Ms() {
+        return p999Ms;
+    }
+
+    public void setP999Ms(Double p999Ms) {
+        this.p999Ms = p999Ms;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
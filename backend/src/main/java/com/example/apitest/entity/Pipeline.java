@@ -35,6 +35,21 @@ public class Pipeline {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // true 이면 의존 관계가 없는 스텝을 동시에 실행 (쿠키로만 이어지는 스텝은 dependsOn 으로 지정 필요)
+    @Column(name = "parallel_execution")
+    private Boolean parallelExecution = false;
+
+    // 이 파이프라인이 호스트별로 보낼 수 있는 동시 요청 수와 초당 요청 수 (null 이면 전역 제한만 적용)
+    @Column(name = "max_concurrent_requests")
+    private Integer maxConcurrentRequests;
+
+    @Column(name = "max_requests_per_second")
+    private Double maxRequestsPerSecond;
+
+    // 실행 전체 제한 시간 (초). 넘으면 진행 중인 요청을 중단하고 실패 처리. null 이면 제한 없음
+    @Column(name = "timeout_seconds")
+    private Integer timeoutSeconds;
+
     @Column(name = "order_index")
     private Integer orderIndex = 0;
 
@@ -144,4 +159,36 @@ public class Pipeline {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public Boolean getParallelExecution() {
+        return parallelExecution;
+    }
+
+    public void setParallelExecution(Boolean parallelExecution) {
+        this.parallelExecution = parallelExecution;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public Double getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    public void setMaxRequestsPerSecond(Double maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    public Integer getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(Integer timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+}
@@ -21,7 +21,7 @@ public class PipelineExecution {
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
-    private ExecutionStatus status = ExecutionStatus.RUNNING;
+    private ExecutionStatus status = ExecutionStatus.QUEUED;
 
     @Column(name = "started_at")
     private LocalDateTime startedAt;
@@ -48,16 +48,39 @@ public class PipelineExecution {
     @Column(name = "execution_context", columnDefinition = "TEXT")
     private String executionContext;
     
-    // Session cookies for maintaining login state across steps
+    // Session cookies kept for resuming a failed or cancelled execution, encrypted (cleared when it completes)
     @Column(name = "session_cookies", columnDefinition = "TEXT")
     private String sessionCookies;
 
+    // 데이터셋 실행의 한 행으로 실행된 경우 부모 DatasetRun id 와 행 번호 (1부터)
+    @Column(name = "dataset_run_id")
+    private Long datasetRunId;
+
+    @Column(name = "dataset_row")
+    private Long datasetRow;
+
+    // 첫 스텝이 받은 변수 (데이터셋 행 등). 재개 실행이 같은 값으로 시작하도록 보관
+    @Column(name = "initial_context", columnDefinition = "TEXT")
+    private String initialContext;
+
+    // 이전 실행의 체크포인트에서 재개한 경우 원래 실행 id 와 재개한 스텝 순서 (null 이면 실패한 스텝만 다시 실행)
+    @Column(name = "resumed_from_id")
+    private Long resumedFromId;
+
+    @Column(name = "resume_from_step")
+    private Integer resumeFromStep;
+
+    // 폴더 일괄 실행(FolderRun)의 한 파이프라인으로 실행된 경우 부모 id
+    @Column(name = "folder_run_id")
+    private Long folderRunId;
+
     @PrePersist
     protected void onCreate() {
         startedAt = LocalDateTime.now();
     }
 
     public enum ExecutionStatus {
+        QUEUED,
         RUNNING,
         COMPLETED,
         FAILED,
@@ -176,4 +199,52 @@ public class PipelineExecution {
     public void setSessionCookies(String sessionCookies) {
         this.sessionCookies = sessionCookies;
     }
-}
\ No newline at end of file
+
+    public Long getDatasetRunId() {
+        return datasetRunId;
+    }
+
+    public void setDatasetRunId(Long datasetRunId) {
+        this.datasetRunId = datasetRunId;
+    }
+
+    public Long getDatasetRow() {
+        return datasetRow;
+    }
+
+    public void setDatasetRow(Long datasetRow) {
+        this.datasetRow = datasetRow;
+    }
+
+    public String getInitialContext() {
+        return initialContext;
+    }
+
+    public void setInitialContext(String initialContext) {
+        this.initialContext = initialContext;
+    }
+
+    public Long getResumedFromId() {
+        return resumedFromId;
+    }
+
+    public void setResumedFromId(Long resumedFromId) {
+        this.resumedFromId = resumedFromId;
+    }
+
+    public Integer getResumeFromStep() {
+        return resumeFromStep;
+    }
+
+    public void setResumeFromStep(Integer resumeFromStep) {
+        this.resumeFromStep = resumeFromStep;
+    }
+
+    public Long getFolderRunId() {
+        return folderRunId;
+    }
+
+    public void setFolderRunId(Long folderRunId) {
+        this.folderRunId = folderRunId;
+    }
+}
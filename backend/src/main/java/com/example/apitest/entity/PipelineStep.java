@@ -42,6 +42,34 @@ public class PipelineStep {
     @Column(name = "execution_condition", columnDefinition = "TEXT")
     private String executionCondition;
 
+    // 재시도 정책 (JSON 형태로 저장, RetryPolicy 참고). null 이면 재시도 없음
+    @Column(name = "retry_policy", columnDefinition = "TEXT")
+    private String retryPolicy;
+
+    // 요청 타임아웃 (ms). null 이면 pipeline.http.request-timeout-ms
+    @Column(name = "timeout_ms")
+    private Integer timeoutMs;
+
+    // 로그인 스텝의 세션 캐시 유효 시간 (초). 설정하면 같은 요청으로 로그인한 결과(추출 값, 쿠키)를 실행 간에 재사용, null 이면 캐시하지 않음
+    @Column(name = "auth_cache_ttl_seconds")
+    private Integer authCacheTtlSeconds;
+
+    // forEach 스텝: 배열 변수 이름 (예: orderIds, steps.1.orders). 설정하면 요소마다 이 스텝의 API 를 호출하고 결과를 한 실행 기록으로 모은다
+    @Column(name = "for_each_source", length = 500)
+    private String forEachSource;
+
+    // 요소를 담는 변수 이름 (기본 item). 요소가 객체면 item.필드 로도 참조, 순번은 itemIndex
+    @Column(name = "for_each_variable")
+    private String forEachVariable;
+
+    // 동시에 보내는 요소 요청 수. null 이면 pipeline.foreach.default-concurrency
+    @Column(name = "for_each_concurrency")
+    private Integer forEachConcurrency;
+
+    // 병렬 실행 시 먼저 끝나야 하는 스텝 id 목록 ("12,15"). null 이면 변수 참조로 추론, 빈 값이면 의존 없음
+    @Column(name = "depends_on")
+    private String dependsOn;
+
     // 단계 실행 후 대기 시간 (밀리초)
     @Column(name = "delay_after")
     private Integer delayAfter;
@@ -190,4 +218,60 @@ public class PipelineStep {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public String getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(String dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public String getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(String retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public Integer getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(Integer timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Integer getAuthCacheTtlSeconds() {
+        return authCacheTtlSeconds;
+    }
+
+    public void setAuthCacheTtlSeconds(Integer authCacheTtlSeconds) {
+        this.authCacheTtlSeconds = authCacheTtlSeconds;
+    }
+
+    public String getForEachSource() {
+        return forEachSource;
+    }
+
+    public void setForEachSource(String forEachSource) {
+        this.forEachSource = forEachSource;
+    }
+
+    public String getForEachVariable() {
+        return forEachVariable;
+    }
+
+    public void setForEachVariable(String forEachVariable) {
+        this.forEachVariable = forEachVariable;
+    }
+
+    public Integer getForEachConcurrency() {
+        return forEachConcurrency;
+    }
+
+    public void setForEachConcurrency(Integer forEachConcurrency) {
+        this.forEachConcurrency = forEachConcurrency;
+    }
+}
@@ -6,8 +6,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "step_executions")
 public class StepExecution {
+    // Pooled sequence so that step inserts can be batched (IDENTITY disables JDBC batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "step_execution_seq")
+    @SequenceGenerator(name = "step_execution_seq", sequenceName = "step_execution_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,6 +44,20 @@ public class StepExecution {
     @Column(name = "response_data", columnDefinition = "TEXT")
     private String responseData;
 
+    // Request/response bodies stored in body_blobs (content hash); the inline columns above hold legacy rows
+    @Column(name = "request_blob_hash", length = 64)
+    private String requestBlobHash;
+
+    @Column(name = "response_blob_hash", length = 64)
+    private String responseBlobHash;
+
+    // Compressed bodies not yet written to body_blobs; the recorder writes them with the step row
+    @Transient
+    private BodyBlob pendingRequestBlob;
+
+    @Transient
+    private BodyBlob pendingResponseBlob;
+
     // HTTP status code
     @Column(name = "http_status")
     private Integer httpStatus;
@@ -50,6 +66,17 @@ public class StepExecution {
     @Column(name = "response_time")
     private Long responseTime;
 
+    // 시도 횟수와 재시도가 있었을 때의 시도별 결과 ("1:503:120ms;2:ConnectException:5003ms;3:200:80ms")
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    @Column(name = "attempt_log", length = 1000)
+    private String attemptLog;
+
+    // 호출 제한(호스트/파이프라인) 때문에 요청 전에 기다린 시간 (밀리초), responseTime 에는 포함되지 않음
+    @Column(name = "queue_wait_time")
+    private Long queueWaitTime;
+
     // Error message if failed
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
@@ -156,6 +183,38 @@ public class StepExecution {
         this.responseData = responseData;
     }
 
+    public String getRequestBlobHash() {
+        return requestBlobHash;
+    }
+
+    public void setRequestBlobHash(String requestBlobHash) {
+        this.requestBlobHash = requestBlobHash;
+    }
+
+    public String getResponseBlobHash() {
+        return responseBlobHash;
+    }
+
+    public void setResponseBlobHash(String responseBlobHash) {
+        this.responseBlobHash = responseBlobHash;
+    }
+
+    public BodyBlob getPendingRequestBlob() {
+        return pendingRequestBlob;
+    }
+
+    public void setPendingRequestBlob(BodyBlob pendingRequestBlob) {
+        this.pendingRequestBlob = pendingRequestBlob;
+    }
+
+    public BodyBlob getPendingResponseBlob() {
+        return pendingResponseBlob;
+    }
+
+    public void setPendingResponseBlob(BodyBlob pendingResponseBlob) {
+        this.pendingResponseBlob = pendingResponseBlob;
+    }
+
     public Integer getHttpStatus() {
         return httpStatus;
     }
@@ -195,4 +254,28 @@ public class StepExecution {
     public void setStepName(String stepName) {
         this.stepName = stepName;
     }
-}
\ No newline at end of file
+
+    public Long getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    public void setQueueWaitTime(Long queueWaitTime) {
+        this.queueWaitTime = queueWaitTime;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getAttemptLog() {
+        return attemptLog;
+    }
+
+    public void setAttemptLog(String attemptLog) {
+        this.attemptLog = attemptLog;
+    }
+}
@@ -2,6 +2,10 @@ package com.example.apitest.mapper;
 
 import com.example.apitest.dto.pipeline.response.*;
 import com.example.apitest.entity.*;
+import com.example.apitest.service.pipeline.BodyBlobStore;
+import com.example.apitest.service.pipeline.StepDependencyGraph;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -10,6 +14,11 @@ import java.util.stream.Collectors;
 @Component
 public class PipelineMapper {
 
+    @Autowired
+    private BodyBlobStore bodyBlobStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     public PipelineFolderDTO toPipelineFolderDTO(PipelineFolder folder, List<Pipeline> pipelines, List<PipelineStep> allSteps) {
         PipelineFolderDTO dto = new PipelineFolderDTO();
         dto.setId(folder.getId());
@@ -26,6 +35,10 @@ public class PipelineMapper {
                     pipelineDTO.setName(pipeline.getName());
                     pipelineDTO.setDescription(pipeline.getDescription());
                     pipelineDTO.setFolderId(pipeline.getFolderId());
+                    pipelineDTO.setParallelExecution(pipeline.getParallelExecution());
+                    pipelineDTO.setMaxConcurrentRequests(pipeline.getMaxConcurrentRequests());
+                    pipelineDTO.setMaxRequestsPerSecond(pipeline.getMaxRequestsPerSecond());
+                    pipelineDTO.setTimeoutSeconds(pipeline.getTimeoutSeconds());
                     
                     int stepCount = (int) allSteps.stream()
                             .filter(step -> step.getPipeline().getId().equals(pipeline.getId()))
@@ -51,7 +64,14 @@ public class PipelineMapper {
         dto.setDataExtractions(step.getDataExtractions());
         dto.setDataInjections(step.getDataInjections());
         dto.setExecutionCondition(step.getExecutionCondition());
+        dto.setRetryPolicy(step.getRetryPolicy());
+        dto.setTimeoutMs(step.getTimeoutMs());
+        dto.setAuthCacheTtlSeconds(step.getAuthCacheTtlSeconds());
+        dto.setForEachSource(step.getForEachSource());
+        dto.setForEachVariable(step.getForEachVariable());
+        dto.setForEachConcurrency(step.getForEachConcurrency());
         dto.setDelayAfter(step.getDelayAfter());
+        dto.setDependsOn(StepDependencyGraph.parseStepIds(step.getDependsOn()));
         dto.setIsActive(step.getIsActive());
         dto.setIsSkip(step.getIsSkip());
         dto.setCreatedAt(step.getCreatedAt());
@@ -87,7 +107,12 @@ public class PipelineMapper {
         dto.setCompletedSteps(execution.getCompletedSteps());
         dto.setSuccessfulSteps(execution.getSuccessfulSteps());
         dto.setFailedSteps(execution.getFailedSteps());
-        dto.setSessionCookies(execution.getSessionCookies());
+        // sessionCookies 는 재개용 체크포인트(세션 값)라 응답에 싣지 않는다
+        dto.setDatasetRunId(execution.getDatasetRunId());
+        dto.setDatasetRow(execution.getDatasetRow());
+        dto.setExecutionContext(execution.getExecutionContext());
+        dto.setResumedFromId(execution.getResumedFromId());
+        dto.setResumeFromStep(execution.getResumeFromStep());
         
         if (execution.getPipeline() != null) {
             dto.setPipelineId(execution.getPipeline().getId());
@@ -97,7 +122,81 @@ public class PipelineMapper {
         return dto;
     }
 
+    public DatasetRunDTO toDatasetRunDTO(DatasetRun run) {
+        DatasetRunDTO dto = new DatasetRunDTO();
+        dto.setId(run.getId());
+        dto.setPipelineId(run.getPipeline() != null ? run.getPipeline().getId() : null);
+        dto.setSourceName(run.getSourceName());
+        dto.setFormat(run.getFormat().toString());
+        dto.setStatus(run.getStatus().toString());
+        dto.setConcurrency(run.getConcurrency());
+        dto.setTotalRows(run.getTotalRows());
+        dto.setCompletedRows(run.getCompletedRows());
+        dto.setSuccessfulRows(run.getSuccessfulRows());
+        dto.setFailedRows(run.getFailedRows());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+        dto.setErrorMessage(run.getErrorMessage());
+        return dto;
+    }
+
+    public FolderRunDTO toFolderRunDTO(FolderRun run) {
+        FolderRunDTO dto = new FolderRunDTO();
+        dto.setId(run.getId());
+        dto.setFolderId(run.getFolder() != null ? run.getFolder().getId() : null);
+        dto.setStatus(run.getStatus().toString());
+        dto.setConcurrency(run.getConcurrency());
+        dto.setTotalPipelines(run.getTotalPipelines());
+        dto.setCompletedPipelines(run.getCompletedPipelines());
+        dto.setSuccessfulPipelines(run.getSuccessfulPipelines());
+        dto.setFailedPipelines(run.getFailedPipelines());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+        dto.setErrorMessage(run.getErrorMessage());
+        dto.setReport(run.getReport());
+        return dto;
+    }
+
+    public LoadTestRunDTO toLoadTestRunDTO(LoadTestRun run) {
+        LoadTestRunDTO dto = new LoadTestRunDTO();
+        dto.setId(run.getId());
+        dto.setPipelineId(run.getPipeline() != null ? run.getPipeline().getId() : null);
+        dto.setLoadModel(run.getLoadModel().toString());
+        dto.setVirtualUsers(run.getVirtualUsers());
+        dto.setTargetRps(run.getTargetRps());
+        dto.setRampUpSeconds(run.getRampUpSeconds());
+        dto.setDurationSeconds(run.getDurationSeconds());
+        dto.setWarmUpSeconds(run.getWarmUpSeconds());
+        dto.setPacingMs(run.getPacingMs());
+        dto.setStatus(run.getStatus().toString());
+        dto.setStartedAt(run.getStartedAt());
+        dto.setCompletedAt(run.getCompletedAt());
+        dto.setIterations(run.getIterations());
+        dto.setFailedIterations(run.getFailedIterations());
+        dto.setThroughput(run.getThroughput());
+        dto.setP50Ms(run.getP50Ms());
+        dto.setP90Ms(run.getP90Ms());
+        dto.setP99Ms(run.getP99Ms());
+        dto.setP999Ms(run.getP999Ms());
+        dto.setErrorMessage(run.getErrorMessage());
+        if (run.getSummary() != null) {
+            try {
+                dto.setSummary(objectMapper.readValue(run.getSummary(), LoadTestSnapshotDTO.class));
+            } catch (Exception e) {
+                // 요약을 읽지 못해도 기본 지표는 반환
+            }
+        }
+        return dto;
+    }
+
     public StepExecutionDTO toStepExecutionDTO(StepExecution stepExecution) {
+        return toStepExecutionDTO(stepExecution, true);
+    }
+
+    /**
+     * includeBodies 가 false 이면 요청/응답 본문을 읽지 않는다 (진행 상황 목록용).
+     */
+    public StepExecutionDTO toStepExecutionDTO(StepExecution stepExecution, boolean includeBodies) {
         StepExecutionDTO dto = new StepExecutionDTO();
         dto.setId(stepExecution.getId());
         dto.setStepOrder(stepExecution.getStepOrder());
@@ -106,9 +205,14 @@ public class PipelineMapper {
         dto.setCompletedAt(stepExecution.getCompletedAt());
         dto.setHttpStatus(stepExecution.getHttpStatus());
         dto.setResponseTime(stepExecution.getResponseTime());
+        dto.setQueueWaitTime(stepExecution.getQueueWaitTime());
+        dto.setAttempts(stepExecution.getAttempts());
+        dto.setAttemptLog(stepExecution.getAttemptLog());
         dto.setErrorMessage(stepExecution.getErrorMessage());
-        dto.setRequestData(stepExecution.getRequestData());
-        dto.setResponseData(stepExecution.getResponseData());
+        if (includeBodies) {
+            dto.setRequestData(requestDataOf(stepExecution));
+            dto.setResponseData(responseDataOf(stepExecution));
+        }
         dto.setExtractedData(stepExecution.getExtractedData());
         
         // stepName과 stepOrder를 우선 설정
@@ -135,4 +239,15 @@ public class PipelineMapper {
         
         return dto;
     }
-}
\ No newline at end of file
+
+    // 새 실행은 본문 저장소의 해시를, 이전 실행은 인라인 컬럼을 사용
+    public String requestDataOf(StepExecution stepExecution) {
+        return stepExecution.getRequestBlobHash() != null
+                ? bodyBlobStore.load(stepExecution.getRequestBlobHash()) : stepExecution.getRequestData();
+    }
+
+    public String responseDataOf(StepExecution stepExecution) {
+        return stepExecution.getResponseBlobHash() != null
+                ? bodyBlobStore.load(stepExecution.getResponseBlobHash()) : stepExecution.getResponseData();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.apitest.repository;
+
+import com.example.apitest.entity.BodyBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BodyBlobRepository extends JpaRepository<BodyBlob, String> {
+}
@@ -0,0 +1,49 @@
+package com.example.apitest.repository;
+
+import com.example.apitest.entity.DatasetRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DatasetRunRepository extends JpaRepository<DatasetRun, Long> {
+    
+    List<DatasetRun> findByPipelineIdOrderByStartedAtDesc(Long pipelineId);
+    
+    List<DatasetRun> findByStatusOrderByIdAsc(DatasetRun.RunStatus status);
+    
+    // 행 실행 결과를 부모 카운터에 반영: 여러 워커가 동시에 호출하므로 읽지 않고 증가만 수행
+    @Modifying
+    @Transactional
+    @Query("UPDATE DatasetRun dr SET dr.completedRows = dr.completedRows + 1, " +
+           "dr.successfulRows = dr.successfulRows + :successful, " +
+           "dr.failedRows = dr.failedRows + :failed WHERE dr.id = :runId")
+    int recordRowResult(@Param("runId") Long runId,
+                        @Param("successful") long successful,
+                        @Param("failed") long failed);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE DatasetRun dr SET dr.totalRows = :totalRows WHERE dr.id = :runId")
+    int updateTotalRows(@Param("runId") Long runId, @Param("totalRows") Long totalRows);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE DatasetRun dr SET dr.status = :status, dr.totalRows = :totalRows, " +
+           "dr.errorMessage = :errorMessage, dr.completedAt = :completedAt WHERE dr.id = :runId")
+    int finish(@Param("runId") Long runId,
+               @Param("status") DatasetRun.RunStatus status,
+               @Param("totalRows") Long totalRows,
+               @Param("errorMessage") String errorMessage,
+               @Param("completedAt") LocalDateTime completedAt);
+    
+    @Modifying
+    @Query("DELETE FROM DatasetRun dr WHERE dr.pipeline.id = :pipelineId")
+    void deleteByPipelineId(@Param("pipelineId") Long pipelineId);
+}
@@ -0,0 +1,40 @@
+package com.example.apitest.repository;
+
+import com.example.apitest.entity.FolderRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FolderRunRepository extends JpaRepository<FolderRun, Long> {
+    
+    List<FolderRun> findByFolderIdOrderByStartedAtDesc(Long folderId);
+    
+    List<FolderRun> findByStatusOrderByIdAsc(FolderRun.RunStatus status);
+    
+    // 파이프라인 실행 결과를 부모 카운터에 반영: 여러 파이프라인이 동시에 끝나므로 읽지 않고 증가만 수행
+    @Modifying
+    @Transactional
+    @Query("UPDATE FolderRun fr SET fr.completedPipelines = fr.completedPipelines + 1, " +
+           "fr.successfulPipelines = fr.successfulPipelines + :successful, " +
+           "fr.failedPipelines = fr.failedPipelines + :failed WHERE fr.id = :runId")
+    int recordPipelineResult(@Param("runId") Long runId,
+                             @Param("successful") int successful,
+                             @Param("failed") int failed);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE FolderRun fr SET fr.status = :status, fr.report = :report, " +
+           "fr.errorMessage = :errorMessage, fr.completedAt = :completedAt WHERE fr.id = :runId")
+    int finish(@Param("runId") Long runId,
+               @Param("status") FolderRun.RunStatus status,
+               @Param("report") String report,
+               @Param("errorMessage") String errorMessage,
+               @Param("completedAt") LocalDateTime completedAt);
+}
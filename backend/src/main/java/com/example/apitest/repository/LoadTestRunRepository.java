@@ -0,0 +1,22 @@
+package com.example.apitest.repository;
+
+import com.example.apitest.entity.LoadTestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LoadTestRunRepository extends JpaRepository<LoadTestRun, Long> {
+    
+    List<LoadTestRun> findByPipelineIdOrderByStartedAtDesc(Long pipelineId);
+    
+    List<LoadTestRun> findByStatusOrderByIdAsc(LoadTestRun.RunStatus status);
+    
+    @Modifying
+    @Query("DELETE FROM LoadTestRun lt WHERE lt.pipeline.id = :pipelineId")
+    void deleteByPipelineId(@Param("pipelineId") Long pipelineId);
+}
@@ -1,12 +1,15 @@
 package com.example.apitest.repository;
 
 import com.example.apitest.entity.PipelineExecution;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,6 +23,50 @@ public interface PipelineExecutionRepository extends JpaRepository<PipelineExecu
     @Query("SELECT pe FROM PipelineExecution pe WHERE pe.status = 'RUNNING'")
     List<PipelineExecution> findRunningExecutions();
     
+    List<PipelineExecution> findByStatusOrderByIdAsc(PipelineExecution.ExecutionStatus status);
+    
+    // 데이터셋 실행의 행 결과는 수가 많을 수 있으므로 페이지 단위로 조회
+    List<PipelineExecution> findByDatasetRunIdOrderByDatasetRowAsc(Long datasetRunId, Pageable pageable);
+    
+    List<PipelineExecution> findByFolderRunIdOrderByIdAsc(Long folderRunId);
+    
+    // QUEUED -> RUNNING 전이를 원자적으로 수행 (중복 디스패치 방지)
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE PipelineExecution pe SET pe.status = :running, pe.startedAt = :startedAt " +
+           "WHERE pe.id = :executionId AND pe.status = :queued")
+    int claimQueuedExecution(@Param("executionId") Long executionId,
+                             @Param("startedAt") LocalDateTime startedAt,
+                             @Param("queued") PipelineExecution.ExecutionStatus queued,
+                             @Param("running") PipelineExecution.ExecutionStatus running);
+    
+    // 대기 중인 실행 취소: 그 사이 워커가 가져갔으면 0 을 반환
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE PipelineExecution pe SET pe.status = :cancelled, pe.completedAt = :completedAt, " +
+           "pe.errorMessage = :errorMessage WHERE pe.id = :executionId AND pe.status = :queued")
+    int cancelQueuedExecution(@Param("executionId") Long executionId,
+                              @Param("completedAt") LocalDateTime completedAt,
+                              @Param("errorMessage") String errorMessage,
+                              @Param("queued") PipelineExecution.ExecutionStatus queued,
+                              @Param("cancelled") PipelineExecution.ExecutionStatus cancelled);
+    
+    // 실행 기록기(ExecutionRecorder)의 진행 상태 반영: 조회 없이 한 번의 UPDATE 로 처리
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PipelineExecution pe SET pe.status = :status, pe.completedSteps = :completedSteps, " +
+           "pe.successfulSteps = :successfulSteps, pe.failedSteps = :failedSteps, " +
+           "pe.errorMessage = :errorMessage, pe.completedAt = :completedAt, " +
+           "pe.executionContext = :executionContext, pe.sessionCookies = :sessionCookies WHERE pe.id = :executionId")
+    int updateProgress(@Param("executionId") Long executionId,
+                       @Param("status") PipelineExecution.ExecutionStatus status,
+                       @Param("completedSteps") Integer completedSteps,
+                       @Param("successfulSteps") Integer successfulSteps,
+                       @Param("failedSteps") Integer failedSteps,
+                       @Param("errorMessage") String errorMessage,
+                       @Param("completedAt") LocalDateTime completedAt,
+                       @Param("executionContext") String executionContext,
+                       @Param("sessionCookies") String sessionCookies);
+    
     @Modifying
     @Query("DELETE FROM PipelineExecution pe WHERE pe.pipeline.id = :pipelineId")
     void deleteByPipelineId(@Param("pipelineId") Long pipelineId);
@@ -17,7 +17,8 @@ public interface PipelineStepRepository extends JpaRepository<PipelineStep, Long
     // 하드 삭제 방식을 위해 isActive 조건 없이 모든 step 조회
     List<PipelineStep> findByPipelineIdOrderByStepOrderAsc(Long pipelineId);
     
-    @Query("SELECT ps FROM PipelineStep ps JOIN FETCH ps.apiItem WHERE ps.isActive = true AND ps.pipeline.id = :pipelineId ORDER BY ps.stepOrder ASC")
+    // 실행 워커에서 사용: 영속성 컨텍스트 없이 접근할 ApiItem 과 Pipeline 을 함께 조회
+    @Query("SELECT ps FROM PipelineStep ps JOIN FETCH ps.apiItem JOIN FETCH ps.pipeline WHERE ps.isActive = true AND ps.pipeline.id = :pipelineId ORDER BY ps.stepOrder ASC")
     List<PipelineStep> findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(@Param("pipelineId") Long pipelineId);
     
     // 하드 삭제 방식을 위해 isActive 조건 없이 ApiItem과 함께 조회
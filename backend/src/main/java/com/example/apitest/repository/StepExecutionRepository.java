@@ -27,6 +27,10 @@ public interface StepExecutionRepository extends JpaRepository<StepExecution, Lo
     @Query("SELECT se FROM StepExecution se WHERE se.pipelineExecution.id = :executionId AND se.stepOrder <= :stepOrder ORDER BY se.stepOrder")
     List<StepExecution> findPreviousSteps(@Param("executionId") Long executionId, @Param("stepOrder") Integer stepOrder);
     
+    @Query("SELECT COUNT(se) > 0 FROM StepExecution se WHERE se.pipelineExecution.id = :executionId " +
+           "AND (se.requestBlobHash = :hash OR se.responseBlobHash = :hash)")
+    boolean existsByExecutionIdAndBlobHash(@Param("executionId") Long executionId, @Param("hash") String hash);
+    
     @Modifying
     @Query("DELETE FROM StepExecution se WHERE se.pipelineStep.id = :pipelineStepId")
     void deleteByPipelineStepId(@Param("pipelineStepId") Long pipelineStepId);
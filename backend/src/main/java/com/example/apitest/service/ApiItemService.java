@@ -8,6 +8,7 @@ import com.example.apitest.repository.ApiFolderRepository;
 import com.example.apitest.repository.ApiItemHistoryRepository;
 import com.example.apitest.repository.ApiItemRepository;
 import com.example.apitest.repository.PipelineStepRepository;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +34,9 @@ public class ApiItemService {
     @Autowired
     private PipelineStepRepository pipelineStepRepository;
 
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
     public List<Map<String, Object>> getAllItems() {
         List<ApiItem> items = itemRepository.findAll();
         return items.stream().map(this::convertToMap).collect(Collectors.toList());
@@ -71,6 +75,8 @@ public class ApiItemService {
                 }
                 
                 ApiItem savedItem = itemRepository.save(item);
+                // 이 아이템을 쓰는 파이프라인의 실행 계획을 다시 만들도록
+                planCache.invalidateApiItem(id);
                 return convertToMap(savedItem);
             });
     }
@@ -88,6 +94,7 @@ public class ApiItemService {
                     
                     // 3. 그 다음 아이템 삭제 (커스텀 @Modifying 쿼리 사용)
                     int deletedCount = itemRepository.deleteByIdCustom(id);
+                    planCache.invalidateApiItem(id);
                     
                     return deletedCount > 0;
                 } catch (Exception e) {
@@ -0,0 +1,324 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.DatasetRun;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.repository.DatasetRunRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.service.pipeline.DatasetReader;
+import com.example.apitest.service.pipeline.ExecutionCheckpoint;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 데이터셋 실행 서비스.
+ *
+ * CSV/JSONL 파일의 각 행을 초기 컨텍스트로 삼아 같은 파이프라인을 한 번씩 실행한다.
+ * 코디네이터 스레드가 파일을 한 행씩 읽어 행 워커 풀(datasetRowExecutor)에 넘기며,
+ * 실행별 세마포어로 동시에 처리 중인 행 수를 concurrency 이하로 제한하므로 파일 전체가 메모리에 올라가지 않는다.
+ * 각 행은 datasetRunId/datasetRow 가 채워진 PipelineExecution 으로 기록되고, 결과는 DatasetRun 카운터로 집계된다.
+ * 업로드된 파일은 실행이 끝나면(시작하지 못한 경우 포함) 삭제된다. 행의 변수는 각 행 실행의 initialContext 에 남으므로
+ * 실패한 행의 재개에는 파일이 필요 없다.
+ */
+@Service
+public class DatasetRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetRunService.class);
+
+    // 읽은 행 수(totalRows)를 DB에 반영하는 간격
+    private static final int TOTAL_ROWS_UPDATE_INTERVAL = 100;
+
+    @Autowired
+    private DatasetRunRepository datasetRunRepository;
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    @Autowired
+    private PipelineExecutionService pipelineExecutionService;
+
+    @Autowired
+    @Qualifier("datasetCoordinatorExecutor")
+    private Executor datasetCoordinatorExecutor;
+
+    @Autowired
+    @Qualifier("datasetRowExecutor")
+    private Executor datasetRowExecutor;
+
+    @Value("${pipeline.dataset.upload-dir:uploads/datasets}")
+    private String uploadDir;
+
+    @Value("${pipeline.dataset.base-dir:datasets}")
+    private String baseDir;
+
+    @Value("${pipeline.dataset.default-concurrency:4}")
+    private int defaultConcurrency;
+
+    @Value("${pipeline.dataset.worker-pool-size:8}")
+    private int maxConcurrency;
+
+    @Value("${pipeline.engine.async.max-in-flight:1000}")
+    private int maxInFlight;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 업로드된 데이터셋 파일을 디스크에 스트리밍으로 저장한 뒤 실행을 시작한다. 저장한 파일은 실행이 끝나면 삭제한다.
+     */
+    public DatasetRun startUploadedRun(Long pipelineId, MultipartFile file, Integer concurrency) {
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("Dataset file name is missing");
+        }
+        // 클라이언트가 보낸 경로 부분은 버리고 파일명만 사용
+        fileName = Paths.get(fileName).getFileName().toString();
+        DatasetReader.Format format = DatasetReader.Format.fromFileName(fileName);
+
+        Path filePath;
+        try {
+            Path uploadPath = Paths.get(uploadDir);
+            Files.createDirectories(uploadPath);
+            filePath = uploadPath.resolve(System.currentTimeMillis() + "_" + fileName);
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, filePath);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save dataset file: " + e.getMessage());
+        }
+        try {
+            return start(pipelineId, fileName, filePath, format, concurrency, true);
+        } catch (RuntimeException e) {
+            deleteUploadedFile(filePath);
+            throw e;
+        }
+    }
+
+    /**
+     * 서버에 이미 있는 데이터셋 파일(pipeline.dataset.base-dir 하위)로 실행을 시작한다.
+     */
+    public DatasetRun startReferencedRun(Long pipelineId, String path, Integer concurrency) {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("Dataset path is required");
+        }
+        Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+        Path filePath = base.resolve(path).normalize();
+        if (!filePath.startsWith(base)) {
+            throw new IllegalArgumentException("Dataset path must be inside " + baseDir);
+        }
+        if (!Files.isRegularFile(filePath)) {
+            throw new IllegalArgumentException("Dataset file not found: " + path);
+        }
+        DatasetReader.Format format = DatasetReader.Format.fromFileName(filePath.getFileName().toString());
+        return start(pipelineId, path, filePath, format, concurrency, false);
+    }
+
+    private DatasetRun start(Long pipelineId, String sourceName, Path filePath, DatasetReader.Format format, Integer concurrency,
+                             boolean uploaded) {
+        Pipeline pipeline = pipelineRepository.findById(pipelineId)
+                .orElseThrow(() -> new RuntimeException("Pipeline not found: " + pipelineId));
+        // 모든 행이 시작 시점의 실행 계획을 함께 사용
+        PipelineExecutionPlan plan = planCache.planFor(pipelineId);
+        if (plan.isEmpty()) {
+            throw new RuntimeException("No active steps found for pipeline: " + pipelineId);
+        }
+
+        // 비동기 엔진에서는 행이 워커 스레드를 점유하지 않으므로 상한이 max-in-flight 로 올라감
+        int concurrencyLimit = runsNonBlocking(plan) ? maxInFlight : maxConcurrency;
+        int effectiveConcurrency = concurrency != null ? concurrency : defaultConcurrency;
+        effectiveConcurrency = Math.max(1, Math.min(effectiveConcurrency, concurrencyLimit));
+
+        DatasetRun run = datasetRunRepository.save(new DatasetRun(pipeline, sourceName, filePath.toString(),
+                DatasetRun.DatasetFormat.valueOf(format.name()), effectiveConcurrency));
+        try {
+            datasetCoordinatorExecutor.execute(() -> {
+                try {
+                    coordinate(run, pipeline, plan, filePath, format);
+                } finally {
+                    if (uploaded) {
+                        deleteUploadedFile(filePath);
+                    }
+                }
+            });
+        } catch (TaskRejectedException e) {
+            datasetRunRepository.finish(run.getId(), DatasetRun.RunStatus.FAILED, 0L,
+                    "Too many dataset runs in progress", LocalDateTime.now());
+            throw new IllegalStateException("Too many dataset runs in progress");
+        }
+        return run;
+    }
+
+    /**
+     * 파일을 한 행씩 읽어 워커 풀에 넘기고, 모든 행이 끝나면 부모 실행을 완료 처리한다.
+     */
+    private void coordinate(DatasetRun run, Pipeline pipeline, PipelineExecutionPlan plan, Path filePath, DatasetReader.Format format) {
+        int concurrency = run.getConcurrency();
+        Semaphore permits = new Semaphore(concurrency);
+        long rows = 0;
+        String errorMessage = null;
+        boolean nonBlocking = runsNonBlocking(plan);
+
+        try (DatasetReader reader = DatasetReader.open(filePath, format, objectMapper)) {
+            while (reader.hasNext()) {
+                Map<String, Object> row = reader.next();
+                long rowNumber = reader.getRowNumber();
+                permits.acquire();
+                rows = rowNumber;
+                if (nonBlocking) {
+                    startRow(run, pipeline, plan, rowNumber, row, permits);
+                } else {
+                    try {
+                        datasetRowExecutor.execute(() -> {
+                            try {
+                                runRow(run, pipeline, plan, rowNumber, row);
+                            } finally {
+                                permits.release();
+                            }
+                        });
+                    } catch (TaskRejectedException e) {
+                        permits.release();
+                        logger.warn("Dataset run {} row {} rejected by worker pool", run.getId(), rowNumber);
+                        datasetRunRepository.recordRowResult(run.getId(), 0, 1);
+                    }
+                }
+                if (rows % TOTAL_ROWS_UPDATE_INTERVAL == 0) {
+                    datasetRunRepository.updateTotalRows(run.getId(), rows);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorMessage = "Dataset run interrupted after " + rows + " rows";
+        } catch (Exception e) {
+            logger.error("Dataset run " + run.getId() + " failed while reading " + filePath, e);
+            errorMessage = "Failed to read dataset at row " + (rows + 1) + ": " + e.getMessage();
+        }
+
+        // 진행 중인 행이 모두 끝날 때까지 대기
+        permits.acquireUninterruptibly(concurrency);
+
+        DatasetRun.RunStatus status = errorMessage == null ? DatasetRun.RunStatus.COMPLETED : DatasetRun.RunStatus.FAILED;
+        datasetRunRepository.finish(run.getId(), status, rows, errorMessage, LocalDateTime.now());
+        logger.info("Dataset run {} finished with status {} ({} rows)", run.getId(), status, rows);
+    }
+
+    private void deleteUploadedFile(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            logger.warn("Failed to delete uploaded dataset file {}: {}", filePath, e.getMessage());
+        }
+    }
+
+    private void runRow(DatasetRun run, Pipeline pipeline, PipelineExecutionPlan plan, long rowNumber, Map<String, Object> row) {
+        boolean successful = false;
+        try {
+            PipelineExecution execution = createRowExecution(run, pipeline, plan, rowNumber, row);
+            execution = pipelineExecutionService.runExecution(execution, plan, row);
+            successful = execution.getStatus() == PipelineExecution.ExecutionStatus.COMPLETED;
+        } catch (Exception e) {
+            logger.error("Dataset run " + run.getId() + " row " + rowNumber + " failed", e);
+        } finally {
+            datasetRunRepository.recordRowResult(run.getId(), successful ? 1 : 0, successful ? 0 : 1);
+        }
+    }
+
+    /**
+     * 비동기 엔진: 코디네이터는 행 실행을 시작만 하고, 실행이 끝나면 결과를 집계하고 permit 을 반납한다.
+     */
+    private void startRow(DatasetRun run, Pipeline pipeline, PipelineExecutionPlan plan, long rowNumber,
+                          Map<String, Object> row, Semaphore permits) {
+        CompletableFuture<PipelineExecution> result;
+        try {
+            result = pipelineExecutionService.runExecutionAsync(createRowExecution(run, pipeline, plan, rowNumber, row), plan, row);
+        } catch (Exception e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((execution, error) -> {
+            if (error != null) {
+                logger.error("Dataset run " + run.getId() + " row " + rowNumber + " failed", error);
+            }
+            boolean successful = error == null && execution.getStatus() == PipelineExecution.ExecutionStatus.COMPLETED;
+            try {
+                datasetRunRepository.recordRowResult(run.getId(), successful ? 1 : 0, successful ? 0 : 1);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private PipelineExecution createRowExecution(DatasetRun run, Pipeline pipeline, PipelineExecutionPlan plan, long rowNumber,
+                                                 Map<String, Object> row) {
+        PipelineExecution execution = new PipelineExecution();
+        execution.setPipeline(pipeline);
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.RUNNING);
+        execution.setDatasetRunId(run.getId());
+        execution.setDatasetRow(rowNumber);
+        // 행의 변수를 남겨 두어 실패한 행을 체크포인트에서 재개할 수 있게 한다
+        execution.setInitialContext(ExecutionCheckpoint.writeContext(row));
+        return pipelineExecutionRepository.save(execution);
+    }
+
+    // 병렬 실행 파이프라인은 비동기 엔진에서도 코디네이터 스레드가 필요하므로 행 워커 풀에서 실행
+    private boolean runsNonBlocking(PipelineExecutionPlan plan) {
+        return pipelineExecutionService.isNonBlockingEngine() && !plan.runsInParallel();
+    }
+
+    public DatasetRun getRun(Long runId) {
+        return datasetRunRepository.findById(runId)
+                .orElseThrow(() -> new RuntimeException("Dataset run not found: " + runId));
+    }
+
+    public List<DatasetRun> getRuns(Long pipelineId) {
+        return datasetRunRepository.findByPipelineIdOrderByStartedAtDesc(pipelineId);
+    }
+
+    public List<PipelineExecution> getRowExecutions(Long runId, int page, int size) {
+        return pipelineExecutionRepository.findByDatasetRunIdOrderByDatasetRowAsc(runId, PageRequest.of(page, size));
+    }
+
+    /**
+     * 서버 재시작으로 중단된 데이터셋 실행은 실패 처리한다 (중단된 행 실행은 PipelineExecutionQueue 에서 처리).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        List<DatasetRun> interrupted = datasetRunRepository.findByStatusOrderByIdAsc(DatasetRun.RunStatus.RUNNING);
+        for (DatasetRun run : interrupted) {
+            datasetRunRepository.finish(run.getId(), DatasetRun.RunStatus.FAILED, run.getTotalRows(),
+                    "Dataset run interrupted by server restart", LocalDateTime.now());
+        }
+        if (!interrupted.isEmpty()) {
+            logger.info("Marked {} interrupted dataset runs as FAILED", interrupted.size());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.FolderRun;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.PipelineFolder;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.repository.FolderRunRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineFolderRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.repository.StepExecutionRepository;
+import com.example.apitest.service.pipeline.FolderRunReport;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 폴더 일괄 실행 서비스.
+ *
+ * 폴더의 활성 파이프라인을 모두 실행하되 동시에 실행되는 파이프라인 수를 concurrency 이하로 제한한다.
+ * concurrency 개의 레인이 남은 파이프라인을 하나씩 가져가 실행하므로 파이프라인 하나가 끝나면 곧바로 다음 파이프라인이 시작되고,
+ * 따로 대기하는 코디네이터 스레드는 없다. 각 파이프라인은 folderRunId 가 채워진 PipelineExecution 으로 기록되고,
+ * 진행 상태는 FolderRun 카운터로, 모든 파이프라인이 끝나면 FolderRunReport 로 집계한 결과가 report 에 남는다.
+ */
+@Service
+public class FolderRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FolderRunService.class);
+
+    @Autowired
+    private FolderRunRepository folderRunRepository;
+
+    @Autowired
+    private PipelineFolderRepository pipelineFolderRepository;
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    @Autowired
+    private StepExecutionRepository stepExecutionRepository;
+
+    @Autowired
+    private PipelineExecutionService pipelineExecutionService;
+
+    @Autowired
+    @Qualifier("folderRunExecutor")
+    private Executor folderRunExecutor;
+
+    @Value("${pipeline.folder-run.default-concurrency:4}")
+    private int defaultConcurrency;
+
+    @Value("${pipeline.folder-run.worker-pool-size:8}")
+    private int maxConcurrency;
+
+    @Value("${pipeline.folder-run.max-active-runs:2}")
+    private int maxActiveRuns;
+
+    @Value("${pipeline.engine.async.max-in-flight:1000}")
+    private int maxInFlight;
+
+    private Semaphore activeRuns;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @PostConstruct
+    public void initActiveRuns() {
+        activeRuns = new Semaphore(Math.max(1, maxActiveRuns));
+    }
+
+    /**
+     * 폴더의 활성 파이프라인(정렬 순서대로)을 모두 실행한다. 실행은 바로 시작되고 진행 상태는 FolderRun 으로 조회한다.
+     */
+    public FolderRun startRun(Long folderId, Integer concurrency) {
+        PipelineFolder folder = pipelineFolderRepository.findById(folderId)
+                .filter(f -> !Boolean.FALSE.equals(f.getIsActive()))
+                .orElseThrow(() -> new IllegalArgumentException("Folder not found: " + folderId));
+        List<Pipeline> pipelines = pipelineRepository.findByIsActiveTrueAndFolderIdOrderByOrderIndexAsc(folderId);
+        if (pipelines.isEmpty()) {
+            throw new IllegalArgumentException("No active pipelines in folder: " + folderId);
+        }
+        // 모든 파이프라인이 시작 시점의 실행 계획을 사용
+        List<PipelineExecutionPlan> plans = pipelines.stream()
+                .map(pipeline -> planCache.planFor(pipeline.getId()))
+                .collect(Collectors.toList());
+
+        // 모든 파이프라인이 비동기 엔진에서 실행되면 워커 스레드를 점유하지 않으므로 상한이 max-in-flight 로 올라감
+        boolean nonBlocking = plans.stream().allMatch(this::runsNonBlocking);
+        int concurrencyLimit = nonBlocking ? maxInFlight : maxConcurrency;
+        int effectiveConcurrency = concurrency != null ? concurrency : defaultConcurrency;
+        effectiveConcurrency = Math.max(1, Math.min(Math.min(effectiveConcurrency, concurrencyLimit), pipelines.size()));
+
+        if (!activeRuns.tryAcquire()) {
+            throw new IllegalStateException("Too many folder runs in progress");
+        }
+        FolderRun run;
+        try {
+            run = folderRunRepository.save(new FolderRun(folder, pipelines.size(), effectiveConcurrency));
+        } catch (RuntimeException e) {
+            activeRuns.release();
+            throw e;
+        }
+
+        FolderRunReport report = new FolderRunReport();
+        AtomicInteger nextPipeline = new AtomicInteger();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[effectiveConcurrency];
+        for (int i = 0; i < effectiveConcurrency; i++) {
+            lanes[i] = lane(run, pipelines, plans, nextPipeline, report);
+        }
+        CompletableFuture.allOf(lanes).whenComplete((ignored, error) -> finish(run, report, error));
+        logger.info("Folder run {} started for folder {} ({} pipelines, concurrency {})",
+                run.getId(), folderId, pipelines.size(), effectiveConcurrency);
+        return run;
+    }
+
+    /**
+     * 앞의 파이프라인이 끝나면 다음 파이프라인을 가져가 실행한다.
+     */
+    private CompletableFuture<Void> lane(FolderRun run, List<Pipeline> pipelines, List<PipelineExecutionPlan> plans,
+                                         AtomicInteger nextPipeline, FolderRunReport report) {
+        int index = nextPipeline.getAndIncrement();
+        if (index >= pipelines.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Pipeline pipeline = pipelines.get(index);
+        PipelineExecutionPlan plan = plans.get(index);
+        if (plan.isEmpty()) {
+            synchronized (report) {
+                report.skipped(pipeline);
+            }
+            folderRunRepository.recordPipelineResult(run.getId(), 0, 0);
+            return lane(run, pipelines, plans, nextPipeline, report);
+        }
+        return runPipeline(run, pipeline, plan)
+                .handle((execution, error) -> {
+                    recordResult(run, pipeline, execution, error, report);
+                    return null;
+                })
+                .thenCompose(ignored -> lane(run, pipelines, plans, nextPipeline, report));
+    }
+
+    private CompletableFuture<PipelineExecution> runPipeline(FolderRun run, Pipeline pipeline, PipelineExecutionPlan plan) {
+        try {
+            PipelineExecution execution = createPipelineExecution(run, pipeline, plan);
+            if (runsNonBlocking(plan)) {
+                return pipelineExecutionService.runExecutionAsync(execution, plan, Collections.emptyMap());
+            }
+            return CompletableFuture.supplyAsync(
+                    () -> pipelineExecutionService.runExecution(execution, plan, Collections.emptyMap()), folderRunExecutor);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void recordResult(FolderRun run, Pipeline pipeline, PipelineExecution execution, Throwable error,
+                              FolderRunReport report) {
+        boolean successful = error == null && execution.getStatus() == PipelineExecution.ExecutionStatus.COMPLETED;
+        if (error != null) {
+            logger.error("Folder run " + run.getId() + " pipeline " + pipeline.getId() + " failed", error);
+        }
+        try {
+            List<StepExecution> steps = execution != null
+                    ? stepExecutionRepository.findByExecutionIdOrderByStepOrder(execution.getId())
+                    : Collections.emptyList();
+            synchronized (report) {
+                report.add(pipeline, error == null ? execution : null, steps, error != null ? error.getMessage() : null);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not collect results of pipeline " + pipeline.getId() + " for folder run " + run.getId()
+                    + ": " + e.getMessage());
+        } finally {
+            folderRunRepository.recordPipelineResult(run.getId(), successful ? 1 : 0, successful ? 0 : 1);
+        }
+    }
+
+    private void finish(FolderRun run, FolderRunReport report, Throwable error) {
+        try {
+            long durationMs = Duration.between(run.getStartedAt(), LocalDateTime.now()).toMillis();
+            String json;
+            synchronized (report) {
+                json = report.toJson(objectMapper, durationMs);
+            }
+            // 파이프라인 실패는 report 에 남기고, 실행 자체가 중단된 경우에만 FAILED
+            FolderRun.RunStatus status = error == null ? FolderRun.RunStatus.COMPLETED : FolderRun.RunStatus.FAILED;
+            folderRunRepository.finish(run.getId(), status, json, error != null ? error.getMessage() : null, LocalDateTime.now());
+            logger.info("Folder run {} finished with status {} ({} failed pipelines)", run.getId(), status,
+                    report.getFailedPipelines());
+        } catch (Exception e) {
+            logger.error("Could not finish folder run " + run.getId(), e);
+        } finally {
+            activeRuns.release();
+        }
+    }
+
+    private PipelineExecution createPipelineExecution(FolderRun run, Pipeline pipeline, PipelineExecutionPlan plan) {
+        PipelineExecution execution = new PipelineExecution();
+        execution.setPipeline(pipeline);
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.RUNNING);
+        execution.setFolderRunId(run.getId());
+        return pipelineExecutionRepository.save(execution);
+    }
+
+    // 병렬 실행 파이프라인은 비동기 엔진에서도 코디네이터 스레드가 필요하므로 워커 풀에서 실행
+    private boolean runsNonBlocking(PipelineExecutionPlan plan) {
+        return pipelineExecutionService.isNonBlockingEngine() && !plan.runsInParallel();
+    }
+
+    public FolderRun getRun(Long runId) {
+        return folderRunRepository.findById(runId)
+                .orElseThrow(() -> new RuntimeException("Folder run not found: " + runId));
+    }
+
+    public List<FolderRun> getRuns(Long folderId) {
+        return folderRunRepository.findByFolderIdOrderByStartedAtDesc(folderId);
+    }
+
+    public List<PipelineExecution> getPipelineExecutions(Long runId) {
+        return pipelineExecutionRepository.findByFolderRunIdOrderByIdAsc(runId);
+    }
+
+    /**
+     * 서버 재시작으로 중단된 폴더 실행은 실패 처리한다 (중단된 파이프라인 실행은 PipelineExecutionQueue 에서 처리).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        List<FolderRun> interrupted = folderRunRepository.findByStatusOrderByIdAsc(FolderRun.RunStatus.RUNNING);
+        for (FolderRun run : interrupted) {
+            folderRunRepository.finish(run.getId(), FolderRun.RunStatus.FAILED, null,
+                    "Folder run interrupted by server restart", LocalDateTime.now());
+        }
+        if (!interrupted.isEmpty()) {
+            logger.info("Marked {} interrupted folder runs as FAILED", interrupted.size());
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.apitest.service;
+
+import com.example.apitest.dto.pipeline.request.StartLoadTestRequest;
+import com.example.apitest.dto.pipeline.response.LoadTestSnapshotDTO;
+import com.example.apitest.dto.pipeline.response.LoadTestStatsDTO;
+import com.example.apitest.entity.LoadTestRun;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.repository.LoadTestRunRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.service.pipeline.ExecutionCookieJar;
+import com.example.apitest.service.pipeline.ExecutionEventPublisher;
+import com.example.apitest.service.pipeline.LoadIterationRunner;
+import com.example.apitest.service.pipeline.LoadTestMetrics;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파이프라인 부하 테스트.
+ *
+ * 기존 파이프라인을 시나리오로 사용해 두 가지 모델로 부하를 건다.
+ * - CLOSED: 가상 사용자 N명이 ramp-up 동안 순차적으로 시작해 반복을 계속 수행 (pacingMs 로 반복 간격 지정 가능)
+ * - OPEN: 목표 도착률(targetRps)로 반복을 시작하며, 응답이 느려져도 도착률은 유지된다 (ramp-up 동안 선형 증가)
+ * 지연 시간은 LoadTestMetrics(HdrHistogram)로 집계해 주기적으로 /topic/load-tests/{id} 로 전송하고,
+ * 종료 시 요약만 LoadTestRun 에 저장한다.
+ */
+@Service
+public class LoadTestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestService.class);
+
+    @Autowired
+    private LoadTestRunRepository loadTestRunRepository;
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    private LoadIterationRunner loadIterationRunner;
+
+    @Autowired
+    private ExecutionEventPublisher executionEventPublisher;
+
+    @Autowired
+    @Qualifier("loadTestExecutor")
+    private Executor loadTestExecutor;
+
+    @Value("${pipeline.load-test.max-virtual-users:200}")
+    private int maxVirtualUsers;
+
+    @Value("${pipeline.load-test.max-rps:1000}")
+    private double maxRps;
+
+    @Value("${pipeline.load-test.max-duration-seconds:3600}")
+    private int maxDurationSeconds;
+
+    @Value("${pipeline.load-test.report-interval-ms:1000}")
+    private long reportIntervalMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+
+    public LoadTestRun start(Long pipelineId, StartLoadTestRequest request) {
+        Pipeline pipeline = pipelineRepository.findById(pipelineId)
+                .orElseThrow(() -> new RuntimeException("Pipeline not found: " + pipelineId));
+        PipelineExecutionPlan plan = planCache.planFor(pipelineId);
+        if (plan.isEmpty()) {
+            throw new RuntimeException("No active steps found for pipeline: " + pipelineId);
+        }
+
+        LoadTestRun run = new LoadTestRun();
+        run.setPipeline(pipeline);
+        run.setLoadModel(request.getTargetRps() != null ? LoadTestRun.LoadModel.OPEN : LoadTestRun.LoadModel.CLOSED);
+        if (request.getVirtualUsers() == null && request.getTargetRps() == null) {
+            // CLOSED 모델에서는 가상 사용자 수가 곧 부하이므로 상한값으로 채우지 않는다
+            throw new IllegalArgumentException("virtualUsers is required when targetRps is not set");
+        }
+        // OPEN 모델의 virtualUsers 는 동시에 진행될 반복 수 상한이라 생략하면 설정 상한을 쓴다
+        run.setVirtualUsers(request.getVirtualUsers() != null ? request.getVirtualUsers() : maxVirtualUsers);
+        run.setTargetRps(request.getTargetRps());
+        run.setDurationSeconds(request.getDurationSeconds());
+        run.setRampUpSeconds(request.getRampUpSeconds() != null ? request.getRampUpSeconds() : 0);
+        run.setWarmUpSeconds(request.getWarmUpSeconds() != null ? request.getWarmUpSeconds() : 0);
+        run.setPacingMs(request.getPacingMs() != null ? request.getPacingMs() : 0);
+        validate(run);
+
+        run = loadTestRunRepository.save(run);
+        Session session = new Session(run, plan);
+        sessions.put(run.getId(), session);
+        try {
+            loadTestExecutor.execute(session::run);
+        } catch (TaskRejectedException e) {
+            sessions.remove(run.getId());
+            run.setStatus(LoadTestRun.RunStatus.FAILED);
+            run.setErrorMessage("Too many load tests in progress");
+            run.setCompletedAt(LocalDateTime.now());
+            loadTestRunRepository.save(run);
+            throw new IllegalStateException("Too many load tests in progress");
+        }
+        return run;
+    }
+
+    private void validate(LoadTestRun run) {
+        if (run.getDurationSeconds() == null || run.getDurationSeconds() <= 0 || run.getDurationSeconds() > maxDurationSeconds) {
+            throw new IllegalArgumentException("durationSeconds must be between 1 and " + maxDurationSeconds);
+        }
+        if (run.getVirtualUsers() <= 0 || run.getVirtualUsers() > maxVirtualUsers) {
+            throw new IllegalArgumentException("virtualUsers must be between 1 and " + maxVirtualUsers);
+        }
+        if (run.getTargetRps() != null && (run.getTargetRps() <= 0 || run.getTargetRps() > maxRps)) {
+            throw new IllegalArgumentException("targetRps must be greater than 0 and at most " + maxRps);
+        }
+        if (run.getRampUpSeconds() < 0 || run.getRampUpSeconds() > run.getDurationSeconds()) {
+            throw new IllegalArgumentException("rampUpSeconds must be between 0 and durationSeconds");
+        }
+        if (run.getWarmUpSeconds() < 0 || run.getWarmUpSeconds() >= run.getDurationSeconds()) {
+            throw new IllegalArgumentException("warmUpSeconds must be shorter than durationSeconds");
+        }
+        if (run.getPacingMs() < 0) {
+            throw new IllegalArgumentException("pacingMs must not be negative");
+        }
+    }
+
+    public boolean stop(Long runId) {
+        Session session = sessions.get(runId);
+        if (session == null) {
+            return false;
+        }
+        session.stop();
+        return true;
+    }
+
+    public LoadTestRun getRun(Long runId) {
+        return loadTestRunRepository.findById(runId)
+                .orElseThrow(() -> new RuntimeException("Load test not found: " + runId));
+    }
+
+    public List<LoadTestRun> getRuns(Long pipelineId) {
+        return loadTestRunRepository.findByPipelineIdOrderByStartedAtDesc(pipelineId);
+    }
+
+    /**
+     * 진행 중인 부하 테스트의 현재 스냅샷 (종료된 경우 null).
+     */
+    public LoadTestSnapshotDTO getLiveSnapshot(Long runId) {
+        Session session = sessions.get(runId);
+        return session != null ? session.lastSnapshot : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        for (LoadTestRun run : loadTestRunRepository.findByStatusOrderByIdAsc(LoadTestRun.RunStatus.RUNNING)) {
+            run.setStatus(LoadTestRun.RunStatus.FAILED);
+            run.setErrorMessage("Load test interrupted by server restart");
+            run.setCompletedAt(LocalDateTime.now());
+            loadTestRunRepository.save(run);
+        }
+    }
+
+    /**
+     * 실행 중인 부하 테스트 하나. run() 은 loadTestExecutor 스레드에서 테스트가 끝날 때까지 실행된다.
+     */
+    private final class Session {
+        private final LoadTestRun run;
+        private final PipelineExecutionPlan plan;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private final AtomicInteger activeUsers = new AtomicInteger();
+        private final AtomicInteger threadIndex = new AtomicInteger();
+        private volatile boolean cancelled;
+        private LoadTestMetrics metrics;
+        private long startNanos;
+        private long endNanos;
+        private volatile LoadTestSnapshotDTO lastSnapshot;
+
+        Session(LoadTestRun run, PipelineExecutionPlan plan) {
+            this.run = run;
+            this.plan = plan;
+        }
+
+        void stop() {
+            cancelled = true;
+            stopped.countDown();
+        }
+
+        boolean isStopped() {
+            return stopped.getCount() == 0;
+        }
+
+        // 지정 시각까지 대기. 중지되었으면 false
+        boolean sleepUntil(long deadlineNanos) throws InterruptedException {
+            long remaining = deadlineNanos - System.nanoTime();
+            return remaining <= 0 ? !isStopped() : !stopped.await(remaining, TimeUnit.NANOSECONDS);
+        }
+
+        void run() {
+            List<String> stepNames = new ArrayList<>(plan.size());
+            for (PipelineStep step : plan.getSteps()) {
+                stepNames.add(step.getStepOrder() + ". " + step.getStepName());
+            }
+            startNanos = System.nanoTime();
+            endNanos = startNanos + TimeUnit.SECONDS.toNanos(run.getDurationSeconds());
+            boolean open = run.getLoadModel() == LoadTestRun.LoadModel.OPEN;
+            // 페이싱이 있는 closed 모델만 기대 간격 기반 보정 (open 모델은 예정 시각부터 측정)
+            long expectedIntervalMicros = open ? 0 : TimeUnit.MILLISECONDS.toMicros(run.getPacingMs());
+            metrics = new LoadTestMetrics(stepNames, startNanos, TimeUnit.SECONDS.toNanos(run.getWarmUpSeconds()),
+                    expectedIntervalMicros);
+
+            int workers = run.getVirtualUsers();
+            // 실행 중 반복 수를 virtualUsers 로 제한하고, open 모델은 같은 수만큼만 대기를 허용 (초과분은 dropped)
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(workers), runnable -> {
+                        Thread thread = new Thread(runnable, "LoadTest-" + run.getId() + "-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            Thread reporter = new Thread(this::report, "LoadTest-" + run.getId() + "-reporter");
+            reporter.setDaemon(true);
+            reporter.start();
+
+            String errorMessage = null;
+            try {
+                if (open) {
+                    dispatchArrivals(pool);
+                    sleepUntil(endNanos);
+                } else {
+                    for (int i = 0; i < workers; i++) {
+                        long offset = TimeUnit.SECONDS.toNanos(run.getRampUpSeconds()) * i / workers;
+                        pool.execute(() -> virtualUser(startNanos + offset));
+                    }
+                    sleepUntil(endNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errorMessage = "Load test interrupted";
+            } catch (Exception e) {
+                logger.error("Load test " + run.getId() + " failed", e);
+                errorMessage = e.getMessage();
+            } finally {
+                stopped.countDown();
+                pool.shutdown();
+                try {
+                    // 진행 중인 반복이 끝날 때까지 잠시 대기한 뒤 강제 종료
+                    if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+                        pool.shutdownNow();
+                    }
+                    reporter.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pool.shutdownNow();
+                }
+                finish(errorMessage);
+            }
+        }
+
+        private void virtualUser(long startAtNanos) {
+            ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+            long pacingNanos = TimeUnit.MILLISECONDS.toNanos(run.getPacingMs());
+            try {
+                if (!sleepUntil(startAtNanos)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            activeUsers.incrementAndGet();
+            try {
+                long intendedStart = System.nanoTime();
+                while (!isStopped() && intendedStart < endNanos) {
+                    boolean success = runIteration(cookieJar, intendedStart);
+                    long now = System.nanoTime();
+                    metrics.recordIteration(now - intendedStart, success, now);
+                    if (pacingNanos > 0) {
+                        // 늦어진 반복은 건너뛰지 않고 바로 시작 (누락분은 기대 간격 보정으로 반영)
+                        intendedStart = Math.max(intendedStart + pacingNanos, now);
+                        if (!sleepUntil(intendedStart)) {
+                            break;
+                        }
+                    } else {
+                        intendedStart = now;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cookieJar.clear();
+                activeUsers.decrementAndGet();
+            }
+        }
+
+        // 목표 도착률로 반복을 시작시킨다. k 번째 반복의 예정 시각은 누적 도착 수 A(t) = k 의 해
+        private void dispatchArrivals(ThreadPoolExecutor pool) throws InterruptedException {
+            double rate = run.getTargetRps();
+            double rampUp = run.getRampUpSeconds();
+            double duration = run.getDurationSeconds();
+            for (long k = 0; ; k++) {
+                double offsetSeconds;
+                double rampArrivals = rate * rampUp / 2;
+                if (k < rampArrivals) {
+                    offsetSeconds = Math.sqrt(2 * k * rampUp / rate);
+                } else {
+                    offsetSeconds = rampUp + (k - rampArrivals) / rate;
+                }
+                if (offsetSeconds >= duration) {
+                    return;
+                }
+                long intendedStart = startNanos + (long) (offsetSeconds * 1e9);
+                if (!sleepUntil(intendedStart)) {
+                    return;
+                }
+                try {
+                    pool.execute(() -> arrival(intendedStart));
+                } catch (RejectedExecutionException e) {
+                    metrics.recordDropped(System.nanoTime());
+                }
+            }
+        }
+
+        private void arrival(long intendedStart) {
+            if (isStopped()) {
+                return;
+            }
+            ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+            activeUsers.incrementAndGet();
+            try {
+                boolean success = runIteration(cookieJar, intendedStart);
+                long now = System.nanoTime();
+                metrics.recordIteration(now - intendedStart, success, now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                activeUsers.decrementAndGet();
+            }
+        }
+
+        // 예상하지 못한 예외도 실패한 반복으로 집계한다 (가상 사용자 스레드가 죽지 않도록)
+        private boolean runIteration(ExecutionCookieJar cookieJar, long intendedStart) throws InterruptedException {
+            try {
+                return loadIterationRunner.runIteration(plan, cookieJar, metrics, intendedStart, stopped);
+            } catch (RuntimeException e) {
+                logger.warn("Load test {} iteration failed: {}", run.getId(), e.toString());
+                return false;
+            }
+        }
+
+        private void report() {
+            try {
+                while (sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reportIntervalMs))) {
+                    publish(LoadTestRun.RunStatus.RUNNING);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private LoadTestSnapshotDTO publish(LoadTestRun.RunStatus status) {
+            LoadTestSnapshotDTO snapshot = metrics.snapshot(Math.min(System.nanoTime(), endNanos));
+            snapshot.setRunId(run.getId());
+            snapshot.setStatus(status.toString());
+            snapshot.setActiveUsers(activeUsers.get());
+            lastSnapshot = snapshot;
+            executionEventPublisher.loadTestProgress(snapshot);
+            return snapshot;
+        }
+
+        private void finish(String errorMessage) {
+            try {
+                LoadTestRun.RunStatus status;
+                if (errorMessage != null) {
+                    status = LoadTestRun.RunStatus.FAILED;
+                } else if (cancelled) {
+                    status = LoadTestRun.RunStatus.CANCELLED;
+                } else {
+                    status = LoadTestRun.RunStatus.COMPLETED;
+                }
+                LoadTestSnapshotDTO summary = publish(status);
+                LoadTestStatsDTO iterations = summary.getIterations();
+                run.setStatus(status);
+                run.setErrorMessage(errorMessage);
+                run.setCompletedAt(LocalDateTime.now());
+                run.setIterations(iterations.getRequests());
+                run.setFailedIterations(iterations.getErrors());
+                run.setThroughput(iterations.getThroughput());
+                run.setP50Ms(iterations.getP50Ms());
+                run.setP90Ms(iterations.getP90Ms());
+                run.setP99Ms(iterations.getP99Ms());
+                run.setP999Ms(iterations.getP999Ms());
+                run.setSummary(objectMapper.writeValueAsString(summary));
+                loadTestRunRepository.save(run);
+                logger.info("Load test {} finished with status {}: {} iterations, p99={}ms", run.getId(), status,
+                        iterations.getRequests(), iterations.getP99Ms());
+            } catch (Exception e) {
+                logger.error("Failed to save load test summary " + run.getId(), e);
+            } finally {
+                sessions.remove(run.getId());
+            }
+        }
+    }
+}
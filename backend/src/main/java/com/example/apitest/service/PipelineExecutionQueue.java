@@ -0,0 +1,210 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * 파이프라인 실행 큐.
+ *
+ * QUEUED 상태의 PipelineExecution 레코드가 영속 큐 역할을 하며, 워커 풀(pipelineExecutor)이
+ * 이를 하나씩 RUNNING으로 전이시켜 실행한다. 서버가 재시작되어도 QUEUED 레코드는 다시 디스패치된다.
+ *
+ * 대기 수 상한(max-queued)은 enqueue 에서 자리를 원자적으로 예약해서 지키며, 실행이 QUEUED 를 벗어날 때
+ * (워커가 가져가거나 취소될 때) 또는 등록한 트랜잭션이 롤백될 때 자리를 돌려준다.
+ */
+@Service
+public class PipelineExecutionQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineExecutionQueue.class);
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    @Autowired
+    @Lazy
+    private PipelineExecutionService pipelineExecutionService;
+
+    @Autowired
+    @Qualifier("pipelineExecutor")
+    private Executor pipelineExecutor;
+
+    @Value("${pipeline.execution.max-queued:100}")
+    private int maxQueued;
+
+    @Value("${pipeline.engine.async.max-in-flight:1000}")
+    private int maxInFlight;
+
+    private Semaphore inFlightSlots;
+
+    // max-queued 자리. 재시작 전에 쌓인 QUEUED 실행이 상한보다 많으면 음수에서 시작
+    private Semaphore queuedSlots;
+
+    // 자리를 예약한 실행 ID (같은 실행의 자리를 두 번 돌려주지 않도록)
+    private final Set<Long> reserved = ConcurrentHashMap.newKeySet();
+
+    // 워커 풀에 이미 넘겨진 실행 ID (sweep 시 중복 디스패치 방지)
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+
+    public PipelineExecutionQueue() {
+    }
+
+    public PipelineExecutionQueue(PipelineExecutionService pipelineExecutionService, Executor pipelineExecutor,
+                                  int maxQueued, int maxInFlight) {
+        this.pipelineExecutionService = pipelineExecutionService;
+        this.pipelineExecutor = pipelineExecutor;
+        this.maxQueued = maxQueued;
+        this.maxInFlight = maxInFlight;
+        initSlots(List.of());
+    }
+
+    @PostConstruct
+    public void initSlots() {
+        initSlots(pipelineExecutionRepository.findByStatusOrderByIdAsc(PipelineExecution.ExecutionStatus.QUEUED).stream()
+                .map(PipelineExecution::getId)
+                .collect(Collectors.toList()));
+    }
+
+    // 재시작 전에 쌓인 QUEUED 실행은 이미 자리를 차지한 것으로 본다
+    private void initSlots(List<Long> queuedExecutionIds) {
+        inFlightSlots = new Semaphore(Math.max(1, maxInFlight));
+        queuedSlots = new Semaphore(maxQueued - queuedExecutionIds.size());
+        reserved.addAll(queuedExecutionIds);
+    }
+
+    /**
+     * 새로 만든 QUEUED 실행의 자리를 예약하고 워커 풀에 등록한다. 호출자의 트랜잭션이 있으면 커밋 이후에 디스패치하고,
+     * 롤백되면 자리를 돌려준다.
+     *
+     * @throws IllegalStateException 대기 중인 실행 수가 상한에 도달한 경우 (호출자의 트랜잭션이 롤백됨)
+     */
+    public void enqueue(Long executionId) {
+        if (!queuedSlots.tryAcquire()) {
+            throw new IllegalStateException("Pipeline execution queue is full (max " + maxQueued + ")");
+        }
+        reserved.add(executionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        dispatch(executionId);
+                    } else {
+                        leftQueue(executionId);
+                    }
+                }
+            });
+        } else {
+            dispatch(executionId);
+        }
+    }
+
+    /**
+     * 실행이 QUEUED 를 벗어났을 때(워커가 가져가거나 취소됨) 호출한다. 같은 실행에 여러 번 호출해도 자리는 한 번만 돌려준다.
+     */
+    public void leftQueue(Long executionId) {
+        if (reserved.remove(executionId)) {
+            queuedSlots.release();
+        }
+    }
+
+    private void dispatch(Long executionId) {
+        if (!dispatched.add(executionId)) {
+            return;
+        }
+        try {
+            pipelineExecutor.execute(() -> {
+                if (pipelineExecutionService.isNonBlockingEngine()) {
+                    startNonBlocking(executionId);
+                    return;
+                }
+                try {
+                    pipelineExecutionService.runQueuedExecution(executionId);
+                } finally {
+                    dispatched.remove(executionId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 워커 큐가 가득 찬 경우 QUEUED 상태로 남겨두고 sweep에서 다시 시도
+            dispatched.remove(executionId);
+            logger.warn("Pipeline worker queue is saturated, execution {} stays QUEUED", executionId);
+        }
+    }
+
+    /**
+     * 비동기 엔진: 워커는 실행을 시작만 하고 돌아온다. 진행 중인 실행 수는 max-in-flight 로 제한하며,
+     * 자리가 없으면 워커가 자리가 날 때까지 기다리므로 나머지는 워커 큐에 남는다.
+     */
+    private void startNonBlocking(Long executionId) {
+        try {
+            inFlightSlots.acquire();
+        } catch (InterruptedException e) {
+            // 종료 중: QUEUED 상태로 남겨두고 재시작 시 다시 디스패치
+            Thread.currentThread().interrupt();
+            dispatched.remove(executionId);
+            return;
+        }
+        CompletableFuture<PipelineExecution> run = null;
+        try {
+            run = pipelineExecutionService.startQueuedExecution(executionId);
+        } finally {
+            if (run == null) {
+                inFlightSlots.release();
+                dispatched.remove(executionId);
+            } else {
+                run.whenComplete((execution, error) -> {
+                    inFlightSlots.release();
+                    dispatched.remove(executionId);
+                });
+            }
+        }
+    }
+
+    /**
+     * 서버 재시작 시: 중단된 RUNNING 실행은 실패 처리하고, QUEUED 실행은 다시 디스패치한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        List<PipelineExecution> interrupted = pipelineExecutionRepository.findByStatusOrderByIdAsc(PipelineExecution.ExecutionStatus.RUNNING);
+        for (PipelineExecution execution : interrupted) {
+            execution.setStatus(PipelineExecution.ExecutionStatus.FAILED);
+            execution.setErrorMessage("Execution interrupted by server restart");
+            execution.setCompletedAt(LocalDateTime.now());
+            pipelineExecutionRepository.save(execution);
+        }
+        if (!interrupted.isEmpty()) {
+            logger.info("Marked {} interrupted pipeline executions as FAILED", interrupted.size());
+        }
+        sweepQueued();
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.execution.sweep-interval-ms:30000}",
+               initialDelayString = "${pipeline.execution.sweep-interval-ms:30000}")
+    public void sweepQueued() {
+        for (PipelineExecution execution : pipelineExecutionRepository.findByStatusOrderByIdAsc(PipelineExecution.ExecutionStatus.QUEUED)) {
+            dispatch(execution.getId());
+        }
+    }
+}
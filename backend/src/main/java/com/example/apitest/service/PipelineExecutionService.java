@@ -2,25 +2,61 @@ package com.example.apitest.service;
 
 import com.example.apitest.entity.*;
 import com.example.apitest.repository.*;
+import com.example.apitest.service.pipeline.AuthSessionCache;
+import com.example.apitest.service.pipeline.BodyBlobStore;
+import com.example.apitest.service.pipeline.CancellationToken;
+import com.example.apitest.service.pipeline.CapturingInputStream;
+import com.example.apitest.service.pipeline.CheckpointCookieCipher;
+import com.example.apitest.service.pipeline.CompiledExtractionRules;
+import com.example.apitest.service.pipeline.ExecutionCancelledException;
+import com.example.apitest.service.pipeline.ExecutionCheckpoint;
+import com.example.apitest.service.pipeline.ExecutionCookieJar;
+import com.example.apitest.service.pipeline.ExecutionEventPublisher;
+import com.example.apitest.service.pipeline.ExecutionRecorder;
+import com.example.apitest.service.pipeline.ForEachResults;
+import com.example.apitest.service.pipeline.LimitedResponse;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.example.apitest.service.pipeline.PipelineHttpTransport;
+import com.example.apitest.service.pipeline.PreparedStepRequest;
+import com.example.apitest.service.pipeline.ResponseBodies;
+import com.example.apitest.service.pipeline.ResponseCapturePolicy;
+import com.example.apitest.service.pipeline.RetryPolicy;
+import com.example.apitest.service.pipeline.RunningExecutions;
+import com.example.apitest.service.pipeline.StepDependencyGraph;
+import com.example.apitest.service.pipeline.StepRequestBuilder;
+import com.example.apitest.service.pipeline.VariableScope;
+import com.example.apitest.service.pipeline.VariableScopeFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.http.HttpClient;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpCookie;
+import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.CookieManager;
-import java.net.CookiePolicy;
-import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,11 +66,11 @@ public class PipelineExecutionService {
     
     private static final Logger logger = LoggerFactory.getLogger(PipelineExecutionService.class);
 
-    @Autowired
-    private PipelineRepository pipelineRepository;
+    // Matches the attempt_log column length
+    private static final int MAX_ATTEMPT_LOG_LENGTH = 1000;
 
     @Autowired
-    private PipelineStepRepository pipelineStepRepository;
+    private PipelineRepository pipelineRepository;
 
     @Autowired
     private PipelineExecutionRepository pipelineExecutionRepository;
@@ -42,94 +78,854 @@ public class PipelineExecutionService {
     @Autowired
     private StepExecutionRepository stepExecutionRepository;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private PipelineExecutionQueue pipelineExecutionQueue;
+
+    @Autowired
+    private ExecutionRecorder executionRecorder;
+
+    @Autowired
+    private ExecutionEventPublisher executionEventPublisher;
+
+    @Autowired
+    private PipelineHttpTransport pipelineHttpTransport;
+
+    @Autowired
+    private StepRequestBuilder stepRequestBuilder;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    @Qualifier("pipelineStepExecutor")
+    private Executor pipelineStepExecutor;
+
+    @Autowired
+    @Qualifier("pipelineAsyncExecutor")
+    private Executor pipelineAsyncExecutor;
+
+    @Value("${pipeline.engine.mode:sync}")
+    private String engineMode;
+
+    @Value("${pipeline.dag.max-parallel-steps:4}")
+    private int maxParallelSteps;
+
+    @Value("${pipeline.http.request-timeout-ms:30000}")
+    private long defaultRequestTimeoutMs;
+
+    @Autowired
+    private RunningExecutions runningExecutions;
+
+    @Value("${pipeline.extraction.streaming:true}")
+    private boolean streamingExtraction;
+
+    @Value("${pipeline.http.drain-max-bytes:65536}")
+    private long drainMaxBytes;
+
+    @Value("${pipeline.foreach.default-concurrency:4}")
+    private int forEachDefaultConcurrency;
+
+    @Value("${pipeline.foreach.max-concurrency:32}")
+    private int forEachMaxConcurrency;
+
+    @Value("${pipeline.foreach.max-elements:10000}")
+    private int forEachMaxElements;
+
+    @Autowired
+    private ResponseCapturePolicy responseCapturePolicy;
+
+    @Autowired
+    private BodyBlobStore bodyBlobStore;
+
+    @Autowired
+    private CheckpointCookieCipher checkpointCookieCipher;
+
+    @Autowired
+    private AuthSessionCache authSessionCache;
+
+    @Autowired
+    private VariableScopeFactory variableScopeFactory;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final HttpClient httpClient;
-    
-    public PipelineExecutionService() {
-        // Initialize HttpClient with cookie management
-        CookieManager cookieManager = new CookieManager();
-        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
-        this.httpClient = HttpClient.newBuilder()
-                .cookieHandler(cookieManager)
-                .build();
-    }
 
     @Transactional
     public PipelineExecution startExecution(Long pipelineId) {
         
-        // Get pipeline and its steps
-        Optional<Pipeline> pipelineOpt = pipelineRepository.findById(pipelineId);
-        if (!pipelineOpt.isPresent()) {
-            throw new RuntimeException("Pipeline not found: " + pipelineId);
-        }
-
-        Pipeline pipeline = pipelineOpt.get();
-        List<PipelineStep> steps = pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAsc(pipelineId);
-        
-        // Force initialization of ApiItem proxies to avoid lazy loading issues
-        for (PipelineStep step : steps) {
-            if (step.getApiItem() != null) {
-                // Force complete initialization by accessing multiple properties
-                ApiItem apiItem = step.getApiItem();
-                apiItem.getId();
-                apiItem.getUrl();
-                apiItem.getMethod();
-                apiItem.getRequestHeaders();
-                apiItem.getRequestBody();
+        // The cached plan carries the pipeline and its steps; only the first run after a change loads them
+        PipelineExecutionPlan plan = planCache.planFor(pipelineId);
+        if (plan.isEmpty()) {
+            if (!pipelineRepository.existsById(pipelineId)) {
+                throw new RuntimeException("Pipeline not found: " + pipelineId);
             }
+            throw new RuntimeException("No active steps found for pipeline: " + pipelineId);
         }
+
+        // Create execution record in QUEUED state; a worker picks it up after commit.
+        // enqueue reserves a queue slot and throws when the queue is full, which rolls the record back
+        PipelineExecution execution = new PipelineExecution(pipelineRepository.getReferenceById(pipelineId));
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.QUEUED);
+        execution = pipelineExecutionRepository.save(execution);
         
-        if (steps.isEmpty()) {
+        pipelineExecutionQueue.enqueue(execution.getId());
+
+        return execution;
+    }
+
+    /**
+     * Queues a new execution that continues a finished one from its checkpoint, linked to it by {@code resumedFromId}.
+     * Steps that succeeded before {@code fromStep} (every step that succeeded when {@code fromStep} is null,
+     * i.e. "rerun failed only") are not sent again: the steps after them see their recorded extracted data
+     * and the session cookies the original execution kept when it failed or was cancelled.
+     *
+     * @throws IllegalArgumentException if {@code fromStep} is not an active step of the pipeline
+     * @throws IllegalStateException if the execution has not finished or nothing is left to run
+     */
+    @Transactional
+    public PipelineExecution resumeExecution(Long executionId, Integer fromStep) {
+        PipelineExecution original = getExecutionStatus(executionId);
+        if (original.getStatus() == PipelineExecution.ExecutionStatus.QUEUED
+                || original.getStatus() == PipelineExecution.ExecutionStatus.RUNNING) {
+            throw new IllegalStateException("Execution " + executionId + " is still " + original.getStatus());
+        }
+        Long pipelineId = original.getPipeline().getId();
+        PipelineExecutionPlan plan = planCache.planFor(pipelineId);
+        if (plan.isEmpty()) {
             throw new RuntimeException("No active steps found for pipeline: " + pipelineId);
         }
+        if (fromStep != null && plan.getSteps().stream().noneMatch(step -> fromStep.equals(step.getStepOrder()))) {
+            throw new IllegalArgumentException("Step " + fromStep + " is not an active step of pipeline " + pipelineId);
+        }
 
-        // Create execution record with proper transaction
-        PipelineExecution execution = new PipelineExecution(pipeline);
-        execution.setTotalSteps(steps.size());
+        int restored = restoredSteps(executionId, plan, fromStep).size();
+        long runnable = plan.getSteps().stream().filter(step -> !Boolean.TRUE.equals(step.getIsSkip())).count();
+        if (restored == runnable) {
+            throw new IllegalStateException("Execution " + executionId + " has no failed steps to run again");
+        }
+
+        PipelineExecution execution = new PipelineExecution(pipelineRepository.getReferenceById(pipelineId));
+        execution.setTotalSteps(plan.size());
+        execution.setCompletedSteps(restored);
+        execution.setSuccessfulSteps(restored);
+        execution.setStatus(PipelineExecution.ExecutionStatus.QUEUED);
+        execution.setResumedFromId(executionId);
+        execution.setResumeFromStep(fromStep);
+        execution.setInitialContext(original.getInitialContext());
         execution = pipelineExecutionRepository.save(execution);
+
+        pipelineExecutionQueue.enqueue(execution.getId());
+
+        return execution;
+    }
+
+    /**
+     * Starting point of a queued execution: its initial context, plus the restored steps when it resumes another one.
+     * The restored steps are looked up again here because the pipeline may have changed while the execution was queued.
+     */
+    private ExecutionCheckpoint checkpointFor(PipelineExecution execution, PipelineExecutionPlan plan) {
+        Map<String, Object> initialContext = ExecutionCheckpoint.readContext(execution.getInitialContext());
+        if (execution.getResumedFromId() == null) {
+            return ExecutionCheckpoint.start(initialContext);
+        }
+        PipelineExecution original = getExecutionStatus(execution.getResumedFromId());
+        ExecutionCheckpoint checkpoint = ExecutionCheckpoint.resume(initialContext,
+                restoredSteps(original.getId(), plan, execution.getResumeFromStep()),
+                checkpointedCookies(original));
+        checkpoint.record(execution);
+        execution.setCompletedSteps(checkpoint.getRestoredCount());
+        execution.setSuccessfulSteps(checkpoint.getRestoredCount());
+        return checkpoint;
+    }
+
+    /**
+     * Session cookies kept by a failed or cancelled execution; empty if they cannot be read any more
+     * (e.g. encrypted with the temporary key of an earlier process), in which case the resumed execution starts without them.
+     */
+    private Map<URI, List<HttpCookie>> checkpointedCookies(PipelineExecution original) {
+        try {
+            return ExecutionCheckpoint.readCookies(checkpointCookieCipher.decrypt(original.getSessionCookies()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Session cookies of pipeline execution {} could not be restored, resuming without them: {}",
+                    original.getId(), e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Records the final variables and, for a failed or cancelled execution, its encrypted session cookies.
+     * Called once per execution, after the final status is set and before the recording is closed.
+     */
+    private void checkpointFinished(ExecutionRecorder.Recording recording, ExecutionCheckpoint checkpoint) {
+        PipelineExecution execution = recording.getExecution();
+        try {
+            checkpoint.finished(execution, checkpointCookieCipher);
+        } catch (RuntimeException e) {
+            // The execution result matters more than being able to resume it with its cookies
+            logger.warn("Could not checkpoint pipeline execution {}: {}", execution.getId(), e.getMessage());
+            execution.setSessionCookies(null);
+        }
+        recording.executionChanged();
+    }
+
+    /**
+     * Extracted data of the active steps that succeeded in the execution (before {@code fromStep} if given), in plan order.
+     * A resumed execution has no records of the steps it restored, so those are taken from the execution it resumed.
+     */
+    private Map<Long, Map<String, Object>> restoredSteps(Long executionId, PipelineExecutionPlan plan, Integer fromStep) {
+        Map<Long, StepExecution> latest = new HashMap<>();
+        for (Long id = executionId; id != null; id = getExecutionStatus(id).getResumedFromId()) {
+            for (StepExecution stepExecution : stepExecutionRepository.findByExecutionIdWithApiItemOrderByStepOrder(id)) {
+                latest.putIfAbsent(stepExecution.getPipelineStep().getId(), stepExecution);
+            }
+        }
+
+        Map<Long, Map<String, Object>> restored = new LinkedHashMap<>();
+        for (PipelineStep step : plan.getSteps()) {
+            StepExecution stepExecution = latest.get(step.getId());
+            if (Boolean.TRUE.equals(step.getIsSkip()) || stepExecution == null
+                    || stepExecution.getStatus() != StepExecution.StepStatus.SUCCESS
+                    || (fromStep != null && step.getStepOrder() >= fromStep)) {
+                continue;
+            }
+            restored.put(step.getId(), ExecutionCheckpoint.readContext(stepExecution.getExtractedData()));
+        }
+        return restored;
+    }
+
+    /**
+     * Worker entry point called by {@link PipelineExecutionQueue}.
+     * Runs outside of a surrounding transaction; state is committed in batches by the {@link ExecutionRecorder}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void runQueuedExecution(Long executionId) {
+        PipelineExecution execution = claimQueuedExecution(executionId);
+        if (execution == null) {
+            return;
+        }
         
-        // Ensure the execution is properly saved before using it
-        pipelineExecutionRepository.flush();
+        // The plan's steps are loaded with their ApiItem and Pipeline; no persistence context is open on the worker thread
+        PipelineExecutionPlan plan;
+        ExecutionCheckpoint checkpoint;
+        try {
+            plan = planCache.planFor(execution.getPipeline().getId());
+            checkpoint = checkpointFor(execution, plan);
+        } catch (RuntimeException e) {
+            claimedExecutionFailed(execution, e);
+            return;
+        }
+        runExecution(execution, plan, checkpoint);
+    }
 
+    /**
+     * Non-blocking counterpart of {@link #runQueuedExecution}, used by the queue when {@code pipeline.engine.mode} is async.
+     * Returns once the first request is on its way; the future completes after the final state is recorded.
+     * If the claimed execution cannot be set up it is marked FAILED and the future completes exceptionally.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PipelineExecution> startQueuedExecution(Long executionId) {
+        PipelineExecution execution = claimQueuedExecution(executionId);
+        if (execution == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        PipelineExecutionPlan plan;
+        ExecutionCheckpoint checkpoint;
+        try {
+            plan = planCache.planFor(execution.getPipeline().getId());
+            checkpoint = checkpointFor(execution, plan);
+        } catch (RuntimeException e) {
+            claimedExecutionFailed(execution, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return runExecutionAsync(execution, plan, checkpoint);
+    }
 
-        // Execute steps synchronously for now to test core functionality
+    /**
+     * A claimed execution could not be started (e.g. its pipeline was deleted or its checkpoint is unreadable).
+     * It is already RUNNING, so it is failed here instead of waiting for the restart recovery.
+     */
+    private void claimedExecutionFailed(PipelineExecution execution, RuntimeException error) {
+        logger.error("Pipeline execution " + execution.getId() + " could not be started", error);
+        execution.setStatus(PipelineExecution.ExecutionStatus.FAILED);
+        execution.setErrorMessage(error.getMessage());
+        execution.setCompletedAt(LocalDateTime.now());
         try {
-            executeStepsWithId(execution.getId(), steps);
-        } catch (Exception e) {
+            pipelineExecutionRepository.save(execution);
+        } catch (RuntimeException e) {
+            logger.error("Failed to record the failure of pipeline execution " + execution.getId(), e);
+        }
+        executionEventPublisher.executionChanged(execution);
+    }
+
+    /**
+     * QUEUED -> RUNNING; returns null if another worker (or a cancel) already took it.
+     */
+    private PipelineExecution claimQueuedExecution(Long executionId) {
+        int claimed = pipelineExecutionRepository.claimQueuedExecution(executionId, LocalDateTime.now(),
+                PipelineExecution.ExecutionStatus.QUEUED, PipelineExecution.ExecutionStatus.RUNNING);
+        if (claimed == 0) {
+            return null;
+        }
+        pipelineExecutionQueue.leftQueue(executionId);
+        return pipelineExecutionRepository.findById(executionId)
+            .orElseThrow(() -> new RuntimeException("Pipeline execution not found: " + executionId));
+    }
+
+    /**
+     * True when {@code pipeline.engine.mode} is async.
+     */
+    public boolean isNonBlockingEngine() {
+        return "async".equalsIgnoreCase(engineMode);
+    }
+
+    /**
+     * Runs an execution that is already RUNNING on the calling thread.
+     * The first step sees {@code initialContext} (e.g. one dataset row) as its variables.
+     *
+     * @return the execution with its final status
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PipelineExecution runExecution(PipelineExecution execution, PipelineExecutionPlan plan,
+                                          Map<String, Object> initialContext) {
+        return runExecution(execution, plan, ExecutionCheckpoint.start(initialContext));
+    }
+
+    /**
+     * Runs an execution that is already RUNNING, starting from {@code checkpoint}: restored steps are not sent again
+     * and the variables and cookies are checkpointed on the execution once it has finished.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PipelineExecution runExecution(PipelineExecution execution, PipelineExecutionPlan plan,
+                                          ExecutionCheckpoint checkpoint) {
+        // The plan's pipeline is loaded, the execution's own pipeline may be an uninitialized proxy
+        Pipeline pipeline = plan.getPipeline();
+        CancellationToken cancellation = runningExecutions.register(execution.getId(),
+                pipeline != null ? pipeline.getTimeoutSeconds() : null);
+        executionEventPublisher.executionChanged(execution);
+
+        // Step and counter updates are buffered and written in batches; close() performs the final flush
+        try (ExecutionRecorder.Recording recording = executionRecorder.open(execution)) {
+            try {
+                executeStepsWithId(recording, plan, checkpoint, cancellation);
+            } catch (Exception e) {
+                executionAborted(recording, e);
+            }
+            checkpointFinished(recording, checkpoint);
+        } finally {
+            runningExecutions.unregister(execution.getId());
+        }
+        
+        // Published after the final flush so that clients can load the recorded steps right away
+        executionEventPublisher.executionChanged(execution);
+        return execution;
+    }
+
+    private void executionAborted(ExecutionRecorder.Recording recording, Throwable error) {
+        PipelineExecution execution = recording.getExecution();
+        if (error instanceof ExecutionCancelledException) {
+            // Cancelled by a user, or the pipeline deadline passed
+            ExecutionCancelledException cancelled = (ExecutionCancelledException) error;
+            logger.info("Pipeline execution {} stopped: {}", execution.getId(), cancelled.getMessage());
+            execution.setStatus(cancelled.getReason() == CancellationToken.Reason.CANCELLED
+                    ? PipelineExecution.ExecutionStatus.CANCELLED : PipelineExecution.ExecutionStatus.FAILED);
+        } else {
             // Pipeline execution failed, log error and clean up
-            e.printStackTrace();
+            logger.error("Pipeline execution " + execution.getId() + " failed", error);
             execution.setStatus(PipelineExecution.ExecutionStatus.FAILED);
-            execution.setErrorMessage(e.getMessage());
+        }
+        execution.setErrorMessage(error.getMessage());
+        execution.setCompletedAt(LocalDateTime.now());
+        recording.executionChanged();
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #runExecution}: each request goes out with sendAsync and the next step is
+     * chained on its response, so no thread waits on a response, a delayAfter or a retry backoff.
+     * Responses are handled on the async pool and recorder flushes run on the recorder pool;
+     * the future completes (never exceptionally) after the final flush.
+     * Responses are read as a whole, streaming extraction needs a blocking reader.
+     * Graph pipelines keep their coordinator thread and run as in {@link #runExecution} on the calling thread;
+     * that is a self-call, so the surrounding transaction is suspended here rather than by {@link #runExecution}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PipelineExecution> runExecutionAsync(PipelineExecution execution, PipelineExecutionPlan plan,
+                                                                  Map<String, Object> initialContext) {
+        return runExecutionAsync(execution, plan, ExecutionCheckpoint.start(initialContext));
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #runExecution(PipelineExecution, PipelineExecutionPlan, ExecutionCheckpoint)}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<PipelineExecution> runExecutionAsync(PipelineExecution execution, PipelineExecutionPlan plan,
+                                                                  ExecutionCheckpoint checkpoint) {
+        if (plan.runsInParallel()) {
+            return CompletableFuture.completedFuture(runExecution(execution, plan, checkpoint));
+        }
+        Pipeline pipeline = plan.getPipeline();
+        CancellationToken cancellation = runningExecutions.register(execution.getId(),
+                pipeline != null ? pipeline.getTimeoutSeconds() : null);
+        executionEventPublisher.executionChanged(execution);
+        
+        ExecutionRecorder.Recording recording = executionRecorder.open(execution);
+        ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+        cookieJar.restore(checkpoint.getRestoredCookies());
+        LoginSessions logins = new LoginSessions(recording);
+        CompletableFuture<Void> steps;
+        try {
+            steps = executeStepsFrom(recording, plan, 0, initialScope(execution, plan, checkpoint), cookieJar, logins,
+                    checkpoint, cancellation);
+        } catch (RuntimeException e) {
+            steps = CompletableFuture.failedFuture(e);
+        }
+        
+        return steps
+                .handle((ignored, error) -> {
+                    cookieJar.clear();
+                    if (error != null) {
+                        executionAborted(recording, unwrap(error));
+                    }
+                    checkpointFinished(recording, checkpoint);
+                    return null;
+                })
+                .thenCompose(ignored -> recording.closeAsync())
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        logger.error("Failed to close recording of pipeline execution " + execution.getId(), unwrap(error));
+                    }
+                    runningExecutions.unregister(execution.getId());
+                    executionEventPublisher.executionChanged(execution);
+                    return execution;
+                });
+    }
+
+    /**
+     * Runs the steps from {@code index} on; the returned stage completes when the last one is done or one fails.
+     */
+    private CompletableFuture<Void> executeStepsFrom(ExecutionRecorder.Recording recording, PipelineExecutionPlan plan, int index,
+                                                     VariableScope stepContext, ExecutionCookieJar cookieJar,
+                                                     LoginSessions logins, ExecutionCheckpoint checkpoint,
+                                                     CancellationToken cancellation) {
+        PipelineExecution execution = recording.getExecution();
+        
+        // Restored and skipped steps complete right away
+        while (index < plan.size()) {
+            PipelineStep candidate = plan.getPlannedStep(index).getStep();
+            if (checkpoint.isRestored(candidate.getId())) {
+                stepContext = stepContext.withStep(candidate.getStepOrder(), checkpoint.restoredOutput(candidate.getId()));
+            } else if (Boolean.TRUE.equals(candidate.getIsSkip())) {
+                StepExecution stepExecution = new StepExecution(execution, candidate);
+                stepExecution.setStatus(StepExecution.StepStatus.SKIPPED);
+                stepExecution.setStartedAt(LocalDateTime.now());
+                stepExecution.setCompletedAt(LocalDateTime.now());
+                execution.setCompletedSteps(execution.getCompletedSteps() + 1);
+                recording.step(stepExecution, true);
+                executionEventPublisher.stepChanged(execution, stepExecution, null);
+                recording.boundaryInBackground();
+            } else {
+                break;
+            }
+            index++;
+        }
+        cancellation.throwIfCancelled();
+        
+        if (index == plan.size()) {
+            execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
             execution.setCompletedAt(LocalDateTime.now());
-            pipelineExecutionRepository.save(execution);
-            
-            // Clean up any remaining session data on failure
+            recording.executionChanged();
+            return CompletableFuture.completedFuture(null);
         }
+        
+        PipelineExecutionPlan.PlannedStep plannedStep = plan.getPlannedStep(index);
+        PipelineStep step = plannedStep.getStep();
+        StepExecution stepExecution = new StepExecution(execution, step);
+        stepExecution.setStatus(StepExecution.StepStatus.RUNNING);
+        stepExecution.setStartedAt(LocalDateTime.now());
+        recording.step(stepExecution, false);
+        executionEventPublisher.stepChanged(execution, stepExecution, null);
+        
+        int next = index + 1;
+        VariableScope scope = stepContext;
+        return executeStepWithLoginCacheAsync(plannedStep, stepExecution, scope, cookieJar, logins, cancellation)
+                .handle((extractedData, error) -> {
+                    if (error != null) {
+                        return stepFailedAsync(recording, stepExecution, unwrap(error));
+                    }
+                    execution.setCompletedSteps(execution.getCompletedSteps() + 1);
+                    execution.setSuccessfulSteps(execution.getSuccessfulSteps() + 1);
+                    checkpoint.stepSucceeded(extractedData, cookieJar);
+                    recording.step(stepExecution, true);
+                    executionEventPublisher.stepChanged(execution, stepExecution,
+                            extractedData != null ? extractedData.keySet() : null);
+                    recording.boundaryInBackground();
+                    
+                    // Later steps see this step's data on top of everything extracted before it
+                    VariableScope nextStepContext = scope.withStep(step.getStepOrder(), extractedData);
+                    Integer delayAfter = step.getDelayAfter();
+                    CompletableFuture<Void> delay = delayAfter != null && delayAfter > 0
+                            ? delay(delayAfter, cancellation) : CompletableFuture.completedFuture(null);
+                    return delay.thenCompose(ignored ->
+                            executeStepsFrom(recording, plan, next, nextStepContext, cookieJar, logins, checkpoint, cancellation));
+                })
+                .thenCompose(Function.identity());
+    }
 
-        return execution;
+    /**
+     * Records a failed step; a cancellation is passed on to the caller, any other error fails the execution.
+     */
+    private CompletableFuture<Void> stepFailedAsync(ExecutionRecorder.Recording recording, StepExecution stepExecution,
+                                                    Throwable error) {
+        PipelineExecution execution = recording.getExecution();
+        stepExecution.setStatus(StepExecution.StepStatus.FAILED);
+        stepExecution.setErrorMessage(error.getMessage());
+        stepExecution.setCompletedAt(LocalDateTime.now());
+        execution.setCompletedSteps(execution.getCompletedSteps() + 1);
+        execution.setFailedSteps(execution.getFailedSteps() + 1);
+        if (error instanceof ExecutionCancelledException) {
+            recording.step(stepExecution, true);
+            executionEventPublisher.stepChanged(execution, stepExecution, null);
+            return CompletableFuture.failedFuture(error);
+        }
+        execution.setStatus(PipelineExecution.ExecutionStatus.FAILED);
+        execution.setErrorMessage("Step " + stepExecution.getPipelineStep().getStepOrder() + " failed: " + error.getMessage());
+        execution.setCompletedAt(LocalDateTime.now());
+        recording.step(stepExecution, true);
+        executionEventPublisher.stepChanged(execution, stepExecution, null);
+        return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Non-blocking {@link #executeStep}: a retry is scheduled after the backoff instead of sleeping.
+     */
+    private CompletableFuture<Map<String, Object>> executeStepWithLoginCacheAsync(PipelineExecutionPlan.PlannedStep plannedStep,
+                                                                                  StepExecution stepExecution,
+                                                                                  Map<String, Object> executionContext,
+                                                                                  ExecutionCookieJar cookieJar, LoginSessions logins,
+                                                                                  CancellationToken cancellation) {
+        if (plannedStep.isForEach()) {
+            return executeForEachAsync(plannedStep, stepExecution, executionContext, cookieJar, cancellation);
+        }
+        String authCacheKey = authCacheKey(plannedStep, executionContext);
+        if (authCacheKey != null) {
+            Map<String, Object> cached = useCachedLogin(authCacheKey, plannedStep, stepExecution, executionContext, cookieJar, logins);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        return executeStepAsync(plannedStep, stepExecution, executionContext, cookieJar, logins, cancellation, 1,
+                new StringBuilder(), false)
+                .thenApply(extractedData -> {
+                    if (authCacheKey != null) {
+                        rememberLogin(authCacheKey, plannedStep.getStep(), extractedData, cookieJar);
+                    }
+                    return extractedData;
+                });
+    }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void executeStepsWithId(Long executionId, List<PipelineStep> steps) {
+    private CompletableFuture<Map<String, Object>> executeStepAsync(PipelineExecutionPlan.PlannedStep plannedStep,
+                                                                    StepExecution stepExecution, Map<String, Object> executionContext,
+                                                                    ExecutionCookieJar cookieJar, LoginSessions logins,
+                                                                    CancellationToken cancellation, int attempt,
+                                                                    StringBuilder attemptLog, boolean sessionRefreshed) {
+        RetryPolicy retryPolicy;
+        try {
+            retryPolicy = plannedStep.getRetryPolicy();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        stepExecution.setHttpStatus(null);
+        stepExecution.setAttempts(attempt);
+        return attemptStepAsync(plannedStep, stepExecution, executionContext, cookieJar, cancellation)
+                .handle((extractedData, error) -> {
+                    if (error == null) {
+                        appendAttempt(attemptLog, attempt, stepExecution, null);
+                        if (attempt > 1) {
+                            stepExecution.setAttemptLog(attemptLog.toString());
+                        }
+                        return CompletableFuture.completedFuture(extractedData);
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof ExecutionCancelledException || !(cause instanceof Exception)) {
+                        return CompletableFuture.<Map<String, Object>>failedFuture(cause);
+                    }
+                    Exception e = (Exception) cause;
+                    appendAttempt(attemptLog, attempt, stepExecution, e);
+                    if (attempt > 1) {
+                        stepExecution.setAttemptLog(attemptLog.toString());
+                    }
+                    // A cached session the server no longer accepts: log in again and repeat the request once
+                    if (!sessionRefreshed && isUnauthorized(stepExecution) && logins.servedFromCache()) {
+                        return refreshCachedLoginsAsync(logins, cookieJar, cancellation).thenCompose(fresh -> fresh == null
+                                ? CompletableFuture.<Map<String, Object>>failedFuture(e)
+                                : executeStepAsync(plannedStep, stepExecution, withFreshLogin(executionContext, fresh), cookieJar,
+                                        logins, cancellation, attempt + 1, attemptLog, true));
+                    }
+                    if (!retryPolicy.shouldRetry(attempt, plannedStep.getMethod(), stepExecution.getHttpStatus(), e)) {
+                        return CompletableFuture.<Map<String, Object>>failedFuture(e);
+                    }
+                    long backoff = retryPolicy.backoffMillis(attempt);
+                    logger.info("Step {} attempt {} failed ({}), retrying in {}ms", plannedStep.getStep().getStepOrder(), attempt,
+                            stepExecution.getHttpStatus() != null ? "HTTP " + stepExecution.getHttpStatus() : e.getClass().getSimpleName(),
+                            backoff);
+                    return delay(backoff, cancellation).thenCompose(ignored -> executeStepAsync(plannedStep, stepExecution,
+                            executionContext, cookieJar, logins, cancellation, attempt + 1, attemptLog, sessionRefreshed));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Map<String, Object>> attemptStepAsync(PipelineExecutionPlan.PlannedStep plannedStep,
+                                                                    StepExecution stepExecution, Map<String, Object> executionContext,
+                                                                    ExecutionCookieJar cookieJar, CancellationToken cancellation) {
+        long startTime = System.currentTimeMillis();
+        HttpRequest request;
+        try {
+            request = prepareRequest(plannedStep, stepExecution, executionContext, cancellation);
+        } catch (Exception e) {
+            recordFailedAttemptTime(stepExecution, startTime);
+            return CompletableFuture.failedFuture(e);
+        }
+        return pipelineHttpTransport.exchangeAsync(request, HttpResponse.BodyHandlers.ofString(), cookieJar,
+                        plannedStep.getRateLimit(), cancellation)
+                .thenApplyAsync(limited -> {
+                    try {
+                        return completeBufferedAttempt(plannedStep, stepExecution, limited, startTime);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, pipelineAsyncExecutor)
+                .whenComplete((extractedData, error) -> {
+                    if (error != null) {
+                        recordFailedAttemptTime(stepExecution, startTime);
+                    }
+                });
+    }
+
+    /**
+     * Completes after {@code millis} without holding a thread; a cancel ends the wait right away.
+     */
+    private CompletableFuture<Void> delay(long millis, CancellationToken cancellation) {
+        CompletableFuture<Void> delay = CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS, pipelineAsyncExecutor));
+        cancellation.register(delay);
+        return delay.handle((ignored, error) -> {
+            cancellation.unregister(delay);
+            cancellation.throwIfCancelled();
+            return null;
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Runs a forEach step: its request is sent once per element of the array named by forEachSource,
+     * at most forEachConcurrency at a time. No thread waits on the responses; after the first failed element
+     * no new ones are started. The step execution records one summary instead of per-element bodies,
+     * and each extraction rule yields the list of its values in element order.
+     */
+    private CompletableFuture<Map<String, Object>> executeForEachAsync(PipelineExecutionPlan.PlannedStep plannedStep,
+                                                                       StepExecution stepExecution,
+                                                                       Map<String, Object> executionContext,
+                                                                       ExecutionCookieJar cookieJar, CancellationToken cancellation) {
+        PipelineStep step = plannedStep.getStep();
+        List<Object> elements;
+        Set<String> extractionNames;
+        RetryPolicy retryPolicy;
+        try {
+            elements = forEachElements(step, executionContext);
+            extractionNames = plannedStep.getExtractionRules().getRules().keySet();
+            retryPolicy = plannedStep.getRetryPolicy();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
         
-        // Get execution entity from database
-        PipelineExecution execution = pipelineExecutionRepository.findById(executionId)
-            .orElseThrow(() -> new RuntimeException("Pipeline execution not found: " + executionId));
+        long startTime = System.currentTimeMillis();
+        stepExecution.setAttempts(1);
+        ForEachResults results = new ForEachResults(elements.size(), extractionNames);
+        VariableScope scope = executionContext instanceof VariableScope
+                ? (VariableScope) executionContext : VariableScope.of(executionContext);
+        String variable = step.getForEachVariable() != null ? step.getForEachVariable() : "item";
+        int concurrency = Math.min(step.getForEachConcurrency() != null ? step.getForEachConcurrency() : forEachDefaultConcurrency,
+                forEachMaxConcurrency);
+        AtomicInteger nextElement = new AtomicInteger();
         
-        // Create dedicated HttpClient for this pipeline execution to maintain session
-        CookieManager cookieManager = new CookieManager();
-        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
-        HttpClient sessionHttpClient = HttpClient.newBuilder()
-                .cookieHandler(cookieManager)
-                .build();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.max(1, Math.min(concurrency, elements.size()))];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = forEachLane(plannedStep, stepExecution, scope, variable, elements, nextElement, retryPolicy, results,
+                    cookieJar, cancellation);
+        }
+        return CompletableFuture.allOf(lanes).thenApply(ignored -> {
+            stepExecution.setHttpStatus(results.httpStatus());
+            bodyBlobStore.storeResponse(stepExecution, responseCapturePolicy.truncate(results.summaryJson(objectMapper)));
+            stepExecution.setResponseTime(System.currentTimeMillis() - startTime);
+            stepExecution.setAttemptLog(results.attemptLog());
+            if (results.hasFailure()) {
+                throw new CompletionException(new Exception(results.errorMessage()));
+            }
+            Map<String, Object> extractedData = results.mergedExtractions();
+            try {
+                stepExecution.setExtractedData(objectMapper.writeValueAsString(extractedData));
+            } catch (Exception e) {
+                logger.warn("Could not record forEach data for step " + step.getStepOrder() + ": " + e.getMessage());
+            }
+            stepExecution.setStatus(StepExecution.StepStatus.SUCCESS);
+            stepExecution.setCompletedAt(LocalDateTime.now());
+            return extractedData;
+        });
+    }
+
+    /**
+     * Takes the next element once the previous one is done; {@code concurrency} lanes run side by side.
+     */
+    private CompletableFuture<Void> forEachLane(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                                VariableScope scope, String variable, List<Object> elements,
+                                                AtomicInteger nextElement, RetryPolicy retryPolicy, ForEachResults results,
+                                                ExecutionCookieJar cookieJar, CancellationToken cancellation) {
+        if (cancellation.isCancelled()) {
+            return CompletableFuture.failedFuture(cancellation.cancelledException());
+        }
+        int index = nextElement.getAndIncrement();
+        if (index >= elements.size() || results.hasFailure()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Object element = elements.get(index);
+        VariableScope elementScope = scope.with(variable, element).with(variable + "Index", index);
+        if (element instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> fields = (Map<String, Object>) element;
+            elementScope = elementScope.withPrefixed(variable + ".", fields);
+        }
+        return forEachElementAsync(plannedStep, stepExecution, elementScope, index, 1, retryPolicy, results, cookieJar, cancellation)
+                .thenCompose(ignored -> forEachLane(plannedStep, stepExecution, scope, variable, elements, nextElement,
+                        retryPolicy, results, cookieJar, cancellation));
+    }
+
+    private CompletableFuture<Void> forEachElementAsync(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                                        VariableScope elementScope, int index, int attempt, RetryPolicy retryPolicy,
+                                                        ForEachResults results, ExecutionCookieJar cookieJar,
+                                                        CancellationToken cancellation) {
+        PipelineStep step = plannedStep.getStep();
+        long startTime = System.currentTimeMillis();
+        HttpRequest request;
+        try {
+            PreparedStepRequest prepared = stepRequestBuilder.prepare(plannedStep.getTemplates(), plannedStep.getMethod(),
+                    elementScope, requestTimeout(step, cancellation));
+            if (index == 0 && attempt == 1) {
+                // The first element's request stands for all of them
+                bodyBlobStore.storeRequest(stepExecution, responseCapturePolicy.truncate(prepared.toRequestData(objectMapper)));
+            }
+            request = prepared.getRequest();
+        } catch (Exception e) {
+            results.failed(index, null, 0, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return pipelineHttpTransport.exchangeAsync(request, HttpResponse.BodyHandlers.ofString(), cookieJar,
+                        plannedStep.getRateLimit(), cancellation)
+                .handleAsync((limited, error) -> {
+                    long elapsed = System.currentTimeMillis() - startTime
+                            - (limited != null ? TimeUnit.NANOSECONDS.toMillis(limited.getQueueWaitNanos()) : 0);
+                    Throwable cause = error != null ? unwrap(error) : null;
+                    if (cause instanceof ExecutionCancelledException) {
+                        return CompletableFuture.<Void>failedFuture(cause);
+                    }
+                    Integer status = limited != null ? limited.getResponse().statusCode() : null;
+                    Exception failure = cause instanceof Exception ? (Exception) cause
+                            : cause != null ? new RuntimeException(cause) : null;
+                    if (failure == null && status >= 400) {
+                        failure = new Exception("HTTP " + status + " error: " + responseCapturePolicy.truncate(limited.getResponse().body()));
+                    }
+                    if (failure == null) {
+                        results.succeeded(index, status, elapsed, forEachExtract(plannedStep, limited.getResponse().body()));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    if (!results.hasFailure() && retryPolicy.shouldRetry(attempt, plannedStep.getMethod(), status, failure)) {
+                        results.retried();
+                        return delay(retryPolicy.backoffMillis(attempt), cancellation).thenCompose(ignored ->
+                                forEachElementAsync(plannedStep, stepExecution, elementScope, index, attempt + 1, retryPolicy,
+                                        results, cookieJar, cancellation));
+                    }
+                    results.failed(index, status, elapsed, failure.getMessage());
+                    return CompletableFuture.<Void>completedFuture(null);
+                }, pipelineAsyncExecutor)
+                .thenCompose(Function.identity());
+    }
+
+    private Map<String, Object> forEachExtract(PipelineExecutionPlan.PlannedStep plannedStep, String body) {
+        try {
+            CompiledExtractionRules rules = plannedStep.getExtractionRules();
+            return rules.isEmpty() ? Collections.emptyMap() : rules.extract(objectMapper.readTree(body));
+        } catch (Exception e) {
+            logger.warn("Data extraction failed for step " + plannedStep.getStep().getStepOrder() + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * The array the forEach step iterates over: a list (e.g. from a wildcard extraction) or a JSON array string.
+     */
+    private List<Object> forEachElements(PipelineStep step, Map<String, Object> executionContext) throws IOException {
+        String source = step.getForEachSource().trim();
+        Object value = executionContext.get(source);
+        if (value instanceof String && ((String) value).trim().startsWith("[")) {
+            value = objectMapper.readValue((String) value, List.class);
+        }
+        if (!(value instanceof Collection)) {
+            throw new IllegalArgumentException("forEach source '" + source + "' is " + (value == null ? "not set" : "not an array"));
+        }
+        List<Object> elements = new ArrayList<>((Collection<?>) value);
+        if (elements.size() > forEachMaxElements) {
+            throw new IllegalArgumentException("forEach source '" + source + "' has " + elements.size()
+                    + " elements, the limit is " + forEachMaxElements);
+        }
+        return elements;
+    }
+
+    /**
+     * Waits for a forEach step on a blocking worker; a cancel fails the in-flight requests, which ends the wait.
+     */
+    private static Map<String, Object> awaitForEach(CompletableFuture<Map<String, Object>> forEach) throws Exception {
+        try {
+            return forEach.get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e.getCause());
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+
+    private void executeStepsWithId(ExecutionRecorder.Recording recording, PipelineExecutionPlan plan,
+                                    ExecutionCheckpoint checkpoint, CancellationToken cancellation)
+            throws InterruptedException {
+        if (plan.runsInParallel()) {
+            executeStepGraph(recording, plan, checkpoint, cancellation);
+            return;
+        }
+        
+        PipelineExecution execution = recording.getExecution();
         
-        // Initialize with empty context for first step
-        Map<String, Object> stepContext = new HashMap<>();
-        stepContext.put("httpClient", sessionHttpClient);
+        // Dedicated cookie jar keeps this execution's session isolated on the shared HttpClient
+        ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+        cookieJar.restore(checkpoint.getRestoredCookies());
+        LoginSessions logins = new LoginSessions(recording);
         
-        for (PipelineStep step : steps) {
+        // The first step sees the execution scope and the initial context (empty unless seeded by a dataset row)
+        VariableScope stepContext = initialScope(execution, plan, checkpoint);
+        
+        for (PipelineExecutionPlan.PlannedStep plannedStep : plan.getPlannedSteps()) {
+            PipelineStep step = plannedStep.getStep();
+            cancellation.throwIfCancelled();
+            
+            // Restored from the resumed execution: not sent again, its extracted data is added as if it had run
+            if (checkpoint.isRestored(step.getId())) {
+                stepContext = stepContext.withStep(step.getStepOrder(), checkpoint.restoredOutput(step.getId()));
+                continue;
+            }
             
             // Skip step if it's marked as skip
             if (step.getIsSkip() != null && step.getIsSkip()) {
@@ -138,34 +934,48 @@ public class PipelineExecutionService {
                 stepExecution.setStatus(StepExecution.StepStatus.SKIPPED);
                 stepExecution.setStartedAt(LocalDateTime.now());
                 stepExecution.setCompletedAt(LocalDateTime.now());
-                stepExecutionRepository.save(stepExecution);
                 
                 // Update counters
                 execution.setCompletedSteps(execution.getCompletedSteps() + 1);
+                recording.step(stepExecution, true);
+                executionEventPublisher.stepChanged(execution, stepExecution, null);
+                recording.boundary();
                 continue;
             }
             
             // Create step execution record
             StepExecution stepExecution = new StepExecution(execution, step);
             stepExecution.setStatus(StepExecution.StepStatus.RUNNING);
-            stepExecution = stepExecutionRepository.save(stepExecution);
+            stepExecution.setStartedAt(LocalDateTime.now());
+            recording.step(stepExecution, false);
+            executionEventPublisher.stepChanged(execution, stepExecution, null);
 
             try {
                 // Execute the step with current context
-                Map<String, Object> extractedData = executeStep(stepExecution, stepContext);
+                Map<String, Object> extractedData = executeStep(plannedStep, stepExecution, stepContext, cookieJar, logins, cancellation);
                 
-                // Update counters
+                // Update counters and checkpoint the variables gathered so far
                 execution.setCompletedSteps(execution.getCompletedSteps() + 1);
                 execution.setSuccessfulSteps(execution.getSuccessfulSteps() + 1);
+                checkpoint.stepSucceeded(extractedData, cookieJar);
+                recording.step(stepExecution, true);
+                executionEventPublisher.stepChanged(execution, stepExecution,
+                        extractedData != null ? extractedData.keySet() : null);
                 
-                // Create new context for next step with only extracted data and httpClient
-                Map<String, Object> nextStepContext = new HashMap<>();
-                nextStepContext.put("httpClient", sessionHttpClient);
-                if (extractedData != null && !extractedData.isEmpty()) {
-                    nextStepContext.putAll(extractedData);
-                }
-                stepContext = nextStepContext;
+                // Later steps see this step's data by name and as steps.<order>.<name>; earlier values stay shared
+                stepContext = stepContext.withStep(step.getStepOrder(), extractedData);
                 
+            } catch (ExecutionCancelledException e) {
+                // The in-flight request was aborted; the execution itself is marked by the caller
+                stepExecution.setStatus(StepExecution.StepStatus.FAILED);
+                stepExecution.setErrorMessage(e.getMessage());
+                stepExecution.setCompletedAt(LocalDateTime.now());
+                execution.setCompletedSteps(execution.getCompletedSteps() + 1);
+                execution.setFailedSteps(execution.getFailedSteps() + 1);
+                recording.step(stepExecution, true);
+                executionEventPublisher.stepChanged(execution, stepExecution, null);
+                cookieJar.clear();
+                throw e;
             } catch (Exception e) {
                 // Step failed, mark as failed and continue cleanup
                 
@@ -173,7 +983,6 @@ public class PipelineExecutionService {
                 stepExecution.setStatus(StepExecution.StepStatus.FAILED);
                 stepExecution.setErrorMessage(e.getMessage());
                 stepExecution.setCompletedAt(LocalDateTime.now());
-                stepExecutionRepository.save(stepExecution);
                 
                 // Update counters
                 execution.setCompletedSteps(execution.getCompletedSteps() + 1);
@@ -183,297 +992,715 @@ public class PipelineExecutionService {
                 execution.setStatus(PipelineExecution.ExecutionStatus.FAILED);
                 execution.setErrorMessage("Step " + step.getStepOrder() + " failed: " + e.getMessage());
                 execution.setCompletedAt(LocalDateTime.now());
-                pipelineExecutionRepository.save(execution);
+                recording.step(stepExecution, true);
+                executionEventPublisher.stepChanged(execution, stepExecution, null);
                 
                 // Clean up cookies on step failure
-                try {
-                    CookieManager stepFailureCookieManager = (CookieManager) sessionHttpClient.cookieHandler().orElse(null);
-                    if (stepFailureCookieManager != null) {
-                        stepFailureCookieManager.getCookieStore().removeAll();
-                    }
-                } catch (Exception cleanupError) {
-                    // Failed to clean up cookies after step failure
-                }
+                cookieJar.clear();
                 return;
             }
             
-            pipelineExecutionRepository.save(execution);
+            recording.boundary();
             
-            // Add delay if specified
+            // Add delay if specified; a cancel ends the wait right away
             if (step.getDelayAfter() != null && step.getDelayAfter() > 0) {
-                try {
-                    Thread.sleep(step.getDelayAfter());
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return;
-                }
+                cancellation.sleep(step.getDelayAfter());
             }
         }
         
-        // Save session cookies for debugging purposes only (optional)
-        try {
-            CookieManager executionCookieManager = (CookieManager) sessionHttpClient.cookieHandler().orElse(null);
-            if (executionCookieManager != null) {
-                // Extract and store cookies temporarily for debugging
-                StringBuilder cookiesString = new StringBuilder();
-                executionCookieManager.getCookieStore().getCookies().forEach(cookie -> {
-                    if (cookiesString.length() > 0) {
-                        cookiesString.append("; ");
-                    }
-                    cookiesString.append(cookie.getName()).append("=").append(cookie.getValue());
-                });
-                
-                if (cookiesString.length() > 0) {
-                    // Only save if needed for debugging - normally we clean up after execution
-                    // execution.setSessionCookies(cookiesString.toString());
-                }
-                
-                // Clean up cookies from memory after execution completion
-                executionCookieManager.getCookieStore().removeAll();
-            }
-        } catch (Exception e) {
-            // Failed to handle session cookies
-        }
+        // Clean up cookies from memory after execution completion
+        cookieJar.clear();
         
         // Mark as completed
         execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
         execution.setCompletedAt(LocalDateTime.now());
-        pipelineExecutionRepository.save(execution);
+        recording.executionChanged();
         
     }
 
-    private Map<String, Object> executeStep(StepExecution stepExecution, Map<String, Object> executionContext) throws Exception {
-        PipelineStep step = stepExecution.getPipelineStep();
-        ApiItem apiItem = step.getApiItem();
-        HttpClient sessionHttpClient = (HttpClient) executionContext.get("httpClient");
+    /**
+     * Runs the steps of a pipeline with {@code parallelExecution} enabled as a dependency graph.
+     * This thread schedules ready steps on the step pool (at most {@code pipeline.dag.max-parallel-steps} at once)
+     * and applies their results, so all counter and recording updates stay on one thread.
+     * Each step sees the execution scope plus the data extracted by the steps it depends on.
+     * After the first failure no new steps are started; running ones are awaited and the lowest failed step is reported.
+     * A step's delayAfter only holds back its dependents and does not occupy a pool thread.
+     * Restored steps count as finished with their recorded extracted data; the checkpoint merges results in completion order.
+     */
+    private void executeStepGraph(ExecutionRecorder.Recording recording, PipelineExecutionPlan plan,
+                                  ExecutionCheckpoint checkpoint, CancellationToken cancellation)
+            throws InterruptedException {
+        PipelineExecution execution = recording.getExecution();
+        List<PipelineStep> steps = plan.getSteps();
+        StepDependencyGraph graph = plan.getGraph();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Execution {} runs {} steps as a graph, critical path {}", execution.getId(),
+                    steps.size(), graph.criticalPathLength());
+        }
         
+        // Cookies are shared by all steps of the execution, as in sequential mode
+        ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+        cookieJar.restore(checkpoint.getRestoredCookies());
+        LoginSessions logins = new LoginSessions(recording);
         
-        long startTime = System.currentTimeMillis();
+        int size = steps.size();
+        int[] waitingOn = new int[size];
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < size; i++) {
+            waitingOn[i] = graph.dependenciesOf(i).length;
+            if (waitingOn[i] == 0) {
+                ready.add(i);
+            }
+        }
+        List<Map<String, Object>> extracted = new ArrayList<>(Collections.nCopies(size, null));
+        VariableScope executionScope = initialScope(execution, plan, checkpoint);
+        BlockingQueue<GraphStepOutcome> outcomes = new LinkedBlockingQueue<>();
+        // Finished steps whose delayAfter has not elapsed yet: {release time (nanoTime), step index}
+        PriorityQueue<long[]> delayed = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+        GraphStepOutcome firstFailure = null;
+        int inFlight = 0;
+        
+        // Wakes this thread up when the execution is cancelled while it waits for a delay
+        cancellation.onCancel(() -> outcomes.add(GraphStepOutcome.WAKE_UP));
         
         try {
-            // Prepare request
-            logger.info("=== URL TEMPLATE PROCESSING ===");
-            logger.info("Original URL: " + apiItem.getUrl());
-            logger.info("Context before processing: " + executionContext);
-            String url = processTemplate(apiItem.getUrl(), executionContext);
-            logger.info("Processed URL: " + url);
-            logger.info("=== END URL TEMPLATE PROCESSING ===");
-            String method = apiItem.getMethod().toString().toLowerCase();
-            
-            // Build request headers
-            Map<String, String> headerMap = new HashMap<>();
-            if (apiItem.getRequestHeaders() != null && !apiItem.getRequestHeaders().trim().isEmpty()) {
-                JsonNode headersNode = objectMapper.readTree(apiItem.getRequestHeaders());
-                headersNode.fields().forEachRemaining(entry -> {
-                    String value = processTemplate(entry.getValue().asText(), executionContext);
-                    headerMap.put(entry.getKey(), value);
-                });
-            }
-            
-            // Prepare body
-            String bodyString = null;
-            if (apiItem.getRequestBody() != null && !apiItem.getRequestBody().trim().isEmpty()) {
-                bodyString = processTemplate(apiItem.getRequestBody(), executionContext);
+            while (true) {
+                long now = System.nanoTime();
+                while (!delayed.isEmpty() && delayed.peek()[0] <= now) {
+                    stepFinished(graph, (int) delayed.poll()[1], waitingOn, ready);
+                }
                 
-                // Set content type if not already set
-                if (!headerMap.containsKey("Content-Type") && !headerMap.containsKey("content-type")) {
-                    try {
-                        // Try to parse as JSON
-                        objectMapper.readValue(bodyString, Object.class);
-                        headerMap.put("Content-Type", "application/json");
-                    } catch (Exception e) {
-                        // Use as text if not valid JSON
-                        headerMap.put("Content-Type", "text/plain");
+                boolean stopped = firstFailure != null || cancellation.isCancelled();
+                while (!stopped && inFlight < maxParallelSteps && !ready.isEmpty()) {
+                    int index = ready.poll();
+                    PipelineStep step = steps.get(index);
+                    
+                    if (checkpoint.isRestored(step.getId())) {
+                        extracted.set(index, checkpoint.restoredOutput(step.getId()));
+                        stepFinished(graph, index, waitingOn, ready);
+                        continue;
                     }
+                    
+                    if (step.getIsSkip() != null && step.getIsSkip()) {
+                        StepExecution stepExecution = new StepExecution(execution, step);
+                        stepExecution.setStatus(StepExecution.StepStatus.SKIPPED);
+                        stepExecution.setStartedAt(LocalDateTime.now());
+                        stepExecution.setCompletedAt(LocalDateTime.now());
+                        execution.setCompletedSteps(execution.getCompletedSteps() + 1);
+                        recording.step(stepExecution, true);
+                        executionEventPublisher.stepChanged(execution, stepExecution, null);
+                        stepFinished(graph, index, waitingOn, ready);
+                        continue;
+                    }
+                    
+                    StepExecution stepExecution = new StepExecution(execution, step);
+                    stepExecution.setStatus(StepExecution.StepStatus.RUNNING);
+                    stepExecution.setStartedAt(LocalDateTime.now());
+                    recording.step(stepExecution, false);
+                    executionEventPublisher.stepChanged(execution, stepExecution, null);
+                    
+                    VariableScope stepContext = dependencyScope(executionScope, steps, graph, extracted, index);
+                    pipelineStepExecutor.execute(() ->
+                            outcomes.add(runGraphStep(index, plan.getPlannedStep(index), stepExecution, stepContext,
+                                    cookieJar, logins, cancellation)));
+                    inFlight++;
+                }
+                if (inFlight == 0 && (stopped || delayed.isEmpty())) {
+                    break;
                 }
-            }
-            
-            // Handle query parameters for GET requests
-            if ("get".equals(method) && apiItem.getRequestParams() != null && !apiItem.getRequestParams().trim().isEmpty()) {
-                JsonNode paramsNode = objectMapper.readTree(apiItem.getRequestParams());
-                StringBuilder urlWithParams = new StringBuilder(url);
                 
-                // Only add parameters if there are any
-                boolean hasParams = false;
-                Iterator<Map.Entry<String, JsonNode>> fields = paramsNode.fields();
+                GraphStepOutcome outcome = delayed.isEmpty() ? outcomes.take()
+                        : outcomes.poll(Math.max(0, delayed.peek()[0] - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (outcome == null || outcome == GraphStepOutcome.WAKE_UP) {
+                    continue;
+                }
+                inFlight--;
+                StepExecution stepExecution = outcome.stepExecution;
+                execution.setCompletedSteps(execution.getCompletedSteps() + 1);
                 
-                while (fields.hasNext()) {
-                    Map.Entry<String, JsonNode> entry = fields.next();
-                    String value = processTemplate(entry.getValue().asText(), executionContext);
-                    
-                    // Skip empty parameters
-                    if (value != null && !value.trim().isEmpty()) {
-                        if (!hasParams) {
-                            urlWithParams.append("?");
-                            hasParams = true;
-                        } else {
-                            urlWithParams.append("&");
-                        }
-                        urlWithParams.append(entry.getKey()).append("=").append(value);
+                if (outcome.error == null) {
+                    execution.setSuccessfulSteps(execution.getSuccessfulSteps() + 1);
+                    checkpoint.stepSucceeded(outcome.extractedData, cookieJar);
+                    recording.step(stepExecution, true);
+                    executionEventPublisher.stepChanged(execution, stepExecution,
+                            outcome.extractedData != null ? outcome.extractedData.keySet() : null);
+                    extracted.set(outcome.index, outcome.extractedData);
+                    Integer delayAfter = stepExecution.getPipelineStep().getDelayAfter();
+                    if (delayAfter != null && delayAfter > 0) {
+                        delayed.add(new long[] { System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayAfter), outcome.index });
+                    } else {
+                        stepFinished(graph, outcome.index, waitingOn, ready);
+                    }
+                } else {
+                    stepExecution.setStatus(StepExecution.StepStatus.FAILED);
+                    stepExecution.setErrorMessage(outcome.error.getMessage());
+                    stepExecution.setCompletedAt(LocalDateTime.now());
+                    execution.setFailedSteps(execution.getFailedSteps() + 1);
+                    recording.step(stepExecution, true);
+                    executionEventPublisher.stepChanged(execution, stepExecution, null);
+                    if (firstFailure == null || outcome.index < firstFailure.index) {
+                        firstFailure = outcome;
                     }
                 }
-                
-                url = urlWithParams.toString();
+                recording.boundary();
             }
-            
-            // Build HttpRequest
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(URI.create(url));
-            
-            // Add headers
-            for (Map.Entry<String, String> header : headerMap.entrySet()) {
-                requestBuilder.header(header.getKey(), header.getValue());
+        } finally {
+            cookieJar.clear();
+        }
+        
+        cancellation.throwIfCancelled();
+        if (firstFailure != null) {
+            execution.setStatus(PipelineExecution.ExecutionStatus.FAILED);
+            execution.setErrorMessage("Step " + steps.get(firstFailure.index).getStepOrder() + " failed: "
+                    + firstFailure.error.getMessage());
+        } else {
+            execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+        }
+        execution.setCompletedAt(LocalDateTime.now());
+        recording.executionChanged();
+    }
+
+    private static VariableScope dependencyScope(VariableScope executionScope, List<PipelineStep> steps, StepDependencyGraph graph,
+                                                 List<Map<String, Object>> extracted, int index) {
+        VariableScope scope = executionScope;
+        for (int dependency : graph.dependenciesOf(index)) {
+            scope = scope.withStep(steps.get(dependency).getStepOrder(), extracted.get(dependency));
+        }
+        return scope;
+    }
+
+    /**
+     * Variables of the first step: environment, pipeline and execution values plus the initial context.
+     */
+    private VariableScope initialScope(PipelineExecution execution, PipelineExecutionPlan plan, ExecutionCheckpoint checkpoint) {
+        return variableScopeFactory.forExecution(plan.getPipeline(), execution.getId(), checkpoint.getInitialContext());
+    }
+
+    private static void stepFinished(StepDependencyGraph graph, int index, int[] waitingOn, PriorityQueue<Integer> ready) {
+        for (int dependent : graph.dependentsOf(index)) {
+            if (--waitingOn[dependent] == 0) {
+                ready.add(dependent);
             }
-            
-            // Add body for non-GET requests
-            if (!"get".equals(method) && bodyString != null) {
-                requestBuilder.method(method.toUpperCase(), HttpRequest.BodyPublishers.ofString(bodyString));
-            } else {
-                requestBuilder.method(method.toUpperCase(), HttpRequest.BodyPublishers.noBody());
+        }
+    }
+
+    /**
+     * Runs on the step pool.
+     */
+    private GraphStepOutcome runGraphStep(int index, PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                          Map<String, Object> stepContext, ExecutionCookieJar cookieJar,
+                                          LoginSessions logins, CancellationToken cancellation) {
+        try {
+            return new GraphStepOutcome(index, stepExecution,
+                    executeStep(plannedStep, stepExecution, stepContext, cookieJar, logins, cancellation), null);
+        } catch (Exception e) {
+            return new GraphStepOutcome(index, stepExecution, null, e);
+        }
+    }
+
+    private static final class GraphStepOutcome {
+        private static final GraphStepOutcome WAKE_UP = new GraphStepOutcome(-1, null, null, null);
+
+        private final int index;
+        private final StepExecution stepExecution;
+        private final Map<String, Object> extractedData;
+        private final Exception error;
+
+        private GraphStepOutcome(int index, StepExecution stepExecution, Map<String, Object> extractedData, Exception error) {
+            this.index = index;
+            this.stepExecution = stepExecution;
+            this.extractedData = extractedData;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Runs the step, retrying failed attempts as its retry policy allows.
+     * The step execution keeps the last attempt's request and response plus a compact per-attempt log.
+     * A login step with an auth cache TTL is answered from the {@link AuthSessionCache} when possible.
+     */
+    private Map<String, Object> executeStep(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                            Map<String, Object> executionContext, ExecutionCookieJar cookieJar,
+                                            LoginSessions logins, CancellationToken cancellation) throws Exception {
+        if (plannedStep.isForEach()) {
+            return awaitForEach(executeForEachAsync(plannedStep, stepExecution, executionContext, cookieJar, cancellation));
+        }
+        PipelineStep step = plannedStep.getStep();
+        RetryPolicy retryPolicy = plannedStep.getRetryPolicy();
+        String method = plannedStep.getMethod();
+        StringBuilder attemptLog = new StringBuilder();
+        
+        String authCacheKey = authCacheKey(plannedStep, executionContext);
+        if (authCacheKey != null) {
+            Map<String, Object> cached = useCachedLogin(authCacheKey, plannedStep, stepExecution, executionContext, cookieJar, logins);
+            if (cached != null) {
+                return cached;
             }
-            
-            HttpRequest request = requestBuilder.build();
-            
-            // Store request data
-            String requestData = objectMapper.writeValueAsString(Map.of(
-                "url", url,
-                "method", method.toUpperCase(),
-                "headers", headerMap,
-                "body", bodyString != null ? bodyString : ""
-            ));
-            logger.info("=== STORING REQUEST DATA ===");
-            logger.info("Final URL being stored: " + url);
-            logger.info("Request data JSON: " + requestData);
-            logger.info("=== END STORING REQUEST DATA ===");
-            stepExecution.setRequestData(requestData);
-            
-            // Make API call with session HttpClient
-            HttpResponse<String> response = sessionHttpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            
-            long endTime = System.currentTimeMillis();
-            long responseTime = endTime - startTime;
-            
-            // Store response data
-            stepExecution.setHttpStatus(response.statusCode());
-            stepExecution.setResponseData(response.body());
-            stepExecution.setResponseTime(responseTime);
-            
-            logger.info("=== STORING RESPONSE DATA ===");
-            logger.info("HTTP Status Code: " + response.statusCode());
-            logger.info("Response Time: " + responseTime + "ms");
-            logger.info("=== END STORING RESPONSE DATA ===");
-            
-            // Check HTTP status code to determine success/failure
-            if (response.statusCode() >= 400) {
-                throw new Exception("HTTP " + response.statusCode() + " error: " + response.body());
+        }
+        
+        Map<String, Object> context = executionContext;
+        boolean sessionRefreshed = false;
+        for (int attempt = 1; ; attempt++) {
+            stepExecution.setHttpStatus(null);
+            stepExecution.setAttempts(attempt);
+            try {
+                Map<String, Object> extractedData = attemptStep(plannedStep, stepExecution, context, cookieJar, cancellation);
+                appendAttempt(attemptLog, attempt, stepExecution, null);
+                if (attempt > 1) {
+                    stepExecution.setAttemptLog(attemptLog.toString());
+                }
+                if (authCacheKey != null) {
+                    rememberLogin(authCacheKey, step, extractedData, cookieJar);
+                }
+                return extractedData;
+            } catch (ExecutionCancelledException e) {
+                throw e;
+            } catch (Exception e) {
+                appendAttempt(attemptLog, attempt, stepExecution, e);
+                if (attempt > 1) {
+                    stepExecution.setAttemptLog(attemptLog.toString());
+                }
+                // A cached session the server no longer accepts: log in again and repeat the request once
+                if (!sessionRefreshed && isUnauthorized(stepExecution) && logins.servedFromCache()) {
+                    sessionRefreshed = true;
+                    Map<String, Object> fresh = refreshCachedLogins(logins, cookieJar, cancellation);
+                    if (fresh != null) {
+                        context = withFreshLogin(context, fresh);
+                        continue;
+                    }
+                }
+                if (!retryPolicy.shouldRetry(attempt, method, stepExecution.getHttpStatus(), e)) {
+                    throw e;
+                }
+                long backoff = retryPolicy.backoffMillis(attempt);
+                logger.info("Step {} attempt {} failed ({}), retrying in {}ms", step.getStepOrder(), attempt,
+                        stepExecution.getHttpStatus() != null ? "HTTP " + stepExecution.getHttpStatus() : e.getClass().getSimpleName(),
+                        backoff);
+                cancellation.sleep(backoff);
             }
-            
-            // Extract data for next steps
-            
-            Map<String, Object> extractedData = new HashMap<>();
-            if (step.getDataExtractions() != null && !step.getDataExtractions().trim().isEmpty()) {
-                extractedData = extractData(step.getDataExtractions(), response.body(), stepExecution);
-            } else {
+        }
+    }
+
+    /**
+     * Cache key of a login step's rendered request, or null if the step does not use the auth cache.
+     */
+    private String authCacheKey(PipelineExecutionPlan.PlannedStep plannedStep, Map<String, Object> executionContext) {
+        Integer ttl = plannedStep.getStep().getAuthCacheTtlSeconds();
+        if (ttl == null || ttl <= 0 || !authSessionCache.isEnabled()) {
+            return null;
+        }
+        try {
+            PreparedStepRequest prepared = stepRequestBuilder.prepare(plannedStep.getTemplates(), plannedStep.getMethod(),
+                    executionContext, null);
+            return authSessionCache.keyFor(prepared.toRequestData(objectMapper));
+        } catch (Exception e) {
+            // The attempt itself reports the template error
+            return null;
+        }
+    }
+
+    /**
+     * Completes a login step from a cached session: its cookies go into this execution's jar and its
+     * extracted data is passed on as if the request had been sent. Returns null on a cache miss.
+     */
+    private Map<String, Object> useCachedLogin(String key, PipelineExecutionPlan.PlannedStep plannedStep,
+                                               StepExecution stepExecution, Map<String, Object> executionContext,
+                                               ExecutionCookieJar cookieJar, LoginSessions logins) {
+        AuthSessionCache.CachedSession session = authSessionCache.get(key);
+        if (session == null) {
+            return null;
+        }
+        cookieJar.restore(session.getCookies());
+        Map<String, Object> extractedData = new HashMap<>(session.getExtractedData());
+        stepExecution.setAttempts(1);
+        stepExecution.setAttemptLog("1:cached:0ms");
+        stepExecution.setResponseTime(0L);
+        try {
+            stepExecution.setExtractedData(objectMapper.writeValueAsString(extractedData));
+        } catch (Exception e) {
+            logger.warn("Could not record cached login data for step " + plannedStep.getStep().getStepOrder() + ": " + e.getMessage());
+        }
+        stepExecution.setStatus(StepExecution.StepStatus.SUCCESS);
+        stepExecution.setCompletedAt(LocalDateTime.now());
+        logins.add(new CachedLogin(key, session, plannedStep, stepExecution, executionContext));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Step {} served from the auth session cache", plannedStep.getStep().getStepOrder());
+        }
+        return extractedData;
+    }
+
+    private void rememberLogin(String key, PipelineStep step, Map<String, Object> extractedData, ExecutionCookieJar cookieJar) {
+        authSessionCache.put(key, extractedData != null ? extractedData : Collections.emptyMap(), cookieJar.snapshot(),
+                step.getAuthCacheTtlSeconds());
+    }
+
+    private static boolean isUnauthorized(StepExecution stepExecution) {
+        return Integer.valueOf(401).equals(stepExecution.getHttpStatus());
+    }
+
+    private static Map<String, Object> withFreshLogin(Map<String, Object> context, Map<String, Object> fresh) {
+        if (context instanceof VariableScope) {
+            return ((VariableScope) context).withAll(fresh);
+        }
+        Map<String, Object> refreshed = new HashMap<>(context);
+        refreshed.putAll(fresh);
+        return refreshed;
+    }
+
+    /**
+     * Drops the execution's cached sessions and sends their login requests again.
+     * Only the first caller refreshes, later callers get the same data; returns null if a login fails.
+     */
+    private Map<String, Object> refreshCachedLogins(LoginSessions logins, ExecutionCookieJar cookieJar,
+                                                    CancellationToken cancellation) {
+        logins.refreshLock.lock();
+        try {
+            if (logins.refreshed) {
+                return logins.refreshedData;
             }
+            logins.refreshed = true;
+            Map<String, Object> fresh = new HashMap<>();
+            for (CachedLogin login : logins.cached) {
+                authSessionCache.invalidate(login.key, login.session);
+                StepExecution loginExecution = login.stepExecution;
+                int attempt = loginExecution.getAttempts() + 1;
+                StringBuilder attemptLog = new StringBuilder(loginExecution.getAttemptLog());
+                loginExecution.setHttpStatus(null);
+                loginExecution.setAttempts(attempt);
+                try {
+                    Map<String, Object> extractedData = attemptStep(login.plannedStep, loginExecution, login.context,
+                            cookieJar, cancellation);
+                    appendAttempt(attemptLog, attempt, loginExecution, null);
+                    rememberLogin(login.key, login.plannedStep.getStep(), extractedData, cookieJar);
+                    fresh.putAll(extractedData);
+                } catch (ExecutionCancelledException e) {
+                    throw e;
+                } catch (Exception e) {
+                    appendAttempt(attemptLog, attempt, loginExecution, e);
+                    logger.warn("Login step {} failed to refresh an expired session: {}",
+                            login.plannedStep.getStep().getStepOrder(), e.getMessage());
+                    return null;
+                } finally {
+                    loginChanged(logins, loginExecution, attemptLog);
+                }
+            }
+            logins.refreshedData = fresh;
+            return fresh;
+        } finally {
+            logins.refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Non-blocking {@link #refreshCachedLogins}; async executions run their steps one at a time.
+     */
+    private CompletableFuture<Map<String, Object>> refreshCachedLoginsAsync(LoginSessions logins, ExecutionCookieJar cookieJar,
+                                                                          CancellationToken cancellation) {
+        if (logins.refreshed) {
+            return CompletableFuture.completedFuture(logins.refreshedData);
+        }
+        logins.refreshed = true;
+        Map<String, Object> fresh = new HashMap<>();
+        CompletableFuture<Boolean> chain = CompletableFuture.completedFuture(true);
+        for (CachedLogin login : logins.cached) {
+            chain = chain.thenCompose(ok -> {
+                if (!ok) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                authSessionCache.invalidate(login.key, login.session);
+                StepExecution loginExecution = login.stepExecution;
+                int attempt = loginExecution.getAttempts() + 1;
+                StringBuilder attemptLog = new StringBuilder(loginExecution.getAttemptLog());
+                loginExecution.setHttpStatus(null);
+                loginExecution.setAttempts(attempt);
+                return attemptStepAsync(login.plannedStep, loginExecution, login.context, cookieJar, cancellation)
+                        .handle((extractedData, error) -> {
+                            Throwable cause = unwrap(error);
+                            try {
+                                if (cause instanceof ExecutionCancelledException) {
+                                    throw (ExecutionCancelledException) cause;
+                                }
+                                if (cause != null) {
+                                    appendAttempt(attemptLog, attempt, loginExecution,
+                                            cause instanceof Exception ? (Exception) cause : new Exception(cause));
+                                    logger.warn("Login step {} failed to refresh an expired session: {}",
+                                            login.plannedStep.getStep().getStepOrder(), cause.getMessage());
+                                    return false;
+                                }
+                                appendAttempt(attemptLog, attempt, loginExecution, null);
+                                rememberLogin(login.key, login.plannedStep.getStep(), extractedData, cookieJar);
+                                fresh.putAll(extractedData);
+                                return true;
+                            } finally {
+                                loginChanged(logins, loginExecution, attemptLog);
+                            }
+                        });
+            });
+        }
+        return chain.thenApply(ok -> {
+            logins.refreshedData = ok ? fresh : null;
+            return logins.refreshedData;
+        });
+    }
+
+    private void loginChanged(LoginSessions logins, StepExecution loginExecution, StringBuilder attemptLog) {
+        loginExecution.setAttemptLog(attemptLog.toString());
+        logins.recording.step(loginExecution, false);
+        executionEventPublisher.stepChanged(logins.recording.getExecution(), loginExecution, null);
+    }
+
+    /**
+     * Login steps of one execution that were answered from the {@link AuthSessionCache}.
+     * Their sessions are refreshed at most once per execution, on the first 401 a later step receives.
+     */
+    private static final class LoginSessions {
+        private final ExecutionRecorder.Recording recording;
+        private final List<CachedLogin> cached = new CopyOnWriteArrayList<>();
+        // Not a monitor: the refresh holds it across HTTP calls
+        private final ReentrantLock refreshLock = new ReentrantLock();
+        private volatile boolean refreshed;
+        private volatile Map<String, Object> refreshedData;
+
+        private LoginSessions(ExecutionRecorder.Recording recording) {
+            this.recording = recording;
+        }
+
+        private void add(CachedLogin login) {
+            cached.add(login);
+        }
+
+        private boolean servedFromCache() {
+            return !cached.isEmpty();
+        }
+    }
+
+    private static final class CachedLogin {
+        private final String key;
+        private final AuthSessionCache.CachedSession session;
+        private final PipelineExecutionPlan.PlannedStep plannedStep;
+        private final StepExecution stepExecution;
+        private final Map<String, Object> context;
+
+        private CachedLogin(String key, AuthSessionCache.CachedSession session, PipelineExecutionPlan.PlannedStep plannedStep,
+                            StepExecution stepExecution, Map<String, Object> context) {
+            this.key = key;
+            this.session = session;
+            this.plannedStep = plannedStep;
+            this.stepExecution = stepExecution;
+            this.context = context;
+        }
+    }
+
+    // "attempt:status-or-error:time" entries separated by ';'
+    private static void appendAttempt(StringBuilder attemptLog, int attempt, StepExecution stepExecution, Exception error) {
+        String entry = attempt + ":"
+                + (stepExecution.getHttpStatus() != null ? String.valueOf(stepExecution.getHttpStatus()) : error.getClass().getSimpleName())
+                + ":" + (stepExecution.getResponseTime() != null ? stepExecution.getResponseTime() : 0) + "ms";
+        if (attemptLog.length() + entry.length() + 1 > MAX_ATTEMPT_LOG_LENGTH) {
+            return;
+        }
+        if (attemptLog.length() > 0) {
+            attemptLog.append(';');
+        }
+        attemptLog.append(entry);
+    }
+
+    private Map<String, Object> attemptStep(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                            Map<String, Object> executionContext, ExecutionCookieJar cookieJar,
+                                            CancellationToken cancellation) throws Exception {
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            HttpRequest request = prepareRequest(plannedStep, stepExecution, executionContext, cancellation);
             
-            // Mark as successful only if HTTP status is OK (< 400)
-            stepExecution.setStatus(StepExecution.StepStatus.SUCCESS);
-            stepExecution.setCompletedAt(LocalDateTime.now());
-            stepExecutionRepository.save(stepExecution);
-            
+            // Steps whose extraction rules are all simple paths read only those paths from the response stream
+            CompiledExtractionRules streamingRules = streamingRulesFor(plannedStep);
+            if (streamingRules != null) {
+                Map<String, Object> extractedData = exchangeStreaming(plannedStep, stepExecution, request, cookieJar, cancellation,
+                        streamingRules, startTime);
+                stepExecution.setStatus(StepExecution.StepStatus.SUCCESS);
+                stepExecution.setCompletedAt(LocalDateTime.now());
+                return extractedData;
+            }
             
-            return extractedData;
+            // Make API call on the shared client with this execution's cookies
+            LimitedResponse<String> limited = pipelineHttpTransport.exchange(request, HttpResponse.BodyHandlers.ofString(),
+                    cookieJar, plannedStep.getRateLimit(), cancellation);
+            return completeBufferedAttempt(plannedStep, stepExecution, limited, startTime);
             
         } catch (Exception e) {
-            long endTime = System.currentTimeMillis();
-            stepExecution.setResponseTime(endTime - startTime);
+            recordFailedAttemptTime(stepExecution, startTime);
             throw e;
         }
     }
 
-    private String processTemplate(String template, Map<String, Object> context) {
-        if (template == null) return null;
+    private static void recordFailedAttemptTime(StepExecution stepExecution, long startTime) {
+        long endTime = System.currentTimeMillis();
+        long queueWaitTime = stepExecution.getQueueWaitTime() != null ? stepExecution.getQueueWaitTime() : 0;
+        stepExecution.setResponseTime(endTime - startTime - queueWaitTime);
+    }
+
+    /**
+     * Renders the plan's pre-compiled templates into a request and stores the request data.
+     */
+    private HttpRequest prepareRequest(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                       Map<String, Object> executionContext, CancellationToken cancellation) throws Exception {
+        PipelineStep step = plannedStep.getStep();
+        PreparedStepRequest prepared = stepRequestBuilder.prepare(plannedStep.getTemplates(), plannedStep.getMethod(),
+                executionContext, requestTimeout(step, cancellation));
+        
+        // Store request data
+        String requestData = prepared.toRequestData(objectMapper);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Step {} request: {}", step.getStepOrder(), requestData);
+        }
+        bodyBlobStore.storeRequest(stepExecution, responseCapturePolicy.truncate(requestData));
+        return prepared.getRequest();
+    }
+
+    /**
+     * Records a fully read response and extracts data for the next steps.
+     */
+    private Map<String, Object> completeBufferedAttempt(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                                        LimitedResponse<String> limited, long startTime) throws Exception {
+        PipelineStep step = plannedStep.getStep();
+        HttpResponse<String> response = limited.getResponse();
+        long queueWaitTime = recordQueueWait(stepExecution, limited);
+        
+        long endTime = System.currentTimeMillis();
+        long responseTime = endTime - startTime - queueWaitTime;
+        
+        // Store response data
+        stepExecution.setHttpStatus(response.statusCode());
+        captureResponse(stepExecution, response, response.body(), false, -1);
+        stepExecution.setResponseTime(responseTime);
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Step {} response: status={}, time={}ms", step.getStepOrder(), response.statusCode(), responseTime);
+        }
+        
+        // Check HTTP status code to determine success/failure
+        if (response.statusCode() >= 400) {
+            throw new Exception("HTTP " + response.statusCode() + " error: " + responseCapturePolicy.truncate(response.body()));
+        }
         
-        logger.info("=== TEMPLATE PROCESSING DEBUG ===");
-        logger.info("Input template: " + template);
-        logger.info("Available context keys: " + context.keySet());
+        // Extract data for next steps
+        Map<String, Object> extractedData = new HashMap<>();
+        if (step.getDataExtractions() != null && !step.getDataExtractions().trim().isEmpty()) {
+            extractedData = extractData(plannedStep, response.body(), stepExecution);
+        }
         
-        // Replace {{variable:defaultValue}} or {{variable}} with values from context
-        Pattern pattern = Pattern.compile("\\{\\{([^:}]+)(?::([^}]*))?\\}\\}");
-        Matcher matcher = pattern.matcher(template);
+        // Mark as successful only if HTTP status is OK (< 400)
+        stepExecution.setStatus(StepExecution.StepStatus.SUCCESS);
+        stepExecution.setCompletedAt(LocalDateTime.now());
+        return extractedData;
+    }
+
+    /**
+     * The step's own timeout (or the global default), shortened to what is left of the pipeline deadline.
+     */
+    private Duration requestTimeout(PipelineStep step, CancellationToken cancellation) {
+        long timeoutMs = step.getTimeoutMs() != null && step.getTimeoutMs() > 0 ? step.getTimeoutMs() : defaultRequestTimeoutMs;
+        timeoutMs = Math.min(timeoutMs, cancellation.remainingMillis());
+        return Duration.ofMillis(Math.max(1, timeoutMs));
+    }
+
+    private CompiledExtractionRules streamingRulesFor(PipelineExecutionPlan.PlannedStep plannedStep) {
+        String dataExtractions = plannedStep.getStep().getDataExtractions();
+        if (!streamingExtraction || dataExtractions == null || dataExtractions.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            CompiledExtractionRules rules = plannedStep.getExtractionRules();
+            return rules.isStreamable() ? rules : null;
+        } catch (Exception e) {
+            // Invalid rules: fall back to the buffered path, which logs the failure
+            return null;
+        }
+    }
+
+    /**
+     * Sends the request and extracts values straight from the response stream without building the whole tree.
+     * Reading stops once every target is found; at most {@code pipeline.capture.max-bytes} are kept as response data.
+     */
+    private Map<String, Object> exchangeStreaming(PipelineExecutionPlan.PlannedStep plannedStep, StepExecution stepExecution,
+                                                  HttpRequest request, ExecutionCookieJar cookieJar,
+                                                  CancellationToken cancellation, CompiledExtractionRules rules,
+                                                  long startTime) throws Exception {
+        PipelineStep step = plannedStep.getStep();
+        LimitedResponse<InputStream> limited = pipelineHttpTransport.exchange(request, HttpResponse.BodyHandlers.ofInputStream(),
+                cookieJar, plannedStep.getRateLimit(), cancellation);
+        HttpResponse<InputStream> response = limited.getResponse();
+        long queueWaitTime = recordQueueWait(stepExecution, limited);
+        stepExecution.setHttpStatus(response.statusCode());
         
-        StringBuffer result = new StringBuffer();
-        while (matcher.find()) {
-            String variable = matcher.group(1);
-            String defaultValue = matcher.group(2); // null if no default value specified
-            Object value = context.get(variable);
+        try (CapturingInputStream body = new CapturingInputStream(response.body(), responseCapturePolicy.getMaxBytes())) {
+            Map<String, Object> extractedData = new HashMap<>();
+            if (response.statusCode() < 400) {
+                try {
+                    extractedData = rules.extract(body, objectMapper);
+                    stepExecution.setExtractedData(objectMapper.writeValueAsString(extractedData));
+                } catch (Exception e) {
+                    logger.warn("Data extraction failed for step " + step.getStepOrder() + ": " + e.getMessage());
+                    extractedData = new HashMap<>();
+                }
+            }
+            boolean failed = response.statusCode() >= 400;
+            if (failed || responseCapturePolicy.capturesBody(response.statusCode())) {
+                body.fillCapture();
+            }
             
-            logger.info("Processing variable: " + variable);
-            logger.info("Default value: " + defaultValue);
-            logger.info("Context value: " + value);
-            logger.info("Context value type: " + (value != null ? value.getClass().getName() : "null"));
-            logger.info("All context keys: " + context.keySet());
-            logger.info("Context contains '" + variable + "': " + context.containsKey(variable));
+            long responseTime = System.currentTimeMillis() - startTime - queueWaitTime;
+            String captured = body.getCapturedText();
+            captureResponse(stepExecution, response, captured, body.isTruncated(), body.getBytesRead());
+            stepExecution.setResponseTime(responseTime);
             
-            String replacement;
-            if (value != null) {
-                // Handle different types appropriately
-                if (value instanceof String) {
-                    replacement = (String) value;
-                } else if (value instanceof Number) {
-                    replacement = value.toString();
-                } else {
-                    // For complex objects, try to serialize as JSON if possible
-                    try {
-                        replacement = objectMapper.writeValueAsString(value);
-                        // If it's a simple quoted string, remove the quotes
-                        if (replacement.startsWith("\"") && replacement.endsWith("\"") && replacement.indexOf("\"", 1) == replacement.length() - 1) {
-                            replacement = replacement.substring(1, replacement.length() - 1);
-                        }
-                    } catch (Exception e) {
-                        replacement = value.toString();
-                    }
-                }
-            } else if (defaultValue != null) {
-                replacement = defaultValue;
-            } else {
-                replacement = "";
+            if (logger.isDebugEnabled()) {
+                logger.debug("Step {} response: status={}, time={}ms, streamed={} bytes", step.getStepOrder(),
+                        response.statusCode(), responseTime, body.getBytesRead());
+            }
+            
+            // Read what extraction left so the connection goes back to the pool; a large remainder is cheaper to drop
+            if (!ResponseBodies.drain(body, drainMaxBytes)) {
+                logger.debug("Step {} response exceeds the drain limit, closing the connection", step.getStepOrder());
             }
             
-            logger.info("Final replacement: " + replacement);
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+            if (failed) {
+                throw new Exception("HTTP " + response.statusCode() + " error: " + captured);
+            }
+            return extractedData;
         }
-        matcher.appendTail(result);
-        
-        logger.info("Final result: " + result.toString());
-        logger.info("=== END TEMPLATE PROCESSING DEBUG ===");
-        
-        return result.toString();
     }
-    
 
-    private Map<String, Object> extractData(String extractionRules, String responseBody, StepExecution stepExecution) {
+    /**
+     * Time spent waiting for the host/pipeline outbound limits is kept apart from the server's response time.
+     */
+    private static long recordQueueWait(StepExecution stepExecution, LimitedResponse<?> limited) {
+        long queueWaitTime = limited.getQueueWaitNanos() / 1_000_000;
+        stepExecution.setQueueWaitTime(queueWaitTime);
+        return queueWaitTime;
+    }
+
+    /**
+     * Records the response according to the capture policy; the content itself goes to the blob store.
+     */
+    private void captureResponse(StepExecution stepExecution, HttpResponse<?> response, String body,
+                                 boolean bodyTruncated, long bytesRead) {
+        String captured = responseCapturePolicy.captureResponse(response.statusCode(), response.headers(),
+                body, bodyTruncated, bytesRead);
+        bodyBlobStore.storeResponse(stepExecution, captured);
+    }
+
+    private Map<String, Object> extractData(PipelineExecutionPlan.PlannedStep plannedStep, String responseBody,
+                                            StepExecution stepExecution) {
+        PipelineStep step = plannedStep.getStep();
         try {
             
-            JsonNode extractionNode = objectMapper.readTree(extractionRules);
+            // Rules are compiled with the plan and reused across runs
+            CompiledExtractionRules rules = plannedStep.getExtractionRules();
             JsonNode responseNode = objectMapper.readTree(responseBody);
             
-            
-            Map<String, Object> extractedData = new HashMap<>();
-            
-            extractionNode.fields().forEachRemaining(entry -> {
-                String key = entry.getKey();
-                String path = entry.getValue().asText();
-                
-                
-                // Simple JSON path extraction (can be enhanced with JSONPath library)
-                Object value = extractValueByPath(responseNode, path);
-                
-                if (value != null) {
-                    extractedData.put(key, value);
-                } else {
-                }
-            });
+            Map<String, Object> extractedData = rules.extract(responseNode);
             
             // Store extracted data
             stepExecution.setExtractedData(objectMapper.writeValueAsString(extractedData));
@@ -482,52 +1709,81 @@ public class PipelineExecutionService {
             
         } catch (Exception e) {
             // Error extracting data
-            e.printStackTrace();
+            logger.warn("Data extraction failed for step " + step.getStepOrder() + ": " + e.getMessage());
             return new HashMap<>();
         }
     }
 
-    private Object extractValueByPath(JsonNode node, String path) {
-        // Simple implementation - can be enhanced with JSONPath
-        
-        String[] parts = path.split("\\.");
-        JsonNode current = node;
-        
+    public PipelineExecution getExecutionStatus(Long executionId) {
+        return pipelineExecutionRepository.findById(executionId)
+                .orElseThrow(() -> new RuntimeException("Execution not found: " + executionId));
+    }
+
+    /**
+     * Cancels a queued or running execution. A running execution stops at its next step boundary,
+     * in-flight requests and delays are aborted right away; the worker records the final state.
+     * Executions that already finished are returned unchanged.
+     *
+     * @throws IllegalStateException if the execution is running on another server instance
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PipelineExecution cancelExecution(Long executionId) {
+        PipelineExecution execution = getExecutionStatus(executionId);
         
-        for (String part : parts) {
-            
-            if (current == null) {
-                return null;
-            }
-            
-            if (part.matches("\\d+")) {
-                // Array index
-                int index = Integer.parseInt(part);
-                if (current.isArray() && index < current.size()) {
-                    current = current.get(index);
-                } else {
-                    return null;
-                }
-            } else {
-                // Object property
-                current = current.get(part);
+        if (execution.getStatus() == PipelineExecution.ExecutionStatus.QUEUED) {
+            int cancelled = pipelineExecutionRepository.cancelQueuedExecution(executionId, LocalDateTime.now(),
+                    "Cancelled by user", PipelineExecution.ExecutionStatus.QUEUED, PipelineExecution.ExecutionStatus.CANCELLED);
+            execution = getExecutionStatus(executionId);
+            if (cancelled > 0) {
+                pipelineExecutionQueue.leftQueue(executionId);
+                executionEventPublisher.executionChanged(execution);
+                return execution;
             }
+            // A worker claimed it in the meantime
         }
         
-        Object result = current != null ? current.asText() : null;
-        
-        return result;
-    }
-
-    public PipelineExecution getExecutionStatus(Long executionId) {
-        return pipelineExecutionRepository.findById(executionId)
-                .orElseThrow(() -> new RuntimeException("Execution not found: " + executionId));
+        if (execution.getStatus() == PipelineExecution.ExecutionStatus.RUNNING
+                && !runningExecutions.cancel(executionId, "Cancelled by user")) {
+            execution = getExecutionStatus(executionId);
+            if (execution.getStatus() == PipelineExecution.ExecutionStatus.RUNNING) {
+                throw new IllegalStateException("Execution " + executionId + " is not running on this server");
+            }
+        }
+        return execution;
     }
 
     public List<StepExecution> getStepExecutions(Long executionId) {
         return stepExecutionRepository.findByExecutionIdWithApiItemOrderByStepOrder(executionId);
     }
 
+    public StepExecution getStepExecution(Long executionId, Long stepExecutionId) {
+        StepExecution stepExecution = stepExecutionRepository.findById(stepExecutionId)
+                .orElseThrow(() -> new RuntimeException("Step execution not found: " + stepExecutionId));
+        if (!stepExecution.getPipelineExecution().getId().equals(executionId)) {
+            throw new RuntimeException("Step execution " + stepExecutionId + " does not belong to execution " + executionId);
+        }
+        return stepExecution;
+    }
+
+    /**
+     * Returns a request/response body by the hash sent in step events. Steps of a running execution may not be
+     * recorded yet, so the recorder is asked first; the hash must belong to one of the execution's steps.
+     */
+    public String getExecutionBody(Long executionId, String hash) {
+        Optional<String> body = executionRecorder.findBody(executionId, hash);
+        if (body.isPresent()) {
+            return body.get();
+        }
+        if (!stepExecutionRepository.existsByExecutionIdAndBlobHash(executionId, hash)) {
+            throw new RuntimeException("Body " + hash + " does not belong to execution " + executionId);
+        }
+        String content = bodyBlobStore.load(hash);
+        if (content == null) {
+            throw new RuntimeException("Body not found: " + hash);
+        }
+        return content;
+    }
+
     public List<PipelineExecution> getExecutionHistory(Long pipelineId) {
         return pipelineExecutionRepository.findRecentExecutions(pipelineId);
     }
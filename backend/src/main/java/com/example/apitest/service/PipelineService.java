@@ -6,6 +6,10 @@ import com.example.apitest.dto.pipeline.response.*;
 import com.example.apitest.entity.*;
 import com.example.apitest.mapper.PipelineMapper;
 import com.example.apitest.repository.*;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.example.apitest.service.pipeline.RetryPolicy;
+import com.example.apitest.service.pipeline.StepDependencyGraph;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,9 +39,21 @@ public class PipelineService {
     @Autowired
     private PipelineExecutionRepository pipelineExecutionRepository;
     
+    @Autowired
+    private DatasetRunRepository datasetRunRepository;
+
+    @Autowired
+    private LoadTestRunRepository loadTestRunRepository;
+
     @Autowired
     private PipelineMapper pipelineMapper;
 
+    // 파이프라인/스텝을 바꾸는 메서드는 모두 실행 계획 캐시를 무효화해야 한다
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Transactional(readOnly = true)
     public List<PipelineFolderDTO> getAllFolders() {
         List<PipelineFolder> folders = pipelineFolderRepository.findAll().stream()
@@ -92,6 +108,10 @@ public class PipelineService {
         pipeline.setFolder(folder.get());
         pipeline.setFolderId(request.getFolderId()); // folderId 명시적 설정
         pipeline.setIsActive(true);
+        pipeline.setParallelExecution(Boolean.TRUE.equals(request.getParallelExecution()));
+        pipeline.setMaxConcurrentRequests(request.getMaxConcurrentRequests());
+        pipeline.setMaxRequestsPerSecond(request.getMaxRequestsPerSecond());
+        pipeline.setTimeoutSeconds(positiveOrNull(request.getTimeoutSeconds()));
 
         return pipelineRepository.save(pipeline);
     }
@@ -130,6 +150,22 @@ public class PipelineService {
                     pipeline.setOrderIndex(request.getOrderIndex());
                 }
 
+                if (request.getParallelExecution() != null) {
+                    pipeline.setParallelExecution(request.getParallelExecution());
+                }
+
+                // 호출 제한: 0 이하 값으로 해제
+                if (request.getMaxConcurrentRequests() != null) {
+                    pipeline.setMaxConcurrentRequests(request.getMaxConcurrentRequests() > 0 ? request.getMaxConcurrentRequests() : null);
+                }
+                if (request.getMaxRequestsPerSecond() != null) {
+                    pipeline.setMaxRequestsPerSecond(request.getMaxRequestsPerSecond() > 0 ? request.getMaxRequestsPerSecond() : null);
+                }
+                if (request.getTimeoutSeconds() != null) {
+                    pipeline.setTimeoutSeconds(positiveOrNull(request.getTimeoutSeconds()));
+                }
+
+                planCache.invalidate(id);
                 return pipelineRepository.save(pipeline);
             });
     }
@@ -144,9 +180,12 @@ public class PipelineService {
                     
                     // 2. PipelineExecution 삭제 (외래키 제약조건 해결)
                     pipelineExecutionRepository.deleteByPipelineId(id);
+                    datasetRunRepository.deleteByPipelineId(id);
+                    loadTestRunRepository.deleteByPipelineId(id);
                     
                     // 3. Pipeline 삭제 (PipelineStep은 CASCADE로 자동 삭제됨)
                     pipelineRepository.delete(pipeline);
+                    planCache.invalidate(id);
                     
                     return true;
                 } catch (Exception e) {
@@ -189,10 +228,18 @@ public class PipelineService {
         step.setDataExtractions(request.getDataExtractions());
         step.setDataInjections(request.getDataInjections());
         step.setExecutionCondition(request.getExecutionCondition());
+        step.setRetryPolicy(validRetryPolicy(request.getRetryPolicy()));
+        step.setTimeoutMs(positiveOrNull(request.getTimeoutMs()));
+        step.setAuthCacheTtlSeconds(positiveOrNull(request.getAuthCacheTtlSeconds()));
+        step.setForEachSource(blankToNull(request.getForEachSource()));
+        step.setForEachVariable(blankToNull(request.getForEachVariable()));
+        step.setForEachConcurrency(positiveOrNull(request.getForEachConcurrency()));
         step.setDelayAfter(request.getDelayAfter());
+        step.setDependsOn(StepDependencyGraph.formatStepIds(request.getDependsOn()));
         step.setIsActive(true);
 
         PipelineStep savedStep = pipelineStepRepository.save(step);
+        planCache.invalidate(pipelineId);
         return pipelineMapper.toPipelineStepDTO(savedStep);
     }
 
@@ -202,6 +249,7 @@ public class PipelineService {
             .map(step -> {
                 step.setIsSkip(isSkip);
                 PipelineStep savedStep = pipelineStepRepository.save(step);
+                planCache.invalidate(step.getPipeline().getId());
                 return pipelineMapper.toPipelineStepDTO(savedStep);
             });
     }
@@ -225,6 +273,7 @@ public class PipelineService {
             }
 
             pipelineStepRepository.saveAll(remainingSteps);
+            planCache.invalidate(pipelineId);
             return true;
         }
         return false;
@@ -247,9 +296,17 @@ public class PipelineService {
                 step.setDataExtractions(request.getDataExtractions());
                 step.setDataInjections(request.getDataInjections());
                 step.setExecutionCondition(request.getExecutionCondition());
+                step.setRetryPolicy(validRetryPolicy(request.getRetryPolicy()));
+                step.setTimeoutMs(positiveOrNull(request.getTimeoutMs()));
+                step.setAuthCacheTtlSeconds(positiveOrNull(request.getAuthCacheTtlSeconds()));
+                step.setForEachSource(blankToNull(request.getForEachSource()));
+                step.setForEachVariable(blankToNull(request.getForEachVariable()));
+                step.setForEachConcurrency(positiveOrNull(request.getForEachConcurrency()));
                 step.setDelayAfter(request.getDelayAfter());
+                step.setDependsOn(StepDependencyGraph.formatStepIds(request.getDependsOn()));
 
                 PipelineStep updatedStep = pipelineStepRepository.save(step);
+                planCache.invalidate(step.getPipeline().getId());
                 return pipelineMapper.toPipelineStepDTO(updatedStep);
             });
     }
@@ -282,7 +339,9 @@ public class PipelineService {
             }
         }
         
-        return Optional.of(pipelineStepRepository.saveAll(steps));
+        List<PipelineStep> savedSteps = pipelineStepRepository.saveAll(steps);
+        planCache.invalidate(pipelineId);
+        return Optional.of(savedSteps);
     }
 
     @Transactional
@@ -308,6 +367,7 @@ public class PipelineService {
 
         // 업데이트된 step들 저장
         List<PipelineStep> savedSteps = pipelineStepRepository.saveAll(allSteps);
+        planCache.invalidate(pipelineId);
 
         // DTO로 변환하여 반환
         return savedSteps.stream()
@@ -325,4 +385,22 @@ public class PipelineService {
                 });
         }
     }
-}
\ No newline at end of file
+
+    // 0 이하 값은 "설정 안 함"
+    private Integer positiveOrNull(Integer value) {
+        return value != null && value > 0 ? value : null;
+    }
+
+    private String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+
+    // 잘못된 재시도 정책은 실행 시점이 아니라 저장 시점에 400 으로 알림
+    private String validRetryPolicy(String retryPolicy) {
+        if (retryPolicy == null || retryPolicy.trim().isEmpty()) {
+            return null;
+        }
+        RetryPolicy.parse(retryPolicy, objectMapper);
+        return retryPolicy;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.apitest.service.pipeline;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ApiItem 하나의 url / headers / params / body 를 컴파일한 결과.
+ * headers와 params는 JSON 파싱까지 끝난 상태로 보관한다 (입력 순서 유지).
+ * Content-Type 헤더가 없는 본문의 타입도 컴파일 시점에 판단할 수 있으면 미리 정해 둔다.
+ */
+public final class ApiItemTemplates {
+
+    private final Long apiItemId;
+    private final LocalDateTime updatedAt;
+    private final CompiledTemplate url;
+    private final Map<String, CompiledTemplate> headers;
+    private final Map<String, CompiledTemplate> params;
+    private final CompiledTemplate body;
+    private final String bodyContentType;
+
+    public ApiItemTemplates(Long apiItemId, LocalDateTime updatedAt, CompiledTemplate url,
+                            Map<String, CompiledTemplate> headers, Map<String, CompiledTemplate> params,
+                            CompiledTemplate body, String bodyContentType) {
+        this.apiItemId = apiItemId;
+        this.updatedAt = updatedAt;
+        this.url = url;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.params = Collections.unmodifiableMap(params);
+        this.body = body;
+        this.bodyContentType = bodyContentType;
+    }
+
+    public Long getApiItemId() {
+        return apiItemId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public CompiledTemplate getUrl() {
+        return url;
+    }
+
+    public Map<String, CompiledTemplate> getHeaders() {
+        return headers;
+    }
+
+    public Map<String, CompiledTemplate> getParams() {
+        return params;
+    }
+
+    /**
+     * 요청 본문 템플릿. 본문이 없거나 공백뿐이면 null.
+     */
+    public CompiledTemplate getBody() {
+        return body;
+    }
+
+    /**
+     * Content-Type 헤더가 없을 때 쓸 본문 타입. 렌더링 결과를 봐야 알 수 있으면 null.
+     */
+    public String getBodyContentType() {
+        return bodyContentType;
+    }
+
+    /**
+     * 이 ApiItem의 템플릿들이 참조하는 모든 변수 이름.
+     */
+    public Set<String> getVariableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        if (url != null) {
+            names.addAll(url.getVariableNames());
+        }
+        headers.values().forEach(template -> names.addAll(template.getVariableNames()));
+        params.values().forEach(template -> names.addAll(template.getVariableNames()));
+        if (body != null) {
+            names.addAll(body.getVariableNames());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.apitest.service.pipeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.HttpCookie;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 스텝 결과(추출 값과 쿠키)의 실행 간 캐시.
+ *
+ * authCacheTtlSeconds 가 설정된 스텝만 사용한다. 키는 렌더링된 요청(메서드, URL, 헤더, 본문)의 해시라서
+ * 대상 환경(호스트)이나 계정이 다르면 다른 항목이 된다. 유효 시간 안에 같은 요청으로 로그인하는 실행은
+ * 요청을 보내지 않고 캐시된 세션으로 시작하며, 이후 스텝이 401 을 받으면 항목을 버리고 다시 로그인한다.
+ * 토큰은 서버 메모리에만 보관하고 인스턴스마다 따로 유지된다.
+ */
+@Component
+public class AuthSessionCache {
+
+    @Value("${pipeline.auth-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${pipeline.auth-cache.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    private final Map<String, CachedSession> sessions = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedSession>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedSession> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    public AuthSessionCache() {
+    }
+
+    public AuthSessionCache(boolean enabled, int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 렌더링된 로그인 요청 데이터(PreparedStepRequest.toRequestData)로 캐시 키를 만든다.
+     */
+    public String keyFor(String requestData) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(requestData.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 유효한 세션. 없거나 만료되었으면 null.
+     */
+    public CachedSession get(String key) {
+        CachedSession session = sessions.get(key);
+        if (session == null) {
+            return null;
+        }
+        if (session.isExpired(System.nanoTime())) {
+            sessions.remove(key, session);
+            return null;
+        }
+        return session;
+    }
+
+    public CachedSession put(String key, Map<String, Object> extractedData, Map<URI, List<HttpCookie>> cookies, long ttlSeconds) {
+        CachedSession session = new CachedSession(extractedData, cookies,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        sessions.put(key, session);
+        return session;
+    }
+
+    /**
+     * 만료가 확인된 세션을 버린다. 그 사이 다른 실행이 새로 넣은 세션은 유지한다.
+     */
+    public void invalidate(String key, CachedSession stale) {
+        sessions.remove(key, stale);
+    }
+
+    public void clear() {
+        sessions.clear();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 캐시된 로그인 결과. 만들어진 뒤에는 바뀌지 않는다.
+     */
+    public static final class CachedSession {
+        private final Map<String, Object> extractedData;
+        private final Map<URI, List<HttpCookie>> cookies;
+        private final long expiresAtNanos;
+
+        CachedSession(Map<String, Object> extractedData, Map<URI, List<HttpCookie>> cookies, long expiresAtNanos) {
+            this.extractedData = Collections.unmodifiableMap(new HashMap<>(extractedData));
+            Map<URI, List<HttpCookie>> copy = new LinkedHashMap<>();
+            for (Map.Entry<URI, List<HttpCookie>> entry : cookies.entrySet()) {
+                copy.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+            }
+            this.cookies = Collections.unmodifiableMap(copy);
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        public Map<String, Object> getExtractedData() {
+            return extractedData;
+        }
+
+        /**
+         * ExecutionCookieJar.restore 로 담을 쿠키 (restore 가 쿠키를 복제하므로 그대로 넘겨도 된다).
+         */
+        public Map<URI, List<HttpCookie>> getCookies() {
+            return cookies;
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
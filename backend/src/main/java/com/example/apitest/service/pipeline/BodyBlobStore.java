@@ -0,0 +1,171 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.BodyBlob;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.repository.BodyBlobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 내용 주소 기반 본문 저장소.
+ *
+ * 같은 응답이 매 실행마다 반복되는 경우(헬스 체크 파이프라인 등) 본문은 한 번만 압축 저장되고
+ * StepExecution 에는 해시만 남는다. 해시 계산과 압축은 스텝 스레드에서 하고, 압축된 본문은 StepExecution 에 붙여 두었다가
+ * ExecutionRecorder 가 스텝 행과 같은 트랜잭션에서 insert-if-absent 로 기록한다. 최근 기록한 해시는 메모리에 기억해서 다시 압축하지 않는다.
+ */
+@Component
+public class BodyBlobStore {
+
+    private static final int KNOWN_HASH_CAPACITY = 4096;
+
+    @Autowired
+    private BodyBlobRepository bodyBlobRepository;
+
+    private final Map<String, Boolean> knownHashes = Collections.synchronizedMap(
+            new LinkedHashMap<String, Boolean>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > KNOWN_HASH_CAPACITY;
+                }
+            });
+
+    /**
+     * 요청 본문의 해시를 스텝에 기록하고, 아직 저장되지 않은 본문이면 기록 대기로 붙인다. null 이면 해시도 null.
+     */
+    public void storeRequest(StepExecution stepExecution, String content) {
+        BodyBlob blob = prepare(content);
+        synchronized (stepExecution) {
+            stepExecution.setRequestBlobHash(blob != null ? blob.getHash() : null);
+            stepExecution.setPendingRequestBlob(blob != null && blob.getData() != null ? blob : null);
+        }
+    }
+
+    /**
+     * storeRequest 와 같은 방식으로 응답 본문을 기록한다.
+     */
+    public void storeResponse(StepExecution stepExecution, String content) {
+        BodyBlob blob = prepare(content);
+        synchronized (stepExecution) {
+            stepExecution.setResponseBlobHash(blob != null ? blob.getHash() : null);
+            stepExecution.setPendingResponseBlob(blob != null && blob.getData() != null ? blob : null);
+        }
+    }
+
+    /**
+     * 스텝들에 붙은 기록 대기 본문을 해시 기준으로 중복 없이 모은다. 이미 기록된 해시는 제외.
+     */
+    public List<BodyBlob> pendingBlobs(Collection<StepExecution> stepExecutions) {
+        Map<String, BodyBlob> blobs = new LinkedHashMap<>();
+        for (StepExecution stepExecution : stepExecutions) {
+            synchronized (stepExecution) {
+                addPending(blobs, stepExecution.getPendingRequestBlob());
+                addPending(blobs, stepExecution.getPendingResponseBlob());
+            }
+        }
+        return new ArrayList<>(blobs.values());
+    }
+
+    /**
+     * 본문 기록이 커밋된 뒤 호출한다. 기록된 해시를 기억하고 스텝에서 떼어 낸다 (그 사이 새 본문이 붙었으면 남겨 둠).
+     */
+    public void stored(Collection<StepExecution> stepExecutions, List<BodyBlob> blobs) {
+        for (BodyBlob blob : blobs) {
+            knownHashes.put(blob.getHash(), Boolean.TRUE);
+        }
+        for (StepExecution stepExecution : stepExecutions) {
+            synchronized (stepExecution) {
+                if (isKnown(stepExecution.getPendingRequestBlob())) {
+                    stepExecution.setPendingRequestBlob(null);
+                }
+                if (isKnown(stepExecution.getPendingResponseBlob())) {
+                    stepExecution.setPendingResponseBlob(null);
+                }
+            }
+        }
+    }
+
+    // 이미 기록된 본문은 압축하지 않고 해시만 담아 반환 (data 가 null)
+    private BodyBlob prepare(String content) {
+        if (content == null) {
+            return null;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String hash = hash(bytes);
+        if (knownHashes.containsKey(hash)) {
+            return new BodyBlob(hash, null, (long) bytes.length);
+        }
+        return new BodyBlob(hash, compress(bytes), (long) bytes.length);
+    }
+
+    private void addPending(Map<String, BodyBlob> blobs, BodyBlob blob) {
+        if (blob != null && !knownHashes.containsKey(blob.getHash())) {
+            blobs.putIfAbsent(blob.getHash(), blob);
+        }
+    }
+
+    private boolean isKnown(BodyBlob blob) {
+        return blob != null && knownHashes.containsKey(blob.getHash());
+    }
+
+    /**
+     * 해시로 본문을 읽는다. 없으면 null.
+     */
+    public String load(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        return bodyBlobRepository.findById(hash)
+                .map(blob -> new String(decompress(blob.getData()), StandardCharsets.UTF_8))
+                .orElse(null);
+    }
+
+    /**
+     * 아직 기록되지 않은 본문(압축 상태)을 문자열로 되돌린다.
+     */
+    public String read(BodyBlob blob) {
+        return new String(decompress(blob.getData()), StandardCharsets.UTF_8);
+    }
+
+    static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] decompress(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
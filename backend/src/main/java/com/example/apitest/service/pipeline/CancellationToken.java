@@ -0,0 +1,127 @@
+package com.example.apitest.service.pipeline;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 하나의 취소 신호.
+ *
+ * 취소되면 등록된 진행 중 작업(HTTP 요청, 호출 제한 대기)의 Future 를 취소해서 바로 중단시키고,
+ * sleep 으로 기다리던 스레드와 등록된 리스너를 깨운다. 파이프라인 제한 시간(deadline)도 함께 관리한다.
+ */
+public final class CancellationToken {
+
+    public enum Reason { CANCELLED, DEADLINE_EXCEEDED }
+
+    private final long deadlineNanos;
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private final Set<Future<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile Reason reason;
+    private volatile String message;
+
+    /**
+     * @param deadlineNanos System.nanoTime 기준 제한 시각, 없으면 Long.MAX_VALUE
+     */
+    public CancellationToken(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static CancellationToken none() {
+        return new CancellationToken(Long.MAX_VALUE);
+    }
+
+    /**
+     * 처음 한 번만 적용된다.
+     *
+     * @return 이번 호출로 취소되었으면 true
+     */
+    public boolean cancel(Reason reason, String message) {
+        synchronized (this) {
+            if (this.reason != null) {
+                return false;
+            }
+            this.message = message;
+            this.reason = reason;
+        }
+        cancelled.countDown();
+        for (Future<?> future : inFlight) {
+            future.cancel(true);
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public void throwIfCancelled() {
+        if (reason != null) {
+            throw cancelledException();
+        }
+    }
+
+    public ExecutionCancelledException cancelledException() {
+        return new ExecutionCancelledException(reason, message);
+    }
+
+    /**
+     * 진행 중 작업을 등록한다. 이미 취소된 상태면 바로 취소한다.
+     */
+    public void register(Future<?> future) {
+        inFlight.add(future);
+        if (reason != null) {
+            future.cancel(true);
+        }
+    }
+
+    public void unregister(Future<?> future) {
+        inFlight.remove(future);
+    }
+
+    /**
+     * 취소 시 호출될 리스너 (이미 취소되었으면 바로 호출).
+     */
+    public void onCancel(Runnable listener) {
+        listeners.add(listener);
+        if (reason != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * 지정한 시간만큼 기다리되 취소되면 바로 ExecutionCancelledException 을 던진다.
+     */
+    public void sleep(long millis) throws InterruptedException {
+        if (millis > 0 && cancelled.await(millis, TimeUnit.MILLISECONDS)) {
+            throw cancelledException();
+        }
+        throwIfCancelled();
+    }
+
+    public boolean hasDeadline() {
+        return deadlineNanos != Long.MAX_VALUE;
+    }
+
+    /**
+     * 제한 시각까지 남은 시간 (밀리초). 제한이 없으면 Long.MAX_VALUE.
+     */
+    public long remainingMillis() {
+        if (!hasDeadline()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.apitest.service.pipeline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 읽은 바이트 중 앞부분(최대 limit 바이트)을 보관하는 입력 스트림.
+ *
+ * 스트리밍 추출 중에도 StepExecution.responseData 에 남길 응답 본문을 상한 내에서 확보하기 위해 사용한다.
+ */
+public class CapturingInputStream extends FilterInputStream {
+
+    private final int limit;
+    private final ByteArrayOutputStream captured;
+    private long bytesRead;
+    private boolean endOfStream;
+
+    public CapturingInputStream(InputStream in, int limit) {
+        super(in);
+        this.limit = Math.max(0, limit);
+        this.captured = new ByteArrayOutputStream(Math.min(this.limit, 8192));
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            endOfStream = true;
+        } else {
+            bytesRead++;
+            if (captured.size() < limit) {
+                captured.write(b);
+            }
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n == -1) {
+            endOfStream = true;
+        } else if (n > 0) {
+            bytesRead += n;
+            int room = limit - captured.size();
+            if (room > 0) {
+                captured.write(b, off, Math.min(room, n));
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // 건너뛴 바이트도 보관 대상이므로 read 로 처리
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (count < 0) {
+                break;
+            }
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * 보관 한도가 찰 때까지(또는 스트림 끝까지) 나머지를 읽는다.
+     * 작은 응답은 추출이 일찍 끝나도 본문 전체가 기록되도록 한다.
+     */
+    public void fillCapture() throws IOException {
+        byte[] buffer = new byte[8192];
+        while (!endOfStream && captured.size() < limit) {
+            read(buffer, 0, Math.min(buffer.length, limit - captured.size()));
+        }
+        if (!endOfStream && bytesRead == captured.size()) {
+            // 본문이 정확히 한도 크기인 경우를 구분하기 위해 한 바이트 더 확인
+            read();
+        }
+    }
+
+    public String getCapturedText() {
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * 본문 일부만 보관되었는지 여부 (한도 초과 또는 끝까지 읽지 않음).
+     */
+    public boolean isTruncated() {
+        return !endOfStream || bytesRead > captured.size();
+    }
+}
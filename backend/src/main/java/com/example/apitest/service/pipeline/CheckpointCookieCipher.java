@@ -0,0 +1,119 @@
+package com.example.apitest.service.pipeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 재개용 체크포인트에 남기는 세션 쿠키를 AES-GCM 으로 암호화한다.
+ *
+ * 키는 pipeline.checkpoint.cookie-key (Base64 로 인코딩한 16/24/32 바이트)를 쓰고, 비어 있으면 프로세스마다 새로 만든 임시 키를 쓴다.
+ * 임시 키로 암호화한 쿠키는 서버를 다시 시작하면 읽을 수 없어, 그 뒤의 재개 실행은 쿠키 없이 시작한다.
+ */
+@Component
+public class CheckpointCookieCipher {
+
+    private static final String PREFIX = "v1:";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${pipeline.checkpoint.cookie-key:}")
+    private String configuredKey = "";
+
+    private volatile SecretKey key;
+
+    public CheckpointCookieCipher() {
+    }
+
+    public CheckpointCookieCipher(String configuredKey) {
+        this.configuredKey = configuredKey;
+    }
+
+    public String encrypt(String plaintext) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key(), new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer stored = ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted);
+            return PREFIX + Base64.getEncoder().encodeToString(stored.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt session cookies: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * encrypt 로 만든 값을 되돌린다. 비어 있으면 null.
+     *
+     * @throws IllegalArgumentException 형식이 다르거나 다른 키로 암호화된 경우
+     */
+    public String decrypt(String stored) {
+        if (stored == null || stored.isBlank()) {
+            return null;
+        }
+        if (!stored.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Stored session cookies are not encrypted");
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+            if (data.length <= IV_BYTES) {
+                throw new IllegalArgumentException("Stored session cookies are truncated");
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key(), new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            return new String(cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Stored session cookies could not be decrypted: " + e.getMessage(), e);
+        }
+    }
+
+    private SecretKey key() {
+        SecretKey current = key;
+        if (current == null) {
+            synchronized (this) {
+                current = key;
+                if (current == null) {
+                    current = createKey();
+                    key = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private SecretKey createKey() {
+        if (configuredKey != null && !configuredKey.isBlank()) {
+            byte[] bytes;
+            try {
+                bytes = Base64.getDecoder().decode(configuredKey.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("pipeline.checkpoint.cookie-key is not valid Base64", e);
+            }
+            if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+                throw new IllegalStateException("pipeline.checkpoint.cookie-key must be 16, 24 or 32 bytes, got " + bytes.length);
+            }
+            return new SecretKeySpec(bytes, "AES");
+        }
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256, random);
+            return generator.generateKey();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("AES is not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.apitest.service.pipeline;
+
+import java.io.IOException;
+
+/**
+ * 호스트의 회로가 열려 있어서 요청을 보내지 않은 경우. 호출부가 이미 처리하는 I/O 실패로 취급되지만 재시도하지 않는다.
+ */
+public class CircuitOpenException extends IOException {
+
+    public CircuitOpenException(String hostKey, long retryAfterMillis) {
+        super("Circuit open for " + hostKey + ", calls are short-circuited for another " + retryAfterMillis + "ms");
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PipelineStep.dataExtractions ({"변수명": "경로", ...}) 를 컴파일한 결과.
+ */
+public final class CompiledExtractionRules {
+
+    private static final CompiledExtractionRules EMPTY = new CompiledExtractionRules(null, Collections.emptyMap());
+
+    private final String source;
+    private final Map<String, JsonPathExpression> rules;
+    private final StreamingExtractionPlan streamingPlan;
+
+    CompiledExtractionRules(String source, Map<String, JsonPathExpression> rules) {
+        this.source = source;
+        this.rules = Collections.unmodifiableMap(rules);
+        this.streamingPlan = StreamingExtractionPlan.build(this.rules);
+    }
+
+    public static CompiledExtractionRules empty() {
+        return EMPTY;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Map<String, JsonPathExpression> getRules() {
+        return rules;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * 모든 규칙이 단순 경로라서 응답 트리를 만들지 않고 스트림에서 바로 추출할 수 있는지 여부.
+     */
+    public boolean isStreamable() {
+        return streamingPlan != null;
+    }
+
+    /**
+     * 응답 JSON에서 규칙별 값을 추출한다. 값이 없는 규칙은 결과에 포함되지 않는다.
+     */
+    public Map<String, Object> extract(JsonNode response) {
+        Map<String, Object> extracted = new HashMap<>();
+        for (Map.Entry<String, JsonPathExpression> rule : rules.entrySet()) {
+            Object value = rule.getValue().evaluate(response);
+            if (value != null) {
+                extracted.put(rule.getKey(), value);
+            }
+        }
+        return extracted;
+    }
+
+    /**
+     * 응답 스트림에서 필요한 경로만 트리로 읽어 추출한다. 스트림은 닫지 않는다.
+     * isStreamable() 이 false 이면 전체를 트리로 읽어 extract(JsonNode) 로 평가한다.
+     */
+    public Map<String, Object> extract(InputStream response, ObjectMapper objectMapper) throws IOException {
+        if (streamingPlan != null) {
+            return streamingPlan.extract(response, objectMapper);
+        }
+        try (JsonParser parser = objectMapper.createParser(response)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonNode tree = objectMapper.readTree(parser);
+            return extract(tree);
+        }
+    }
+}
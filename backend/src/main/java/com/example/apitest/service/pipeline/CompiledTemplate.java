@@ -0,0 +1,184 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {{variable}} / {{variable:default}} 치환 템플릿을 한 번 파싱해 둔 형태.
+ *
+ * 문자열을 리터럴과 변수 세그먼트 목록으로 나누어 두고, 렌더링 시에는 정규식 없이
+ * 미리 계산한 크기의 StringBuilder 하나로 결과를 만든다.
+ * 문법은 기존 정규식 {@code \{\{([^:}]+)(?::([^}]*))?\}\}} 과 동일하다.
+ */
+public final class CompiledTemplate {
+
+    private static final CompiledTemplate EMPTY = new CompiledTemplate("", Collections.emptyList(), 0, 0);
+
+    // 변수 하나당 렌더링 결과 크기 추정치
+    private static final int VARIABLE_SIZE_HINT = 16;
+
+    private final String source;
+    private final List<Segment> segments;
+    private final int variableCount;
+    private final int sizeHint;
+
+    private CompiledTemplate(String source, List<Segment> segments, int variableCount, int sizeHint) {
+        this.source = source;
+        this.segments = segments;
+        this.variableCount = variableCount;
+        this.sizeHint = sizeHint;
+    }
+
+    public static CompiledTemplate compile(String template) {
+        if (template == null) {
+            return null;
+        }
+        if (template.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int variableCount = 0;
+        int literalStart = 0;
+        int length = template.length();
+        int i = template.indexOf("{{");
+
+        while (i >= 0) {
+            int nameStart = i + 2;
+            int cursor = nameStart;
+            while (cursor < length && template.charAt(cursor) != ':' && template.charAt(cursor) != '}') {
+                cursor++;
+            }
+            int nameEnd = cursor;
+            String defaultValue = null;
+            boolean matched = false;
+
+            if (nameEnd > nameStart && cursor < length) {
+                if (template.charAt(cursor) == ':') {
+                    int defaultStart = cursor + 1;
+                    cursor = defaultStart;
+                    while (cursor < length && template.charAt(cursor) != '}') {
+                        cursor++;
+                    }
+                    defaultValue = template.substring(defaultStart, cursor);
+                }
+                matched = cursor + 1 < length && template.charAt(cursor) == '}' && template.charAt(cursor + 1) == '}';
+            }
+
+            if (!matched) {
+                i = template.indexOf("{{", i + 1);
+                continue;
+            }
+
+            if (i > literalStart) {
+                segments.add(new Literal(template.substring(literalStart, i)));
+                literalLength += i - literalStart;
+            }
+            segments.add(new Variable(template.substring(nameStart, nameEnd), defaultValue));
+            variableCount++;
+
+            literalStart = cursor + 2;
+            i = template.indexOf("{{", literalStart);
+        }
+
+        if (literalStart < length) {
+            segments.add(new Literal(template.substring(literalStart)));
+            literalLength += length - literalStart;
+        }
+
+        return new CompiledTemplate(template, List.copyOf(segments), variableCount,
+                literalLength + variableCount * VARIABLE_SIZE_HINT);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public boolean hasVariables() {
+        return variableCount > 0;
+    }
+
+    /**
+     * 템플릿이 참조하는 변수 이름 (등장 순서, 중복 제거).
+     */
+    public Set<String> getVariableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Segment segment : segments) {
+            if (segment instanceof Variable) {
+                names.add(((Variable) segment).name);
+            }
+        }
+        return names;
+    }
+
+    public String render(Map<String, Object> context, ObjectMapper objectMapper) {
+        if (!hasVariables()) {
+            return source;
+        }
+
+        StringBuilder result = new StringBuilder(sizeHint);
+        for (Segment segment : segments) {
+            if (segment instanceof Literal) {
+                result.append(((Literal) segment).text);
+            } else {
+                Variable variable = (Variable) segment;
+                Object value = context.get(variable.name);
+                if (value != null) {
+                    appendValue(result, value, objectMapper);
+                } else if (variable.defaultValue != null) {
+                    result.append(variable.defaultValue);
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static void appendValue(StringBuilder result, Object value, ObjectMapper objectMapper) {
+        if (value instanceof String) {
+            result.append((String) value);
+        } else if (value instanceof Number) {
+            result.append(value);
+        } else {
+            // For complex objects, try to serialize as JSON if possible
+            String replacement;
+            try {
+                replacement = objectMapper.writeValueAsString(value);
+                // If it's a simple quoted string, remove the quotes
+                if (replacement.startsWith("\"") && replacement.endsWith("\"") && replacement.indexOf("\"", 1) == replacement.length() - 1) {
+                    replacement = replacement.substring(1, replacement.length() - 1);
+                }
+            } catch (Exception e) {
+                replacement = value.toString();
+            }
+            result.append(replacement);
+        }
+    }
+
+    private interface Segment {
+    }
+
+    private static final class Literal implements Segment {
+        private final String text;
+
+        private Literal(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Variable implements Segment {
+        private final String name;
+        private final String defaultValue;
+
+        private Variable(String name, String defaultValue) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 데이터셋 파일(CSV / JSONL)을 한 행씩 읽는 스트리밍 리더.
+ *
+ * 파일 전체를 메모리에 올리지 않고, 각 행을 실행 컨텍스트 초기값으로 쓸 Map 으로 변환한다.
+ * CSV 는 첫 행을 헤더로 사용하며 따옴표로 감싼 값(구분자, 줄바꿈, "" 이스케이프 포함)을 지원한다.
+ * JSONL 은 한 줄에 JSON 객체 하나씩이다.
+ */
+public final class DatasetReader implements Iterator<Map<String, Object>>, Closeable {
+
+    public enum Format {
+        CSV,
+        JSONL;
+
+        public static Format fromFileName(String fileName) {
+            String lower = fileName == null ? "" : fileName.toLowerCase();
+            if (lower.endsWith(".csv")) {
+                return CSV;
+            }
+            if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson") || lower.endsWith(".json")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("Unsupported dataset file: " + fileName + " (expected .csv or .jsonl)");
+        }
+    }
+
+    private final Reader reader;
+    private final RowSource source;
+    private Map<String, Object> next;
+    private long rowNumber;
+
+    private DatasetReader(Reader reader, RowSource source) {
+        this.reader = reader;
+        this.source = source;
+    }
+
+    public static DatasetReader open(Path path, Format format, ObjectMapper objectMapper) throws IOException {
+        return open(Files.newBufferedReader(path, StandardCharsets.UTF_8), format, objectMapper);
+    }
+
+    public static DatasetReader open(Reader input, Format format, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        try {
+            RowSource source = format == Format.CSV ? new CsvRows(reader) : new JsonLineRows(reader, objectMapper);
+            return new DatasetReader(reader, source);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = source.read();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read dataset row " + (rowNumber + 1), e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> row = next;
+        next = null;
+        rowNumber++;
+        return row;
+    }
+
+    /**
+     * 지금까지 반환한 행 수 (마지막으로 반환한 행의 1부터 시작하는 번호).
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private interface RowSource {
+        Map<String, Object> read() throws IOException;
+    }
+
+    private static final class JsonLineRows implements RowSource {
+        private final MappingIterator<Map<String, Object>> rows;
+
+        JsonLineRows(Reader reader, ObjectMapper objectMapper) throws IOException {
+            this.rows = objectMapper.readerFor(Map.class).readValues(reader);
+        }
+
+        @Override
+        public Map<String, Object> read() throws IOException {
+            return rows.hasNextValue() ? rows.nextValue() : null;
+        }
+    }
+
+    private static final class CsvRows implements RowSource {
+        private final BufferedReader reader;
+        private final List<String> header;
+
+        CsvRows(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new IllegalArgumentException("CSV dataset has no header row");
+            }
+            // UTF-8 BOM 제거
+            if (!columns.isEmpty() && columns.get(0).startsWith("﻿")) {
+                columns.set(0, columns.get(0).substring(1));
+            }
+            this.header = columns;
+        }
+
+        @Override
+        public Map<String, Object> read() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isEmpty());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                row.put(header.get(i), values.get(i));
+            }
+            return row;
+        }
+
+        // 레코드 하나를 읽는다. 파일 끝이면 null
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"' && value.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    break;
+                } else {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.apitest.service.pipeline;
+
+/**
+ * 실행이 취소되었거나 파이프라인 제한 시간을 넘겨서 진행 중인 작업을 중단할 때 발생한다. 재시도하지 않는다.
+ */
+public class ExecutionCancelledException extends RuntimeException {
+
+    private final CancellationToken.Reason reason;
+
+    public ExecutionCancelledException(CancellationToken.Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public CancellationToken.Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.PipelineExecution;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.HttpCookie;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실행 중 누적된 변수와 쿠키의 체크포인트.
+ *
+ * 스텝이 성공할 때마다 지금까지의 변수(초기 컨텍스트 + 성공한 스텝들의 추출 값, 나중 값이 우선)와 쿠키를 메모리에 모으고,
+ * 실행이 끝날 때 한 번만 PipelineExecution 의 executionContext / sessionCookies 에 남긴다.
+ * 재개 실행은 원래 실행에서 성공한 스텝의 추출 값(restoredSteps)과 마지막 쿠키를 받아 시작하고,
+ * 복원된 스텝은 다시 보내지 않는다. 한 실행의 스텝 결과는 한 스레드씩 차례로 반영되므로 동기화하지 않는다.
+ *
+ * 쿠키(로그인 세션 포함)의 보관: 실패하거나 취소된 실행에만 CheckpointCookieCipher 로 암호화해 남기고,
+ * 완료된 실행은 컬럼을 비운다. 실행 도중에는 DB 에 쓰지 않으므로 서버가 실행 중에 멈추면 쿠키도 남지 않는다.
+ */
+public final class ExecutionCheckpoint {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> CONTEXT_TYPE = new TypeReference<>() { };
+    private static final TypeReference<List<Map<String, Object>>> COOKIES_TYPE = new TypeReference<>() { };
+
+    private final Map<String, Object> initialContext;
+    private final Map<String, Object> variables;
+    private final Map<Long, Map<String, Object>> restoredSteps;
+    private final Map<URI, List<HttpCookie>> restoredCookies;
+    private Map<URI, List<HttpCookie>> cookies;
+
+    private ExecutionCheckpoint(Map<String, Object> initialContext, Map<Long, Map<String, Object>> restoredSteps,
+                                Map<URI, List<HttpCookie>> restoredCookies) {
+        this.initialContext = initialContext;
+        this.variables = new LinkedHashMap<>(initialContext);
+        this.restoredSteps = restoredSteps;
+        this.restoredCookies = restoredCookies;
+        this.cookies = restoredCookies;
+        for (Map<String, Object> extractedData : restoredSteps.values()) {
+            variables.putAll(extractedData);
+        }
+    }
+
+    /**
+     * 처음부터 실행하는 경우.
+     */
+    public static ExecutionCheckpoint start(Map<String, Object> initialContext) {
+        return new ExecutionCheckpoint(initialContext, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * 재개하는 경우. restoredSteps 는 다시 실행하지 않을 스텝 id -> 그 스텝의 추출 값 (스텝 순서대로).
+     */
+    public static ExecutionCheckpoint resume(Map<String, Object> initialContext, Map<Long, Map<String, Object>> restoredSteps,
+                                             Map<URI, List<HttpCookie>> restoredCookies) {
+        return new ExecutionCheckpoint(initialContext, new LinkedHashMap<>(restoredSteps), restoredCookies);
+    }
+
+    public Map<String, Object> getInitialContext() {
+        return initialContext;
+    }
+
+    public boolean isRestored(Long stepId) {
+        return restoredSteps.containsKey(stepId);
+    }
+
+    /**
+     * 복원된 스텝의 추출 값 (이후 스텝의 스코프에 더해진다).
+     */
+    public Map<String, Object> restoredOutput(Long stepId) {
+        Map<String, Object> extractedData = restoredSteps.get(stepId);
+        return extractedData != null ? extractedData : Collections.emptyMap();
+    }
+
+    public int getRestoredCount() {
+        return restoredSteps.size();
+    }
+
+    public Map<URI, List<HttpCookie>> getRestoredCookies() {
+        return restoredCookies;
+    }
+
+    public Map<String, Object> getVariables() {
+        return Collections.unmodifiableMap(variables);
+    }
+
+    /**
+     * 성공한 스텝의 추출 값과 현재 쿠키를 누적한다. 직렬화는 실행이 끝날 때 finished 에서 한 번만 한다.
+     */
+    public void stepSucceeded(Map<String, Object> extractedData, ExecutionCookieJar cookieJar) {
+        if (extractedData != null) {
+            variables.putAll(extractedData);
+        }
+        cookies = cookieJar.snapshot();
+    }
+
+    /**
+     * 실행 시작 전에 이미 정해진 변수(복원된 스텝의 추출 값)를 기록한다.
+     */
+    public void record(PipelineExecution execution) {
+        execution.setExecutionContext(writeContext(variables));
+    }
+
+    /**
+     * 끝난 실행에 최종 변수를 기록한다. 쿠키는 실패/취소된 실행에만 암호화해 남기고 (재개용), 완료되면 비운다.
+     * 호출한 쪽이 recording.executionChanged() 로 저장한다.
+     */
+    public void finished(PipelineExecution execution, CheckpointCookieCipher cookieCipher) {
+        execution.setExecutionContext(writeContext(variables));
+        if (execution.getStatus() == PipelineExecution.ExecutionStatus.COMPLETED || cookies.isEmpty()) {
+            execution.setSessionCookies(null);
+        } else {
+            execution.setSessionCookies(cookieCipher.encrypt(writeCookies(cookies)));
+        }
+    }
+
+    public static String writeContext(Map<String, Object> context) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(context);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Execution context is not serializable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * executionContext / initialContext / extractedData 컬럼 값을 읽는다. 비어 있으면 빈 맵.
+     */
+    public static Map<String, Object> readContext(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+        try {
+            Map<String, Object> context = OBJECT_MAPPER.readValue(json, CONTEXT_TYPE);
+            return context != null ? context : new HashMap<>();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Stored execution context is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    public static String writeCookies(Map<URI, List<HttpCookie>> cookies) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Map.Entry<URI, List<HttpCookie>> entry : cookies.entrySet()) {
+            for (HttpCookie cookie : entry.getValue()) {
+                Map<String, Object> stored = new LinkedHashMap<>();
+                stored.put("uri", entry.getKey().toString());
+                stored.put("name", cookie.getName());
+                stored.put("value", cookie.getValue());
+                stored.put("domain", cookie.getDomain());
+                stored.put("path", cookie.getPath());
+                stored.put("maxAge", cookie.getMaxAge());
+                stored.put("secure", cookie.getSecure());
+                stored.put("httpOnly", cookie.isHttpOnly());
+                entries.add(stored);
+            }
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize cookies: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * writeCookies 로 기록한 쿠키를 ExecutionCookieJar.restore 에 넘길 형태로 읽는다. 만료 시간은 복원 시점부터 다시 센다.
+     */
+    public static Map<URI, List<HttpCookie>> readCookies(String json) {
+        Map<URI, List<HttpCookie>> cookies = new LinkedHashMap<>();
+        if (json == null || json.isBlank()) {
+            return cookies;
+        }
+        List<Map<String, Object>> entries;
+        try {
+            entries = OBJECT_MAPPER.readValue(json, COOKIES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Stored session cookies are not valid JSON: " + e.getMessage(), e);
+        }
+        for (Map<String, Object> stored : entries) {
+            HttpCookie cookie = new HttpCookie((String) stored.get("name"), (String) stored.get("value"));
+            cookie.setDomain((String) stored.get("domain"));
+            cookie.setPath((String) stored.get("path"));
+            if (stored.get("maxAge") instanceof Number) {
+                cookie.setMaxAge(((Number) stored.get("maxAge")).longValue());
+            }
+            cookie.setSecure(Boolean.TRUE.equals(stored.get("secure")));
+            cookie.setHttpOnly(Boolean.TRUE.equals(stored.get("httpOnly")));
+            cookies.computeIfAbsent(URI.create((String) stored.get("uri")), uri -> new ArrayList<>()).add(cookie);
+        }
+        return cookies;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.apitest.service.pipeline;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.CookieStore;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 번의 파이프라인 실행에만 속하는 쿠키 저장소.
+ *
+ * 공유 HttpClient에는 CookieHandler를 두지 않고, 요청 직전에 Cookie 헤더를 만들고
+ * 응답의 Set-Cookie를 이 저장소에 반영해서 실행 간 세션이 섞이지 않도록 한다.
+ */
+public class ExecutionCookieJar {
+
+    private final CookieManager cookieManager;
+
+    public ExecutionCookieJar() {
+        this.cookieManager = new CookieManager();
+        this.cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+    }
+
+    /**
+     * 저장된 쿠키와 요청에 명시된 Cookie 헤더 값을 합친 값을 반환한다. 보낼 쿠키가 없으면 null.
+     */
+    public String cookieHeader(URI uri, String explicitCookie) throws IOException {
+        StringBuilder header = new StringBuilder();
+        if (explicitCookie != null && !explicitCookie.isBlank()) {
+            header.append(explicitCookie);
+        }
+        Map<String, List<String>> stored = cookieManager.get(uri, Collections.emptyMap());
+        for (List<String> values : stored.values()) {
+            for (String value : values) {
+                if (header.length() > 0) {
+                    header.append("; ");
+                }
+                header.append(value);
+            }
+        }
+        return header.length() > 0 ? header.toString() : null;
+    }
+
+    public void storeFrom(URI uri, HttpHeaders responseHeaders) throws IOException {
+        cookieManager.put(uri, responseHeaders.map());
+    }
+
+    public List<HttpCookie> getCookies() {
+        return Collections.unmodifiableList(cookieManager.getCookieStore().getCookies());
+    }
+
+    /**
+     * 저장된 쿠키의 사본. 세션 캐시(AuthSessionCache)가 다른 실행에 옮겨 담을 때 사용한다.
+     */
+    public Map<URI, List<HttpCookie>> snapshot() {
+        CookieStore store = cookieManager.getCookieStore();
+        Map<URI, List<HttpCookie>> snapshot = new LinkedHashMap<>();
+        for (URI uri : store.getURIs()) {
+            List<HttpCookie> cookies = new ArrayList<>();
+            for (HttpCookie cookie : store.get(uri)) {
+                cookies.add((HttpCookie) cookie.clone());
+            }
+            snapshot.put(uri, cookies);
+        }
+        return snapshot;
+    }
+
+    /**
+     * snapshot() 으로 만든 쿠키를 이 저장소에 추가한다. 같은 이름의 쿠키는 덮어쓴다.
+     */
+    public void restore(Map<URI, List<HttpCookie>> snapshot) {
+        CookieStore store = cookieManager.getCookieStore();
+        for (Map.Entry<URI, List<HttpCookie>> entry : snapshot.entrySet()) {
+            for (HttpCookie cookie : entry.getValue()) {
+                store.add(entry.getKey(), (HttpCookie) cookie.clone());
+            }
+        }
+    }
+
+    public void clear() {
+        cookieManager.getCookieStore().removeAll();
+    }
+}
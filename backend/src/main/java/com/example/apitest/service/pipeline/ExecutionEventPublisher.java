@@ -0,0 +1,113 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.dto.pipeline.response.LoadTestSnapshotDTO;
+import com.example.apitest.dto.pipeline.response.PipelineExecutionEventDTO;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.StepExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * 파이프라인 실행 진행 상황을 STOMP 로 전송한다.
+ *
+ * 실행별 토픽(/topic/pipeline-executions/{id})에 스텝 전이와 실행 상태 변경을 작은 이벤트로 보내서
+ * 클라이언트가 실행/스텝 목록을 주기적으로 다시 조회하지 않아도 되게 한다.
+ */
+@Component
+public class ExecutionEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionEventPublisher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${pipeline.events.enabled:true}")
+    private boolean enabled;
+
+    public static String topic(Long executionId) {
+        return "/topic/pipeline-executions/" + executionId;
+    }
+
+    public static String loadTestTopic(Long runId) {
+        return "/topic/load-tests/" + runId;
+    }
+
+    public void loadTestProgress(LoadTestSnapshotDTO snapshot) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(loadTestTopic(snapshot.getRunId()), snapshot);
+        } catch (Exception e) {
+            logger.warn("Failed to publish progress for load test {}: {}", snapshot.getRunId(), e.getMessage());
+        }
+    }
+
+    public void stepChanged(PipelineExecution execution, StepExecution stepExecution, Collection<String> extractedKeys) {
+        if (!enabled) {
+            return;
+        }
+        PipelineExecutionEventDTO event = executionEvent(PipelineExecutionEventDTO.TYPE_STEP, execution);
+        event.setStepExecutionId(stepExecution.getId());
+        event.setStepOrder(stepExecution.getStepOrder());
+        event.setStepName(stepExecution.getStepName());
+        event.setStepStatus(stepExecution.getStatus().toString());
+        event.setHttpStatus(stepExecution.getHttpStatus());
+        event.setRequestBlobHash(stepExecution.getRequestBlobHash());
+        event.setResponseBlobHash(stepExecution.getResponseBlobHash());
+        event.setResponseTime(stepExecution.getResponseTime());
+        event.setQueueWaitTime(stepExecution.getQueueWaitTime());
+        event.setErrorMessage(abbreviate(stepExecution.getErrorMessage()));
+        if (extractedKeys != null && !extractedKeys.isEmpty()) {
+            event.setExtractedKeys(new ArrayList<>(extractedKeys));
+        }
+        send(execution.getId(), event);
+    }
+
+    public void executionChanged(PipelineExecution execution) {
+        if (!enabled) {
+            return;
+        }
+        PipelineExecutionEventDTO event = executionEvent(PipelineExecutionEventDTO.TYPE_EXECUTION, execution);
+        event.setErrorMessage(abbreviate(execution.getErrorMessage()));
+        send(execution.getId(), event);
+    }
+
+    private PipelineExecutionEventDTO executionEvent(String type, PipelineExecution execution) {
+        PipelineExecutionEventDTO event = new PipelineExecutionEventDTO();
+        event.setType(type);
+        event.setExecutionId(execution.getId());
+        event.setExecutionStatus(execution.getStatus().toString());
+        event.setTotalSteps(execution.getTotalSteps());
+        event.setCompletedSteps(execution.getCompletedSteps());
+        event.setSuccessfulSteps(execution.getSuccessfulSteps());
+        event.setFailedSteps(execution.getFailedSteps());
+        event.setTimestamp(System.currentTimeMillis());
+        return event;
+    }
+
+    private void send(Long executionId, PipelineExecutionEventDTO event) {
+        try {
+            messagingTemplate.convertAndSend(topic(executionId), event);
+        } catch (Exception e) {
+            // 진행 이벤트 전송 실패가 실행 자체를 실패시키지 않도록 함
+            logger.warn("Failed to publish event for pipeline execution {}: {}", executionId, e.getMessage());
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.BodyBlob;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ExecutionRecorder 의 DB 기록. 모든 메서드는 기록기가 연 트랜잭션 안에서 호출된다.
+ *
+ * 새 StepExecution 은 persist 로 INSERT 하고(pooled 시퀀스라 JDBC 배치로 묶임), 이미 INSERT 된 행은 조회 없이
+ * 바뀌는 컬럼만 JDBC 배치 UPDATE 로 갱신한다. saveAll 은 id 가 있는 엔티티를 merge 하므로 행마다 SELECT 가 붙는다.
+ */
+@Component
+public class ExecutionRecordWriter {
+
+    private static final String UPDATE_STEP_SQL = "UPDATE step_executions SET step_name = ?, status = ?, started_at = ?, "
+            + "completed_at = ?, request_data = ?, response_data = ?, request_blob_hash = ?, response_blob_hash = ?, "
+            + "http_status = ?, response_time = ?, attempts = ?, attempt_log = ?, queue_wait_time = ?, error_message = ?, "
+            + "extracted_data = ? WHERE id = ?";
+
+    // 다른 실행이 같은 본문을 먼저 기록했으면 아무것도 하지 않는다 (조회 후 INSERT 는 그 사이 끼어든 기록과 충돌)
+    private static final String INSERT_BLOB_SQL = "MERGE INTO body_blobs t USING (VALUES (CAST(? AS VARCHAR(64)), "
+            + "CAST(? AS VARBINARY), CAST(? AS BIGINT))) s(hash, data, original_size) ON t.hash = s.hash "
+            + "WHEN NOT MATCHED THEN INSERT (hash, data, original_size, created_at) "
+            + "VALUES (s.hash, s.data, s.original_size, CURRENT_TIMESTAMP)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    /**
+     * 아직 없는 본문만 INSERT 한다. 스텝 행보다 먼저 호출해서 같은 트랜잭션에서 커밋되게 한다.
+     */
+    public void insertBlobs(List<BodyBlob> blobs) {
+        jdbcTemplate.batchUpdate(INSERT_BLOB_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BodyBlob blob = blobs.get(i);
+                ps.setString(1, blob.getHash());
+                ps.setBytes(2, blob.getData());
+                ps.setLong(3, blob.getOriginalSize());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return blobs.size();
+            }
+        });
+    }
+
+    /**
+     * 새 스텝 실행을 INSERT 한다. id 는 호출 중에 시퀀스에서 할당된다.
+     */
+    public void insertSteps(List<StepExecution> steps) {
+        for (StepExecution step : steps) {
+            entityManager.persist(step);
+        }
+        entityManager.flush();
+    }
+
+    /**
+     * INSERT 가 커밋된 스텝 실행을 갱신한다.
+     *
+     * @return 스텝별 갱신된 행 수 (0 이면 행이 없음)
+     */
+    public int[] updateSteps(List<StepExecution> steps) {
+        return jdbcTemplate.batchUpdate(UPDATE_STEP_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StepExecution step = steps.get(i);
+                ps.setString(1, step.getStepName());
+                ps.setString(2, step.getStatus().name());
+                ps.setTimestamp(3, timestamp(step.getStartedAt()));
+                ps.setTimestamp(4, timestamp(step.getCompletedAt()));
+                ps.setString(5, step.getRequestData());
+                ps.setString(6, step.getResponseData());
+                ps.setString(7, step.getRequestBlobHash());
+                ps.setString(8, step.getResponseBlobHash());
+                setNullable(ps, 9, step.getHttpStatus(), Types.INTEGER);
+                setNullable(ps, 10, step.getResponseTime(), Types.BIGINT);
+                setNullable(ps, 11, step.getAttempts(), Types.INTEGER);
+                ps.setString(12, step.getAttemptLog());
+                setNullable(ps, 13, step.getQueueWaitTime(), Types.BIGINT);
+                ps.setString(14, step.getErrorMessage());
+                ps.setString(15, step.getExtractedData());
+                ps.setLong(16, step.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return steps.size();
+            }
+        });
+    }
+
+    public void updateProgress(PipelineExecution execution) {
+        pipelineExecutionRepository.updateProgress(execution.getId(), execution.getStatus(),
+                execution.getCompletedSteps(), execution.getSuccessfulSteps(), execution.getFailedSteps(),
+                execution.getErrorMessage(), execution.getCompletedAt(),
+                execution.getExecutionContext(), execution.getSessionCookies());
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.BodyBlob;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.StepExecution;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 파이프라인 실행 상태의 write-behind 기록기.
+ *
+ * 스텝 전이(RUNNING, SUCCESS, FAILED ...)와 실행 카운터 변경을 메모리에 모아 두었다가
+ * 스텝 경계에서 flush-interval 이 지났거나 batch-size 만큼 쌓였을 때, 또는 주기 타이머에서 한 트랜잭션으로 기록한다.
+ * 처음 기록되는 StepExecution 은 INSERT, INSERT 가 커밋된 스텝은 UPDATE 로 나눠서 각각 JDBC 배치로 묶고(ExecutionRecordWriter),
+ * 실행 카운터는 조회 없이 UPDATE 한 번으로 반영된다. 기록이 롤백되면 새 스텝에 할당된 id 를 지우고 다음 flush 에서 다시 INSERT 한다.
+ * 스텝에 붙은 새 본문(BodyBlobStore)은 스텝 행보다 먼저 같은 트랜잭션에서 기록한다.
+ * 실행이 끝나면(성공/실패/예외) close() 에서 남은 내용을 반드시 기록한다.
+ */
+@Component
+public class ExecutionRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionRecorder.class);
+
+    private static final int STEP_EXECUTION_ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private ExecutionRecordWriter writer;
+
+    @Autowired
+    private BodyBlobStore bodyBlobStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("pipelineRecorderExecutor")
+    private Executor recorderExecutor;
+
+    @Value("${pipeline.recorder.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${pipeline.recorder.batch-size:50}")
+    private int batchSize;
+
+    private final Set<Recording> openRecordings = ConcurrentHashMap.newKeySet();
+
+    public ExecutionRecorder() {
+    }
+
+    public ExecutionRecorder(ExecutionRecordWriter writer, BodyBlobStore bodyBlobStore, TransactionTemplate transactionTemplate,
+                             Executor recorderExecutor, long flushIntervalMs, int batchSize) {
+        this.writer = writer;
+        this.bodyBlobStore = bodyBlobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.recorderExecutor = recorderExecutor;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * step_execution_seq 를 기존 IDENTITY 로 생성된 행 뒤로 맞춘다 (기존 H2 파일 DB 호환).
+     */
+    @PostConstruct
+    public void alignStepExecutionSequence() {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM step_executions", Long.class);
+            long restartWith = (maxId != null ? maxId : 0) + STEP_EXECUTION_ALLOCATION_SIZE + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE step_execution_seq RESTART WITH " + restartWith);
+        } catch (Exception e) {
+            logger.warn("Could not align step_execution_seq: {}", e.getMessage());
+        }
+    }
+
+    public Recording open(PipelineExecution execution) {
+        Recording recording = new Recording(execution);
+        openRecordings.add(recording);
+        return recording;
+    }
+
+    /**
+     * 이 서버에서 기록 중인 실행의 스텝이 참조하는 본문을 찾는다. 아직 flush 되지 않은 본문은 메모리에서 읽는다.
+     *
+     * @return 그 해시를 참조하는 스텝이 없으면 empty (이미 끝난 실행은 DB 에서 찾는다)
+     */
+    public Optional<String> findBody(Long executionId, String hash) {
+        for (Recording recording : openRecordings) {
+            if (executionId.equals(recording.execution.getId())) {
+                Optional<String> body = recording.findBody(hash);
+                if (body.isPresent()) {
+                    return body;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${pipeline.recorder.flush-interval-ms:500}")
+    public void flushDue() {
+        for (Recording recording : openRecordings) {
+            recording.flushIfDue();
+        }
+    }
+
+    // 정상 종료 시 아직 기록되지 않은 상태를 남긴다
+    @PreDestroy
+    public void flushAll() {
+        for (Recording recording : openRecordings) {
+            recording.flush();
+        }
+    }
+
+    /**
+     * 실행 하나의 기록 버퍼. 워커 스레드와 타이머 스레드, 기록 스레드가 함께 사용하므로 버퍼 접근은 동기화된다.
+     */
+    public final class Recording implements AutoCloseable {
+
+        private final PipelineExecution execution;
+        // 엔티티는 equals 를 재정의하지 않으므로 객체 동일성으로 중복 제거
+        private final Set<StepExecution> pendingSteps = Collections.newSetFromMap(new IdentityHashMap<>());
+        // INSERT 가 커밋된 스텝 (이후에는 UPDATE). 롤백된 INSERT 의 id 는 DB 에 없으므로 id 로 판단하지 않는다
+        private final Set<StepExecution> insertedSteps = Collections.newSetFromMap(new IdentityHashMap<>());
+        // 기록 트랜잭션이 진행 중인 스텝 (findBody 가 그 사이에도 찾을 수 있도록)
+        private List<StepExecution> flushingSteps = List.of();
+        // DB 기록 중에 잡고 있는 잠금이라 모니터 대신 ReentrantLock 사용 (가상 스레드가 캐리어 스레드에 고정되지 않음)
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private boolean executionDirty;
+        private boolean flushScheduled;
+        private long lastFlush = System.currentTimeMillis();
+
+        private Recording(PipelineExecution execution) {
+            this.execution = execution;
+        }
+
+        public PipelineExecution getExecution() {
+            return execution;
+        }
+
+        /**
+         * 스텝 상태 변경을 기록 대상으로 등록한다. 실행 카운터도 함께 바뀐 경우 executionChanged 를 true 로 준다.
+         */
+        public synchronized void step(StepExecution stepExecution, boolean executionChanged) {
+            pendingSteps.add(stepExecution);
+            executionDirty |= executionChanged;
+        }
+
+        public synchronized void executionChanged() {
+            executionDirty = true;
+        }
+
+        /**
+         * 스텝 경계: 주기가 지났거나 배치가 찼으면 기록한다.
+         */
+        public void boundary() {
+            if (flushDue()) {
+                flush();
+            }
+        }
+
+        /**
+         * boundary() 와 같은 조건으로 기록하되 기록 스레드에 맡기고 바로 반환한다. 이미 예약된 기록이 있으면 다시 예약하지 않는다.
+         */
+        public void boundaryInBackground() {
+            synchronized (this) {
+                if (flushScheduled || !flushDue()) {
+                    return;
+                }
+                flushScheduled = true;
+            }
+            recorderExecutor.execute(this::flush);
+        }
+
+        void flushIfDue() {
+            boolean due;
+            synchronized (this) {
+                due = System.currentTimeMillis() - lastFlush >= flushIntervalMs;
+            }
+            if (due) {
+                flush();
+            }
+        }
+
+        // flush() 는 writeLock 을 먼저 잡으므로 이 객체의 잠금을 쥔 채로 호출하지 않는다
+        private synchronized boolean flushDue() {
+            return pendingSteps.size() >= batchSize || System.currentTimeMillis() - lastFlush >= flushIntervalMs;
+        }
+
+        /**
+         * 버퍼를 비우는 동안만 잠그고 DB 기록은 잠금 밖에서 하므로, 기록 중에도 워커 스레드의 step() 호출은 막히지 않는다.
+         */
+        public void flush() {
+            writeLock.lock();
+            try {
+                List<StepExecution> newSteps = new ArrayList<>();
+                List<StepExecution> updatedSteps = new ArrayList<>();
+                boolean dirty;
+                synchronized (this) {
+                    lastFlush = System.currentTimeMillis();
+                    flushScheduled = false;
+                    if (pendingSteps.isEmpty() && !executionDirty) {
+                        return;
+                    }
+                    for (StepExecution step : pendingSteps) {
+                        (insertedSteps.contains(step) ? updatedSteps : newSteps).add(step);
+                    }
+                    dirty = executionDirty;
+                    pendingSteps.clear();
+                    executionDirty = false;
+                }
+                List<StepExecution> flushedSteps = new ArrayList<>(newSteps);
+                flushedSteps.addAll(updatedSteps);
+                synchronized (this) {
+                    flushingSteps = flushedSteps;
+                }
+                List<BodyBlob> blobs = bodyBlobStore.pendingBlobs(flushedSteps);
+                List<StepExecution> missingSteps = new ArrayList<>();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        missingSteps.clear();
+                        if (!blobs.isEmpty()) {
+                            writer.insertBlobs(blobs);
+                        }
+                        if (!newSteps.isEmpty()) {
+                            writer.insertSteps(newSteps);
+                        }
+                        if (!updatedSteps.isEmpty()) {
+                            int[] counts = writer.updateSteps(updatedSteps);
+                            for (int i = 0; i < counts.length; i++) {
+                                if (counts[i] == 0) {
+                                    missingSteps.add(updatedSteps.get(i));
+                                }
+                            }
+                        }
+                        if (dirty) {
+                            writer.updateProgress(execution);
+                        }
+                    });
+                } catch (Exception e) {
+                    // 남은 내용은 다음 flush 에서 다시 시도. 롤백된 INSERT 의 id 는 버려서 다음에 새로 할당받음
+                    logger.error("Failed to record state of pipeline execution " + execution.getId(), e);
+                    for (StepExecution step : newSteps) {
+                        step.setId(null);
+                    }
+                    synchronized (this) {
+                        pendingSteps.addAll(newSteps);
+                        pendingSteps.addAll(updatedSteps);
+                        executionDirty |= dirty;
+                        flushingSteps = List.of();
+                    }
+                    return;
+                }
+                bodyBlobStore.stored(flushedSteps, blobs);
+                if (!missingSteps.isEmpty()) {
+                    // 있어야 할 행이 없으면 다음 flush 에서 새로 INSERT
+                    logger.warn("{} step executions of pipeline execution {} were missing, inserting them again",
+                            missingSteps.size(), execution.getId());
+                    for (StepExecution step : missingSteps) {
+                        step.setId(null);
+                    }
+                }
+                synchronized (this) {
+                    insertedSteps.addAll(newSteps);
+                    insertedSteps.removeAll(missingSteps);
+                    pendingSteps.addAll(missingSteps);
+                    flushingSteps = List.of();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        Optional<String> findBody(String hash) {
+            List<StepExecution> steps;
+            synchronized (this) {
+                steps = new ArrayList<>(pendingSteps);
+                steps.addAll(flushingSteps);
+                steps.addAll(insertedSteps);
+            }
+            for (StepExecution step : steps) {
+                BodyBlob pending;
+                synchronized (step) {
+                    if (hash.equals(step.getRequestBlobHash())) {
+                        pending = step.getPendingRequestBlob();
+                    } else if (hash.equals(step.getResponseBlobHash())) {
+                        pending = step.getPendingResponseBlob();
+                    } else {
+                        continue;
+                    }
+                }
+                // 붙어 있는 본문이 없으면 이미 기록된 본문
+                return Optional.ofNullable(pending != null ? bodyBlobStore.read(pending) : bodyBlobStore.load(hash));
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * 남은 상태를 모두 기록하고 기록기에서 제거한다.
+         */
+        @Override
+        public void close() {
+            try {
+                flush();
+            } finally {
+                openRecordings.remove(this);
+            }
+        }
+
+        /**
+         * close() 를 기록 스레드(pipelineRecorderExecutor)에서 실행한다. 비동기 엔진의 응답 처리 스레드는 DB 기록을 기다리지 않는다.
+         */
+        public CompletableFuture<Void> closeAsync() {
+            return CompletableFuture.runAsync(this::close, recorderExecutor);
+        }
+    }
+}
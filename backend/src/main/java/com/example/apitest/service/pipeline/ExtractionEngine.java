@@ -0,0 +1,76 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.PipelineStep;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 데이터 추출 규칙 컴파일러 / 캐시.
+ *
+ * 스텝별 dataExtractions 는 한 번만 JsonPathExpression 으로 컴파일되고, 규칙 문자열이 바뀌기 전까지
+ * 같은 파이프라인을 반복 실행(데이터셋, 부하 테스트)해도 다시 파싱하지 않는다.
+ */
+@Component
+public class ExtractionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionEngine.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, CompiledExtractionRules> cache = new ConcurrentHashMap<>();
+
+    public CompiledExtractionRules rulesFor(PipelineStep step) throws IOException {
+        String source = step.getDataExtractions();
+        if (source == null || source.trim().isEmpty()) {
+            return CompiledExtractionRules.empty();
+        }
+        if (step.getId() == null) {
+            return compile(source);
+        }
+        CompiledExtractionRules cached = cache.get(step.getId());
+        if (cached != null && Objects.equals(cached.getSource(), source)) {
+            return cached;
+        }
+        CompiledExtractionRules compiled = compile(source);
+        cache.put(step.getId(), compiled);
+        return compiled;
+    }
+
+    public CompiledExtractionRules compile(String source) throws IOException {
+        if (source == null || source.trim().isEmpty()) {
+            return CompiledExtractionRules.empty();
+        }
+        Map<String, JsonPathExpression> rules = new LinkedHashMap<>();
+        JsonNode rulesNode = objectMapper.readTree(source);
+        Iterator<Map.Entry<String, JsonNode>> fields = rulesNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            try {
+                rules.put(field.getKey(), JsonPathExpression.compile(field.getValue().asText()));
+            } catch (IllegalArgumentException e) {
+                // 잘못된 규칙은 건너뛰고 나머지 규칙은 계속 사용
+                logger.warn("Skipping extraction rule '{}': {}", field.getKey(), e.getMessage());
+            }
+        }
+        return new CompiledExtractionRules(source, rules);
+    }
+
+    public void evict(Long stepId) {
+        if (stepId != null) {
+            cache.remove(stepId);
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
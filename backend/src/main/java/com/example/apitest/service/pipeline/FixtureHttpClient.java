@@ -0,0 +1,304 @@
+package com.example.apitest.service.pipeline;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 녹화/재생용 HttpClient. pipeline.http.fixtures.mode 가 record 나 replay 이면 pipelineHttpClient 대신 쓰인다.
+ *
+ * 녹화 모드는 실제 클라이언트로 요청하고 응답 전체를 HttpFixtureStore 에 남긴 뒤 호출자의 BodyHandler 로 넘긴다.
+ * 재생 모드는 네트워크를 쓰지 않고 메모리의 fixture 를 같은 방식으로 BodyHandler 에 넘기므로, 엔진 입장에서는
+ * 응답이 바로 도착하는 서버와 같다. 네트워크 지연 없이 템플릿, 추출, 기록, 스케줄링 비용만 잴 수 있다.
+ * 녹화되지 않은 요청은 IOException 으로 실패한다.
+ */
+public class FixtureHttpClient extends HttpClient {
+
+    private static final long REQUEST_BODY_TIMEOUT_SECONDS = 10;
+
+    public enum Mode {
+        RECORD,
+        REPLAY;
+
+        public static Mode fromConfig(String value) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown fixture mode: " + value);
+        }
+    }
+
+    private final HttpClient delegate;
+    private final HttpFixtureStore store;
+    private final Mode mode;
+
+    public FixtureHttpClient(HttpClient delegate, HttpFixtureStore store, Mode mode) {
+        this.delegate = delegate;
+        this.store = store;
+        this.mode = mode;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        try {
+            return sendAsync(request, responseBodyHandler).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        String key;
+        try {
+            key = store.keyFor(request.method(), request.uri(), requestBody(request));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (mode == Mode.REPLAY) {
+            HttpFixtureStore.Fixture fixture = store.find(key);
+            if (fixture == null) {
+                return CompletableFuture.failedFuture(new IOException("No recorded fixture for " + key));
+            }
+            return serve(request, fixture, responseBodyHandler);
+        }
+        return delegate.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenCompose(response -> {
+            HttpFixtureStore.Fixture fixture = HttpFixtureStore.Fixture.of(key, request.method(), request.uri(),
+                    response.statusCode(), response.headers().map(), response.body());
+            store.record(fixture);
+            return serve(request, fixture, responseBodyHandler);
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler,
+                                                            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        return sendAsync(request, responseBodyHandler);
+    }
+
+    /**
+     * fixture 본문을 한 번에 BodySubscriber 로 흘려보낸다 (ofString, ofInputStream 등 모든 핸들러에 동작).
+     */
+    private static <T> CompletableFuture<HttpResponse<T>> serve(HttpRequest request, HttpFixtureStore.Fixture fixture,
+                                                                HttpResponse.BodyHandler<T> handler) {
+        HttpHeaders headers = HttpHeaders.of(fixture.getHeaders(), (name, value) -> true);
+        HttpResponse.ResponseInfo info = new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return fixture.getStatus();
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public Version version() {
+                return Version.HTTP_1_1;
+            }
+        };
+        HttpResponse.BodySubscriber<T> subscriber;
+        try {
+            subscriber = handler.apply(info);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        byte[] body = fixture.bodyBytes();
+        AtomicBoolean delivered = new AtomicBoolean();
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n > 0 && delivered.compareAndSet(false, true)) {
+                    if (body.length > 0) {
+                        subscriber.onNext(List.of(ByteBuffer.wrap(body)));
+                    }
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                delivered.set(true);
+            }
+        });
+        return subscriber.getBody().toCompletableFuture()
+                .thenApply(value -> new FixtureResponse<>(request, info.statusCode(), headers, value));
+    }
+
+    // 스텝 요청 본문은 ofString 이라 구독하면 바로 전달되지만, 다른 publisher 를 대비해 시간 제한을 둔다
+    private static byte[] requestBody(HttpRequest request) throws IOException {
+        Optional<HttpRequest.BodyPublisher> publisher = request.bodyPublisher();
+        if (publisher.isEmpty() || publisher.get().contentLength() == 0) {
+            return new byte[0];
+        }
+        CompletableFuture<byte[]> collected = new CompletableFuture<>();
+        publisher.get().subscribe(new Flow.Subscriber<ByteBuffer>() {
+            private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                buffer.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                collected.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                collected.complete(buffer.toByteArray());
+            }
+        });
+        try {
+            return collected.get(REQUEST_BODY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading request body", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Could not read request body for fixture key", e);
+        }
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    private static final class FixtureResponse<T> implements HttpResponse<T> {
+        private final HttpRequest request;
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final T body;
+
+        private FixtureResponse(HttpRequest request, int statusCode, HttpHeaders headers, T body) {
+            this.request = request;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return request;
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public T body() {
+            return body;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return request.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.StepExecution;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 폴더 일괄 실행(FolderRun)이 끝났을 때 파이프라인별 실행과 스텝 기록을 모아 하나의 결과로 집계한다.
+ *
+ * 파이프라인/스텝 합계, 응답 시간이 긴 스텝 상위 목록, 실패 목록(실패한 스텝, 실패한 스텝이 없으면 실행 오류)을
+ * 담은 JSON 을 만든다. 목록 길이는 상한이 있어 파이프라인 수가 많아도 report 크기가 일정하다.
+ */
+public final class FolderRunReport {
+
+    static final int MAX_SLOWEST_STEPS = 10;
+    static final int MAX_FAILURES = 100;
+
+    private static final Comparator<Map<String, Object>> SLOWEST_FIRST =
+            Comparator.comparing((Map<String, Object> step) -> (Long) step.get("responseTimeMs")).reversed();
+
+    private final List<Map<String, Object>> pipelineResults = new ArrayList<>();
+    private final List<Map<String, Object>> slowestSteps = new ArrayList<>();
+    private final List<Map<String, Object>> failures = new ArrayList<>();
+    private int passedPipelines;
+    private int failedPipelines;
+    private int skippedPipelines;
+    private int totalSteps;
+    private int passedSteps;
+    private int failedSteps;
+    private int skippedSteps;
+    private int omittedFailures;
+
+    /**
+     * 실행한 파이프라인 하나의 결과. execution 이 null 이면 실행을 시작하지 못한 경우로 error 를 실패로 남긴다.
+     */
+    public void add(Pipeline pipeline, PipelineExecution execution, List<StepExecution> steps, String error) {
+        boolean passed = execution != null && execution.getStatus() == PipelineExecution.ExecutionStatus.COMPLETED;
+        if (passed) {
+            passedPipelines++;
+        } else {
+            failedPipelines++;
+        }
+
+        int pipelineFailedSteps = 0;
+        for (StepExecution step : steps) {
+            totalSteps++;
+            if (step.getStatus() == StepExecution.StepStatus.SUCCESS) {
+                passedSteps++;
+            } else if (step.getStatus() == StepExecution.StepStatus.FAILED) {
+                failedSteps++;
+                pipelineFailedSteps++;
+                addFailure(pipeline, execution, step.getStepOrder(), step.getStepName(), step.getHttpStatus(), step.getErrorMessage());
+            } else if (step.getStatus() == StepExecution.StepStatus.SKIPPED) {
+                skippedSteps++;
+            }
+            if (step.getResponseTime() != null) {
+                addSlowStep(pipeline, execution, step);
+            }
+        }
+        if (!passed && pipelineFailedSteps == 0) {
+            addFailure(pipeline, execution, null, null, null,
+                    execution != null ? execution.getErrorMessage() : error);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pipelineId", pipeline.getId());
+        result.put("pipelineName", pipeline.getName());
+        result.put("executionId", execution != null ? execution.getId() : null);
+        result.put("status", execution != null ? execution.getStatus().toString() : PipelineExecution.ExecutionStatus.FAILED.toString());
+        result.put("durationMs", execution != null ? durationMs(execution) : null);
+        result.put("steps", steps.size());
+        result.put("failedSteps", pipelineFailedSteps);
+        pipelineResults.add(result);
+    }
+
+    /**
+     * 활성 스텝이 없어 실행하지 않은 파이프라인.
+     */
+    public void skipped(Pipeline pipeline) {
+        skippedPipelines++;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pipelineId", pipeline.getId());
+        result.put("pipelineName", pipeline.getName());
+        result.put("status", "SKIPPED");
+        pipelineResults.add(result);
+    }
+
+    public int getFailedPipelines() {
+        return failedPipelines;
+    }
+
+    private void addSlowStep(Pipeline pipeline, PipelineExecution execution, StepExecution step) {
+        if (slowestSteps.size() == MAX_SLOWEST_STEPS
+                && step.getResponseTime() <= (Long) slowestSteps.get(MAX_SLOWEST_STEPS - 1).get("responseTimeMs")) {
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("pipelineId", pipeline.getId());
+        entry.put("pipelineName", pipeline.getName());
+        entry.put("executionId", execution != null ? execution.getId() : null);
+        entry.put("stepOrder", step.getStepOrder());
+        entry.put("stepName", step.getStepName());
+        entry.put("responseTimeMs", step.getResponseTime());
+        entry.put("httpStatus", step.getHttpStatus());
+        slowestSteps.add(entry);
+        // 목록이 짧으므로 매번 정렬하고 상한을 넘는 항목을 버림 (같은 시간이면 먼저 들어온 항목이 앞)
+        slowestSteps.sort(SLOWEST_FIRST);
+        if (slowestSteps.size() > MAX_SLOWEST_STEPS) {
+            slowestSteps.remove(MAX_SLOWEST_STEPS);
+        }
+    }
+
+    private void addFailure(Pipeline pipeline, PipelineExecution execution, Integer stepOrder, String stepName,
+                            Integer httpStatus, String error) {
+        if (failures.size() >= MAX_FAILURES) {
+            omittedFailures++;
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("pipelineId", pipeline.getId());
+        entry.put("pipelineName", pipeline.getName());
+        entry.put("executionId", execution != null ? execution.getId() : null);
+        entry.put("stepOrder", stepOrder);
+        entry.put("stepName", stepName);
+        entry.put("httpStatus", httpStatus);
+        entry.put("error", error);
+        failures.add(entry);
+    }
+
+    private static Long durationMs(PipelineExecution execution) {
+        if (execution.getStartedAt() == null || execution.getCompletedAt() == null) {
+            return null;
+        }
+        return Duration.between(execution.getStartedAt(), execution.getCompletedAt()).toMillis();
+    }
+
+    public String toJson(ObjectMapper objectMapper, long durationMs) {
+        Map<String, Object> pipelines = new LinkedHashMap<>();
+        pipelines.put("total", passedPipelines + failedPipelines + skippedPipelines);
+        pipelines.put("passed", passedPipelines);
+        pipelines.put("failed", failedPipelines);
+        pipelines.put("skipped", skippedPipelines);
+
+        Map<String, Object> steps = new LinkedHashMap<>();
+        steps.put("total", totalSteps);
+        steps.put("passed", passedSteps);
+        steps.put("failed", failedSteps);
+        steps.put("skipped", skippedSteps);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationMs", durationMs);
+        report.put("pipelines", pipelines);
+        report.put("steps", steps);
+        report.put("slowestSteps", slowestSteps);
+        report.put("failures", failures);
+        if (omittedFailures > 0) {
+            report.put("omittedFailures", omittedFailures);
+        }
+        report.put("pipelineResults", pipelineResults);
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize folder run report", e);
+        }
+    }
+}
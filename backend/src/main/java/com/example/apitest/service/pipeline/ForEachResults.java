@@ -0,0 +1,161 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * forEach 스텝의 요소별 결과를 모아 StepExecution 하나로 기록할 형태로 만든다.
+ *
+ * 요소마다 상태 코드, 응답 시간, 오류만 남기고 본문은 남기지 않는다. 추출 규칙이 있으면 규칙 이름마다
+ * 요소 순서대로 값을 모은 목록(값이 없거나 실패한 요소는 null)을 스텝의 추출 값으로 돌려준다.
+ * 여러 응답 처리 스레드에서 호출되므로 동기화된다.
+ */
+public final class ForEachResults {
+
+    // 응답 본문 자리에 남기는 요소 요약의 최대 개수 (이후 요소는 집계에만 포함)
+    static final int MAX_ITEM_SUMMARIES = 1000;
+
+    private final int size;
+    private final Map<String, Object[]> extracted = new LinkedHashMap<>();
+    private final Integer[] statuses;
+    private final long[] times;
+    private final String[] errors;
+    private final boolean[] completed;
+    private int succeeded;
+    private int failed;
+    private int retries;
+    private int firstFailedIndex = -1;
+    private volatile boolean hasFailure;
+
+    public ForEachResults(int size, Collection<String> extractionNames) {
+        this.size = size;
+        this.statuses = new Integer[size];
+        this.times = new long[size];
+        this.errors = new String[size];
+        this.completed = new boolean[size];
+        for (String name : extractionNames) {
+            extracted.put(name, new Object[size]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public synchronized void succeeded(int index, int httpStatus, long timeMs, Map<String, Object> extractedData) {
+        record(index, httpStatus, timeMs, null);
+        succeeded++;
+        if (extractedData != null) {
+            for (Map.Entry<String, Object[]> entry : extracted.entrySet()) {
+                entry.getValue()[index] = extractedData.get(entry.getKey());
+            }
+        }
+    }
+
+    public synchronized void failed(int index, Integer httpStatus, long timeMs, String error) {
+        record(index, httpStatus, timeMs, error != null ? error : "failed");
+        failed++;
+        if (firstFailedIndex < 0 || index < firstFailedIndex) {
+            firstFailedIndex = index;
+        }
+        hasFailure = true;
+    }
+
+    public synchronized void retried() {
+        retries++;
+    }
+
+    private void record(int index, Integer httpStatus, long timeMs, String error) {
+        statuses[index] = httpStatus;
+        times[index] = timeMs;
+        errors[index] = error;
+        completed[index] = true;
+    }
+
+    /**
+     * 실패한 요소가 있으면 남은 요소는 시작하지 않는다.
+     */
+    public boolean hasFailure() {
+        return hasFailure;
+    }
+
+    public synchronized int getSucceeded() {
+        return succeeded;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    /**
+     * 스텝의 상태 코드: 실패했으면 가장 앞선 실패 요소의 코드, 아니면 첫 요소의 코드.
+     */
+    public synchronized Integer httpStatus() {
+        if (firstFailedIndex >= 0) {
+            return statuses[firstFailedIndex];
+        }
+        return size > 0 ? statuses[0] : null;
+    }
+
+    /**
+     * 규칙 이름 -> 요소 순서대로의 값 목록.
+     */
+    public synchronized Map<String, Object> mergedExtractions() {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (Map.Entry<String, Object[]> entry : extracted.entrySet()) {
+            merged.put(entry.getKey(), new ArrayList<>(Arrays.asList(entry.getValue())));
+        }
+        return merged;
+    }
+
+    public synchronized String attemptLog() {
+        return "forEach:" + succeeded + "/" + size + " ok" + (failed > 0 ? ", " + failed + " failed" : "")
+                + (retries > 0 ? ", " + retries + " retries" : "");
+    }
+
+    public synchronized String errorMessage() {
+        if (firstFailedIndex < 0) {
+            return null;
+        }
+        return failed + " of " + size + " elements failed, first at index " + firstFailedIndex + ": " + errors[firstFailedIndex];
+    }
+
+    /**
+     * 응답 본문 자리에 기록할 요약 JSON.
+     */
+    public synchronized String summaryJson(ObjectMapper objectMapper) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elements", size);
+        summary.put("succeeded", succeeded);
+        summary.put("failed", failed);
+        summary.put("notStarted", size - succeeded - failed);
+        summary.put("retries", retries);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < size && items.size() < MAX_ITEM_SUMMARIES; i++) {
+            if (!completed[i]) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("index", i);
+            item.put("status", statuses[i]);
+            item.put("timeMs", times[i]);
+            if (errors[i] != null) {
+                item.put("error", errors[i]);
+            }
+            items.add(item);
+        }
+        summary.put("items", items);
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize forEach summary", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.apitest.service.pipeline;
+
+/**
+ * 호스트 하나에 대한 회로 차단기.
+ *
+ * 연속 실패가 failureThreshold 번 쌓이면 openMillis 동안 열려서 호출을 바로 거절한다. 그 뒤에는 시험 요청 하나만
+ * 보내고(half-open), 성공하면 닫히고 실패하면 다시 열린다. 실패는 연결/타임아웃 오류와 502/503/504 응답이다.
+ */
+public final class HostCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public HostCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = Math.max(0, openMillis) * 1_000_000L;
+    }
+
+    public static boolean isFailureStatus(int httpStatus) {
+        return httpStatus == 502 || httpStatus == 503 || httpStatus == 504;
+    }
+
+    /**
+     * 요청을 보내도 되는지 확인한다. true 를 받은 호출은 결과를 onSuccess/onFailure/onAbandoned 중 하나로 알려야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (state == State.OPEN && nowNanos - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        onFailure(System.nanoTime());
+    }
+
+    synchronized void onFailure(long nowNanos) {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = nowNanos;
+        }
+    }
+
+    /**
+     * 허가를 받았지만 요청을 보내지 못한 경우 (인터럽트 등). 결과로 집계하지 않는다.
+     */
+    public synchronized void onAbandoned() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 열린 회로가 시험 요청을 받기까지 남은 시간 (밀리초).
+     */
+    public synchronized long remainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, (openNanos - (System.nanoTime() - openedAtNanos)) / 1_000_000L);
+    }
+}
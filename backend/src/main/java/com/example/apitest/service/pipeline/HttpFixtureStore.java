@@ -0,0 +1,229 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 녹화한 HTTP 응답(fixture) 저장소. FixtureHttpClient 가 녹화 모드에서 채우고 재생 모드에서 조회한다.
+ *
+ * 키는 정규화한 요청이다: 메서드, 스킴/호스트 소문자와 기본 포트를 뺀 URI, 이름순으로 정렬한 쿼리 파라미터,
+ * 본문이 있으면 본문 해시(JSON 이면 키를 정렬해서 다시 직렬화한 뒤의 해시). 헤더는 쿠키나 토큰처럼 실행마다
+ * 바뀌므로 키에 넣지 않는다. 파일은 fixture 하나가 한 줄인 JSONL 이며 녹화할 때마다 한 줄씩 덧붙이고,
+ * 읽을 때 같은 키가 여러 번 나오면 마지막 줄이 우선한다.
+ */
+public final class HttpFixtureStore {
+
+    private final Map<String, Fixture> fixtures = new ConcurrentHashMap<>();
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+    // 파일 쓰기 중에 잡는 잠금이라 모니터 대신 ReentrantLock 사용 (가상 스레드가 캐리어 스레드에 고정되지 않음)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public HttpFixtureStore(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * 파일이 있으면 읽어 들인다 (없으면 빈 저장소).
+     */
+    public static HttpFixtureStore load(Path file, ObjectMapper objectMapper) throws IOException {
+        HttpFixtureStore store = new HttpFixtureStore(file, objectMapper);
+        if (file != null && Files.isRegularFile(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        store.put(objectMapper.readValue(line, Fixture.class));
+                    } catch (IOException e) {
+                        throw new IOException("Invalid fixture at " + file + ":" + lineNumber + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return store;
+    }
+
+    public Fixture find(String key) {
+        return fixtures.get(key);
+    }
+
+    public int size() {
+        return fixtures.size();
+    }
+
+    /**
+     * 메모리에 넣고 파일이 지정되어 있으면 한 줄 덧붙인다.
+     */
+    public void record(Fixture fixture) {
+        put(fixture);
+        if (file == null) {
+            return;
+        }
+        try {
+            String line = objectMapper.writeValueAsString(fixture) + "\n";
+            writeLock.lock();
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                Files.writeString(file, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write fixture to " + file, e);
+        }
+    }
+
+    private void put(Fixture fixture) {
+        fixtures.put(fixture.getKey(), fixture);
+    }
+
+    public String keyFor(String method, URI uri, byte[] body) {
+        String key = method.toUpperCase() + " " + normalize(uri);
+        if (body != null && body.length > 0) {
+            key += " #" + HexFormat.of().formatHex(sha256(canonicalBody(body)), 0, 8);
+        }
+        return key;
+    }
+
+    static String normalize(URI uri) {
+        StringBuilder normalized = new StringBuilder();
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() : "http";
+        normalized.append(scheme).append("://");
+        if (uri.getHost() != null) {
+            normalized.append(uri.getHost().toLowerCase());
+        }
+        int port = uri.getPort();
+        if (port != -1 && !(port == 80 && "http".equals(scheme)) && !(port == 443 && "https".equals(scheme))) {
+            normalized.append(':').append(port);
+        }
+        String path = uri.getRawPath();
+        normalized.append(path == null || path.isEmpty() ? "/" : path);
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            String[] params = query.split("&");
+            Arrays.sort(params);
+            normalized.append('?').append(String.join("&", params));
+        }
+        return normalized.toString();
+    }
+
+    // JSON 본문은 필드 순서가 달라도 같은 키가 되도록 정렬해서 다시 직렬화
+    private byte[] canonicalBody(byte[] body) {
+        try {
+            Object value = canonicalMapper.readValue(body, Object.class);
+            return canonicalMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 녹화된 응답 하나. 본문은 UTF-8 로 읽을 수 있으면 문자열로, 아니면 base64 로 저장한다.
+     */
+    public static class Fixture {
+        private String key;
+        private String method;
+        private String uri;
+        private int status;
+        private Map<String, List<String>> headers = Collections.emptyMap();
+        private String body;
+        private boolean base64;
+
+        public Fixture() {}
+
+        public static Fixture of(String key, String method, URI uri, int status, Map<String, List<String>> headers, byte[] body) {
+            Fixture fixture = new Fixture();
+            fixture.key = key;
+            fixture.method = method;
+            fixture.uri = uri.toString();
+            fixture.status = status;
+            fixture.headers = new LinkedHashMap<>(headers);
+            String text = decodeUtf8(body);
+            fixture.base64 = text == null;
+            fixture.body = text != null ? text : Base64.getEncoder().encodeToString(body);
+            return fixture;
+        }
+
+        private static String decodeUtf8(byte[] body) {
+            try {
+                return StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT)
+                        .decode(ByteBuffer.wrap(body))
+                        .toString();
+            } catch (CharacterCodingException e) {
+                return null;
+            }
+        }
+
+        public byte[] bodyBytes() {
+            if (body == null) {
+                return new byte[0];
+            }
+            return base64 ? Base64.getDecoder().decode(body) : body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+
+        public String getUri() { return uri; }
+        public void setUri(String uri) { this.uri = uri; }
+
+        public int getStatus() { return status; }
+        public void setStatus(int status) { this.status = status; }
+
+        public Map<String, List<String>> getHeaders() { return headers; }
+        public void setHeaders(Map<String, List<String>> headers) { this.headers = headers; }
+
+        public String getBody() { return body; }
+        public void setBody(String body) { this.body = body; }
+
+        public boolean isBase64() { return base64; }
+        public void setBase64(boolean base64) { this.base64 = base64; }
+    }
+}
@@ -0,0 +1,685 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일된 JSONPath 식 (데이터 추출 규칙용 부분 집합).
+ *
+ * 지원 문법:
+ * <ul>
+ *   <li>기존 점 표기: {@code data.items.0.id} (숫자 세그먼트는 배열 인덱스)</li>
+ *   <li>{@code $.a.b}, {@code $['key with space']}, {@code $.items[0]}, {@code $.items[-1]}</li>
+ *   <li>와일드카드 {@code $.items[*].id}, {@code $.*}, 재귀 탐색 {@code $..id}</li>
+ *   <li>필터 {@code $.items[?(@.status == 'active')].id} (==, !=, &lt;, &lt;=, &gt;, &gt;=, 존재 여부 {@code [?(@.x)]})</li>
+ *   <li>끝에 붙는 함수 {@code .length()}, {@code .size()}, {@code .first()}, {@code .last()}</li>
+ * </ul>
+ *
+ * 단일 값 경로의 스칼라 결과는 기존과 같이 문자열(asText)로, 객체/배열은 Map/List로 반환한다.
+ * 와일드카드/필터/재귀 탐색이 포함된 경로는 일치한 값들의 List를 반환한다.
+ */
+public final class JsonPathExpression {
+
+    private static final ObjectMapper CONVERTER = new ObjectMapper();
+
+    private final String source;
+    private final List<Segment> segments;
+    private final Function function;
+    private final boolean definite;
+
+    private JsonPathExpression(String source, List<Segment> segments, Function function) {
+        this.source = source;
+        this.segments = segments;
+        this.function = function;
+        boolean allDefinite = true;
+        for (Segment segment : segments) {
+            allDefinite &= segment.isDefinite();
+        }
+        this.definite = allDefinite;
+    }
+
+    public static JsonPathExpression compile(String path) {
+        if (path == null || path.trim().isEmpty()) {
+            throw new IllegalArgumentException("JSON path must not be empty");
+        }
+        return new Parser(path.trim()).parse();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 와일드카드/필터/재귀 탐색 없이 최대 하나의 값만 가리키는 경로인지 여부.
+     */
+    public boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * 스트리밍 추출에서 사용하는 단순 경로 표현. 단일 값 경로의 토큰 목록이며,
+     * 함수가 붙었거나 음수 인덱스 등 앞에서부터 읽으며 판단할 수 없는 경로면 null.
+     * <ul>
+     *   <li>String: 객체 키. 숫자로만 된 문자열은 기존 점 표기 세그먼트로, 객체 키 또는 배열 인덱스에 모두 대응한다</li>
+     *   <li>Integer: 배열 인덱스 (0 이상)</li>
+     * </ul>
+     */
+    public List<Object> getSimplePath() {
+        if (!definite || function != null) {
+            return null;
+        }
+        List<Object> path = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            Object token = ((DefiniteSegment) segment).pathToken();
+            if (token == null) {
+                return null;
+            }
+            path.add(token);
+        }
+        return path;
+    }
+
+    /**
+     * 식을 평가한다. 일치하는 값이 없으면 null.
+     */
+    public Object evaluate(JsonNode root) {
+        if (root == null) {
+            return null;
+        }
+        if (definite) {
+            JsonNode node = root;
+            for (Segment segment : segments) {
+                node = ((DefiniteSegment) segment).selectOne(node);
+                if (node == null || node.isMissingNode()) {
+                    return null;
+                }
+            }
+            return function != null ? function.apply(node) : toValue(node);
+        }
+
+        List<JsonNode> nodes = Collections.singletonList(root);
+        for (Segment segment : segments) {
+            List<JsonNode> next = new ArrayList<>();
+            for (JsonNode node : nodes) {
+                segment.select(node, next);
+            }
+            nodes = next;
+            if (nodes.isEmpty()) {
+                break;
+            }
+        }
+        if (function != null) {
+            return function.apply(nodes);
+        }
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>(nodes.size());
+        for (JsonNode node : nodes) {
+            values.add(toNaturalValue(node));
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // 단일 값 결과: 스칼라는 기존 extractValueByPath 와 동일하게 asText
+    static Object toValue(JsonNode node) {
+        if (node == null || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isValueNode()) {
+            return node.asText();
+        }
+        return CONVERTER.convertValue(node, Object.class);
+    }
+
+    static Object toNaturalValue(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return null;
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        return CONVERTER.convertValue(node, Object.class);
+    }
+
+    // ---------------------------------------------------------------- segments
+
+    private interface Segment {
+        boolean isDefinite();
+
+        void select(JsonNode node, List<JsonNode> out);
+    }
+
+    private abstract static class DefiniteSegment implements Segment {
+        @Override
+        public boolean isDefinite() {
+            return true;
+        }
+
+        @Override
+        public void select(JsonNode node, List<JsonNode> out) {
+            JsonNode selected = selectOne(node);
+            if (selected != null && !selected.isMissingNode()) {
+                out.add(selected);
+            }
+        }
+
+        abstract JsonNode selectOne(JsonNode node);
+
+        abstract Object pathToken();
+    }
+
+    /** $.name, $['name'] */
+    private static final class PropertySegment extends DefiniteSegment {
+        private final String name;
+
+        PropertySegment(String name) {
+            this.name = name;
+        }
+
+        @Override
+        JsonNode selectOne(JsonNode node) {
+            return node.isObject() ? node.get(name) : null;
+        }
+
+        @Override
+        Object pathToken() {
+            // 숫자 형태의 키는 점 표기 세그먼트와 구분되지 않으므로 스트리밍 대상에서 제외
+            return DottedSegment.parseIndex(name) == null ? name : null;
+        }
+    }
+
+    /** [0], [-1] */
+    private static final class IndexSegment extends DefiniteSegment {
+        private final int index;
+
+        IndexSegment(int index) {
+            this.index = index;
+        }
+
+        @Override
+        JsonNode selectOne(JsonNode node) {
+            if (!node.isArray()) {
+                return null;
+            }
+            int resolved = index < 0 ? node.size() + index : index;
+            return resolved >= 0 && resolved < node.size() ? node.get(resolved) : null;
+        }
+
+        @Override
+        Object pathToken() {
+            return index >= 0 ? index : null;
+        }
+    }
+
+    /** 기존 점 표기 세그먼트: 배열이면 숫자를 인덱스로, 객체면 키로 사용 */
+    private static final class DottedSegment extends DefiniteSegment {
+        private final String name;
+        private final Integer index;
+
+        DottedSegment(String name) {
+            this.name = name;
+            this.index = parseIndex(name);
+        }
+
+        @Override
+        JsonNode selectOne(JsonNode node) {
+            if (node.isArray()) {
+                if (index == null) {
+                    return null;
+                }
+                int resolved = index < 0 ? node.size() + index : index;
+                return resolved >= 0 && resolved < node.size() ? node.get(resolved) : null;
+            }
+            return node.isObject() ? node.get(name) : null;
+        }
+
+        @Override
+        Object pathToken() {
+            return index == null || index >= 0 ? name : null;
+        }
+
+        private static Integer parseIndex(String name) {
+            int start = name.startsWith("-") ? 1 : 0;
+            if (name.length() == start || name.length() - start > 9) {
+                return null;
+            }
+            for (int i = start; i < name.length(); i++) {
+                if (!Character.isDigit(name.charAt(i))) {
+                    return null;
+                }
+            }
+            return Integer.parseInt(name);
+        }
+    }
+
+    /** [*], .* */
+    private static final class WildcardSegment implements Segment {
+        @Override
+        public boolean isDefinite() {
+            return false;
+        }
+
+        @Override
+        public void select(JsonNode node, List<JsonNode> out) {
+            if (node.isContainerNode()) {
+                node.elements().forEachRemaining(out::add);
+            }
+        }
+    }
+
+    /** ..name, ..* */
+    private static final class DeepScanSegment implements Segment {
+        private final String name; // null이면 모든 하위 노드
+
+        DeepScanSegment(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean isDefinite() {
+            return false;
+        }
+
+        @Override
+        public void select(JsonNode node, List<JsonNode> out) {
+            if (node.isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (name == null || name.equals(field.getKey())) {
+                        out.add(field.getValue());
+                    }
+                    select(field.getValue(), out);
+                }
+            } else if (node.isArray()) {
+                for (JsonNode element : node) {
+                    if (name == null) {
+                        out.add(element);
+                    }
+                    select(element, out);
+                }
+            }
+        }
+    }
+
+    /** [?(@.field op literal)], [?(@.field)] */
+    private static final class FilterSegment implements Segment {
+        private final List<DefiniteSegment> relativePath;
+        private final String operator; // null이면 존재 여부 검사
+        private final JsonNode literal;
+
+        FilterSegment(List<DefiniteSegment> relativePath, String operator, JsonNode literal) {
+            this.relativePath = relativePath;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        @Override
+        public boolean isDefinite() {
+            return false;
+        }
+
+        @Override
+        public void select(JsonNode node, List<JsonNode> out) {
+            if (!node.isContainerNode()) {
+                return;
+            }
+            for (JsonNode element : node) {
+                if (matches(element)) {
+                    out.add(element);
+                }
+            }
+        }
+
+        private boolean matches(JsonNode element) {
+            JsonNode value = element;
+            for (DefiniteSegment segment : relativePath) {
+                value = segment.selectOne(value);
+                if (value == null || value.isMissingNode()) {
+                    return false;
+                }
+            }
+            if (operator == null) {
+                return true;
+            }
+            int comparison;
+            if (literal.isNumber() && (value.isNumber() || isNumeric(value))) {
+                comparison = Double.compare(value.asDouble(), literal.asDouble());
+            } else if (literal.isNull()) {
+                comparison = value.isNull() ? 0 : 1;
+            } else if (literal.isBoolean()) {
+                comparison = value.isBoolean() && value.booleanValue() == literal.booleanValue() ? 0 : 1;
+            } else if (value.isValueNode() && !value.isNull()) {
+                comparison = value.asText().compareTo(literal.asText());
+            } else {
+                return "!=".equals(operator);
+            }
+            switch (operator) {
+                case "==": return comparison == 0;
+                case "!=": return comparison != 0;
+                case "<": return comparison < 0;
+                case "<=": return comparison <= 0;
+                case ">": return comparison > 0;
+                case ">=": return comparison >= 0;
+                default: return false;
+            }
+        }
+
+        private static boolean isNumeric(JsonNode value) {
+            if (!value.isTextual()) {
+                return false;
+            }
+            try {
+                Double.parseDouble(value.textValue());
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- functions
+
+    private enum Function {
+        LENGTH, FIRST, LAST;
+
+        static Function of(String name) {
+            switch (name) {
+                case "length":
+                case "size":
+                    return LENGTH;
+                case "first":
+                    return FIRST;
+                case "last":
+                    return LAST;
+                default:
+                    return null;
+            }
+        }
+
+        Object apply(JsonNode node) {
+            switch (this) {
+                case LENGTH:
+                    if (node.isContainerNode()) {
+                        return node.size();
+                    }
+                    return node.isTextual() ? node.textValue().length() : null;
+                case FIRST:
+                    return node.isArray() && node.size() > 0 ? toValue(node.get(0)) : null;
+                case LAST:
+                    return node.isArray() && node.size() > 0 ? toValue(node.get(node.size() - 1)) : null;
+                default:
+                    return null;
+            }
+        }
+
+        Object apply(List<JsonNode> nodes) {
+            switch (this) {
+                case LENGTH:
+                    return nodes.size();
+                case FIRST:
+                    return nodes.isEmpty() ? null : toValue(nodes.get(0));
+                case LAST:
+                    return nodes.isEmpty() ? null : toValue(nodes.get(nodes.size() - 1));
+                default:
+                    return null;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- parser
+
+    private static final class Parser {
+        private final String path;
+        private int pos;
+
+        Parser(String path) {
+            this.path = path;
+        }
+
+        JsonPathExpression parse() {
+            List<Segment> segments = new ArrayList<>();
+            Function function = null;
+            boolean legacy = !path.startsWith("$");
+
+            if (legacy) {
+                // 기존 점 표기: "data.items.0.id"
+                String first = readName();
+                function = addNameOrFunction(segments, first, true);
+            } else {
+                pos = 1;
+            }
+
+            while (pos < path.length()) {
+                if (function != null) {
+                    throw error("function must be the last segment");
+                }
+                char c = path.charAt(pos);
+                if (path.startsWith("..", pos)) {
+                    pos += 2;
+                    if (peek('*')) {
+                        pos++;
+                        segments.add(new DeepScanSegment(null));
+                    } else if (peek('[')) {
+                        pos++;
+                        segments.add(new DeepScanSegment(readQuoted()));
+                        expect(']');
+                    } else {
+                        segments.add(new DeepScanSegment(requireName()));
+                    }
+                } else if (c == '.') {
+                    pos++;
+                    if (peek('*')) {
+                        pos++;
+                        segments.add(new WildcardSegment());
+                    } else {
+                        function = addNameOrFunction(segments, requireName(), legacy);
+                    }
+                } else if (c == '[') {
+                    pos++;
+                    segments.add(parseBracket());
+                } else {
+                    throw error("unexpected character '" + c + "'");
+                }
+            }
+            return new JsonPathExpression(path, List.copyOf(segments), function);
+        }
+
+        private Function addNameOrFunction(List<Segment> segments, String name, boolean legacy) {
+            if (name.endsWith("()")) {
+                Function function = Function.of(name.substring(0, name.length() - 2));
+                if (function == null) {
+                    throw error("unknown function '" + name + "'");
+                }
+                return function;
+            }
+            segments.add(legacy ? new DottedSegment(name) : new PropertySegment(name));
+            return null;
+        }
+
+        private Segment parseBracket() {
+            skipSpaces();
+            Segment segment;
+            if (peek('*')) {
+                pos++;
+                segment = new WildcardSegment();
+            } else if (peek('\'') || peek('"')) {
+                segment = new PropertySegment(readQuoted());
+            } else if (peek('?')) {
+                pos++;
+                expect('(');
+                segment = parseFilter();
+                expect(')');
+            } else {
+                int start = pos;
+                if (peek('-')) {
+                    pos++;
+                }
+                while (pos < path.length() && Character.isDigit(path.charAt(pos))) {
+                    pos++;
+                }
+                if (pos == start || (pos == start + 1 && path.charAt(start) == '-')) {
+                    throw error("expected index, '*', quoted key or filter");
+                }
+                segment = new IndexSegment(Integer.parseInt(path.substring(start, pos)));
+            }
+            skipSpaces();
+            expect(']');
+            return segment;
+        }
+
+        private Segment parseFilter() {
+            skipSpaces();
+            expect('@');
+            List<DefiniteSegment> relative = new ArrayList<>();
+            while (peek('.') || peek('[')) {
+                if (peek('.')) {
+                    pos++;
+                    relative.add(new PropertySegment(readFilterName()));
+                } else {
+                    pos++;
+                    skipSpaces();
+                    if (peek('\'') || peek('"')) {
+                        relative.add(new PropertySegment(readQuoted()));
+                    } else {
+                        int start = pos;
+                        if (peek('-')) {
+                            pos++;
+                        }
+                        while (pos < path.length() && Character.isDigit(path.charAt(pos))) {
+                            pos++;
+                        }
+                        if (pos == start) {
+                            throw error("expected index or quoted key in filter");
+                        }
+                        relative.add(new IndexSegment(Integer.parseInt(path.substring(start, pos))));
+                    }
+                    skipSpaces();
+                    expect(']');
+                }
+            }
+            skipSpaces();
+            if (peek(')')) {
+                return new FilterSegment(relative, null, null);
+            }
+            String operator = readOperator();
+            skipSpaces();
+            JsonNode literal = readLiteral();
+            skipSpaces();
+            return new FilterSegment(relative, operator, literal);
+        }
+
+        private String readOperator() {
+            for (String operator : new String[]{"==", "!=", "<=", ">=", "<", ">"}) {
+                if (path.startsWith(operator, pos)) {
+                    pos += operator.length();
+                    return operator;
+                }
+            }
+            throw error("expected comparison operator");
+        }
+
+        private JsonNode readLiteral() {
+            if (peek('\'') || peek('"')) {
+                return CONVERTER.getNodeFactory().textNode(readQuoted());
+            }
+            int start = pos;
+            while (pos < path.length() && path.charAt(pos) != ')' && path.charAt(pos) != ' ') {
+                pos++;
+            }
+            String token = path.substring(start, pos);
+            switch (token) {
+                case "true":
+                    return CONVERTER.getNodeFactory().booleanNode(true);
+                case "false":
+                    return CONVERTER.getNodeFactory().booleanNode(false);
+                case "null":
+                    return CONVERTER.getNodeFactory().nullNode();
+                default:
+                    try {
+                        return CONVERTER.getNodeFactory().numberNode(new java.math.BigDecimal(token));
+                    } catch (NumberFormatException e) {
+                        throw error("invalid literal '" + token + "'");
+                    }
+            }
+        }
+
+        private String readQuoted() {
+            char quote = path.charAt(pos++);
+            StringBuilder value = new StringBuilder();
+            while (pos < path.length() && path.charAt(pos) != quote) {
+                char c = path.charAt(pos++);
+                if (c == '\\' && pos < path.length()) {
+                    c = path.charAt(pos++);
+                }
+                value.append(c);
+            }
+            if (pos >= path.length()) {
+                throw error("unterminated quoted key");
+            }
+            pos++;
+            return value.toString();
+        }
+
+        // 점 표기 이름: 다음 '.' 또는 '[' 까지 ("length()" 같은 함수 호출 포함)
+        private String readName() {
+            int start = pos;
+            while (pos < path.length() && path.charAt(pos) != '.' && path.charAt(pos) != '[') {
+                pos++;
+            }
+            return path.substring(start, pos);
+        }
+
+        private String requireName() {
+            String name = readName();
+            if (name.isEmpty()) {
+                throw error("expected property name");
+            }
+            return name;
+        }
+
+        private String readFilterName() {
+            int start = pos;
+            while (pos < path.length() && ".[]=!<>() ".indexOf(path.charAt(pos)) < 0) {
+                pos++;
+            }
+            if (pos == start) {
+                throw error("expected property name in filter");
+            }
+            return path.substring(start, pos);
+        }
+
+        private void skipSpaces() {
+            while (pos < path.length() && path.charAt(pos) == ' ') {
+                pos++;
+            }
+        }
+
+        private boolean peek(char c) {
+            return pos < path.length() && path.charAt(pos) == c;
+        }
+
+        private void expect(char c) {
+            if (!peek(c)) {
+                throw error("expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid JSON path '" + path + "' at position " + pos + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.apitest.service.pipeline;
+
+import java.net.http.HttpResponse;
+
+/**
+ * 호출 제한을 거친 응답. 제한 대기 시간을 서버 응답 시간과 따로 기록하기 위해 함께 반환한다.
+ */
+public final class LimitedResponse<T> {
+
+    private final HttpResponse<T> response;
+    private final long queueWaitNanos;
+
+    public LimitedResponse(HttpResponse<T> response, long queueWaitNanos) {
+        this.response = response;
+        this.queueWaitNanos = queueWaitNanos;
+    }
+
+    public HttpResponse<T> getResponse() {
+        return response;
+    }
+
+    /**
+     * 호스트/파이프라인 제한 때문에 요청을 보내기 전까지 기다린 시간.
+     */
+    public long getQueueWaitNanos() {
+        return queueWaitNanos;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.PipelineStep;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트의 반복 1회: 파이프라인 스텝을 일반 실행과 같은 규칙(템플릿 렌더링, 추출 값 전달, 400 이상이면 중단)으로
+ * 호출하되, StepExecution 이나 본문을 기록하지 않고 지연 시간만 LoadTestMetrics 에 남긴다.
+ * 파이프라인/호스트 호출 제한도 일반 실행과 같이 적용되며, 제한 대기 시간은 스텝 지연과 따로 집계한다.
+ */
+@Component
+public class LoadIterationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadIterationRunner.class);
+
+    @Autowired
+    private StepRequestBuilder stepRequestBuilder;
+
+    @Autowired
+    private PipelineHttpTransport pipelineHttpTransport;
+
+    @Autowired
+    private VariableScopeFactory variableScopeFactory;
+
+    @Value("${pipeline.http.drain-max-bytes:65536}")
+    private long drainMaxBytes = 65536;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param intendedStartNanos 첫 스텝 지연의 기준 시각. 고정 도착률에서는 예정 시작 시각을 넘겨서
+     *                           대기 시간까지 지연으로 집계한다 (coordinated omission 방지).
+     * @param stopped            부하 테스트의 중지 신호. delayAfter 대기 중에 중지되면 남은 스텝을 보내지 않고 바로 반환한다.
+     * @return 모든 스텝이 성공했는지 여부
+     */
+    public boolean runIteration(PipelineExecutionPlan plan, ExecutionCookieJar cookieJar, LoadTestMetrics metrics,
+                                long intendedStartNanos, CountDownLatch stopped) throws InterruptedException {
+        VariableScope context = variableScopeFactory.forPipeline(plan.getPipeline());
+        long stepStart = intendedStartNanos;
+
+        for (int i = 0; i < plan.size(); i++) {
+            PipelineExecutionPlan.PlannedStep plannedStep = plan.getPlannedStep(i);
+            PipelineStep step = plannedStep.getStep();
+            if (step.getIsSkip() != null && step.getIsSkip()) {
+                continue;
+            }
+
+            boolean success = false;
+            long queueWaitNanos = 0;
+            try {
+                PreparedStepRequest prepared = stepRequestBuilder.prepare(plannedStep.getTemplates(), plannedStep.getMethod(),
+                        context, null);
+                LimitedResponse<InputStream> limited = pipelineHttpTransport.exchange(prepared.getRequest(),
+                        HttpResponse.BodyHandlers.ofInputStream(), cookieJar, plannedStep.getRateLimit());
+                queueWaitNanos = limited.getQueueWaitNanos();
+                metrics.recordLimiterWait(queueWaitNanos, System.nanoTime());
+                HttpResponse<InputStream> response = limited.getResponse();
+                try (InputStream body = response.body()) {
+                    success = response.statusCode() < 400;
+                    if (success) {
+                        context = context.withStep(step.getStepOrder(), extract(plannedStep, body));
+                    }
+                    // 커넥션 재사용을 위해 남은 본문을 읽음 (상한을 넘으면 커넥션을 닫음)
+                    ResponseBodies.drain(body, drainMaxBytes);
+                }
+            } catch (IOException e) {
+                logger.debug("Load test step {} failed: {}", step.getStepOrder(), e.getMessage());
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                // 템플릿/추출 오류 등도 실패한 스텝으로 집계하고 가상 사용자는 계속 반복한다
+                logger.warn("Load test step {} failed: {}", step.getStepOrder(), e.toString());
+            }
+
+            long now = System.nanoTime();
+            metrics.recordStep(i, now - stepStart - queueWaitNanos, success, now);
+            if (!success) {
+                return false;
+            }
+
+            if (step.getDelayAfter() != null && step.getDelayAfter() > 0
+                    && stopped.await(step.getDelayAfter(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            stepStart = System.nanoTime();
+        }
+        return true;
+    }
+
+    // 추출한 값은 이후 스텝의 스코프에 누적 (일반 실행과 동일)
+    private Map<String, Object> extract(PipelineExecutionPlan.PlannedStep plannedStep, InputStream body) {
+        PipelineStep step = plannedStep.getStep();
+        if (step.getDataExtractions() == null || step.getDataExtractions().trim().isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return new HashMap<>(plannedStep.getExtractionRules().extract(body, objectMapper));
+        } catch (Exception e) {
+            logger.debug("Load test extraction failed for step {}: {}", step.getStepOrder(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
+}
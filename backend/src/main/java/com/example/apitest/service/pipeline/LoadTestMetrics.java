@@ -0,0 +1,181 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.dto.pipeline.response.LoadTestSnapshotDTO;
+import com.example.apitest.dto.pipeline.response.LoadTestStatsDTO;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트의 스텝별/반복별 지연 시간 집계.
+ *
+ * 가상 사용자 스레드는 HdrHistogram Recorder 에 락 없이 기록하고, 보고 스레드가 주기적으로 구간 히스토그램을 꺼내
+ * 누적 히스토그램에 더한다. 워밍업 구간의 샘플은 버린다.
+ *
+ * Coordinated omission 보정: 고정 도착률(open model)은 호출자가 예정 시작 시각부터 지연을 재므로 추가 보정이 없고,
+ * 페이싱이 있는 가상 사용자(closed model)는 expectedIntervalMicros 로 recordValueWithExpectedInterval 을 사용해
+ * 느린 응답 동안 보내지 못한 요청의 지연을 채워 넣는다.
+ *
+ * 스텝 지연에는 호출 제한(OutboundLimiter) 대기 시간이 빠지고, 대기 시간은 limiterWait 로 따로 집계한다.
+ * 반복 지연은 사용자가 체감하는 시간이므로 대기 시간을 포함한다.
+ */
+public final class LoadTestMetrics {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long startNanos;
+    private final long warmUpEndNanos;
+    private final long expectedIntervalMicros;
+    private final Series iterations;
+    private final List<Series> steps;
+    private final Series limiterWait;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private long lastSnapshotNanos;
+
+    /**
+     * @param stepNames              스텝 이름 (기록 시 인덱스로 참조)
+     * @param startNanos             테스트 시작 시각 (System.nanoTime 기준)
+     * @param warmUpNanos            집계에서 제외할 초기 구간
+     * @param expectedIntervalMicros 가상 사용자별 요청 간격 (0 이면 보정 없음)
+     */
+    public LoadTestMetrics(List<String> stepNames, long startNanos, long warmUpNanos, long expectedIntervalMicros) {
+        this.startNanos = startNanos;
+        this.warmUpEndNanos = startNanos + Math.max(0, warmUpNanos);
+        this.expectedIntervalMicros = Math.max(0, expectedIntervalMicros);
+        this.iterations = new Series("iteration");
+        this.limiterWait = new Series("limiter-wait");
+        this.steps = new ArrayList<>(stepNames.size());
+        for (String name : stepNames) {
+            steps.add(new Series(name));
+        }
+        this.lastSnapshotNanos = warmUpEndNanos;
+    }
+
+    public boolean isWarmingUp(long nowNanos) {
+        return nowNanos < warmUpEndNanos;
+    }
+
+    public void recordStep(int stepIndex, long latencyNanos, boolean success, long completedAtNanos) {
+        if (!isWarmingUp(completedAtNanos)) {
+            steps.get(stepIndex).record(latencyNanos, success, expectedIntervalMicros);
+        }
+    }
+
+    /**
+     * 요청 하나가 호출 제한 때문에 기다린 시간. 대기하지 않은 요청도 0 으로 기록해서 분포에 포함한다.
+     */
+    public void recordLimiterWait(long waitNanos, long atNanos) {
+        if (!isWarmingUp(atNanos)) {
+            limiterWait.record(waitNanos, true, 0);
+        }
+    }
+
+    public void recordIteration(long latencyNanos, boolean success, long completedAtNanos) {
+        if (!isWarmingUp(completedAtNanos)) {
+            iterations.record(latencyNanos, success, expectedIntervalMicros);
+        }
+    }
+
+    /**
+     * 고정 도착률에서 동시 실행 한도 때문에 시작하지 못한 반복. 실패로 집계된다.
+     */
+    public void recordDropped(long atNanos) {
+        if (!isWarmingUp(atNanos)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * 직전 스냅샷 이후 구간과 누적 통계를 만든다. 보고 스레드 하나에서만 호출한다.
+     */
+    public synchronized LoadTestSnapshotDTO snapshot(long nowNanos) {
+        LoadTestSnapshotDTO snapshot = new LoadTestSnapshotDTO();
+        snapshot.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(nowNanos - startNanos));
+        snapshot.setWarmingUp(isWarmingUp(nowNanos));
+        snapshot.setDroppedIterations(dropped.get());
+
+        double intervalSeconds = Math.max(0, nowNanos - lastSnapshotNanos) / 1e9;
+        double totalSeconds = Math.max(0, nowNanos - warmUpEndNanos) / 1e9;
+        lastSnapshotNanos = Math.max(nowNanos, warmUpEndNanos);
+
+        snapshot.setIntervalIterations(iterations.advance(intervalSeconds));
+        snapshot.setIterations(iterations.total(totalSeconds, dropped.get()));
+        List<LoadTestStatsDTO> intervalSteps = new ArrayList<>(steps.size());
+        List<LoadTestStatsDTO> totalSteps = new ArrayList<>(steps.size());
+        for (Series series : steps) {
+            intervalSteps.add(series.advance(intervalSeconds));
+            totalSteps.add(series.total(totalSeconds, 0));
+        }
+        snapshot.setIntervalSteps(intervalSteps);
+        snapshot.setSteps(totalSteps);
+        snapshot.setIntervalLimiterWait(limiterWait.advance(intervalSeconds));
+        snapshot.setLimiterWait(limiterWait.total(totalSeconds, 0));
+        return snapshot;
+    }
+
+    private static final class Series {
+        private final String name;
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private Histogram interval;
+        private long reportedRequests;
+        private long reportedErrors;
+
+        Series(String name) {
+            this.name = name;
+        }
+
+        void record(long latencyNanos, boolean success, long expectedIntervalMicros) {
+            long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (expectedIntervalMicros > 0) {
+                recorder.recordValueWithExpectedInterval(micros, expectedIntervalMicros);
+            } else {
+                recorder.recordValue(micros);
+            }
+            requests.incrementAndGet();
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        LoadTestStatsDTO advance(double seconds) {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            long requestCount = requests.get();
+            long errorCount = errors.get();
+            LoadTestStatsDTO stats = stats(interval, requestCount - reportedRequests, errorCount - reportedErrors, seconds);
+            reportedRequests = requestCount;
+            reportedErrors = errorCount;
+            return stats;
+        }
+
+        LoadTestStatsDTO total(double seconds, long extraErrors) {
+            return stats(total, reportedRequests + extraErrors, reportedErrors + extraErrors, seconds);
+        }
+
+        private LoadTestStatsDTO stats(Histogram histogram, long requestCount, long errorCount, double seconds) {
+            LoadTestStatsDTO stats = new LoadTestStatsDTO();
+            stats.setName(name);
+            stats.setRequests(requestCount);
+            stats.setErrors(errorCount);
+            stats.setErrorRate(requestCount > 0 ? (double) errorCount / requestCount : 0);
+            stats.setThroughput(seconds > 0 ? requestCount / seconds : 0);
+            if (histogram.getTotalCount() > 0) {
+                stats.setMeanMs(histogram.getMean() / 1000.0);
+                stats.setP50Ms(histogram.getValueAtPercentile(50) / 1000.0);
+                stats.setP90Ms(histogram.getValueAtPercentile(90) / 1000.0);
+                stats.setP99Ms(histogram.getValueAtPercentile(99) / 1000.0);
+                stats.setP999Ms(histogram.getValueAtPercentile(99.9) / 1000.0);
+                stats.setMaxMs(histogram.getMaxValue() / 1000.0);
+            }
+            return stats;
+        }
+    }
+}
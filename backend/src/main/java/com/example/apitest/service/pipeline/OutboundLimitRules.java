@@ -0,0 +1,117 @@
+package com.example.apitest.service.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 호스트별 호출 제한 규칙 (pipeline.rate-limit.hosts).
+ *
+ * 형식: "패턴=동시요청수/초당요청수" 를 쉼표로 나열. 예) "api.staging.example.com=10/50, *.qa.example.com:8443=5/20"
+ * 패턴은 호스트, 호스트:포트, 또는 "*.도메인" 와일드카드이며 앞에 적힌 규칙이 먼저 적용된다. 값이 0 이면 해당 제한 없음.
+ * 와일드카드 규칙에 걸린 호스트들은 하나의 제한을 함께 사용하므로, 한 환경(도메인) 전체의 호출량을 묶어서 제한할 수 있다.
+ */
+public final class OutboundLimitRules {
+
+    private static final OutboundLimitRules NONE = new OutboundLimitRules(Collections.emptyList());
+
+    private final List<Rule> rules;
+
+    private OutboundLimitRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 맞지 않는 규칙이 있는 경우
+     */
+    public static OutboundLimitRules parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return NONE;
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            int slash = trimmed.indexOf('/', eq + 1);
+            if (eq <= 0 || slash < 0) {
+                throw new IllegalArgumentException("Invalid outbound limit rule (expected pattern=inFlight/rps): " + trimmed);
+            }
+            String pattern = trimmed.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            try {
+                int maxInFlight = Integer.parseInt(trimmed.substring(eq + 1, slash).trim());
+                double permitsPerSecond = Double.parseDouble(trimmed.substring(slash + 1).trim());
+                rules.add(new Rule(pattern, maxInFlight, permitsPerSecond));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid outbound limit rule: " + trimmed);
+            }
+        }
+        return new OutboundLimitRules(rules);
+    }
+
+    /**
+     * 요청 대상에 적용할 첫 번째 규칙. 없으면 null.
+     */
+    public Rule match(String host, int port) {
+        if (host == null) {
+            return null;
+        }
+        String lowerHost = host.toLowerCase(Locale.ROOT);
+        for (Rule rule : rules) {
+            if (rule.matches(lowerHost, port)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    public static final class Rule {
+        private final String pattern;
+        private final String hostPattern;
+        private final int port;
+        private final int maxInFlight;
+        private final double permitsPerSecond;
+
+        private Rule(String pattern, int maxInFlight, double permitsPerSecond) {
+            this.pattern = pattern;
+            int colon = pattern.lastIndexOf(':');
+            if (colon > 0) {
+                this.hostPattern = pattern.substring(0, colon);
+                this.port = Integer.parseInt(pattern.substring(colon + 1));
+            } else {
+                this.hostPattern = pattern;
+                this.port = -1;
+            }
+            this.maxInFlight = maxInFlight;
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        private boolean matches(String host, int requestPort) {
+            if (port != -1 && port != requestPort) {
+                return false;
+            }
+            if (hostPattern.startsWith("*.")) {
+                return host.endsWith(hostPattern.substring(1));
+            }
+            return hostPattern.equals(host);
+        }
+
+        /**
+         * 규칙 원문. 같은 규칙에 걸린 요청은 이 값을 키로 하나의 제한을 공유한다.
+         */
+        public String getPattern() {
+            return pattern;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.apitest.service.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 호출 대상 하나(호스트, 호스트 그룹 또는 파이프라인+호스트)에 대한 동시 요청 수 제한과 토큰 버킷 초당 요청 수 제한.
+ *
+ * 허가를 기다리는 호출은 스레드를 점유하지 않고 대기열의 CompletableFuture 로 남는다. 허가가 반납되거나
+ * 토큰이 다시 찰 시각에 타이머가 대기열을 처리한다. 대기열은 FIFO 라서 먼저 온 요청이 먼저 나간다.
+ * 파이프라인 제한처럼 설정이 바뀔 수 있는 제한은 updateLimits 로 대기열을 유지한 채 갱신한다.
+ */
+public final class OutboundLimiter {
+
+    private volatile int maxInFlight;
+    private volatile double permitsPerSecond;
+    private final double burst;
+    private final ScheduledExecutorService timer;
+
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int inFlight;
+    private double tokens;
+    private long lastRefillNanos;
+    private boolean wakeupScheduled;
+    private long lastUsedNanos;
+
+    /**
+     * @param maxInFlight      동시 요청 수 상한 (0 이하이면 제한 없음)
+     * @param permitsPerSecond 초당 요청 수 (0 이하이면 제한 없음)
+     * @param burst            버킷에 쌓일 수 있는 최대 토큰 수 (1 이면 요청 간격이 일정하게 유지됨)
+     * @param timer            토큰 보충 시각에 대기열을 처리할 스케줄러
+     */
+    public OutboundLimiter(int maxInFlight, double permitsPerSecond, double burst, ScheduledExecutorService timer) {
+        this.maxInFlight = maxInFlight;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.timer = timer;
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.lastUsedNanos = lastRefillNanos;
+    }
+
+    /**
+     * 제한 값을 바꾼다. 대기 중인 요청과 진행 중인 허가는 유지되고, 제한이 늘어나면 대기열을 바로 처리한다.
+     */
+    public void updateLimits(int maxInFlight, double permitsPerSecond) {
+        if (maxInFlight == this.maxInFlight && permitsPerSecond == this.permitsPerSecond) {
+            return;
+        }
+        List<Waiter> granted;
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+            this.maxInFlight = maxInFlight;
+            this.permitsPerSecond = permitsPerSecond;
+            granted = dispatch(now);
+        }
+        complete(granted);
+    }
+
+    /**
+     * 진행 중인 허가와 대기 중인 요청이 없고 idleNanos 동안 쓰이지 않았는지.
+     */
+    public synchronized boolean isIdle(long nowNanos, long idleNanos) {
+        return inFlight == 0 && waiters.isEmpty() && nowNanos - lastUsedNanos >= idleNanos;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * 허가를 요청한다. 바로 보낼 수 있으면 완료된 future 를, 아니면 대기열에 등록된 future 를 반환한다.
+     * future 를 취소하면 대기열에서 빠지고, 이미 허가된 뒤라면 허가는 호출자가 반납해야 한다.
+     */
+    public CompletableFuture<Permit> acquire() {
+        long now = System.nanoTime();
+        Waiter waiter = new Waiter(now);
+        List<Waiter> granted;
+        synchronized (this) {
+            lastUsedNanos = now;
+            waiters.add(waiter);
+            granted = dispatch(now);
+        }
+        complete(granted);
+        return waiter.future;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    private void release() {
+        List<Waiter> granted;
+        synchronized (this) {
+            inFlight--;
+            lastUsedNanos = System.nanoTime();
+            granted = dispatch(lastUsedNanos);
+        }
+        complete(granted);
+    }
+
+    private void wakeUp() {
+        List<Waiter> granted;
+        synchronized (this) {
+            wakeupScheduled = false;
+            granted = dispatch(System.nanoTime());
+        }
+        complete(granted);
+    }
+
+    // 락을 잡은 상태에서 호출: 보낼 수 있는 만큼 대기열에서 꺼내고, 토큰이 모자라면 다음 보충 시각에 깨어나도록 예약
+    private List<Waiter> dispatch(long now) {
+        refill(now);
+        List<Waiter> granted = null;
+        while (!waiters.isEmpty() && hasSlot() && hasToken()) {
+            Waiter waiter = waiters.poll();
+            if (waiter.future.isCancelled()) {
+                continue;
+            }
+            inFlight++;
+            if (permitsPerSecond > 0) {
+                tokens -= 1;
+            }
+            if (granted == null) {
+                granted = new ArrayList<>();
+            }
+            granted.add(waiter);
+        }
+        if (!waiters.isEmpty() && hasSlot() && !hasToken() && !wakeupScheduled) {
+            long delayNanos = (long) Math.ceil((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+            wakeupScheduled = true;
+            timer.schedule(this::wakeUp, Math.max(1, delayNanos), TimeUnit.NANOSECONDS);
+        }
+        return granted;
+    }
+
+    private void refill(long now) {
+        if (permitsPerSecond > 0) {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000L);
+        }
+        lastRefillNanos = now;
+    }
+
+    private boolean hasSlot() {
+        return maxInFlight <= 0 || inFlight < maxInFlight;
+    }
+
+    private boolean hasToken() {
+        return permitsPerSecond <= 0 || tokens >= 1;
+    }
+
+    // future 완료는 락 밖에서: 이어지는 콜백이 이 제한기를 다시 호출할 수 있음
+    private void complete(List<Waiter> granted) {
+        if (granted == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Waiter waiter : granted) {
+            Permit permit = new Permit(now - waiter.enqueuedNanos);
+            if (!waiter.future.complete(permit)) {
+                permit.release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final long enqueuedNanos;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(long enqueuedNanos) {
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /**
+     * 요청 하나에 대한 허가. 응답을 받은 뒤 한 번 반납한다 (중복 반납은 무시).
+     */
+    public final class Permit {
+        private final long waitNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long waitNanos) {
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * 허가를 받기까지 대기한 시간.
+         */
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                OutboundLimiter.this.release();
+            }
+        }
+    }
+}
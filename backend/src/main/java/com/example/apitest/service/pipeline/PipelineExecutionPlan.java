@@ -0,0 +1,188 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineStep;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 파이프라인 한 버전의 실행 계획. 활성 스텝과 스텝별로 미리 컴파일한 템플릿, 추출 규칙, 재시도 정책,
+ * 호출 제한, 병렬 실행용 의존 그래프를 담으며 만들어진 뒤에는 바뀌지 않는다.
+ *
+ * 같은 파이프라인을 반복 실행(큐, 데이터셋 행, 부하 테스트)하면 PipelineExecutionPlanCache 의 계획을 그대로 쓰므로
+ * 스텝 조회와 JSON 파싱을 다시 하지 않는다. 담긴 엔티티는 분리(detached) 상태이며 읽기 전용으로만 사용한다.
+ * 컴파일 오류는 계획을 만들 때가 아니라 해당 스텝(또는 그래프)을 실행할 때 그대로 던진다.
+ */
+public final class PipelineExecutionPlan {
+
+    private final Long pipelineId;
+    private final long version;
+    private final Pipeline pipeline;
+    private final List<PipelineStep> steps;
+    private final List<PlannedStep> plannedSteps;
+    private final StepDependencyGraph graph;
+    private final IllegalArgumentException graphError;
+
+    PipelineExecutionPlan(Long pipelineId, long version, List<PlannedStep> plannedSteps,
+                          StepDependencyGraph graph, IllegalArgumentException graphError) {
+        this.pipelineId = pipelineId;
+        this.version = version;
+        this.plannedSteps = Collections.unmodifiableList(new ArrayList<>(plannedSteps));
+        List<PipelineStep> steps = new ArrayList<>(plannedSteps.size());
+        for (PlannedStep plannedStep : plannedSteps) {
+            steps.add(plannedStep.getStep());
+        }
+        this.steps = Collections.unmodifiableList(steps);
+        this.pipeline = steps.isEmpty() ? null : steps.get(0).getPipeline();
+        this.graph = graph;
+        this.graphError = graphError;
+    }
+
+    public Long getPipelineId() {
+        return pipelineId;
+    }
+
+    /**
+     * 계획을 만들 때의 캐시 버전. 파이프라인이나 스텝이 바뀔 때마다 올라간다.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 스텝과 함께 조회된 파이프라인. 활성 스텝이 없으면 null.
+     */
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * stepOrder 순서의 활성 스텝.
+     */
+    public List<PipelineStep> getSteps() {
+        return steps;
+    }
+
+    public List<PlannedStep> getPlannedSteps() {
+        return plannedSteps;
+    }
+
+    public PlannedStep getPlannedStep(int index) {
+        return plannedSteps.get(index);
+    }
+
+    public boolean isEmpty() {
+        return plannedSteps.isEmpty();
+    }
+
+    public int size() {
+        return plannedSteps.size();
+    }
+
+    /**
+     * 스텝이 둘 이상이고 parallelExecution 이 켜져 있으면 의존 그래프로 실행한다.
+     */
+    public boolean runsInParallel() {
+        return plannedSteps.size() > 1 && pipeline != null && Boolean.TRUE.equals(pipeline.getParallelExecution());
+    }
+
+    /**
+     * @throws IllegalArgumentException dependsOn 이 잘못되어 그래프를 만들지 못한 경우
+     */
+    public StepDependencyGraph getGraph() {
+        if (graphError != null) {
+            throw graphError;
+        }
+        return graph;
+    }
+
+    /**
+     * 계획에 포함된 스텝 하나와 그 스텝의 컴파일 결과.
+     */
+    public static final class PlannedStep {
+        private final PipelineStep step;
+        private final PipelineRateLimit rateLimit;
+        private final String method;
+        private final ApiItemTemplates templates;
+        private final IOException templateError;
+        private final CompiledExtractionRules extractionRules;
+        private final IOException extractionError;
+        private final RetryPolicy retryPolicy;
+        private final IllegalArgumentException retryPolicyError;
+
+        PlannedStep(PipelineStep step, PipelineRateLimit rateLimit, String method,
+                    ApiItemTemplates templates, IOException templateError,
+                    CompiledExtractionRules extractionRules, IOException extractionError,
+                    RetryPolicy retryPolicy, IllegalArgumentException retryPolicyError) {
+            this.step = step;
+            this.rateLimit = rateLimit;
+            this.method = method;
+            this.templates = templates;
+            this.templateError = templateError;
+            this.extractionRules = extractionRules;
+            this.extractionError = extractionError;
+            this.retryPolicy = retryPolicy;
+            this.retryPolicyError = retryPolicyError;
+        }
+
+        public PipelineStep getStep() {
+            return step;
+        }
+
+        /**
+         * 파이프라인 단위 호출 제한. 설정되지 않았으면 null.
+         */
+        public PipelineRateLimit getRateLimit() {
+            return rateLimit;
+        }
+
+        /**
+         * forEachSource 가 설정되어 배열의 요소마다 호출하는 스텝인지 여부.
+         */
+        public boolean isForEach() {
+            return step.getForEachSource() != null && !step.getForEachSource().isBlank();
+        }
+
+        /**
+         * 대문자 HTTP 메서드.
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * @throws IOException headers/params 가 올바른 JSON 이 아닌 경우
+         */
+        public ApiItemTemplates getTemplates() throws IOException {
+            if (templateError != null) {
+                throw templateError;
+            }
+            return templates;
+        }
+
+        /**
+         * 추출 규칙이 없으면 빈 규칙.
+         *
+         * @throws IOException dataExtractions 가 올바른 JSON 이 아닌 경우
+         */
+        public CompiledExtractionRules getExtractionRules() throws IOException {
+            if (extractionError != null) {
+                throw extractionError;
+            }
+            return extractionRules;
+        }
+
+        /**
+         * @throws IllegalArgumentException 저장된 재시도 정책이 잘못된 경우
+         */
+        public RetryPolicy getRetryPolicy() {
+            if (retryPolicyError != null) {
+                throw retryPolicyError;
+            }
+            return retryPolicy;
+        }
+    }
+}
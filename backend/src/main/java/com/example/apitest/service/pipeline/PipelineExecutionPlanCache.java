@@ -0,0 +1,192 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.repository.PipelineStepRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파이프라인별 실행 계획(PipelineExecutionPlan) 캐시.
+ *
+ * 계획은 처음 실행할 때 스텝을 한 번 조회해서 만들고, PipelineService / ApiItemService 가 파이프라인, 스텝,
+ * API 아이템을 수정하면 무효화된다. 수정 트랜잭션 안에서 무효화하면 커밋 직후에 한 번 더 무효화해서,
+ * 커밋 전에 읽은 이전 상태로 만든 계획이 남지 않게 한다.
+ * 캐시는 서버 인스턴스마다 따로 유지된다.
+ */
+@Component
+public class PipelineExecutionPlanCache {
+
+    @Autowired
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Autowired
+    private TemplateEngine templateEngine;
+
+    @Autowired
+    private ExtractionEngine extractionEngine;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, PipelineExecutionPlan> plans = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 파이프라인의 현재 실행 계획. 활성 스텝이 없으면 빈 계획을 반환한다.
+     */
+    public PipelineExecutionPlan planFor(Long pipelineId) {
+        long version = versions.getOrDefault(pipelineId, 0L);
+        PipelineExecutionPlan cached = plans.get(pipelineId);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        PipelineExecutionPlan plan = build(pipelineId, version);
+        if (plan.isEmpty()) {
+            // 없는 파이프라인이나 스텝이 없는 파이프라인은 캐시하지 않음
+            return plan;
+        }
+        plans.put(pipelineId, plan);
+        // 만드는 동안 무효화되었으면 이번 실행에만 쓰고 캐시에는 남기지 않음
+        if (versions.getOrDefault(pipelineId, 0L) != version) {
+            plans.remove(pipelineId, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 파이프라인 설정이나 스텝이 바뀌었을 때 호출한다.
+     */
+    public void invalidate(Long pipelineId) {
+        if (pipelineId == null) {
+            return;
+        }
+        evict(pipelineId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(pipelineId);
+                }
+            });
+        }
+    }
+
+    /**
+     * API 아이템이 바뀌거나 삭제되었을 때 호출한다. 그 아이템을 쓰는 스텝이 있는 계획만 무효화한다.
+     */
+    public void invalidateApiItem(Long apiItemId) {
+        if (apiItemId == null) {
+            return;
+        }
+        for (PipelineExecutionPlan plan : plans.values()) {
+            for (PipelineStep step : plan.getSteps()) {
+                if (apiItemId.equals(step.getApiItem().getId())) {
+                    invalidate(plan.getPipelineId());
+                    break;
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (Long pipelineId : plans.keySet()) {
+            invalidate(pipelineId);
+        }
+    }
+
+    private void evict(Long pipelineId) {
+        versions.merge(pipelineId, 1L, Long::sum);
+        plans.remove(pipelineId);
+    }
+
+    private PipelineExecutionPlan build(Long pipelineId, long version) {
+        // ApiItem 과 Pipeline 을 함께 조회하므로 계획은 영속성 컨텍스트 없이 워커 스레드에서 사용할 수 있다
+        List<PipelineStep> steps = pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(pipelineId);
+        PipelineRateLimit rateLimit = steps.isEmpty() ? null : PipelineRateLimit.of(steps.get(0).getPipeline());
+        List<PipelineExecutionPlan.PlannedStep> plannedSteps = new ArrayList<>(steps.size());
+        for (PipelineStep step : steps) {
+            plannedSteps.add(plan(step, rateLimit));
+        }
+
+        // 의존 그래프는 병렬 실행하는 파이프라인에만 필요
+        StepDependencyGraph graph = null;
+        IllegalArgumentException graphError = null;
+        if (steps.size() > 1 && Boolean.TRUE.equals(steps.get(0).getPipeline().getParallelExecution())) {
+            List<StepDependencyGraph.StepNode> nodes = new ArrayList<>(steps.size());
+            for (PipelineExecutionPlan.PlannedStep plannedStep : plannedSteps) {
+                nodes.add(nodeOf(plannedStep));
+            }
+            try {
+                graph = StepDependencyGraph.build(nodes);
+            } catch (IllegalArgumentException e) {
+                graphError = e;
+            }
+        }
+        return new PipelineExecutionPlan(pipelineId, version, plannedSteps, graph, graphError);
+    }
+
+    private PipelineExecutionPlan.PlannedStep plan(PipelineStep step, PipelineRateLimit rateLimit) {
+        ApiItemTemplates templates = null;
+        IOException templateError = null;
+        try {
+            templates = templateEngine.templatesFor(step.getApiItem());
+        } catch (IOException e) {
+            templateError = e;
+        }
+
+        CompiledExtractionRules extractionRules = null;
+        IOException extractionError = null;
+        try {
+            extractionRules = extractionEngine.rulesFor(step);
+        } catch (IOException e) {
+            extractionError = e;
+        }
+
+        RetryPolicy retryPolicy = null;
+        IllegalArgumentException retryPolicyError = null;
+        try {
+            retryPolicy = RetryPolicy.parse(step.getRetryPolicy(), objectMapper);
+        } catch (IllegalArgumentException e) {
+            retryPolicyError = e;
+        }
+
+        String method = step.getApiItem().getMethod() != null ? step.getApiItem().getMethod().toString().toUpperCase() : null;
+        return new PipelineExecutionPlan.PlannedStep(step, rateLimit, method, templates, templateError,
+                extractionRules, extractionError, retryPolicy, retryPolicyError);
+    }
+
+    // 컴파일에 실패한 스텝은 참조/추출 변수가 없는 것으로 보고, 실행할 때 그 오류로 실패한다
+    private static StepDependencyGraph.StepNode nodeOf(PipelineExecutionPlan.PlannedStep plannedStep) {
+        PipelineStep step = plannedStep.getStep();
+        Set<String> references = new HashSet<>();
+        try {
+            references.addAll(plannedStep.getTemplates().getVariableNames());
+        } catch (IOException e) {
+            // 템플릿 오류
+        }
+        if (plannedStep.isForEach()) {
+            references.add(step.getForEachSource().trim());
+        }
+        Set<String> provides = new HashSet<>();
+        try {
+            // 이후 스텝은 추출 값을 이름 그대로와 steps.<스텝 순서>.이름 으로 참조할 수 있다 (VariableScope)
+            for (String key : plannedStep.getExtractionRules().getRules().keySet()) {
+                provides.add(key);
+                provides.add(VariableScope.STEP_PREFIX + step.getStepOrder() + "." + key);
+            }
+        } catch (IOException e) {
+            // 잘못된 추출 규칙은 아무 값도 추출하지 않음
+        }
+        return new StepDependencyGraph.StepNode(step.getId(), references, provides,
+                StepDependencyGraph.parseStepIds(step.getDependsOn()));
+    }
+}
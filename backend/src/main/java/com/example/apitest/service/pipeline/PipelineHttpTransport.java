@@ -0,0 +1,387 @@
+package com.example.apitest.service.pipeline;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 파이프라인 스텝의 HTTP 호출 창구.
+ *
+ * 모든 실행이 공유 HttpClient(pipelineHttpClient)를 사용하고, 쿠키는 실행별 ExecutionCookieJar로 분리한다.
+ * 호스트별 동시 요청 수와 초당 요청 수를 제한해서(OutboundLimiter) 한 호스트에 대한 커넥션이 무한정 늘어나거나
+ * 테스트 대상 서버가 과부하되지 않게 한다. 파이프라인별 제한이 있으면 호스트 제한보다 먼저 적용한다.
+ * 장애 중인 호스트는 HostCircuitBreaker 가 열려서 타임아웃을 기다리지 않고 바로 실패시킨다.
+ */
+@Component
+public class PipelineHttpTransport {
+
+    @Autowired
+    @Qualifier("pipelineHttpClient")
+    private HttpClient httpClient;
+
+    @Value("${pipeline.http.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${pipeline.rate-limit.requests-per-second:0}")
+    private double defaultRequestsPerSecond;
+
+    @Value("${pipeline.rate-limit.burst:1}")
+    private double burst;
+
+    @Value("${pipeline.rate-limit.hosts:}")
+    private String hostRules;
+
+    @Value("${pipeline.rate-limit.idle-evict-ms:600000}")
+    private long limiterIdleEvictMillis;
+
+    @Value("${pipeline.circuit-breaker.enabled:true}")
+    private boolean circuitBreakerEnabled;
+
+    @Value("${pipeline.circuit-breaker.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${pipeline.circuit-breaker.open-ms:30000}")
+    private long circuitOpenMillis;
+
+    private OutboundLimitRules rules;
+
+    private final Map<String, HostCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final Map<String, OutboundLimiter> limiters = new ConcurrentHashMap<>();
+
+    // 토큰 보충 시각에 대기열을 깨우는 용도로만 사용 (대기 중인 요청은 스레드를 점유하지 않음)
+    private final ScheduledExecutorService limiterTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "OutboundLimiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void loadRules() {
+        rules = OutboundLimitRules.parse(hostRules);
+        if (limiterIdleEvictMillis > 0) {
+            limiterTimer.scheduleWithFixedDelay(this::evictIdleLimiters, limiterIdleEvictMillis, limiterIdleEvictMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 한동안 쓰이지 않은 제한기를 제거한다 (삭제된 파이프라인이나 더 이상 호출하지 않는 호스트).
+     * 제거와 동시에 조회된 제한기로 나가는 요청은 새 제한기와 따로 계산될 수 있지만, 유휴 시간이 길어서 드물고 잠깐이다.
+     */
+    private void evictIdleLimiters() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(limiterIdleEvictMillis);
+        limiters.values().removeIf(limiter -> limiter.isIdle(now, idleNanos));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        limiterTimer.shutdownNow();
+    }
+
+    public HttpResponse<String> send(HttpRequest request, ExecutionCookieJar cookieJar) throws IOException, InterruptedException {
+        return send(request, HttpResponse.BodyHandlers.ofString(), cookieJar);
+    }
+
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                    ExecutionCookieJar cookieJar) throws IOException, InterruptedException {
+        return exchange(request, bodyHandler, cookieJar, null).getResponse();
+    }
+
+    /**
+     * 본문 처리 방식과 파이프라인 제한을 지정해서 요청하고, 제한 대기 시간을 함께 반환한다.
+     * ofInputStream 처럼 헤더 수신 시점에 반환되는 핸들러의 경우 동시 요청 제한은 헤더 수신까지만 적용된다.
+     */
+    public <T> LimitedResponse<T> exchange(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                           ExecutionCookieJar cookieJar, PipelineRateLimit pipelineLimit)
+            throws IOException, InterruptedException {
+        return exchange(request, bodyHandler, cookieJar, pipelineLimit, null);
+    }
+
+    /**
+     * cancellation 이 주어지면 제한 대기와 요청 모두 취소 시 바로 중단되고 ExecutionCancelledException 이 발생한다.
+     */
+    public <T> LimitedResponse<T> exchange(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                           ExecutionCookieJar cookieJar, PipelineRateLimit pipelineLimit,
+                                           CancellationToken cancellation) throws IOException, InterruptedException {
+        if (cancellation != null) {
+            cancellation.throwIfCancelled();
+        }
+        URI uri = request.uri();
+        HttpRequest outgoing = withCookies(request, cookieJar);
+
+        HostCircuitBreaker breaker = circuitBreakerFor(uri);
+        if (breaker != null && !breaker.tryAcquire()) {
+            throw new CircuitOpenException(hostKey(uri), breaker.remainingOpenMillis());
+        }
+
+        List<OutboundLimiter.Permit> permits = new ArrayList<>(2);
+        boolean outcomeRecorded = false;
+        long waitStart = System.nanoTime();
+        try {
+            for (OutboundLimiter limiter : limitersFor(uri, pipelineLimit)) {
+                permits.add(await(limiter.acquire(), cancellation));
+            }
+            long queueWaitNanos = System.nanoTime() - waitStart;
+
+            HttpResponse<T> response;
+            try {
+                response = send(outgoing, bodyHandler, cancellation);
+            } catch (IOException e) {
+                if (breaker != null) {
+                    breaker.onFailure();
+                }
+                outcomeRecorded = true;
+                throw e;
+            }
+            if (breaker != null) {
+                if (HostCircuitBreaker.isFailureStatus(response.statusCode())) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+            outcomeRecorded = true;
+            if (cookieJar != null) {
+                cookieJar.storeFrom(uri, response.headers());
+            }
+            return new LimitedResponse<>(response, queueWaitNanos);
+        } finally {
+            // 인터럽트 등으로 결과가 없으면 half-open 시험 요청 자리만 되돌림
+            if (!outcomeRecorded && breaker != null) {
+                breaker.onAbandoned();
+            }
+            for (OutboundLimiter.Permit permit : permits) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * exchange 의 비동기 버전. 제한 대기와 요청 모두 스레드를 점유하지 않으며, 쿠키 저장, 허가 반납, 차단기 기록은
+     * 응답(또는 오류)이 도착한 스레드에서 처리된다. 취소되면 ExecutionCancelledException 으로 완료된다.
+     */
+    public <T> CompletableFuture<LimitedResponse<T>> exchangeAsync(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                                                   ExecutionCookieJar cookieJar, PipelineRateLimit pipelineLimit,
+                                                                   CancellationToken cancellation) {
+        URI uri = request.uri();
+        HttpRequest outgoing;
+        try {
+            if (cancellation != null) {
+                cancellation.throwIfCancelled();
+            }
+            outgoing = withCookies(request, cookieJar);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HostCircuitBreaker breaker = circuitBreakerFor(uri);
+        if (breaker != null && !breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(hostKey(uri), breaker.remainingOpenMillis()));
+        }
+
+        List<OutboundLimiter.Permit> permits = Collections.synchronizedList(new ArrayList<>(2));
+        AtomicBoolean outcomeRecorded = new AtomicBoolean();
+        long waitStart = System.nanoTime();
+        CompletableFuture<Void> acquired = CompletableFuture.completedFuture(null);
+        for (OutboundLimiter limiter : limitersFor(uri, pipelineLimit)) {
+            acquired = acquired.thenCompose(ignored -> tracked(limiter.acquire(), cancellation)).thenAccept(permits::add);
+        }
+
+        CompletableFuture<LimitedResponse<T>> exchange = acquired.thenCompose(ignored -> {
+            long queueWaitNanos = System.nanoTime() - waitStart;
+            return tracked(httpClient.sendAsync(outgoing, bodyHandler), cancellation).handle((response, error) -> {
+                Throwable cause = unwrap(error);
+                if (cause instanceof CancellationException) {
+                    throw new CompletionException(cause);
+                }
+                if (breaker != null) {
+                    if (cause != null || HostCircuitBreaker.isFailureStatus(response.statusCode())) {
+                        breaker.onFailure();
+                    } else {
+                        breaker.onSuccess();
+                    }
+                }
+                outcomeRecorded.set(true);
+                if (cause != null) {
+                    throw new CompletionException(cause);
+                }
+                if (cookieJar != null) {
+                    try {
+                        cookieJar.storeFrom(uri, response.headers());
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }
+                return new LimitedResponse<>(response, queueWaitNanos);
+            });
+        });
+
+        return exchange.handle((limited, error) -> {
+            // 취소 등으로 결과가 없으면 half-open 시험 요청 자리만 되돌림
+            if (!outcomeRecorded.get() && breaker != null) {
+                breaker.onAbandoned();
+            }
+            synchronized (permits) {
+                for (OutboundLimiter.Permit permit : permits) {
+                    permit.release();
+                }
+                permits.clear();
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof CancellationException && cancellation != null) {
+                throw cancellation.cancelledException();
+            }
+            if (cause != null) {
+                throw new CompletionException(cause);
+            }
+            return limited;
+        });
+    }
+
+    private static <T> CompletableFuture<T> tracked(CompletableFuture<T> pending, CancellationToken cancellation) {
+        if (cancellation != null) {
+            cancellation.register(pending);
+            pending.whenComplete((result, error) -> cancellation.unregister(pending));
+        }
+        return pending;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private HostCircuitBreaker circuitBreakerFor(URI uri) {
+        if (!circuitBreakerEnabled) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(hostKey(uri),
+                key -> new HostCircuitBreaker(circuitFailureThreshold, circuitOpenMillis));
+    }
+
+    // 파이프라인 제한을 먼저 통과해야 호스트 제한의 자리를 차지하도록 순서를 유지.
+    // 파이프라인 제한은 파이프라인+호스트 하나에 제한기 하나를 두고, 설정이 바뀌면 대기열을 유지한 채 값만 갱신
+    private List<OutboundLimiter> limitersFor(URI uri, PipelineRateLimit pipelineLimit) {
+        String hostKey = hostKey(uri);
+        OutboundLimitRules.Rule rule = rules != null ? rules.match(uri.getHost(), portOf(uri)) : null;
+        String limitKey = rule != null ? "rule:" + rule.getPattern() : "host:" + hostKey;
+
+        List<OutboundLimiter> chain = new ArrayList<>(2);
+        if (pipelineLimit != null) {
+            String pipelineKey = "pipeline:" + pipelineLimit.getPipelineId() + "|" + hostKey;
+            OutboundLimiter pipelineLimiter = limiters.computeIfAbsent(pipelineKey, key -> new OutboundLimiter(
+                    pipelineLimit.getMaxInFlight(), pipelineLimit.getPermitsPerSecond(), burst, limiterTimer));
+            pipelineLimiter.updateLimits(pipelineLimit.getMaxInFlight(), pipelineLimit.getPermitsPerSecond());
+            chain.add(pipelineLimiter);
+        }
+        chain.add(limiters.computeIfAbsent(limitKey, key -> rule != null
+                ? new OutboundLimiter(rule.getMaxInFlight(), rule.getPermitsPerSecond(), burst, limiterTimer)
+                : new OutboundLimiter(maxConnectionsPerHost, defaultRequestsPerSecond, burst, limiterTimer)));
+        return chain;
+    }
+
+    // 취소 가능한 요청은 sendAsync 의 future 를 취소해서 진행 중인 교환을 중단
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler,
+                                     CancellationToken cancellation) throws IOException, InterruptedException {
+        if (cancellation == null) {
+            return httpClient.send(request, bodyHandler);
+        }
+        CompletableFuture<HttpResponse<T>> pending = httpClient.sendAsync(request, bodyHandler);
+        cancellation.register(pending);
+        try {
+            return pending.get();
+        } catch (CancellationException e) {
+            throw cancellation.cancelledException();
+        } catch (InterruptedException e) {
+            pending.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            cancellation.unregister(pending);
+        }
+    }
+
+    private static OutboundLimiter.Permit await(CompletableFuture<OutboundLimiter.Permit> pending,
+                                                CancellationToken cancellation) throws InterruptedException {
+        if (cancellation != null) {
+            cancellation.register(pending);
+        }
+        try {
+            return pending.get();
+        } catch (CancellationException e) {
+            throw cancellation != null ? cancellation.cancelledException() : e;
+        } catch (InterruptedException e) {
+            // 이미 허가된 뒤 취소에 실패하면 받은 허가를 반납
+            if (!pending.cancel(false)) {
+                pending.join().release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Outbound limiter failed", e.getCause());
+        } finally {
+            if (cancellation != null) {
+                cancellation.unregister(pending);
+            }
+        }
+    }
+
+    private HttpRequest withCookies(HttpRequest request, ExecutionCookieJar cookieJar) throws IOException {
+        if (cookieJar == null) {
+            return request;
+        }
+        String explicitCookie = request.headers().firstValue("Cookie").orElse(null);
+        String cookieHeader = cookieJar.cookieHeader(request.uri(), explicitCookie);
+        if (cookieHeader == null || cookieHeader.equals(explicitCookie)) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> !"cookie".equalsIgnoreCase(name))
+                .header("Cookie", cookieHeader)
+                .build();
+    }
+
+    static String hostKey(URI uri) {
+        return uri.getHost() + ":" + portOf(uri);
+    }
+
+    private static int portOf(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return port;
+    }
+}
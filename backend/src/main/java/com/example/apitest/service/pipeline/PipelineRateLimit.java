@@ -0,0 +1,47 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.Pipeline;
+
+/**
+ * 파이프라인 단위 호출 제한. 같은 파이프라인의 모든 실행(큐, 데이터셋 행, 부하 테스트)이 호스트별로 함께 적용받으며,
+ * 전역 호스트 제한보다 먼저 확인된다.
+ */
+public final class PipelineRateLimit {
+
+    private final Long pipelineId;
+    private final int maxInFlight;
+    private final double permitsPerSecond;
+
+    public PipelineRateLimit(Long pipelineId, int maxInFlight, double permitsPerSecond) {
+        this.pipelineId = pipelineId;
+        this.maxInFlight = maxInFlight;
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * 파이프라인에 제한이 설정되어 있지 않으면 null.
+     */
+    public static PipelineRateLimit of(Pipeline pipeline) {
+        if (pipeline == null) {
+            return null;
+        }
+        int maxInFlight = pipeline.getMaxConcurrentRequests() != null ? pipeline.getMaxConcurrentRequests() : 0;
+        double permitsPerSecond = pipeline.getMaxRequestsPerSecond() != null ? pipeline.getMaxRequestsPerSecond() : 0;
+        if (maxInFlight <= 0 && permitsPerSecond <= 0) {
+            return null;
+        }
+        return new PipelineRateLimit(pipeline.getId(), maxInFlight, permitsPerSecond);
+    }
+
+    public Long getPipelineId() {
+        return pipelineId;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+
+/**
+ * 렌더링이 끝난 스텝 요청. 실행 기록(requestData)에 남길 값도 함께 보관한다.
+ */
+public final class PreparedStepRequest {
+
+    private final HttpRequest request;
+    private final String url;
+    private final String method;
+    private final Map<String, String> headers;
+    private final String body;
+
+    PreparedStepRequest(HttpRequest request, String url, String method, Map<String, String> headers, String body) {
+        this.request = request;
+        this.url = url;
+        this.method = method;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public HttpRequest getRequest() {
+        return request;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * StepExecution.requestData 형식의 JSON ({url, method, headers, body}).
+     */
+    public String toRequestData(ObjectMapper objectMapper) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+            "url", url,
+            "method", method,
+            "headers", headers,
+            "body", body != null ? body : ""
+        ));
+    }
+}
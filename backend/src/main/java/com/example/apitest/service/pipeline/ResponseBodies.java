@@ -0,0 +1,37 @@
+package com.example.apitest.service.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 스트리밍으로 읽은 응답 본문 정리.
+ *
+ * JDK HttpClient 는 본문을 끝까지 읽지 않고 닫은 HTTP/1.1 커넥션을 풀에 돌려주지 않고 끊는다. 추출이 일찍 끝난 응답은
+ * 남은 본문을 읽어서 커넥션을 재사용하되, 남은 양이 상한을 넘으면 읽지 않고 닫는 편이(새 커넥션 비용이) 싸다.
+ */
+public final class ResponseBodies {
+
+    private ResponseBodies() {
+    }
+
+    /**
+     * 남은 본문을 최대 maxBytes 까지 읽고 버린다.
+     *
+     * @return 스트림 끝까지 읽었으면 true (커넥션 재사용 가능), 상한을 넘어 중단했으면 false
+     */
+    public static boolean drain(InputStream body, long maxBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = Math.max(0, maxBytes);
+        while (true) {
+            // 상한까지 읽은 뒤에는 한 바이트만 더 읽어서 끝인지 확인
+            int n = body.read(buffer, 0, (int) Math.min(buffer.length, Math.max(1, remaining)));
+            if (n < 0) {
+                return true;
+            }
+            remaining -= n;
+            if (remaining < 0) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.apitest.service.pipeline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스텝 실행 기록에 남길 요청/응답 본문의 범위를 정한다.
+ *
+ * <ul>
+ *   <li>FULL: 응답 본문을 max-bytes 까지 기록</li>
+ *   <li>ERRORS_ONLY: 실패 응답(4xx/5xx)만 본문을 기록하고, 성공 응답은 상태와 헤더만 기록</li>
+ *   <li>HEADERS_ONLY: 항상 상태와 헤더만 기록</li>
+ * </ul>
+ * 한도를 넘는 본문은 잘라내고 끝에 잘림 표시를 붙인다.
+ */
+@Component
+public class ResponseCapturePolicy {
+
+    public enum Mode {
+        FULL,
+        HEADERS_ONLY,
+        ERRORS_ONLY
+    }
+
+    @Value("${pipeline.capture.mode:FULL}")
+    private Mode mode = Mode.FULL;
+
+    @Value("${pipeline.capture.max-bytes:262144}")
+    private int maxBytes = 262144;
+
+    public ResponseCapturePolicy() {
+    }
+
+    public ResponseCapturePolicy(Mode mode, int maxBytes) {
+        this.mode = mode;
+        this.maxBytes = maxBytes;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean capturesBody(int statusCode) {
+        switch (mode) {
+            case HEADERS_ONLY:
+                return false;
+            case ERRORS_ONLY:
+                return statusCode >= 400;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * 기록할 응답 내용. 본문을 기록하지 않는 경우 상태 줄과 헤더를 반환한다.
+     *
+     * @param bodyTruncated 본문이 이미 일부만 읽힌 경우 (스트리밍 추출)
+     * @param bytesRead     읽은 본문 크기, 모르면 -1
+     */
+    public String captureResponse(int statusCode, HttpHeaders headers, String body, boolean bodyTruncated, long bytesRead) {
+        if (!capturesBody(statusCode)) {
+            return headersSummary(statusCode, headers);
+        }
+        return truncate(body, bodyTruncated, bytesRead);
+    }
+
+    /**
+     * max-bytes (UTF-8 기준) 를 넘는 텍스트를 잘라내고 잘림 표시를 붙인다.
+     */
+    public String truncate(String text) {
+        return truncate(text, false, -1);
+    }
+
+    private String truncate(String text, boolean alreadyTruncated, long bytesRead) {
+        if (text == null) {
+            return null;
+        }
+        if ((long) text.length() * 3 <= maxBytes) {
+            return alreadyTruncated ? text + truncationMarker(bytesRead) : text;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return alreadyTruncated ? text + truncationMarker(bytesRead) : text;
+        }
+        int cut = maxBytes;
+        // 멀티바이트 문자 중간에서 자르지 않도록 문자 시작 위치로 이동
+        while (cut > 0 && (bytes[cut] & 0xC0) == 0x80) {
+            cut--;
+        }
+        return new String(bytes, 0, cut, StandardCharsets.UTF_8)
+                + truncationMarker(alreadyTruncated ? bytesRead : bytes.length);
+    }
+
+    private static String truncationMarker(long bytesRead) {
+        return bytesRead >= 0
+                ? "\n... [truncated, " + bytesRead + " bytes read]"
+                : "\n... [truncated]";
+    }
+
+    static String headersSummary(int statusCode, HttpHeaders headers) {
+        StringBuilder summary = new StringBuilder("HTTP ").append(statusCode);
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.map().entrySet()) {
+                for (String value : header.getValue()) {
+                    summary.append('\n').append(header.getKey()).append(": ").append(value);
+                }
+            }
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텝 재시도 정책 (PipelineStep.retryPolicy, JSON).
+ *
+ * 예) {"maxAttempts": 3, "backoffMs": 200, "maxBackoffMs": 5000, "multiplier": 2, "jitter": 0.5,
+ *      "retryOn": [429, 502, 503, 504], "retryNonIdempotent": false}
+ *
+ * 재시도 대상은 retryOn 에 있는 HTTP 상태와 연결/타임아웃 같은 I/O 오류이며, 회로가 열려서 호출하지 않은 경우는 제외한다.
+ * 기본적으로 멱등 메서드(GET, HEAD, OPTIONS, PUT, DELETE)만 재시도한다.
+ * 대기 시간은 backoffMs * multiplier^(시도-1) 을 maxBackoffMs 로 자른 뒤 jitter 비율만큼 무작위로 줄인다.
+ */
+public final class RetryPolicy {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, 1, 0, Collections.emptySet(), false);
+
+    private static final Set<Integer> DEFAULT_RETRY_ON = Set.of(408, 429, 502, 503, 504);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    private static final int MAX_ATTEMPTS_LIMIT = 10;
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final double multiplier;
+    private final double jitter;
+    private final Set<Integer> retryOn;
+    private final boolean retryNonIdempotent;
+
+    private RetryPolicy(int maxAttempts, long backoffMs, long maxBackoffMs, double multiplier, double jitter,
+                        Set<Integer> retryOn, boolean retryNonIdempotent) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryOn = retryOn;
+        this.retryNonIdempotent = retryNonIdempotent;
+    }
+
+    /**
+     * 비어 있으면 NONE.
+     *
+     * @throws IllegalArgumentException JSON 이 아니거나 값이 범위를 벗어난 경우
+     */
+    public static RetryPolicy parse(String source, ObjectMapper objectMapper) {
+        if (source == null || source.trim().isEmpty()) {
+            return NONE;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(source);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid retry policy: " + e.getMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Retry policy must be a JSON object");
+        }
+        int maxAttempts = node.path("maxAttempts").asInt(1);
+        if (maxAttempts < 1 || maxAttempts > MAX_ATTEMPTS_LIMIT) {
+            throw new IllegalArgumentException("maxAttempts must be between 1 and " + MAX_ATTEMPTS_LIMIT);
+        }
+        long backoffMs = Math.max(0, node.path("backoffMs").asLong(200));
+        long maxBackoffMs = Math.max(backoffMs, node.path("maxBackoffMs").asLong(10_000));
+        double multiplier = Math.max(1, node.path("multiplier").asDouble(2));
+        double jitter = Math.min(1, Math.max(0, node.path("jitter").asDouble(0.5)));
+        Set<Integer> retryOn = DEFAULT_RETRY_ON;
+        if (node.has("retryOn")) {
+            retryOn = new HashSet<>();
+            for (JsonNode status : node.get("retryOn")) {
+                retryOn.add(status.asInt());
+            }
+        }
+        boolean retryNonIdempotent = node.path("retryNonIdempotent").asBoolean(false);
+        return new RetryPolicy(maxAttempts, backoffMs, maxBackoffMs, multiplier, jitter,
+                Collections.unmodifiableSet(retryOn), retryNonIdempotent);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 실패한 시도를 다시 할지 여부.
+     *
+     * @param httpStatus 응답을 받은 경우 상태 코드, 요청이 실패했으면 null
+     * @param error      시도 중 발생한 예외
+     */
+    public boolean shouldRetry(int attempt, String method, Integer httpStatus, Exception error) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        if (!retryNonIdempotent && (method == null || !IDEMPOTENT_METHODS.contains(method.toUpperCase(Locale.ROOT)))) {
+            return false;
+        }
+        if (httpStatus != null) {
+            return retryOn.contains(httpStatus);
+        }
+        return error instanceof IOException && !(error instanceof CircuitOpenException);
+    }
+
+    /**
+     * attempt 번째 시도가 실패한 뒤 기다릴 시간 (밀리초).
+     */
+    public long backoffMillis(int attempt) {
+        double delay = Math.min(maxBackoffMs, backoffMs * Math.pow(multiplier, attempt - 1));
+        if (jitter > 0) {
+            delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return Math.max(0, Math.round(delay));
+    }
+}
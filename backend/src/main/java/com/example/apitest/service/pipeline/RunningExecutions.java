@@ -0,0 +1,78 @@
+package com.example.apitest.service.pipeline;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이 서버에서 실행 중인 파이프라인 실행의 취소 토큰 목록.
+ *
+ * 취소 요청은 토큰을 통해 진행 중인 요청을 중단시키고, 파이프라인 제한 시간은 타이머가 같은 토큰을 취소해서 처리한다.
+ */
+@Component
+public class RunningExecutions {
+
+    private final Map<Long, Registration> running = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService deadlineTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ExecutionDeadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param timeoutSeconds 파이프라인 제한 시간 (null 또는 0 이하이면 없음)
+     */
+    public CancellationToken register(Long executionId, Integer timeoutSeconds) {
+        if (timeoutSeconds == null || timeoutSeconds <= 0) {
+            CancellationToken token = CancellationToken.none();
+            running.put(executionId, new Registration(token, null));
+            return token;
+        }
+        CancellationToken token = new CancellationToken(System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds));
+        ScheduledFuture<?> deadline = deadlineTimer.schedule(() -> token.cancel(CancellationToken.Reason.DEADLINE_EXCEEDED,
+                "Pipeline timed out after " + timeoutSeconds + "s"), timeoutSeconds, TimeUnit.SECONDS);
+        running.put(executionId, new Registration(token, deadline));
+        return token;
+    }
+
+    public void unregister(Long executionId) {
+        Registration registration = running.remove(executionId);
+        if (registration != null && registration.deadline != null) {
+            registration.deadline.cancel(false);
+        }
+    }
+
+    /**
+     * @return 이 서버에서 실행 중이어서 취소 신호를 보냈으면 true
+     */
+    public boolean cancel(Long executionId, String message) {
+        Registration registration = running.get(executionId);
+        if (registration == null) {
+            return false;
+        }
+        registration.token.cancel(CancellationToken.Reason.CANCELLED, message);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlineTimer.shutdownNow();
+    }
+
+    private static final class Registration {
+        private final CancellationToken token;
+        private final ScheduledFuture<?> deadline;
+
+        private Registration(CancellationToken token, ScheduledFuture<?> deadline) {
+            this.token = token;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.apitest.service.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 스텝 간 의존 관계 그래프.
+ *
+ * 각 스텝이 템플릿에서 참조하는 {{변수}}를, 앞선 스텝들 중 그 키를 추출(dataExtractions)하는 가장 가까운 스텝과 연결한다.
+ * dependsOn 이 지정된 스텝은 추론 대신 지정된 스텝에만 의존한다. 의존은 항상 stepOrder 상 앞선 스텝만 가리키므로
+ * 순환이 생기지 않는다.
+ */
+public final class StepDependencyGraph {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[][] dependencies;
+    private final int[][] dependents;
+
+    private StepDependencyGraph(int[][] dependencies, int[][] dependents) {
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    /**
+     * @param steps stepOrder 순서의 스텝 목록
+     * @throws IllegalArgumentException dependsOn 이 없는 스텝이나 뒤에 실행되는 스텝을 가리키는 경우
+     */
+    public static StepDependencyGraph build(List<StepNode> steps) {
+        int size = steps.size();
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indexById.put(steps.get(i).stepId, i);
+        }
+
+        int[][] dependencies = new int[size][];
+        List<List<Integer>> dependents = new ArrayList<>(size);
+        // 변수 키 -> 그 키를 마지막으로 추출한 스텝
+        Map<String, Integer> latestProvider = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            dependents.add(new ArrayList<>());
+            StepNode step = steps.get(i);
+            Set<Integer> found = new TreeSet<>();
+            if (step.explicitDependencies != null) {
+                for (Long dependencyId : step.explicitDependencies) {
+                    Integer index = indexById.get(dependencyId);
+                    if (index == null) {
+                        throw new IllegalArgumentException("Step " + step.stepId + " depends on unknown step " + dependencyId);
+                    }
+                    if (index >= i) {
+                        throw new IllegalArgumentException("Step " + step.stepId + " depends on step " + dependencyId
+                                + " which does not run before it");
+                    }
+                    found.add(index);
+                }
+            } else {
+                for (String reference : step.references) {
+                    Integer provider = latestProvider.get(reference);
+                    if (provider != null) {
+                        found.add(provider);
+                    }
+                }
+            }
+            dependencies[i] = toArray(found);
+            for (String key : step.provides) {
+                latestProvider.put(key, i);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int dependency : dependencies[i]) {
+                dependents.get(dependency).add(i);
+            }
+        }
+        int[][] dependentArrays = new int[size][];
+        for (int i = 0; i < size; i++) {
+            dependentArrays[i] = toArray(dependents.get(i));
+        }
+        return new StepDependencyGraph(dependencies, dependentArrays);
+    }
+
+    public int size() {
+        return dependencies.length;
+    }
+
+    /**
+     * 스텝 i 가 기다려야 하는 스텝 인덱스 (오름차순).
+     */
+    public int[] dependenciesOf(int index) {
+        return dependencies[index];
+    }
+
+    /**
+     * 스텝 i 가 끝나야 시작할 수 있는 스텝 인덱스 (오름차순).
+     */
+    public int[] dependentsOf(int index) {
+        return dependents[index];
+    }
+
+    /**
+     * 가장 긴 의존 사슬의 스텝 수. 모든 스텝이 같은 시간이 걸린다면 병렬 실행 시간은 이 길이에 비례한다.
+     */
+    public int criticalPathLength() {
+        int[] depth = new int[size()];
+        int longest = 0;
+        for (int i = 0; i < size(); i++) {
+            int d = 0;
+            for (int dependency : dependencies[i]) {
+                d = Math.max(d, depth[dependency]);
+            }
+            depth[i] = d + 1;
+            longest = Math.max(longest, depth[i]);
+        }
+        return longest;
+    }
+
+    /**
+     * dependsOn 컬럼 값("12,15")을 스텝 id 목록으로 변환한다. null 이면 null (추론 사용), 빈 문자열이면 빈 목록.
+     */
+    public static List<Long> parseStepIds(String value) {
+        if (value == null) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                try {
+                    ids.add(Long.parseLong(trimmed));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid step id in dependsOn: " + trimmed);
+                }
+            }
+        }
+        return ids;
+    }
+
+    public static String formatStepIds(List<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder();
+        for (Long id : ids) {
+            if (value.length() > 0) {
+                value.append(',');
+            }
+            value.append(id);
+        }
+        return value.toString();
+    }
+
+    private static int[] toArray(Collection<Integer> values) {
+        if (values.isEmpty()) {
+            return NONE;
+        }
+        int[] array = new int[values.size()];
+        int i = 0;
+        for (Integer value : values) {
+            array[i++] = value;
+        }
+        return array;
+    }
+
+    /**
+     * 그래프 구성을 위한 스텝 정보.
+     */
+    public static final class StepNode {
+        private final Long stepId;
+        private final Set<String> references;
+        private final Set<String> provides;
+        private final List<Long> explicitDependencies;
+
+        /**
+         * @param references           템플릿이 참조하는 변수 이름
+         * @param provides             이 스텝이 추출하는 키
+         * @param explicitDependencies 지정된 의존 스텝 id (null 이면 추론)
+         */
+        public StepNode(Long stepId, Set<String> references, Set<String> provides, List<Long> explicitDependencies) {
+            this.stepId = stepId;
+            this.references = references != null ? references : Collections.emptySet();
+            this.provides = provides != null ? provides : Collections.emptySet();
+            this.explicitDependencies = explicitDependencies;
+        }
+    }
+}
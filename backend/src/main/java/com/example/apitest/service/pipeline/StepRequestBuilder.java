@@ -0,0 +1,119 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.ApiItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ApiItem 의 템플릿을 실행 컨텍스트로 렌더링해서 HttpRequest 를 만든다.
+ *
+ * 일반 파이프라인 실행과 부하 테스트가 같은 방식(헤더, Content-Type 추정, GET 쿼리 파라미터)으로 요청을 구성하도록
+ * 요청 준비 과정을 한 곳에 모아 둔다. 모든 요청에는 응답 헤더를 기다리는 제한 시간이 설정된다.
+ */
+@Component
+public class StepRequestBuilder {
+
+    @Autowired
+    private TemplateEngine templateEngine;
+
+    @Value("${pipeline.http.request-timeout-ms:30000}")
+    private long defaultTimeoutMs;
+
+    public StepRequestBuilder() {
+    }
+
+    public StepRequestBuilder(TemplateEngine templateEngine, long defaultTimeoutMs) {
+        this.templateEngine = templateEngine;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    public PreparedStepRequest prepare(ApiItem apiItem, Map<String, Object> executionContext) throws IOException {
+        return prepare(apiItem, executionContext, null);
+    }
+
+    /**
+     * @param timeout 요청 제한 시간, null 이면 pipeline.http.request-timeout-ms
+     */
+    public PreparedStepRequest prepare(ApiItem apiItem, Map<String, Object> executionContext, Duration timeout) throws IOException {
+        // Prepare request from the cached, pre-compiled templates of this ApiItem
+        return prepare(templateEngine.templatesFor(apiItem), apiItem.getMethod().toString().toUpperCase(), executionContext, timeout);
+    }
+
+    /**
+     * 실행 계획(PipelineExecutionPlan)에 컴파일해 둔 템플릿으로 요청을 만든다.
+     */
+    public PreparedStepRequest prepare(ApiItemTemplates templates, String method, Map<String, Object> executionContext,
+                                       Duration timeout) {
+        String url = templateEngine.render(templates.getUrl(), executionContext);
+        
+        // Build request headers
+        Map<String, String> headerMap = new LinkedHashMap<>();
+        for (Map.Entry<String, CompiledTemplate> header : templates.getHeaders().entrySet()) {
+            headerMap.put(header.getKey(), templateEngine.render(header.getValue(), executionContext));
+        }
+        
+        // Prepare body
+        String bodyString = null;
+        if (templates.getBody() != null) {
+            bodyString = templateEngine.render(templates.getBody(), executionContext);
+            
+            // Set content type if not already set; resolved at compile time unless it depends on the rendered values
+            if (!headerMap.containsKey("Content-Type") && !headerMap.containsKey("content-type")) {
+                String contentType = templates.getBodyContentType();
+                headerMap.put("Content-Type", contentType != null ? contentType : templateEngine.guessContentType(bodyString));
+            }
+        }
+        
+        // Handle query parameters for GET requests
+        if ("GET".equals(method) && !templates.getParams().isEmpty()) {
+            StringBuilder urlWithParams = new StringBuilder(url);
+            
+            // Only add parameters if there are any
+            boolean hasParams = false;
+            
+            for (Map.Entry<String, CompiledTemplate> entry : templates.getParams().entrySet()) {
+                String value = templateEngine.render(entry.getValue(), executionContext);
+                
+                // Skip empty parameters
+                if (value != null && !value.trim().isEmpty()) {
+                    if (!hasParams) {
+                        urlWithParams.append("?");
+                        hasParams = true;
+                    } else {
+                        urlWithParams.append("&");
+                    }
+                    urlWithParams.append(entry.getKey()).append("=").append(value);
+                }
+            }
+            
+            url = urlWithParams.toString();
+        }
+        
+        // Build HttpRequest
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(timeout != null ? timeout : Duration.ofMillis(defaultTimeoutMs));
+        
+        // Add headers
+        for (Map.Entry<String, String> header : headerMap.entrySet()) {
+            requestBuilder.header(header.getKey(), header.getValue());
+        }
+        
+        // Add body for non-GET requests
+        if (!"GET".equals(method) && bodyString != null) {
+            requestBuilder.method(method, HttpRequest.BodyPublishers.ofString(bodyString));
+        } else {
+            requestBuilder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        
+        return new PreparedStepRequest(requestBuilder.build(), url, method, headerMap, bodyString);
+    }
+}
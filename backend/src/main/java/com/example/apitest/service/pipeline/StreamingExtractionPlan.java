@@ -0,0 +1,190 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 추출 규칙을 JsonParser 로 스트리밍 평가하기 위한 경로 트리.
+ *
+ * 규칙들의 단순 경로(JsonPathExpression.getSimplePath)를 하나의 트리로 합쳐 두고, 응답을 토큰 단위로
+ * 읽으면서 트리에 없는 하위 구조는 skipChildren 으로 건너뛴다. 대상 값은 해당 서브트리만 JsonNode 로 읽는다.
+ * 중복 키는 트리 평가(ObjectNode)와 같이 마지막 값을 쓰므로, 모든 대상을 찾은 뒤에도 나머지 입력을 끝까지 읽는다.
+ */
+final class StreamingExtractionPlan {
+
+    private final PathNode root = new PathNode();
+
+    private StreamingExtractionPlan() {
+    }
+
+    /**
+     * 모든 규칙이 단순 경로일 때만 계획을 만든다. 하나라도 아니면 null (트리 평가로 대체).
+     */
+    static StreamingExtractionPlan build(Map<String, JsonPathExpression> rules) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        StreamingExtractionPlan plan = new StreamingExtractionPlan();
+        for (Map.Entry<String, JsonPathExpression> rule : rules.entrySet()) {
+            List<Object> path = rule.getValue().getSimplePath();
+            if (path == null) {
+                return null;
+            }
+            plan.add(rule.getKey(), path);
+        }
+        return plan;
+    }
+
+    private void add(String ruleName, List<Object> path) {
+        root.rules.add(ruleName);
+        List<PathNode> level = List.of(root);
+        for (Object token : path) {
+            List<PathNode> next = new ArrayList<>(level.size());
+            for (PathNode node : level) {
+                node.children(token, next);
+            }
+            for (PathNode node : next) {
+                node.rules.add(ruleName);
+            }
+            level = next;
+        }
+        for (PathNode node : level) {
+            node.targets.add(ruleName);
+        }
+    }
+
+    /**
+     * 입력 스트림에서 규칙별 값을 추출한다. 스트림은 닫지 않으며, 최상위 값의 끝까지 읽는다.
+     */
+    Map<String, Object> extract(InputStream in, ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> extracted = new HashMap<>();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == null) {
+                return extracted;
+            }
+            new Walk(parser, extracted).visit(root);
+        }
+        return extracted;
+    }
+
+    private static final class Walk {
+        private final JsonParser parser;
+        private final Map<String, Object> extracted;
+
+        Walk(JsonParser parser, Map<String, Object> extracted) {
+            this.parser = parser;
+            this.extracted = extracted;
+        }
+
+        // parser 는 방문할 값의 첫 토큰에 위치해 있다
+        void visit(PathNode node) throws IOException {
+            // 중복 키로 같은 경로를 다시 만나면 앞의 값으로 추출한 결과는 버림 (트리 평가와 같이 마지막 값이 남음)
+            for (String ruleName : node.rules) {
+                extracted.remove(ruleName);
+            }
+
+            if (!node.targets.isEmpty()) {
+                // 이 위치가 규칙의 대상이면 서브트리만 읽어서 이 노드 이하의 모든 규칙을 한 번에 평가
+                JsonNode value = parser.readValueAsTree();
+                collect(node, value);
+                return;
+            }
+
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT && !node.fields.isEmpty()) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    PathNode child = node.fields.get(parser.currentName());
+                    parser.nextToken();
+                    if (child == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    visit(child);
+                }
+            } else if (token == JsonToken.START_ARRAY && !node.indexes.isEmpty()) {
+                int index = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    PathNode child = node.indexes.get(index++);
+                    if (child == null) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    visit(child);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        private void collect(PathNode node, JsonNode value) {
+            for (String ruleName : node.targets) {
+                Object extractedValue = JsonPathExpression.toValue(value);
+                if (extractedValue != null) {
+                    extracted.put(ruleName, extractedValue);
+                }
+            }
+            if (value == null) {
+                return;
+            }
+            if (value.isObject()) {
+                for (Map.Entry<String, PathNode> child : node.fields.entrySet()) {
+                    JsonNode childValue = value.get(child.getKey());
+                    if (childValue != null) {
+                        collect(child.getValue(), childValue);
+                    }
+                }
+            } else if (value.isArray()) {
+                for (Map.Entry<Integer, PathNode> child : node.indexes.entrySet()) {
+                    if (child.getKey() < value.size()) {
+                        collect(child.getValue(), value.get(child.getKey()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class PathNode {
+        private final Map<String, PathNode> fields = new HashMap<>();
+        private final Map<Integer, PathNode> indexes = new HashMap<>();
+        private final List<String> targets = new ArrayList<>(1);
+        // 이 노드 이하(자신 포함)가 대상인 규칙
+        private final Set<String> rules = new HashSet<>();
+
+        void children(Object token, List<PathNode> out) {
+            if (token instanceof Integer) {
+                out.add(indexes.computeIfAbsent((Integer) token, key -> new PathNode()));
+                return;
+            }
+            String name = (String) token;
+            out.add(fields.computeIfAbsent(name, key -> new PathNode()));
+            if (isIndex(name)) {
+                // 기존 점 표기의 숫자 세그먼트는 객체 키와 배열 인덱스 양쪽에 대응
+                out.add(indexes.computeIfAbsent(Integer.parseInt(name), key -> new PathNode()));
+            }
+        }
+
+        private static boolean isIndex(String name) {
+            if (name.isEmpty() || name.length() > 9) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                if (!Character.isDigit(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
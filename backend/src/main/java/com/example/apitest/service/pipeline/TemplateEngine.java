@@ -0,0 +1,152 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.ApiItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파이프라인 스텝에서 사용하는 템플릿 컴파일러 / 캐시.
+ *
+ * ApiItem의 템플릿 필드는 (id, updatedAt) 기준으로 한 번만 컴파일되고, 이후 실행에서는
+ * 캐시된 세그먼트 목록을 렌더링만 한다. 치환 과정 로그는 TRACE 레벨에서만 출력된다.
+ *
+ * Content-Type 이 없는 본문은 컴파일할 때 JSON 여부를 판단해 둔다. 변수가 없으면 본문 그대로,
+ * '{' 나 '[' 리터럴로 시작하는 JSON 형태이면 변수를 0 으로 채워서 파싱해 보고, 그 외에는 요청마다 판단한다.
+ */
+@Component
+public class TemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateEngine.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, ApiItemTemplates> cache = new ConcurrentHashMap<>();
+
+    // 본문 타입 판단용: 모든 변수를 숫자 0 으로 렌더링
+    private static final Map<String, Object> PROBE_CONTEXT = new AbstractMap<String, Object>() {
+        @Override
+        public Object get(Object key) {
+            return 0;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return Collections.emptySet();
+        }
+    };
+
+    /**
+     * ApiItem의 컴파일된 템플릿을 반환한다. ApiItem이 수정되면(updatedAt 변경) 다시 컴파일한다.
+     */
+    public ApiItemTemplates templatesFor(ApiItem apiItem) throws IOException {
+        if (apiItem.getId() == null) {
+            return compile(apiItem);
+        }
+        ApiItemTemplates cached = cache.get(apiItem.getId());
+        if (cached != null && Objects.equals(cached.getUpdatedAt(), apiItem.getUpdatedAt())) {
+            return cached;
+        }
+        ApiItemTemplates compiled = compile(apiItem);
+        cache.put(apiItem.getId(), compiled);
+        return compiled;
+    }
+
+    public ApiItemTemplates compile(ApiItem apiItem) throws IOException {
+        CompiledTemplate body = null;
+        String bodyContentType = null;
+        if (apiItem.getRequestBody() != null && !apiItem.getRequestBody().trim().isEmpty()) {
+            body = CompiledTemplate.compile(apiItem.getRequestBody());
+            bodyContentType = bodyContentTypeOf(body);
+        }
+        return new ApiItemTemplates(
+                apiItem.getId(),
+                apiItem.getUpdatedAt(),
+                CompiledTemplate.compile(apiItem.getUrl()),
+                compileJsonFields(apiItem.getRequestHeaders()),
+                compileJsonFields(apiItem.getRequestParams()),
+                body,
+                bodyContentType);
+    }
+
+    /**
+     * Content-Type 헤더가 없을 때 쓸 본문 타입. 렌더링 결과에 따라 달라질 수 있으면 null.
+     */
+    public String guessContentType(String renderedBody) {
+        try {
+            objectMapper.readValue(renderedBody, Object.class);
+            return "application/json";
+        } catch (Exception e) {
+            return "text/plain";
+        }
+    }
+
+    private String bodyContentTypeOf(CompiledTemplate body) {
+        if (!body.hasVariables()) {
+            return guessContentType(body.getSource());
+        }
+        String source = body.getSource().trim();
+        // "{{payload}}" 처럼 변수로 시작하는 본문은 값에 따라 달라짐
+        if ((source.startsWith("{") && !source.startsWith("{{")) || source.startsWith("[")) {
+            String probe = body.render(PROBE_CONTEXT, objectMapper);
+            if ("application/json".equals(guessContentType(probe))) {
+                return "application/json";
+            }
+        }
+        return null;
+    }
+
+    public void evict(Long apiItemId) {
+        if (apiItemId != null) {
+            cache.remove(apiItemId);
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public String render(CompiledTemplate template, Map<String, Object> context) {
+        if (template == null) {
+            return null;
+        }
+        String result = template.render(context, objectMapper);
+        if (logger.isTraceEnabled() && template.hasVariables()) {
+            logger.trace("Template rendered: variables={}, available={}, result={}",
+                    template.getVariableNames(), context.keySet(), result);
+        }
+        return result;
+    }
+
+    /**
+     * 임시 문자열 템플릿 렌더링 (캐시하지 않음).
+     */
+    public String render(String template, Map<String, Object> context) {
+        return render(CompiledTemplate.compile(template), context);
+    }
+
+    private Map<String, CompiledTemplate> compileJsonFields(String json) throws IOException {
+        Map<String, CompiledTemplate> fields = new LinkedHashMap<>();
+        if (json == null || json.trim().isEmpty()) {
+            return fields;
+        }
+        JsonNode node = objectMapper.readTree(json);
+        Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> entry = iterator.next();
+            fields.put(entry.getKey(), CompiledTemplate.compile(entry.getValue().asText()));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.apitest.service.pipeline;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 스텝 템플릿이 참조하는 변수 저장소. 바뀌지 않는 Map 이며, 값을 더하면 새 스코프를 돌려준다.
+ *
+ * 이름 규칙:
+ * <ul>
+ *   <li>{@code name}: 가장 최근에 추출된 값 (앞선 모든 스텝의 값이 남고 나중 값이 우선), 없으면 데이터셋 행의 값</li>
+ *   <li>{@code steps.<스텝 순서>.name}: 해당 스텝이 추출한 값</li>
+ *   <li>{@code dataset.name}: 실행을 시작한 데이터셋 행(초기 컨텍스트)의 값</li>
+ *   <li>{@code pipeline.id}, {@code pipeline.name}, {@code execution.id}: 실행 정보</li>
+ *   <li>{@code env.name}: 서버 설정(pipeline.variables)의 값</li>
+ * </ul>
+ *
+ * 내부는 해시 배열 매핑 트라이(HAMT)라서 값을 더할 때 바뀌는 경로의 노드(최대 7단계)만 복사하고 나머지는
+ * 이전 스코프와 공유한다. 스텝마다 컨텍스트 맵을 통째로 복사하지 않고, 조회는 키 해시로 노드를 따라가는 상수 시간이다.
+ * 바뀌지 않으므로 병렬 스텝과 스레드 사이에 그대로 넘겨도 된다.
+ */
+public final class VariableScope extends AbstractMap<String, Object> {
+
+    public static final String STEP_PREFIX = "steps.";
+    public static final String DATASET_PREFIX = "dataset.";
+    public static final String ENV_PREFIX = "env.";
+
+    public static final VariableScope EMPTY = new VariableScope(BitmapNode.EMPTY, 0);
+
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node root;
+    private final int size;
+
+    private VariableScope(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static VariableScope of(Map<String, ?> variables) {
+        return EMPTY.withAll(variables);
+    }
+
+    public VariableScope with(String name, Object value) {
+        boolean[] added = new boolean[1];
+        Node updated = root.put(name, name.hashCode(), value, 0, added);
+        return updated == root ? this : new VariableScope(updated, added[0] ? size + 1 : size);
+    }
+
+    public VariableScope withAll(Map<String, ?> variables) {
+        return withPrefixed("", variables);
+    }
+
+    /**
+     * 모든 이름 앞에 prefix 를 붙여 더한다 (예: env., dataset.).
+     */
+    public VariableScope withPrefixed(String prefix, Map<String, ?> variables) {
+        if (variables == null || variables.isEmpty()) {
+            return this;
+        }
+        VariableScope scope = this;
+        for (Map.Entry<String, ?> entry : variables.entrySet()) {
+            scope = scope.with(prefix.isEmpty() ? entry.getKey() : prefix + entry.getKey(), entry.getValue());
+        }
+        return scope;
+    }
+
+    /**
+     * 스텝이 추출한 값을 이름 그대로, 그리고 steps.<stepOrder>. 접두어를 붙여 더한다.
+     */
+    public VariableScope withStep(Integer stepOrder, Map<String, ?> extractedData) {
+        if (extractedData == null || extractedData.isEmpty()) {
+            return this;
+        }
+        VariableScope scope = withAll(extractedData);
+        return stepOrder != null ? scope.withPrefixed(STEP_PREFIX + stepOrder + ".", extractedData) : scope;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = lookup(key);
+        return value == NOT_FOUND ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return lookup(key) != NOT_FOUND;
+    }
+
+    private Object lookup(Object key) {
+        if (!(key instanceof String)) {
+            return NOT_FOUND;
+        }
+        String name = (String) key;
+        return root.get(name, name.hashCode(), 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                List<Entry<String, Object>> entries = new ArrayList<>(size);
+                root.forEach((name, value) -> entries.add(new SimpleImmutableEntry<>(name, value)));
+                return entries.iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private interface Node {
+        Object get(String key, int hash, int shift);
+
+        Node put(String key, int hash, Object value, int shift, boolean[] added);
+
+        void forEach(BiConsumer<String, Object> action);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    /**
+     * 해시 5비트마다 한 단계. 칸은 (키, 값) 쌍이거나, 키가 null 이면 (null, 하위 노드).
+     */
+    private static final class BitmapNode implements Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object get(String key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int idx = index(bit);
+            Object storedKey = slots[2 * idx];
+            Object storedValue = slots[2 * idx + 1];
+            if (storedKey == null) {
+                return ((Node) storedValue).get(key, hash, shift + 5);
+            }
+            return key.equals(storedKey) ? storedValue : NOT_FOUND;
+        }
+
+        @Override
+        public Node put(String key, int hash, Object value, int shift, boolean[] added) {
+            int bit = bit(hash, shift);
+            int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, copy, 0, 2 * idx);
+                copy[2 * idx] = key;
+                copy[2 * idx + 1] = value;
+                System.arraycopy(slots, 2 * idx, copy, 2 * idx + 2, slots.length - 2 * idx);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object storedKey = slots[2 * idx];
+            Object storedValue = slots[2 * idx + 1];
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node updated = child.put(key, hash, value, shift + 5, added);
+                return updated == child ? this : withSlot(idx, null, updated);
+            }
+            if (key.equals(storedKey)) {
+                return value == storedValue ? this : withSlot(idx, storedKey, value);
+            }
+            added[0] = true;
+            return withSlot(idx, null, pair((String) storedKey, storedValue, key, hash, value, shift + 5));
+        }
+
+        private BitmapNode withSlot(int idx, Object key, Object value) {
+            Object[] copy = slots.clone();
+            copy[2 * idx] = key;
+            copy[2 * idx + 1] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, Object> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).forEach(action);
+                } else {
+                    action.accept((String) slots[i], slots[i + 1]);
+                }
+            }
+        }
+    }
+
+    private static Node pair(String key1, Object value1, String key2, int hash2, Object value2, int shift) {
+        int hash1 = key1.hashCode();
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+        }
+        boolean[] ignored = new boolean[1];
+        return BitmapNode.EMPTY.put(key1, hash1, value1, shift, ignored).put(key2, hash2, value2, shift, ignored);
+    }
+
+    /**
+     * 해시가 같은 서로 다른 키들.
+     */
+    private static final class CollisionNode implements Node {
+        private final int hash;
+        private final Object[] entries;
+
+        private CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        public Object get(String key, int hash, int shift) {
+            if (hash == this.hash) {
+                for (int i = 0; i < entries.length; i += 2) {
+                    if (key.equals(entries[i])) {
+                        return entries[i + 1];
+                    }
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        public Node put(String key, int hash, Object value, int shift, boolean[] added) {
+            if (hash != this.hash) {
+                BitmapNode parent = new BitmapNode(bit(this.hash, shift), new Object[] { null, this });
+                return parent.put(key, hash, value, shift, added);
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                if (key.equals(entries[i])) {
+                    if (value == entries[i + 1]) {
+                        return this;
+                    }
+                    Object[] copy = entries.clone();
+                    copy[i + 1] = value;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            Object[] copy = new Object[entries.length + 2];
+            System.arraycopy(entries, 0, copy, 0, entries.length);
+            copy[entries.length] = key;
+            copy[entries.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public void forEach(BiConsumer<String, Object> action) {
+            for (int i = 0; i < entries.length; i += 2) {
+                action.accept((String) entries[i], entries[i + 1]);
+            }
+        }
+    }
+}
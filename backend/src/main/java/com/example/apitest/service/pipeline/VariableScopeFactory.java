@@ -0,0 +1,67 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.Pipeline;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 실행의 첫 스텝이 받는 VariableScope 를 만든다.
+ *
+ * env 스코프는 application.yml 의 pipeline.variables 값(대상 서버 주소처럼 여러 파이프라인이 함께 쓰는 값)으로,
+ * 시작할 때 한 번 읽어 모든 실행이 같은 노드를 공유한다.
+ */
+@Component
+public class VariableScopeFactory {
+
+    @Autowired
+    private Environment environment;
+
+    private volatile VariableScope environmentScope = VariableScope.EMPTY;
+
+    public VariableScopeFactory() {
+    }
+
+    public VariableScopeFactory(Map<String, String> environmentVariables) {
+        this.environmentScope = VariableScope.EMPTY.withPrefixed(VariableScope.ENV_PREFIX, environmentVariables);
+    }
+
+    @PostConstruct
+    void bindEnvironmentVariables() {
+        Map<String, String> variables = Binder.get(environment)
+                .bind("pipeline.variables", Bindable.mapOf(String.class, String.class))
+                .orElse(Collections.emptyMap());
+        environmentScope = VariableScope.EMPTY.withPrefixed(VariableScope.ENV_PREFIX, variables);
+    }
+
+    /**
+     * 파이프라인/실행 정보와 초기 컨텍스트(데이터셋 행)를 담은 스코프. 초기 컨텍스트는 이름 그대로와 dataset. 접두어로 들어간다.
+     */
+    public VariableScope forExecution(Pipeline pipeline, Long executionId, Map<String, Object> initialContext) {
+        VariableScope scope = forPipeline(pipeline);
+        if (executionId != null) {
+            scope = scope.with("execution.id", executionId);
+        }
+        return scope.withPrefixed(VariableScope.DATASET_PREFIX, initialContext).withAll(initialContext);
+    }
+
+    /**
+     * 기록되는 실행이 없는 경우 (부하 테스트 반복).
+     */
+    public VariableScope forPipeline(Pipeline pipeline) {
+        VariableScope scope = environmentScope;
+        if (pipeline != null) {
+            scope = scope.with("pipeline.id", pipeline.getId());
+            if (pipeline.getName() != null) {
+                scope = scope.with("pipeline.name", pipeline.getName());
+            }
+        }
+        return scope;
+    }
+}
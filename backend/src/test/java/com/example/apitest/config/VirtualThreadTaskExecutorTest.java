@@ -0,0 +1,139 @@
+package com.example.apitest.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadTaskExecutorTest {
+
+    private VirtualThreadTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void testConcurrentTasksAreBoundedByMaxConcurrent() throws Exception {
+        executor = new VirtualThreadTaskExecutor("Test-", 3, 100, 5);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(3, maxRunning.get());
+        // 마지막 작업의 finally 이후 카운터가 줄어들 때까지 잠깐 기다림
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, executor.getPendingCount());
+    }
+
+    @Test
+    void testTaskIsRejectedWhenPendingExceedsLimit() throws Exception {
+        // 실행 2 + 대기 1 까지 받음
+        executor = new VirtualThreadTaskExecutor("Test-", 2, 1, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        Runnable blocking = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executor.execute(blocking);
+        executor.execute(blocking);
+        executor.execute(blocking);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(3, executor.getPendingCount());
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+        assertEquals(3, executor.getPendingCount());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, executor.getPendingCount());
+        // 자리가 비면 다시 받음
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDestroyInterruptsRunningTasksAndRejectsNewOnes() throws Exception {
+        executor = new VirtualThreadTaskExecutor("Test-", 1, 10, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        // 자리를 기다리는 작업
+        executor.execute(() -> { });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        executor.destroy();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, executor.getPendingCount());
+    }
+
+    @Test
+    void testDestroyWaitsForRunningTasksWithinAwaitTermination() throws Exception {
+        executor = new VirtualThreadTaskExecutor("Test-", 2, 10, 5);
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(50);
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        executor.destroy();
+
+        assertEquals(4, completed.get());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.apitest.controller;
+
+import com.example.apitest.config.ApiKeyAuthenticationFilter;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.mapper.PipelineMapper;
+import com.example.apitest.service.ActivityLoggingService;
+import com.example.apitest.service.ApiKeyService;
+import com.example.apitest.service.AuthService;
+import com.example.apitest.service.DatasetRunService;
+import com.example.apitest.service.FolderRunService;
+import com.example.apitest.service.LoadTestService;
+import com.example.apitest.service.PipelineExecutionService;
+import com.example.apitest.service.PipelineService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PipelineController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class PipelineControllerTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PipelineService pipelineService;
+
+    @MockBean
+    private PipelineExecutionService pipelineExecutionService;
+
+    @MockBean
+    private DatasetRunService datasetRunService;
+
+    @MockBean
+    private FolderRunService folderRunService;
+
+    @MockBean
+    private LoadTestService loadTestService;
+
+    @MockBean
+    private PipelineMapper pipelineMapper;
+
+    @MockBean
+    private ActivityLoggingService activityLoggingService;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockBean
+    private ApiKeyService apiKeyService;
+
+    @MockBean
+    private ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+
+    @Test
+    void testGetStepExecutionBodies() throws Exception {
+        StepExecution stepExecution = new StepExecution();
+        stepExecution.setId(7L);
+        when(pipelineExecutionService.getStepExecution(1L, 7L)).thenReturn(stepExecution);
+        when(pipelineMapper.requestDataOf(stepExecution)).thenReturn("{\"method\":\"GET\"}");
+        when(pipelineMapper.responseDataOf(stepExecution)).thenReturn("{\"status\":200}");
+
+        mockMvc.perform(get("/api/pipelines/executions/1/steps/7/bodies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestData").value("{\"method\":\"GET\"}"))
+                .andExpect(jsonPath("$.responseData").value("{\"status\":200}"));
+    }
+
+    @Test
+    void testGetStepExecutionBodiesOfAnotherExecutionIsNotFound() throws Exception {
+        when(pipelineExecutionService.getStepExecution(2L, 7L))
+                .thenThrow(new RuntimeException("Step execution 7 does not belong to execution 2"));
+
+        mockMvc.perform(get("/api/pipelines/executions/2/steps/7/bodies"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(pipelineMapper);
+    }
+
+    @Test
+    void testGetExecutionBodyByHash() throws Exception {
+        when(pipelineExecutionService.getExecutionBody(1L, HASH)).thenReturn("{\"status\":\"UP\"}");
+
+        mockMvc.perform(get("/api/pipelines/executions/1/bodies/" + HASH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value("{\"status\":\"UP\"}"));
+    }
+
+    @Test
+    void testGetExecutionBodyWithUnknownHashIsNotFound() throws Exception {
+        when(pipelineExecutionService.getExecutionBody(1L, HASH))
+                .thenThrow(new RuntimeException("Body " + HASH + " does not belong to execution 1"));
+
+        mockMvc.perform(get("/api/pipelines/executions/1/bodies/" + HASH))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.DatasetRun;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.repository.DatasetRunRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+// 공통 준비(setUp)의 스텁을 모든 테스트가 쓰지는 않음
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DatasetRunServiceTest {
+
+    @Mock
+    private DatasetRunRepository datasetRunRepository;
+
+    @Mock
+    private PipelineRepository pipelineRepository;
+
+    @Mock
+    private PipelineExecutionPlanCache planCache;
+
+    @Mock
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    @Mock
+    private PipelineExecutionService pipelineExecutionService;
+
+    @InjectMocks
+    private DatasetRunService datasetRunService;
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService rowExecutor = Executors.newFixedThreadPool(8);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final AtomicLong successfulRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final AtomicReference<DatasetRun.RunStatus> finishedStatus = new AtomicReference<>();
+    private final AtomicReference<String> finishedError = new AtomicReference<>();
+    private final AtomicLong finishedRows = new AtomicLong(-1);
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(datasetRunService, "datasetCoordinatorExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(datasetRunService, "datasetRowExecutor", rowExecutor);
+        ReflectionTestUtils.setField(datasetRunService, "uploadDir", tempDir.resolve("uploads").toString());
+        ReflectionTestUtils.setField(datasetRunService, "baseDir", tempDir.toString());
+        ReflectionTestUtils.setField(datasetRunService, "defaultConcurrency", 4);
+        ReflectionTestUtils.setField(datasetRunService, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(datasetRunService, "maxInFlight", 1000);
+
+        PipelineExecutionPlan plan = mock(PipelineExecutionPlan.class);
+        when(plan.isEmpty()).thenReturn(false);
+        when(plan.size()).thenReturn(1);
+        when(planCache.planFor(1L)).thenReturn(plan);
+        when(pipelineRepository.findById(1L)).thenReturn(Optional.of(new Pipeline()));
+        when(datasetRunRepository.save(any(DatasetRun.class))).thenAnswer(invocation -> {
+            DatasetRun run = invocation.getArgument(0);
+            run.setId(7L);
+            return run;
+        });
+        when(pipelineExecutionRepository.save(any(PipelineExecution.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(datasetRunRepository.recordRowResult(eq(7L), anyLong(), anyLong())).thenAnswer(invocation -> {
+            successfulRows.addAndGet(invocation.getArgument(1));
+            failedRows.addAndGet(invocation.getArgument(2));
+            return 1;
+        });
+        when(datasetRunRepository.finish(eq(7L), any(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            finishedStatus.set(invocation.getArgument(1));
+            finishedRows.set(invocation.getArgument(2));
+            finishedError.set(invocation.getArgument(3));
+            finished.countDown();
+            return 1;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        rowExecutor.shutdownNow();
+    }
+
+    @Test
+    void testRowsRunWithinConcurrencyAndResultsAreCounted() throws Exception {
+        // 짝수 행은 실패
+        when(pipelineExecutionService.runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    int now = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(now, Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    PipelineExecution execution = invocation.getArgument(0);
+                    Map<String, Object> row = invocation.getArgument(2);
+                    execution.setStatus(Integer.parseInt((String) row.get("id")) % 2 == 0
+                            ? PipelineExecution.ExecutionStatus.FAILED : PipelineExecution.ExecutionStatus.COMPLETED);
+                    return execution;
+                });
+
+        datasetRunService.startUploadedRun(1L, csvUpload(20), 3);
+
+        assertEquals(DatasetRun.RunStatus.COMPLETED, finishedStatus.get(), finishedError.get());
+        assertEquals(20, finishedRows.get());
+        assertEquals(10, successfulRows.get());
+        assertEquals(10, failedRows.get());
+        assertTrue(maxRunning.get() <= 3, "rows running at once: " + maxRunning.get());
+        assertTrue(maxRunning.get() > 1, "rows did not run concurrently");
+        verify(pipelineExecutionService, times(20)).runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap());
+    }
+
+    @Test
+    void testUploadedFileIsDeletedWhenRunEnds() throws Exception {
+        when(pipelineExecutionService.runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    PipelineExecution execution = invocation.getArgument(0);
+                    execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+                    return execution;
+                });
+
+        DatasetRun run = datasetRunService.startUploadedRun(1L, csvUpload(3), 2);
+
+        assertEquals(DatasetRun.RunStatus.COMPLETED, finishedStatus.get());
+        assertFalse(Files.exists(Path.of(run.getFilePath())));
+    }
+
+    @Test
+    void testUploadedFileIsDeletedWhenRunCannotStart() throws Exception {
+        when(pipelineRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> datasetRunService.startUploadedRun(2L, csvUpload(3), 2));
+
+        try (var files = Files.list(tempDir.resolve("uploads"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testReferencedFileIsKept() throws Exception {
+        Path dataset = tempDir.resolve("users.csv");
+        Files.writeString(dataset, csv(2));
+        when(pipelineExecutionService.runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    PipelineExecution execution = invocation.getArgument(0);
+                    execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+                    return execution;
+                });
+
+        datasetRunService.startReferencedRun(1L, "users.csv", 1);
+
+        assertEquals(DatasetRun.RunStatus.COMPLETED, finishedStatus.get());
+        assertTrue(Files.exists(dataset));
+    }
+
+    @Test
+    void testStoppedCoordinatorStopsReadingAndWaitsForStartedRows() throws Exception {
+        ExecutorService coordinator = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(datasetRunService, "datasetCoordinatorExecutor", coordinator);
+        CountDownLatch rowsStarted = new CountDownLatch(2);
+        CountDownLatch releaseRows = new CountDownLatch(1);
+        when(pipelineExecutionService.runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    rowsStarted.countDown();
+                    releaseRows.await(10, TimeUnit.SECONDS);
+                    PipelineExecution execution = invocation.getArgument(0);
+                    execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+                    return execution;
+                });
+
+        DatasetRun run = datasetRunService.startUploadedRun(1L, csvUpload(100), 2);
+        assertTrue(rowsStarted.await(10, TimeUnit.SECONDS));
+        // 코디네이터는 세 번째 행의 permit 을 기다리는 중: 종료(인터럽트)하면 더 읽지 않음
+        coordinator.shutdownNow();
+        Thread.sleep(100);
+        assertEquals(1, finished.getCount(), "run finished before its started rows");
+        releaseRows.countDown();
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(DatasetRun.RunStatus.FAILED, finishedStatus.get());
+        assertTrue(finishedError.get().startsWith("Dataset run interrupted"), finishedError.get());
+        assertEquals(2, successfulRows.get());
+        assertEquals(0, failedRows.get());
+        verify(pipelineExecutionService, times(2)).runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap());
+        assertTrue(coordinator.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(Files.exists(Path.of(run.getFilePath())));
+    }
+
+    private static MockMultipartFile csvUpload(int rows) {
+        return new MockMultipartFile("file", "users.csv", "text/csv", csv(rows).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append(i).append(",user-").append(i).append('\n');
+        }
+        return csv.toString();
+    }
+}
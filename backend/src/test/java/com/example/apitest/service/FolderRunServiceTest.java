@@ -0,0 +1,212 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.FolderRun;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.PipelineFolder;
+import com.example.apitest.repository.FolderRunRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineFolderRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.repository.StepExecutionRepository;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+// 공통 준비(setUp)의 스텁을 모든 테스트가 쓰지는 않음
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class FolderRunServiceTest {
+
+    private static final Long FOLDER_ID = 1L;
+
+    @Mock
+    private FolderRunRepository folderRunRepository;
+
+    @Mock
+    private PipelineFolderRepository pipelineFolderRepository;
+
+    @Mock
+    private PipelineRepository pipelineRepository;
+
+    @Mock
+    private PipelineExecutionPlanCache planCache;
+
+    @Mock
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    @Mock
+    private StepExecutionRepository stepExecutionRepository;
+
+    @Mock
+    private PipelineExecutionService pipelineExecutionService;
+
+    @InjectMocks
+    private FolderRunService folderRunService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService folderRunExecutor = Executors.newFixedThreadPool(8);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Set<Long> startedPipelines = ConcurrentHashMap.newKeySet();
+    private final AtomicLong executionIds = new AtomicLong();
+    private final AtomicInteger successfulPipelines = new AtomicInteger();
+    private final AtomicInteger failedPipelines = new AtomicInteger();
+    private final AtomicReference<FolderRun.RunStatus> finishedStatus = new AtomicReference<>();
+    private final AtomicReference<String> finishedReport = new AtomicReference<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(folderRunService, "folderRunExecutor", folderRunExecutor);
+        ReflectionTestUtils.setField(folderRunService, "defaultConcurrency", 4);
+        ReflectionTestUtils.setField(folderRunService, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(folderRunService, "maxActiveRuns", 1);
+        ReflectionTestUtils.setField(folderRunService, "maxInFlight", 1000);
+        folderRunService.initActiveRuns();
+
+        PipelineFolder folder = new PipelineFolder();
+        folder.setId(FOLDER_ID);
+        folder.setName("Smoke");
+        when(pipelineFolderRepository.findById(FOLDER_ID)).thenReturn(Optional.of(folder));
+        when(folderRunRepository.save(any(FolderRun.class))).thenAnswer(invocation -> {
+            FolderRun run = invocation.getArgument(0);
+            run.setId(5L);
+            run.setStartedAt(LocalDateTime.now());
+            return run;
+        });
+        when(pipelineExecutionRepository.save(any(PipelineExecution.class))).thenAnswer(invocation -> {
+            PipelineExecution execution = invocation.getArgument(0);
+            execution.setId(executionIds.incrementAndGet());
+            return execution;
+        });
+        when(folderRunRepository.recordPipelineResult(eq(5L), anyInt(), anyInt())).thenAnswer(invocation -> {
+            successfulPipelines.addAndGet(invocation.getArgument(1));
+            failedPipelines.addAndGet(invocation.getArgument(2));
+            return 1;
+        });
+        when(folderRunRepository.finish(eq(5L), any(), any(), any(), any())).thenAnswer(invocation -> {
+            finishedStatus.set(invocation.getArgument(1));
+            finishedReport.set(invocation.getArgument(2));
+            finished.countDown();
+            return 1;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        folderRunExecutor.shutdownNow();
+    }
+
+    @Test
+    void testLanesBoundConcurrencyAndFailuresDoNotStopOtherPipelines() throws Exception {
+        pipelines(1L, 2L, 3L, 4L, 5L, 6L);
+        // 2번은 실행 중 예외, 3번은 FAILED 로 끝남
+        when(pipelineExecutionService.runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    PipelineExecution execution = invocation.getArgument(0);
+                    Long pipelineId = execution.getPipeline().getId();
+                    startedPipelines.add(pipelineId);
+                    int now = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(now, Math::max);
+                    try {
+                        Thread.sleep(30);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    if (pipelineId == 2L) {
+                        throw new IllegalStateException("connection refused");
+                    }
+                    execution.setStatus(pipelineId == 3L
+                            ? PipelineExecution.ExecutionStatus.FAILED : PipelineExecution.ExecutionStatus.COMPLETED);
+                    return execution;
+                });
+
+        FolderRun run = folderRunService.startRun(FOLDER_ID, 2);
+
+        assertEquals(2, run.getConcurrency());
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), startedPipelines);
+        assertTrue(maxRunning.get() <= 2, "pipelines running at once: " + maxRunning.get());
+        assertEquals(2, maxRunning.get(), "lanes did not run concurrently");
+        assertEquals(4, successfulPipelines.get());
+        assertEquals(2, failedPipelines.get());
+        // 파이프라인 실패는 report 에만 남고 폴더 실행은 COMPLETED
+        assertEquals(FolderRun.RunStatus.COMPLETED, finishedStatus.get());
+        JsonNode report = objectMapper.readTree(finishedReport.get());
+        assertEquals(6, report.get("pipelines").get("total").asInt());
+        assertEquals(4, report.get("pipelines").get("passed").asInt());
+        assertEquals(2, report.get("pipelines").get("failed").asInt());
+    }
+
+    @Test
+    void testPipelineWithoutStepsIsSkippedAndLaneMovesOn() throws Exception {
+        pipelines(1L, 2L, 3L);
+        PipelineExecutionPlan empty = mock(PipelineExecutionPlan.class);
+        when(empty.isEmpty()).thenReturn(true);
+        when(planCache.planFor(2L)).thenReturn(empty);
+        when(pipelineExecutionService.runExecution(any(PipelineExecution.class), any(PipelineExecutionPlan.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    PipelineExecution execution = invocation.getArgument(0);
+                    startedPipelines.add(execution.getPipeline().getId());
+                    execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+                    return execution;
+                });
+
+        folderRunService.startRun(FOLDER_ID, 1);
+
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(Set.of(1L, 3L), startedPipelines);
+        assertEquals(2, successfulPipelines.get());
+        assertEquals(0, failedPipelines.get());
+        assertEquals(FolderRun.RunStatus.COMPLETED, finishedStatus.get());
+        JsonNode report = objectMapper.readTree(finishedReport.get());
+        assertEquals(1, report.get("pipelines").get("skipped").asInt());
+    }
+
+    private void pipelines(Long... ids) {
+        List<Pipeline> pipelines = new ArrayList<>();
+        for (Long id : ids) {
+            Pipeline pipeline = new Pipeline();
+            pipeline.setId(id);
+            pipeline.setName("Pipeline " + id);
+            pipelines.add(pipeline);
+
+            PipelineExecutionPlan plan = mock(PipelineExecutionPlan.class);
+            when(plan.size()).thenReturn(1);
+            when(planCache.planFor(id)).thenReturn(plan);
+        }
+        when(pipelineRepository.findByIsActiveTrueAndFolderIdOrderByOrderIndexAsc(FOLDER_ID)).thenReturn(pipelines);
+        when(stepExecutionRepository.findByExecutionIdOrderByStepOrder(anyLong())).thenReturn(Collections.emptyList());
+    }
+}
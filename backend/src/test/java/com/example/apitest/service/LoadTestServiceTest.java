@@ -0,0 +1,126 @@
+package com.example.apitest.service;
+
+import com.example.apitest.dto.pipeline.request.StartLoadTestRequest;
+import com.example.apitest.entity.LoadTestRun;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.repository.LoadTestRunRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.service.pipeline.ExecutionEventPublisher;
+import com.example.apitest.service.pipeline.LoadIterationRunner;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+// 공통 준비(setUp)의 실행 계획 스텁을 쓰지 않는 검증 실패 테스트가 있음
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoadTestServiceTest {
+
+    @Mock
+    private LoadTestRunRepository loadTestRunRepository;
+
+    @Mock
+    private PipelineRepository pipelineRepository;
+
+    @Mock
+    private PipelineExecutionPlanCache planCache;
+
+    @Mock
+    private LoadIterationRunner loadIterationRunner;
+
+    @Mock
+    private ExecutionEventPublisher executionEventPublisher;
+
+    @InjectMocks
+    private LoadTestService loadTestService;
+
+    @BeforeEach
+    void setUp() {
+        // 세션을 호출 스레드에서 끝까지 실행
+        ReflectionTestUtils.setField(loadTestService, "loadTestExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(loadTestService, "maxVirtualUsers", 10);
+        ReflectionTestUtils.setField(loadTestService, "maxRps", 100.0);
+        ReflectionTestUtils.setField(loadTestService, "maxDurationSeconds", 10);
+        ReflectionTestUtils.setField(loadTestService, "reportIntervalMs", 100L);
+
+        PipelineStep step = new PipelineStep();
+        step.setStepOrder(1);
+        step.setStepName("Login");
+        PipelineExecutionPlan plan = mock(PipelineExecutionPlan.class);
+        when(plan.isEmpty()).thenReturn(false);
+        when(plan.size()).thenReturn(1);
+        when(plan.getSteps()).thenReturn(List.of(step));
+        when(planCache.planFor(1L)).thenReturn(plan);
+        when(pipelineRepository.findById(1L)).thenReturn(Optional.of(new Pipeline()));
+        when(loadTestRunRepository.save(any(LoadTestRun.class))).thenAnswer(invocation -> {
+            LoadTestRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1L);
+            }
+            return run;
+        });
+    }
+
+    @Test
+    void testVirtualUserKeepsRunningAfterIterationThrows() throws Exception {
+        when(loadIterationRunner.runIteration(any(), any(), any(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("Template rendering failed"))
+                .thenReturn(true);
+        StartLoadTestRequest request = new StartLoadTestRequest();
+        request.setVirtualUsers(1);
+        request.setDurationSeconds(1);
+        request.setPacingMs(50);
+
+        LoadTestRun run = loadTestService.start(1L, request);
+
+        assertEquals(LoadTestRun.RunStatus.COMPLETED, run.getStatus());
+        assertNull(run.getErrorMessage());
+        assertEquals(1L, run.getFailedIterations());
+        assertTrue(run.getIterations() > 1, "virtual user stopped after the failed iteration");
+        verify(loadIterationRunner, atLeast(2)).runIteration(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testArrivalThatThrowsIsCountedAsFailedIteration() throws Exception {
+        when(loadIterationRunner.runIteration(any(), any(), any(), anyLong(), any()))
+                .thenThrow(new IllegalStateException("Template rendering failed"))
+                .thenReturn(true);
+        StartLoadTestRequest request = new StartLoadTestRequest();
+        request.setVirtualUsers(2);
+        request.setTargetRps(20.0);
+        request.setDurationSeconds(1);
+
+        LoadTestRun run = loadTestService.start(1L, request);
+
+        assertEquals(LoadTestRun.RunStatus.COMPLETED, run.getStatus());
+        assertEquals(1L, run.getFailedIterations());
+        assertTrue(run.getIterations() > 1);
+    }
+
+    @Test
+    void testClosedModelWithoutVirtualUsersIsRejected() {
+        StartLoadTestRequest request = new StartLoadTestRequest();
+        request.setDurationSeconds(1);
+
+        assertThrows(IllegalArgumentException.class, () -> loadTestService.start(1L, request));
+        verify(loadTestRunRepository, never()).save(any(LoadTestRun.class));
+        verifyNoInteractions(loadIterationRunner);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.ApiFolder;
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.repository.ApiFolderRepository;
+import com.example.apitest.repository.ApiItemRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.repository.PipelineStepRepository;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비동기 엔진(pipeline.engine.mode=async)의 스텝 체인: 정상 완료, 스텝 실패 전파, 실행 중 취소.
+ * JDK 내장 HttpServer 스텁의 /ok, /fail, /slow 를 호출하는 파이프라인을 만들어 runExecutionAsync 로 실행한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:async-engine;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "pipeline.engine.mode=async",
+        "pipeline.http.fixtures.mode=off"
+})
+public class PipelineAsyncEngineTest {
+
+    @Autowired
+    private PipelineExecutionService pipelineExecutionService;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Autowired
+    private ApiFolderRepository apiFolderRepository;
+
+    @Autowired
+    private ApiItemRepository apiItemRepository;
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    private HttpServer server;
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final CountDownLatch slowRequestArrived = new CountDownLatch(1);
+    private Long executionId;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testChainCompletesAndPassesExtractedData() throws Exception {
+        PipelineExecutionPlan plan = planFor("/ok", "/ok?token={{token}}", "/ok");
+
+        PipelineExecution execution = run(plan).get(10, TimeUnit.SECONDS);
+
+        assertEquals(PipelineExecution.ExecutionStatus.COMPLETED, execution.getStatus());
+        assertEquals(3, execution.getSuccessfulSteps());
+        assertEquals(0, execution.getFailedSteps());
+        assertEquals(1, hits.get("/ok?token=abc").get());
+        List<StepExecution> steps = pipelineExecutionService.getStepExecutions(execution.getId());
+        assertEquals(3, steps.size());
+        assertTrue(steps.stream().allMatch(step -> step.getStatus() == StepExecution.StepStatus.SUCCESS));
+        assertEquals(PipelineExecution.ExecutionStatus.COMPLETED,
+                pipelineExecutionService.getExecutionStatus(execution.getId()).getStatus());
+    }
+
+    @Test
+    void testFailedStepFailsExecutionWithoutRunningLaterSteps() throws Exception {
+        PipelineExecutionPlan plan = planFor("/ok", "/fail", "/ok?after=fail");
+
+        // 실패해도 future 는 예외 없이 최종 상태로 완료됨
+        PipelineExecution execution = run(plan).get(10, TimeUnit.SECONDS);
+
+        assertEquals(PipelineExecution.ExecutionStatus.FAILED, execution.getStatus());
+        assertTrue(execution.getErrorMessage().startsWith("Step 2 failed"), execution.getErrorMessage());
+        assertEquals(1, execution.getSuccessfulSteps());
+        assertEquals(1, execution.getFailedSteps());
+        assertNull(hits.get("/ok?after=fail"));
+        List<StepExecution> steps = pipelineExecutionService.getStepExecutions(execution.getId());
+        assertEquals(2, steps.size());
+        assertEquals(StepExecution.StepStatus.FAILED, steps.get(1).getStatus());
+        assertEquals(500, steps.get(1).getHttpStatus());
+        assertEquals(PipelineExecution.ExecutionStatus.FAILED,
+                pipelineExecutionService.getExecutionStatus(execution.getId()).getStatus());
+    }
+
+    @Test
+    void testCancelAbortsInFlightRequest() throws Exception {
+        PipelineExecutionPlan plan = planFor("/ok", "/slow", "/ok?after=slow");
+
+        CompletableFuture<PipelineExecution> future = run(plan);
+        assertTrue(slowRequestArrived.await(10, TimeUnit.SECONDS));
+        long cancelledAt = System.nanoTime();
+        pipelineExecutionService.cancelExecution(executionId);
+        PipelineExecution execution = future.get(10, TimeUnit.SECONDS);
+
+        // /slow 는 30초 뒤에 응답하므로 진행 중인 요청이 중단되어야 바로 끝남
+        assertTrue(System.nanoTime() - cancelledAt < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(PipelineExecution.ExecutionStatus.CANCELLED, execution.getStatus());
+        assertNull(hits.get("/ok?after=slow"));
+        List<StepExecution> steps = pipelineExecutionService.getStepExecutions(execution.getId());
+        assertEquals(2, steps.size());
+        assertEquals(StepExecution.StepStatus.FAILED, steps.get(1).getStatus());
+        assertEquals(PipelineExecution.ExecutionStatus.CANCELLED,
+                pipelineExecutionService.getExecutionStatus(execution.getId()).getStatus());
+    }
+
+    @Test
+    void testClaimedExecutionThatCannotBeSetUpIsFailed() throws Exception {
+        PipelineExecutionPlan plan = planFor("/ok");
+        PipelineExecution execution = new PipelineExecution();
+        execution.setPipeline(plan.getPipeline());
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.QUEUED);
+        // 재개할 원래 실행이 없어서 체크포인트를 만들 수 없음
+        execution.setResumedFromId(Long.MAX_VALUE);
+        execution = pipelineExecutionRepository.save(execution);
+
+        CompletableFuture<PipelineExecution> future = pipelineExecutionService.startQueuedExecution(execution.getId());
+
+        assertTrue(future.isCompletedExceptionally());
+        PipelineExecution stored = pipelineExecutionService.getExecutionStatus(execution.getId());
+        assertEquals(PipelineExecution.ExecutionStatus.FAILED, stored.getStatus());
+        assertNotNull(stored.getErrorMessage());
+        assertNotNull(stored.getCompletedAt());
+        assertTrue(hits.isEmpty());
+    }
+
+    private CompletableFuture<PipelineExecution> run(PipelineExecutionPlan plan) {
+        PipelineExecution execution = new PipelineExecution();
+        execution.setPipeline(plan.getPipeline());
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.RUNNING);
+        execution = pipelineExecutionRepository.save(execution);
+        executionId = execution.getId();
+        return pipelineExecutionService.runExecutionAsync(execution, plan, Collections.emptyMap());
+    }
+
+    private PipelineExecutionPlan planFor(String... paths) {
+        ApiFolder folder = new ApiFolder();
+        folder.setName("Async engine");
+        folder = apiFolderRepository.save(folder);
+
+        Pipeline pipeline = new Pipeline();
+        pipeline.setName("Async engine " + String.join(" ", paths));
+        pipeline = pipelineRepository.save(pipeline);
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        for (int i = 0; i < paths.length; i++) {
+            ApiItem apiItem = new ApiItem();
+            apiItem.setName("Step " + (i + 1));
+            apiItem.setMethod(ApiItem.HttpMethod.GET);
+            apiItem.setUrl(baseUrl + paths[i]);
+            apiItem.setFolder(folder);
+            apiItem = apiItemRepository.save(apiItem);
+
+            PipelineStep step = new PipelineStep(pipeline, apiItem, i + 1);
+            step.setStepName("Step " + (i + 1));
+            if (i == 0) {
+                step.setDataExtractions("{\"token\":\"data.token\"}");
+            }
+            pipelineStepRepository.save(step);
+        }
+        return planCache.planFor(pipeline.getId());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().toString();
+        hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        int status = 200;
+        if (path.startsWith("/fail")) {
+            status = 500;
+        } else if (path.startsWith("/slow")) {
+            slowRequestArrived.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        byte[] response = "{\"data\":{\"token\":\"abc\"}}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.apitest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineExecutionQueueTest {
+
+    // 워커 풀 대신 디스패치된 작업을 모아 두기만 한다
+    private final List<Runnable> dispatched = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testConcurrentEnqueueNeverExceedsMaxQueued() throws Exception {
+        PipelineExecutionQueue queue = new PipelineExecutionQueue(null, dispatched::add, 10, 100);
+        int submitters = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < submitters; i++) {
+            long executionId = i + 1;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    queue.enqueue(executionId);
+                    accepted.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10, accepted.get());
+        assertEquals(submitters - 10, rejected.get());
+        assertEquals(10, dispatched.size());
+    }
+
+    @Test
+    void testLeftQueueReleasesSlotOnlyOnce() {
+        PipelineExecutionQueue queue = new PipelineExecutionQueue(null, dispatched::add, 2, 100);
+        queue.enqueue(1L);
+        queue.enqueue(2L);
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(3L));
+
+        // 워커가 가져간 뒤 취소가 겹쳐도 자리는 하나만 돌아온다
+        queue.leftQueue(1L);
+        queue.leftQueue(1L);
+        queue.leftQueue(99L);
+        queue.enqueue(3L);
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(4L));
+    }
+
+    @Test
+    void testRolledBackTransactionReleasesSlotWithoutDispatch() {
+        PipelineExecutionQueue queue = new PipelineExecutionQueue(null, dispatched::add, 1, 100);
+
+        TransactionSynchronizationManager.initSynchronization();
+        queue.enqueue(1L);
+        assertTrue(dispatched.isEmpty());
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertTrue(dispatched.isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        queue.enqueue(2L);
+        assertTrue(dispatched.isEmpty());
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1, dispatched.size());
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(3L));
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
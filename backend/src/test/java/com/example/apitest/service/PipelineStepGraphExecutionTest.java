@@ -0,0 +1,251 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.ApiFolder;
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.entity.StepExecution;
+import com.example.apitest.repository.ApiFolderRepository;
+import com.example.apitest.repository.ApiItemRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.repository.PipelineStepRepository;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * parallelExecution 파이프라인의 스텝 그래프 실행: 병렬 가지의 동시 실행, 실패한 가지 이후 스텝 미실행,
+ * 직접 의존하는 스텝의 추출 값만 보이는 스코프, delayAfter 대기 중 취소.
+ * 스텁 서버는 경로 이름("/b?..." 이면 "b")을 data.token 으로 돌려준다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:step-graph;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "pipeline.http.fixtures.mode=off"
+})
+public class PipelineStepGraphExecutionTest {
+
+    @Autowired
+    private PipelineExecutionService pipelineExecutionService;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Autowired
+    private ApiFolderRepository apiFolderRepository;
+
+    @Autowired
+    private ApiItemRepository apiItemRepository;
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    private HttpServer server;
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final Map<String, Long> hits = new ConcurrentHashMap<>();
+    // /b 와 /c 는 다른 가지(/b, /c, /fail)가 도착할 때까지 기다렸다가 응답한다 (동시에 보내지지 않으면 타임아웃)
+    private final CountDownLatch branchesArrived = new CountDownLatch(2);
+    private final AtomicBoolean branchesOverlapped = new AtomicBoolean(true);
+    private final CountDownLatch firstStepArrived = new CountDownLatch(1);
+    private Long executionId;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testDiamondRunsBranchesInParallelAndScopesDataToDependents() throws Exception {
+        // A -> (B, C) -> D, E 는 C 에만 의존
+        List<PipelineStep> steps = createSteps(
+                "/a", "/b?a={{fromA}}", "/c?a={{fromA}}", "/d?b={{fromB}}&c={{fromC}}", "/e?b={{fromB:none}}&c={{fromC}}");
+        extracts(steps.get(0), "fromA");
+        extracts(steps.get(1), "fromB");
+        extracts(steps.get(2), "fromC");
+        steps.get(0).setDelayAfter(300);
+        dependsOn(steps.get(1), steps.get(0));
+        dependsOn(steps.get(2), steps.get(0));
+        dependsOn(steps.get(3), steps.get(1), steps.get(2));
+        dependsOn(steps.get(4), steps.get(2));
+        pipelineStepRepository.saveAll(steps);
+
+        PipelineExecution execution = run(steps.get(0).getPipeline()).get(20, TimeUnit.SECONDS);
+
+        assertEquals(PipelineExecution.ExecutionStatus.COMPLETED, execution.getStatus(), execution.getErrorMessage());
+        assertEquals(5, execution.getSuccessfulSteps());
+        assertTrue(branchesOverlapped.get(), "B and C were not sent at the same time");
+        // A 의 delayAfter 동안 의존 스텝은 시작되지 않음
+        assertTrue(hits.get("/b?a=a") - hits.get("/a") >= TimeUnit.MILLISECONDS.toNanos(250));
+        assertTrue(hits.get("/c?a=a") - hits.get("/a") >= TimeUnit.MILLISECONDS.toNanos(250));
+        // D 는 두 가지의 값을 모두 보고, E 는 의존하지 않는 B 의 값을 보지 못함
+        assertTrue(hits.containsKey("/d?b=b&c=c"), hits.keySet().toString());
+        assertTrue(hits.containsKey("/e?b=none&c=c"), hits.keySet().toString());
+    }
+
+    @Test
+    void testFailedBranchDoesNotStartItsDependents() throws Exception {
+        List<PipelineStep> steps = createSteps("/a", "/fail", "/c", "/d?after=fail");
+        dependsOn(steps.get(1), steps.get(0));
+        dependsOn(steps.get(2), steps.get(0));
+        dependsOn(steps.get(3), steps.get(1), steps.get(2));
+        pipelineStepRepository.saveAll(steps);
+
+        PipelineExecution execution = run(steps.get(0).getPipeline()).get(20, TimeUnit.SECONDS);
+
+        assertEquals(PipelineExecution.ExecutionStatus.FAILED, execution.getStatus());
+        assertTrue(execution.getErrorMessage().startsWith("Step 2 failed"), execution.getErrorMessage());
+        assertFalse(hits.containsKey("/d?after=fail"));
+        // 이미 보낸 다른 가지는 끝날 때까지 기다려 기록
+        assertTrue(hits.containsKey("/c"));
+        List<StepExecution> stepExecutions = pipelineExecutionService.getStepExecutions(execution.getId());
+        assertEquals(3, stepExecutions.size());
+        assertEquals(2, execution.getSuccessfulSteps());
+        assertEquals(1, execution.getFailedSteps());
+    }
+
+    @Test
+    void testCancelDuringDelayWakesCoordinatorUp() throws Exception {
+        List<PipelineStep> steps = createSteps("/a", "/b");
+        steps.get(0).setDelayAfter(30000);
+        dependsOn(steps.get(1), steps.get(0));
+        pipelineStepRepository.saveAll(steps);
+
+        CompletableFuture<PipelineExecution> future = run(steps.get(0).getPipeline());
+        assertTrue(firstStepArrived.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        long cancelledAt = System.nanoTime();
+        pipelineExecutionService.cancelExecution(executionId);
+        PipelineExecution execution = future.get(10, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - cancelledAt < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(PipelineExecution.ExecutionStatus.CANCELLED, execution.getStatus());
+        assertFalse(hits.containsKey("/b"));
+    }
+
+    private CompletableFuture<PipelineExecution> run(Pipeline pipeline) {
+        PipelineExecutionPlan plan = planCache.planFor(pipeline.getId());
+        assertTrue(plan.runsInParallel());
+        PipelineExecution execution = new PipelineExecution();
+        execution.setPipeline(plan.getPipeline());
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.RUNNING);
+        PipelineExecution saved = pipelineExecutionRepository.save(execution);
+        executionId = saved.getId();
+        // 그래프 실행은 호출 스레드가 조정 스레드가 됨
+        return CompletableFuture.supplyAsync(() ->
+                pipelineExecutionService.runExecution(saved, plan, Collections.emptyMap()));
+    }
+
+    private List<PipelineStep> createSteps(String... paths) {
+        ApiFolder folder = new ApiFolder();
+        folder.setName("Step graph");
+        folder = apiFolderRepository.save(folder);
+
+        Pipeline pipeline = new Pipeline();
+        pipeline.setName("Step graph " + String.join(" ", paths));
+        pipeline.setParallelExecution(true);
+        pipeline = pipelineRepository.save(pipeline);
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        List<PipelineStep> steps = new ArrayList<>();
+        for (int i = 0; i < paths.length; i++) {
+            ApiItem apiItem = new ApiItem();
+            apiItem.setName("Step " + (i + 1));
+            apiItem.setMethod(ApiItem.HttpMethod.GET);
+            apiItem.setUrl(baseUrl + paths[i]);
+            apiItem.setFolder(folder);
+            apiItem = apiItemRepository.save(apiItem);
+
+            PipelineStep step = new PipelineStep(pipeline, apiItem, i + 1);
+            step.setStepName("Step " + (i + 1));
+            steps.add(pipelineStepRepository.save(step));
+        }
+        return steps;
+    }
+
+    private static void extracts(PipelineStep step, String name) {
+        step.setDataExtractions("{\"" + name + "\":\"data.token\"}");
+    }
+
+    private static void dependsOn(PipelineStep step, PipelineStep... dependencies) {
+        List<String> ids = new ArrayList<>();
+        for (PipelineStep dependency : dependencies) {
+            ids.add(String.valueOf(dependency.getId()));
+        }
+        step.setDependsOn(String.join(",", ids));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().toString();
+        hits.put(path, System.nanoTime());
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        String name = exchange.getRequestURI().getPath().substring(1);
+        int status = 200;
+        if (name.equals("fail")) {
+            status = 500;
+            branchesArrived.countDown();
+        } else if (name.equals("a")) {
+            firstStepArrived.countDown();
+        } else if (name.equals("b") || name.equals("c")) {
+            branchesArrived.countDown();
+            try {
+                if (!branchesArrived.await(5, TimeUnit.SECONDS)) {
+                    branchesOverlapped.set(false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        byte[] response = ("{\"data\":{\"token\":\"" + name + "\"}}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.apitest.service;
+
+import com.example.apitest.entity.ApiFolder;
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.repository.ApiFolderRepository;
+import com.example.apitest.repository.ApiItemRepository;
+import com.example.apitest.repository.PipelineExecutionRepository;
+import com.example.apitest.repository.PipelineRepository;
+import com.example.apitest.repository.PipelineStepRepository;
+import com.example.apitest.service.pipeline.PipelineExecutionPlan;
+import com.example.apitest.service.pipeline.PipelineExecutionPlanCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.persistence.EntityManagerFactory;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 파이프라인 엔진 전체 처리량 측정 (Spring 컨텍스트 + 인메모리 H2 + JDK 내장 HttpServer 스텁).
+ *
+ * N 스텝 파이프라인을 만들고 동시 실행 수를 올려 가며 PipelineExecutionService 로 실행한 뒤 단계별로
+ * 초당 실행 수, 스텝 오버헤드 분포, 스텝당 SQL 문 수(Hibernate 통계), 메모리 할당률을 출력한다.
+ * 스텝 오버헤드는 스텁이 응답을 다 보낸 시점부터 같은 실행의 다음 요청이 도착할 때까지의 시간(첫 스텝은 실행 시작부터)으로,
+ * 스텁 지연을 뺀 엔진 비용(추출, 기록, 템플릿, 요청 전송)이다. 할당률은 JVM 전체 기준이라 스텁 할당도 조금 포함된다.
+ *
+ * 기본 test 태스크에서는 제외되며 ./gradlew benchmark --tests '*PipelineThroughputBenchmark' 로 실행한다.
+ * -Dbenchmark.steps=5 -Dbenchmark.latency-ms=5 -Dbenchmark.payload-bytes=2048 -Dbenchmark.concurrency=1,4,16,64
+ * -Dbenchmark.executions=400 -Dbenchmark.warmup-executions=100 로 조정하고, -Dpipeline.engine.mode=async 처럼
+ * 애플리케이션 설정도 바꿀 수 있다. 결과는 build/results/throughput/results.json 에도 남는다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:throughput;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "pipeline.http.fixtures.mode=off"
+})
+public class PipelineThroughputBenchmark {
+
+    private static final String RUN_HEADER = "X-Benchmark-Run";
+
+    private static final int STEPS = Integer.getInteger("benchmark.steps", 5);
+    private static final int LATENCY_MS = Integer.getInteger("benchmark.latency-ms", 5);
+    private static final int PAYLOAD_BYTES = Integer.getInteger("benchmark.payload-bytes", 2048);
+    private static final int EXECUTIONS = Integer.getInteger("benchmark.executions", 400);
+    private static final int WARMUP_EXECUTIONS = Integer.getInteger("benchmark.warmup-executions", 100);
+    private static final List<Integer> CONCURRENCY = Arrays.stream(System.getProperty("benchmark.concurrency", "1,4,16,64").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .collect(Collectors.toList());
+
+    @Autowired
+    private PipelineExecutionService pipelineExecutionService;
+
+    @Autowired
+    private PipelineExecutionPlanCache planCache;
+
+    @Autowired
+    private PipelineRepository pipelineRepository;
+
+    @Autowired
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Autowired
+    private ApiFolderRepository apiFolderRepository;
+
+    @Autowired
+    private ApiItemRepository apiItemRepository;
+
+    @Autowired
+    private PipelineExecutionRepository pipelineExecutionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    void throughputAtIncreasingConcurrency() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        try (StubServer stub = StubServer.start(LATENCY_MS, PAYLOAD_BYTES)) {
+            PipelineExecutionPlan plan = planCache.planFor(createPipeline(stub.baseUrl()).getId());
+            assertEquals(STEPS, plan.size());
+
+            System.out.printf("Pipeline throughput: %d steps, stub latency %d ms, payload %d bytes, engine %s%n",
+                    STEPS, LATENCY_MS, stub.payloadSize(), pipelineExecutionService.isNonBlockingEngine() ? "async" : "sync");
+            runLevel(plan, stub, CONCURRENCY.get(0), WARMUP_EXECUTIONS);
+            System.out.printf("%11s %10s %10s %12s %12s %12s %10s %10s %8s%n", "concurrency", "executions", "exec/s",
+                    "overhead p50", "overhead p99", "finish p99", "sql/step", "alloc MB/s", "failed");
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (int concurrency : CONCURRENCY) {
+                int executions = Math.max(EXECUTIONS, concurrency * 5);
+                stub.resetHistograms();
+                statistics.clear();
+                long allocatedBefore = threads.getTotalThreadAllocatedBytes();
+                long start = System.nanoTime();
+                int failed = runLevel(plan, stub, concurrency, executions);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                long allocated = threads.getTotalThreadAllocatedBytes() - allocatedBefore;
+                Histogram overhead = stub.stepOverhead();
+                Histogram finish = stub.finishOverhead();
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("concurrency", concurrency);
+                result.put("executions", executions);
+                result.put("executionsPerSecond", executions / seconds);
+                result.put("stepOverheadP50Micros", overhead.getValueAtPercentile(50));
+                result.put("stepOverheadP99Micros", overhead.getValueAtPercentile(99));
+                result.put("finishOverheadP99Micros", finish.getValueAtPercentile(99));
+                result.put("sqlStatementsPerStep", (double) statistics.getPrepareStatementCount() / ((long) executions * STEPS));
+                result.put("allocatedBytesPerExecution", allocated / executions);
+                result.put("allocationMBPerSecond", allocated / seconds / (1024 * 1024));
+                result.put("failedExecutions", failed);
+                results.add(result);
+
+                System.out.printf("%11d %10d %10.1f %10d us %10d us %10d us %10.2f %10.1f %8d%n", concurrency, executions,
+                        executions / seconds, overhead.getValueAtPercentile(50), overhead.getValueAtPercentile(99),
+                        finish.getValueAtPercentile(99), result.get("sqlStatementsPerStep"),
+                        result.get("allocationMBPerSecond"), failed);
+                assertEquals(0, failed, "Executions failed at concurrency " + concurrency);
+            }
+            writeResults(stub, results);
+        }
+    }
+
+    /**
+     * concurrency 개의 레인이 executions 개의 실행을 나눠서 하나씩 이어서 실행한다 (FolderRunService 와 같은 방식).
+     *
+     * @return COMPLETED 가 아닌 실행 수
+     */
+    private int runLevel(PipelineExecutionPlan plan, StubServer stub, int concurrency, int executions) {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            CompletableFuture<?>[] lanes = new CompletableFuture<?>[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                lanes[i] = lane(plan, stub, workers, next, executions, failed);
+            }
+            CompletableFuture.allOf(lanes).join();
+            return failed.get();
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> lane(PipelineExecutionPlan plan, StubServer stub, ExecutorService workers,
+                                         AtomicInteger next, int executions, AtomicInteger failed) {
+        int index = next.getAndIncrement();
+        if (index >= executions) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> createExecution(plan), workers)
+                .thenCompose(execution -> {
+                    String runId = String.valueOf(execution.getId());
+                    Map<String, Object> context = Collections.singletonMap("runId", runId);
+                    stub.begin(runId);
+                    CompletableFuture<PipelineExecution> run = pipelineExecutionService.isNonBlockingEngine()
+                            ? pipelineExecutionService.runExecutionAsync(execution, plan, context)
+                            : CompletableFuture.supplyAsync(() -> pipelineExecutionService.runExecution(execution, plan, context), workers);
+                    return run.thenApply(finished -> {
+                        stub.end(runId);
+                        return finished;
+                    });
+                })
+                .handle((execution, error) -> {
+                    if (error != null || execution.getStatus() != PipelineExecution.ExecutionStatus.COMPLETED) {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> lane(plan, stub, workers, next, executions, failed));
+    }
+
+    private PipelineExecution createExecution(PipelineExecutionPlan plan) {
+        PipelineExecution execution = new PipelineExecution();
+        execution.setPipeline(plan.getPipeline());
+        execution.setTotalSteps(plan.size());
+        execution.setStatus(PipelineExecution.ExecutionStatus.RUNNING);
+        return pipelineExecutionRepository.save(execution);
+    }
+
+    /**
+     * 로그인 응답의 토큰과 사용자 ID 를 다음 스텝이 헤더와 본문에 쓰는 일반적인 형태의 POST 스텝 체인.
+     */
+    private Pipeline createPipeline(String baseUrl) {
+        ApiFolder folder = new ApiFolder();
+        folder.setName("Throughput benchmark");
+        folder = apiFolderRepository.save(folder);
+
+        Pipeline pipeline = new Pipeline();
+        pipeline.setName("Throughput benchmark (" + STEPS + " steps)");
+        pipeline = pipelineRepository.save(pipeline);
+
+        for (int i = 1; i <= STEPS; i++) {
+            ApiItem apiItem = new ApiItem();
+            apiItem.setName("Step " + i);
+            apiItem.setMethod(ApiItem.HttpMethod.POST);
+            apiItem.setUrl(baseUrl + "/steps/" + i);
+            apiItem.setRequestHeaders("{\"Content-Type\":\"application/json\",\"Authorization\":\"Bearer {{token:none}}\","
+                    + "\"" + RUN_HEADER + "\":\"{{runId}}\"}");
+            apiItem.setRequestBody("{\"step\":" + i + ",\"userId\":\"{{userId:0}}\",\"note\":\"benchmark\"}");
+            apiItem.setFolder(folder);
+            apiItem = apiItemRepository.save(apiItem);
+
+            PipelineStep step = new PipelineStep(pipeline, apiItem, i);
+            step.setStepName("Step " + i);
+            step.setDataExtractions("{\"token\":\"data.token\",\"userId\":\"$.data.user.id\"}");
+            pipelineStepRepository.save(step);
+        }
+        return pipeline;
+    }
+
+    private void writeResults(StubServer stub, List<Map<String, Object>> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("steps", STEPS);
+        report.put("latencyMs", LATENCY_MS);
+        report.put("payloadBytes", stub.payloadSize());
+        report.put("engine", pipelineExecutionService.isNonBlockingEngine() ? "async" : "sync");
+        report.put("levels", results);
+        Path file = Paths.get("build", "results", "throughput", "results.json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writeValue(file.toFile(), report);
+        System.out.println("Results written to " + file.toAbsolutePath());
+    }
+
+    /**
+     * 지연 시간과 응답 크기를 정할 수 있는 스텁 서버. 실행별로 마지막 응답을 보낸 시각을 기억해 다음 요청까지의 간격을 잰다.
+     */
+    private static final class StubServer implements AutoCloseable {
+
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final int latencyMs;
+        private final byte[] payload;
+        // 실행(runId)별 마지막 응답 완료 시각 (nanoTime), 첫 요청 전에는 실행 시작 시각
+        private final Map<String, Long> lastEventAt = new ConcurrentHashMap<>();
+        private final Recorder stepOverhead = new Recorder(3);
+        private final Recorder finishOverhead = new Recorder(3);
+
+        private StubServer(HttpServer server, int latencyMs, byte[] payload) {
+            this.server = server;
+            this.latencyMs = latencyMs;
+            this.payload = payload;
+        }
+
+        static StubServer start(int latencyMs, int payloadBytes) throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+            StubServer stub = new StubServer(server, latencyMs, payload(payloadBytes));
+            server.createContext("/", stub::handle);
+            server.setExecutor(stub.executor);
+            server.start();
+            return stub;
+        }
+
+        private static byte[] payload(int payloadBytes) {
+            StringBuilder items = new StringBuilder();
+            String prefix = "{\"data\":{\"token\":\"eyJhbGciOiJIUzI1NiJ9.payload.signature\",\"user\":{\"id\":42},\"items\":[";
+            for (int i = 0; prefix.length() + items.length() + 4 < payloadBytes; i++) {
+                if (i > 0) {
+                    items.append(',');
+                }
+                items.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i).append("\",\"status\":\"active\"}");
+            }
+            return (prefix + items + "]}}").getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            long arrivedAt = System.nanoTime();
+            String runId = exchange.getRequestHeaders().getFirst(RUN_HEADER);
+            Long previous = runId != null ? lastEventAt.get(runId) : null;
+            if (previous != null) {
+                stepOverhead.recordValue(TimeUnit.NANOSECONDS.toMicros(arrivedAt - previous));
+            }
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            if (latencyMs > 0) {
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+            if (runId != null) {
+                lastEventAt.put(runId, System.nanoTime());
+            }
+        }
+
+        void begin(String runId) {
+            lastEventAt.put(runId, System.nanoTime());
+        }
+
+        // 마지막 응답부터 runExecution 이 끝날 때까지 (최종 기록 flush 포함)
+        void end(String runId) {
+            Long previous = lastEventAt.remove(runId);
+            if (previous != null) {
+                finishOverhead.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - previous));
+            }
+        }
+
+        void resetHistograms() {
+            stepOverhead.reset();
+            finishOverhead.reset();
+        }
+
+        Histogram stepOverhead() {
+            return stepOverhead.getIntervalHistogram();
+        }
+
+        Histogram finishOverhead() {
+            return finishOverhead.getIntervalHistogram();
+        }
+
+        String baseUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        int payloadSize() {
+            return payload.length;
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthSessionCacheTest {
+
+    private static final URI LOGIN = URI.create("http://qa.example.com/api/login");
+
+    @Test
+    void testKeyDependsOnRenderedLoginRequest() {
+        AuthSessionCache cache = new AuthSessionCache(true, 10);
+
+        String qa = cache.keyFor("POST http://qa.example.com/api/login {\"user\":\"a\"}");
+        assertEquals(qa, cache.keyFor("POST http://qa.example.com/api/login {\"user\":\"a\"}"));
+        assertNotEquals(qa, cache.keyFor("POST http://staging.example.com/api/login {\"user\":\"a\"}"));
+        assertNotEquals(qa, cache.keyFor("POST http://qa.example.com/api/login {\"user\":\"b\"}"));
+    }
+
+    @Test
+    void testCachedSessionCarriesDataAndCookies() throws Exception {
+        AuthSessionCache cache = new AuthSessionCache(true, 10);
+        ExecutionCookieJar loginJar = new ExecutionCookieJar();
+        loginJar.storeFrom(LOGIN, HttpHeaders.of(Map.of("Set-Cookie", List.of("SESSION=abc; Path=/")), (name, value) -> true));
+
+        cache.put("k", Map.of("token", "t-1"), loginJar.snapshot(), 60);
+        loginJar.clear();
+
+        AuthSessionCache.CachedSession session = cache.get("k");
+        assertNotNull(session);
+        assertEquals("t-1", session.getExtractedData().get("token"));
+
+        // 다른 실행의 쿠키 저장소로 옮겨 담음
+        ExecutionCookieJar nextRun = new ExecutionCookieJar();
+        nextRun.restore(session.getCookies());
+        assertEquals("SESSION=abc", nextRun.cookieHeader(URI.create("http://qa.example.com/api/orders"), null));
+    }
+
+    @Test
+    void testExpiredAndInvalidatedSessionsAreDropped() {
+        AuthSessionCache cache = new AuthSessionCache(true, 10);
+
+        cache.put("expired", Map.of(), Map.of(), 0);
+        assertNull(cache.get("expired"));
+        assertEquals(0, cache.size());
+
+        AuthSessionCache.CachedSession stale = cache.put("k", Map.of("token", "old"), Map.of(), 60);
+        AuthSessionCache.CachedSession fresh = cache.put("k", Map.of("token", "new"), Map.of(), 60);
+        // 다른 실행이 이미 새 세션을 넣었으면 유지
+        cache.invalidate("k", stale);
+        assertSame(fresh, cache.get("k"));
+        cache.invalidate("k", fresh);
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedSessionIsEvicted() {
+        AuthSessionCache cache = new AuthSessionCache(true, 2);
+        cache.put("a", Map.of(), Map.of(), 60);
+        cache.put("b", Map.of(), Map.of(), 60);
+        cache.get("a");
+        cache.put("c", Map.of(), Map.of(), 60);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CancellationTokenTest {
+
+    @Test
+    void testCancelWakesUpSleep() throws Exception {
+        CancellationToken token = CancellationToken.none();
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            timer.schedule(() -> token.cancel(CancellationToken.Reason.CANCELLED, "Cancelled by user"), 50, TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            ExecutionCancelledException e = assertThrows(ExecutionCancelledException.class, () -> token.sleep(10_000));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(CancellationToken.Reason.CANCELLED, e.getReason());
+            assertEquals("Cancelled by user", e.getMessage());
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelAbortsRegisteredWork() {
+        CancellationToken token = CancellationToken.none();
+        CompletableFuture<String> request = new CompletableFuture<>();
+        CompletableFuture<String> finished = new CompletableFuture<>();
+        token.register(request);
+        token.register(finished);
+        token.unregister(finished);
+
+        assertTrue(token.cancel(CancellationToken.Reason.DEADLINE_EXCEEDED, "Pipeline timed out after 1s"));
+        assertTrue(request.isCancelled());
+        assertFalse(finished.isCancelled());
+
+        // 취소 뒤에 등록된 작업은 바로 취소
+        CompletableFuture<String> late = new CompletableFuture<>();
+        token.register(late);
+        assertTrue(late.isCancelled());
+    }
+
+    @Test
+    void testFirstCancelWins() {
+        CancellationToken token = CancellationToken.none();
+        AtomicInteger calls = new AtomicInteger();
+        token.onCancel(calls::incrementAndGet);
+
+        assertTrue(token.cancel(CancellationToken.Reason.DEADLINE_EXCEEDED, "timed out"));
+        assertFalse(token.cancel(CancellationToken.Reason.CANCELLED, "Cancelled by user"));
+        assertEquals(1, calls.get());
+        assertEquals(CancellationToken.Reason.DEADLINE_EXCEEDED, token.getReason());
+
+        // 이미 취소된 뒤 등록한 리스너는 바로 호출
+        token.onCancel(calls::incrementAndGet);
+        assertEquals(2, calls.get());
+        assertThrows(ExecutionCancelledException.class, token::throwIfCancelled);
+    }
+
+    @Test
+    void testRemainingMillis() {
+        assertEquals(Long.MAX_VALUE, CancellationToken.none().remainingMillis());
+
+        CancellationToken token = new CancellationToken(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        assertTrue(token.hasDeadline());
+        assertTrue(token.remainingMillis() > 9_000 && token.remainingMillis() <= 10_000);
+        assertEquals(0, new CancellationToken(System.nanoTime() - 1).remainingMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckpointCookieCipherTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Test
+    void testRoundTripWithConfiguredKey() {
+        String encrypted = new CheckpointCookieCipher(KEY).encrypt("[{\"name\":\"SESSION\",\"value\":\"abc\"}]");
+
+        assertFalse(encrypted.contains("SESSION"));
+        // 같은 키를 쓰면 다른 인스턴스(재시작 후)에서도 읽을 수 있음
+        assertEquals("[{\"name\":\"SESSION\",\"value\":\"abc\"}]", new CheckpointCookieCipher(KEY).decrypt(encrypted));
+    }
+
+    @Test
+    void testTemporaryKeysDoNotSurviveRestart() {
+        String encrypted = new CheckpointCookieCipher("").encrypt("SESSION=abc");
+
+        assertThrows(IllegalArgumentException.class, () -> new CheckpointCookieCipher("").decrypt(encrypted));
+    }
+
+    @Test
+    void testPlaintextAndEmptyValues() {
+        CheckpointCookieCipher cipher = new CheckpointCookieCipher(KEY);
+
+        assertNull(cipher.decrypt(null));
+        assertNull(cipher.decrypt(""));
+        assertThrows(IllegalArgumentException.class, () -> cipher.decrypt("[{\"name\":\"SESSION\"}]"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRenderVariablesAndDefaults() {
+        CompiledTemplate template = CompiledTemplate.compile("http://{{host:localhost}}/users/{{userId}}?q={{missing}}");
+        Map<String, Object> context = new HashMap<>();
+        context.put("userId", 42);
+
+        assertEquals("http://localhost/users/42?q=", template.render(context, objectMapper));
+
+        context.put("host", "api.example.com");
+        assertEquals("http://api.example.com/users/42?q=", template.render(context, objectMapper));
+    }
+
+    @Test
+    void testTemplateWithoutVariablesReturnsSource() {
+        String source = "{\"name\": \"plain\"}";
+        CompiledTemplate template = CompiledTemplate.compile(source);
+
+        assertFalse(template.hasVariables());
+        assertSame(source, template.render(new HashMap<>(), objectMapper));
+    }
+
+    @Test
+    void testComplexValuesAreSerializedAsJson() {
+        CompiledTemplate template = CompiledTemplate.compile("{\"ids\": {{ids}}}");
+        Map<String, Object> context = new HashMap<>();
+        context.put("ids", List.of(1, 2, 3));
+
+        assertEquals("{\"ids\": [1,2,3]}", template.render(context, objectMapper));
+    }
+
+    @Test
+    void testMalformedPlaceholdersStayLiteral() {
+        CompiledTemplate template = CompiledTemplate.compile("{{}} {{:x}} {{name}} {{unclosed");
+        Map<String, Object> context = new HashMap<>();
+        context.put("name", "v");
+
+        assertEquals("{{}} {{:x}} v {{unclosed", template.render(context, objectMapper));
+    }
+
+    @Test
+    void testMatchesLegacyRegexSubstitution() {
+        Pattern legacy = Pattern.compile("\\{\\{([^:}]+)(?::([^}]*))?\\}\\}");
+        Map<String, Object> context = new HashMap<>();
+        context.put("a", "A");
+        context.put("open {{a", "X");
+
+        for (String source : List.of("{{a}}{{a}}", "{{{a}}}", "{{open {{a}}", "x{{b:}}y", "{{a:b:c}}", "}}{{a}}{{")) {
+            Matcher matcher = legacy.matcher(source);
+            StringBuilder expected = new StringBuilder();
+            while (matcher.find()) {
+                Object value = context.get(matcher.group(1));
+                String replacement = value != null ? value.toString() : (matcher.group(2) != null ? matcher.group(2) : "");
+                matcher.appendReplacement(expected, Matcher.quoteReplacement(replacement));
+            }
+            matcher.appendTail(expected);
+
+            assertEquals(expected.toString(), CompiledTemplate.compile(source).render(context, objectMapper), source);
+        }
+    }
+
+    @Test
+    void testVariableNames() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}-{{b:1}}-{{a}}");
+
+        assertEquals(Set.of("a", "b"), template.getVariableNames());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Map<String, Object>> readAll(String content, DatasetReader.Format format) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (DatasetReader reader = DatasetReader.open(new StringReader(content), format, objectMapper)) {
+            while (reader.hasNext()) {
+                rows.add(reader.next());
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testCsvRowsUseHeaderAsKeys() throws Exception {
+        List<Map<String, Object>> rows = readAll("userId,name\r\n1,alice\r\n2,bob\r\n\r\n", DatasetReader.Format.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals("1", rows.get(0).get("userId"));
+        assertEquals("bob", rows.get(1).get("name"));
+    }
+
+    @Test
+    void testCsvQuotedValues() throws Exception {
+        List<Map<String, Object>> rows = readAll("id,comment\n1,\"a, b\"\n2,\"say \"\"hi\"\"\nnext line\"\n", DatasetReader.Format.CSV);
+
+        assertEquals("a, b", rows.get(0).get("comment"));
+        assertEquals("say \"hi\"\nnext line", rows.get(1).get("comment"));
+    }
+
+    @Test
+    void testJsonLinesKeepTypes() throws Exception {
+        List<Map<String, Object>> rows = readAll("{\"id\": 1, \"tags\": [\"a\"]}\n\n{\"id\": 2}\n", DatasetReader.Format.JSONL);
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).get("id"));
+        assertEquals(List.of("a"), rows.get(0).get("tags"));
+    }
+
+    @Test
+    void testFormatFromFileName() {
+        assertEquals(DatasetReader.Format.CSV, DatasetReader.Format.fromFileName("users.CSV"));
+        assertEquals(DatasetReader.Format.JSONL, DatasetReader.Format.fromFileName("requests.jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> DatasetReader.Format.fromFileName("data.xml"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.PipelineExecution;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpCookie;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionCheckpointTest {
+
+    private static final URI LOGIN = URI.create("https://api.example.com/login");
+    private static final CheckpointCookieCipher CIPHER = new CheckpointCookieCipher("");
+
+    @Test
+    void testVariablesAccumulateAcrossStepsAndAreWrittenWhenFinished() {
+        ExecutionCheckpoint checkpoint = ExecutionCheckpoint.start(Map.of("user", "alice"));
+        PipelineExecution execution = new PipelineExecution();
+        ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+
+        checkpoint.stepSucceeded(Map.of("token", "t1"), cookieJar);
+        checkpoint.stepSucceeded(Map.of("token", "t2", "orderId", 7), cookieJar);
+        // 스텝마다 실행 엔티티에 쓰지 않음
+        assertNull(execution.getExecutionContext());
+
+        execution.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+        checkpoint.finished(execution, CIPHER);
+
+        Map<String, Object> stored = ExecutionCheckpoint.readContext(execution.getExecutionContext());
+        assertEquals("alice", stored.get("user"));
+        assertEquals("t2", stored.get("token"));
+        assertEquals(7, stored.get("orderId"));
+    }
+
+    @Test
+    void testCookiesAreKeptEncryptedOnlyWhenExecutionDidNotComplete() {
+        ExecutionCookieJar cookieJar = new ExecutionCookieJar();
+        cookieJar.restore(Map.of(LOGIN, List.of(new HttpCookie("SESSION", "secret-session"))));
+        ExecutionCheckpoint checkpoint = ExecutionCheckpoint.start(Map.of());
+        checkpoint.stepSucceeded(Map.of(), cookieJar);
+        cookieJar.clear();
+
+        PipelineExecution failed = new PipelineExecution();
+        failed.setStatus(PipelineExecution.ExecutionStatus.FAILED);
+        checkpoint.finished(failed, CIPHER);
+        assertFalse(failed.getSessionCookies().contains("secret-session"));
+        // 쿠키 저장소는 URI 를 호스트 단위로 묶으므로 값만 확인
+        List<HttpCookie> restored = ExecutionCheckpoint.readCookies(CIPHER.decrypt(failed.getSessionCookies()))
+                .values().iterator().next();
+        assertEquals("secret-session", restored.get(0).getValue());
+
+        PipelineExecution completed = new PipelineExecution();
+        completed.setStatus(PipelineExecution.ExecutionStatus.COMPLETED);
+        completed.setSessionCookies("stale");
+        checkpoint.finished(completed, CIPHER);
+        assertNull(completed.getSessionCookies());
+    }
+
+    @Test
+    void testResumeWithoutNewStepsKeepsRestoredCookies() {
+        HttpCookie session = new HttpCookie("SESSION", "abc");
+        ExecutionCheckpoint checkpoint = ExecutionCheckpoint.resume(Map.of(), Map.of(), Map.of(LOGIN, List.of(session)));
+        PipelineExecution cancelled = new PipelineExecution();
+        cancelled.setStatus(PipelineExecution.ExecutionStatus.CANCELLED);
+
+        checkpoint.finished(cancelled, CIPHER);
+
+        Map<URI, List<HttpCookie>> restored = ExecutionCheckpoint.readCookies(CIPHER.decrypt(cancelled.getSessionCookies()));
+        assertEquals("abc", restored.get(LOGIN).get(0).getValue());
+    }
+
+    @Test
+    void testResumeRestoresStepsAndMergesTheirData() {
+        Map<Long, Map<String, Object>> restored = new LinkedHashMap<>();
+        restored.put(1L, Map.of("token", "t1"));
+        restored.put(2L, Map.of("orderId", 7));
+
+        ExecutionCheckpoint checkpoint = ExecutionCheckpoint.resume(Map.of(), restored, Map.of());
+
+        assertTrue(checkpoint.isRestored(2L));
+        assertFalse(checkpoint.isRestored(3L));
+        assertEquals(Map.of("orderId", 7), checkpoint.restoredOutput(2L));
+        assertEquals(2, checkpoint.getRestoredCount());
+        assertEquals("t1", checkpoint.getVariables().get("token"));
+    }
+
+    @Test
+    void testCookiesRoundTrip() {
+        HttpCookie session = new HttpCookie("SESSION", "abc");
+        session.setPath("/");
+        session.setHttpOnly(true);
+
+        Map<URI, List<HttpCookie>> restored = ExecutionCheckpoint.readCookies(
+                ExecutionCheckpoint.writeCookies(Map.of(LOGIN, List.of(session))));
+
+        HttpCookie cookie = restored.get(LOGIN).get(0);
+        assertEquals("SESSION", cookie.getName());
+        assertEquals("abc", cookie.getValue());
+        assertEquals("/", cookie.getPath());
+        assertTrue(cookie.isHttpOnly());
+    }
+
+    @Test
+    void testEmptyColumnsReadAsEmpty() {
+        assertTrue(ExecutionCheckpoint.readContext(null).isEmpty());
+        assertTrue(ExecutionCheckpoint.readCookies("").isEmpty());
+    }
+}
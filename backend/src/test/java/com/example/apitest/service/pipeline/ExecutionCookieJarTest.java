@@ -0,0 +1,62 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionCookieJarTest {
+
+    private static final URI LOGIN = URI.create("http://api.example.com/login");
+    private static final URI ORDERS = URI.create("http://api.example.com/orders");
+
+    @Test
+    void testStoredCookiesAreSentWithExplicitCookieHeader() throws Exception {
+        ExecutionCookieJar jar = new ExecutionCookieJar();
+        jar.storeFrom(LOGIN, headers("Set-Cookie", "SESSION=abc; Path=/"));
+
+        assertEquals("SESSION=abc", jar.cookieHeader(ORDERS, null));
+        assertEquals("locale=ko; SESSION=abc", jar.cookieHeader(ORDERS, "locale=ko"));
+        assertNull(jar.cookieHeader(URI.create("http://other.example.com/"), null));
+    }
+
+    @Test
+    void testJarsOfDifferentExecutionsDoNotShareCookies() throws Exception {
+        ExecutionCookieJar first = new ExecutionCookieJar();
+        ExecutionCookieJar second = new ExecutionCookieJar();
+        first.storeFrom(LOGIN, headers("Set-Cookie", "SESSION=first; Path=/"));
+        second.storeFrom(LOGIN, headers("Set-Cookie", "SESSION=second; Path=/"));
+
+        assertEquals("SESSION=first", first.cookieHeader(ORDERS, null));
+        assertEquals("SESSION=second", second.cookieHeader(ORDERS, null));
+    }
+
+    @Test
+    void testSnapshotRestoresIntoAnotherJarAndIsIndependent() throws Exception {
+        ExecutionCookieJar jar = new ExecutionCookieJar();
+        jar.storeFrom(LOGIN, headers("Set-Cookie", "SESSION=abc; Path=/"));
+        Map<URI, List<HttpCookie>> snapshot = jar.snapshot();
+
+        jar.clear();
+        assertNull(jar.cookieHeader(ORDERS, null));
+        assertTrue(jar.getCookies().isEmpty());
+
+        ExecutionCookieJar restored = new ExecutionCookieJar();
+        restored.restore(snapshot);
+        assertEquals("SESSION=abc", restored.cookieHeader(ORDERS, null));
+
+        // 같은 이름의 쿠키는 덮어씀
+        restored.storeFrom(LOGIN, headers("Set-Cookie", "SESSION=renewed; Path=/"));
+        assertEquals("SESSION=renewed", restored.cookieHeader(ORDERS, null));
+        assertEquals("abc", snapshot.values().iterator().next().get(0).getValue());
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        return HttpHeaders.of(Map.of(name, List.of(value)), (n, v) -> true);
+    }
+}
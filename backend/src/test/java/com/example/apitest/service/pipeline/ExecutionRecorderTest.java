@@ -0,0 +1,307 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.BodyBlob;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.StepExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionRecorderTest {
+
+    private FakeDatabase database;
+    private FakeTransactions transactions;
+    private BodyBlobStore bodyBlobStore;
+    private ExecutionRecorder recorder;
+    private PipelineExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        database = new FakeDatabase();
+        transactions = new FakeTransactions(database);
+        bodyBlobStore = new BodyBlobStore();
+        recorder = new ExecutionRecorder(database, bodyBlobStore, transactions, Runnable::run, 60_000, 1_000);
+        execution = new PipelineExecution();
+        execution.setId(1L);
+    }
+
+    @Test
+    void testNewStepsAreInsertedAndRecordedStepsUpdatedInOneBatchEach() {
+        ExecutionRecorder.Recording recording = recorder.open(execution);
+        List<StepExecution> steps = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            StepExecution step = step(StepExecution.StepStatus.RUNNING);
+            steps.add(step);
+            recording.step(step, true);
+        }
+        recording.flush();
+
+        assertEquals(List.of(120), database.insertBatches);
+        assertTrue(database.updateBatches.isEmpty());
+        assertEquals(1, database.progressUpdates);
+        assertEquals(120, database.rows.size());
+
+        for (StepExecution step : steps) {
+            step.setStatus(StepExecution.StepStatus.SUCCESS);
+            recording.step(step, false);
+        }
+        recording.close();
+
+        assertEquals(List.of(120), database.insertBatches);
+        assertEquals(List.of(120), database.updateBatches);
+        assertEquals(1, database.progressUpdates);
+        assertEquals(120, database.rows.size());
+        assertTrue(database.rows.values().stream().allMatch(status -> status == StepExecution.StepStatus.SUCCESS));
+    }
+
+    @Test
+    void testRolledBackInsertIsRetriedWithNewIdsWithoutDuplicates() {
+        ExecutionRecorder.Recording recording = recorder.open(execution);
+        StepExecution first = step(StepExecution.StepStatus.SUCCESS);
+        StepExecution second = step(StepExecution.StepStatus.RUNNING);
+        recording.step(first, true);
+        recording.step(second, true);
+
+        transactions.failNextCommit = true;
+        recording.flush();
+
+        // 롤백된 INSERT 에서 할당된 id 는 버려짐
+        assertTrue(database.rows.isEmpty());
+        assertNull(first.getId());
+        assertNull(second.getId());
+
+        second.setStatus(StepExecution.StepStatus.FAILED);
+        recording.step(second, true);
+        recording.flush();
+
+        assertEquals(2, database.rows.size());
+        assertEquals(StepExecution.StepStatus.SUCCESS, database.rows.get(first.getId()));
+        assertEquals(StepExecution.StepStatus.FAILED, database.rows.get(second.getId()));
+        assertEquals(List.of(2), database.insertBatches);
+        assertTrue(database.updateBatches.isEmpty());
+        assertEquals(1, database.progressUpdates);
+    }
+
+    @Test
+    void testRolledBackUpdateIsRetriedAsUpdate() {
+        ExecutionRecorder.Recording recording = recorder.open(execution);
+        StepExecution step = step(StepExecution.StepStatus.RUNNING);
+        recording.step(step, false);
+        recording.flush();
+        Long id = step.getId();
+
+        step.setStatus(StepExecution.StepStatus.SUCCESS);
+        recording.step(step, true);
+        transactions.failNextCommit = true;
+        recording.flush();
+        assertEquals(StepExecution.StepStatus.RUNNING, database.rows.get(id));
+
+        recording.close();
+        assertEquals(id, step.getId());
+        assertEquals(1, database.rows.size());
+        assertEquals(StepExecution.StepStatus.SUCCESS, database.rows.get(id));
+        assertEquals(List.of(1), database.insertBatches);
+        assertEquals(List.of(1), database.updateBatches);
+    }
+
+    @Test
+    void testConcurrentIdenticalBodiesAreStoredOnce() throws Exception {
+        ExecutionRecorder.Recording first = recorder.open(execution);
+        PipelineExecution other = new PipelineExecution();
+        other.setId(2L);
+        ExecutionRecorder.Recording second = recorder.open(other);
+        List<StepExecution> steps = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 64; i++) {
+            ExecutionRecorder.Recording recording = i % 2 == 0 ? first : second;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                StepExecution step = step(StepExecution.StepStatus.SUCCESS);
+                bodyBlobStore.storeResponse(step, "{\"status\":\"UP\"}");
+                steps.add(step);
+                recording.step(step, true);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 첫 기록이 롤백돼도 본문은 다음 flush 에서 다시 기록됨
+        transactions.failNextCommit = true;
+        first.flush();
+        assertTrue(database.blobs.isEmpty());
+        first.flush();
+        second.flush();
+
+        String hash = steps.get(0).getResponseBlobHash();
+        assertEquals(64, steps.size());
+        assertTrue(steps.stream().allMatch(step -> hash.equals(step.getResponseBlobHash())));
+        assertTrue(steps.stream().allMatch(step -> step.getPendingResponseBlob() == null));
+        assertEquals(List.of(1), database.blobBatches);
+        assertEquals(1, database.blobs.size());
+        assertEquals("{\"status\":\"UP\"}", new String(BodyBlobStore.decompress(database.blobs.get(hash)), StandardCharsets.UTF_8));
+
+        // 해시를 모르는 다른 저장소(다른 서버)가 같은 본문을 기록해도 기존 행은 그대로
+        ExecutionRecorder otherRecorder = new ExecutionRecorder(database, new BodyBlobStore(), transactions, Runnable::run,
+                60_000, 1_000);
+        ExecutionRecorder.Recording recording = otherRecorder.open(execution);
+        StepExecution step = step(StepExecution.StepStatus.SUCCESS);
+        new BodyBlobStore().storeResponse(step, "{\"status\":\"UP\"}");
+        recording.step(step, false);
+        recording.close();
+        assertEquals(List.of(1, 1), database.blobBatches);
+        assertEquals(1, database.blobs.size());
+    }
+
+    @Test
+    void testBodiesOfStepsNotYetFlushedAreFoundByHash() {
+        ExecutionRecorder.Recording recording = recorder.open(execution);
+        StepExecution step = step(StepExecution.StepStatus.SUCCESS);
+        bodyBlobStore.storeRequest(step, "{\"method\":\"GET\"}");
+        bodyBlobStore.storeResponse(step, "{\"status\":\"UP\"}");
+        recording.step(step, true);
+
+        assertTrue(database.blobs.isEmpty());
+        assertEquals(Optional.of("{\"method\":\"GET\"}"), recorder.findBody(1L, step.getRequestBlobHash()));
+        assertEquals(Optional.of("{\"status\":\"UP\"}"), recorder.findBody(1L, step.getResponseBlobHash()));
+        // 다른 실행의 id 로는 찾지 않음
+        assertEquals(Optional.empty(), recorder.findBody(2L, step.getResponseBlobHash()));
+
+        recording.close();
+        assertEquals(Optional.empty(), recorder.findBody(1L, step.getResponseBlobHash()));
+    }
+
+    private static StepExecution step(StepExecution.StepStatus status) {
+        StepExecution step = new StepExecution();
+        step.setStatus(status);
+        return step;
+    }
+
+    /**
+     * 트랜잭션 단위로 반영되는 step_executions 테이블 흉내. 커밋 전 변경은 staged 에 모아 둔다.
+     */
+    private static class FakeDatabase extends ExecutionRecordWriter {
+        final Map<Long, StepExecution.StepStatus> rows = new HashMap<>();
+        final Map<Long, StepExecution.StepStatus> staged = new HashMap<>();
+        final Map<String, byte[]> blobs = new HashMap<>();
+        final List<Integer> blobBatches = new ArrayList<>();
+        private final Map<String, byte[]> stagedBlobs = new HashMap<>();
+        private final List<Integer> stagedBlobBatches = new ArrayList<>();
+        final List<Integer> insertBatches = new ArrayList<>();
+        final List<Integer> updateBatches = new ArrayList<>();
+        int progressUpdates;
+        private int stagedProgressUpdates;
+        private final List<Integer> stagedInserts = new ArrayList<>();
+        private final List<Integer> stagedUpdates = new ArrayList<>();
+        private long sequence;
+
+        // MERGE ... WHEN NOT MATCHED THEN INSERT 처럼 이미 있는 해시는 건드리지 않음
+        @Override
+        public void insertBlobs(List<BodyBlob> batch) {
+            for (BodyBlob blob : batch) {
+                if (!blobs.containsKey(blob.getHash())) {
+                    stagedBlobs.putIfAbsent(blob.getHash(), blob.getData());
+                }
+            }
+            stagedBlobBatches.add(batch.size());
+        }
+
+        @Override
+        public void insertSteps(List<StepExecution> steps) {
+            for (StepExecution step : steps) {
+                assertNull(step.getId(), "persist of an entity that already has an id");
+                step.setId(++sequence);
+                staged.put(step.getId(), step.getStatus());
+            }
+            stagedInserts.add(steps.size());
+        }
+
+        @Override
+        public int[] updateSteps(List<StepExecution> steps) {
+            int[] counts = new int[steps.size()];
+            for (int i = 0; i < steps.size(); i++) {
+                StepExecution step = steps.get(i);
+                if (rows.containsKey(step.getId()) || staged.containsKey(step.getId())) {
+                    staged.put(step.getId(), step.getStatus());
+                    counts[i] = 1;
+                }
+            }
+            stagedUpdates.add(steps.size());
+            return counts;
+        }
+
+        @Override
+        public void updateProgress(PipelineExecution execution) {
+            stagedProgressUpdates++;
+        }
+
+        void commit() {
+            rows.putAll(staged);
+            blobs.putAll(stagedBlobs);
+            blobBatches.addAll(stagedBlobBatches);
+            insertBatches.addAll(stagedInserts);
+            updateBatches.addAll(stagedUpdates);
+            progressUpdates += stagedProgressUpdates;
+            rollback();
+        }
+
+        void rollback() {
+            staged.clear();
+            stagedBlobs.clear();
+            stagedBlobBatches.clear();
+            stagedInserts.clear();
+            stagedUpdates.clear();
+            stagedProgressUpdates = 0;
+        }
+    }
+
+    private static class FakeTransactions extends TransactionTemplate {
+        private final FakeDatabase database;
+        boolean failNextCommit;
+
+        FakeTransactions(FakeDatabase database) {
+            this.database = database;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            T result;
+            try {
+                result = action.doInTransaction(new SimpleTransactionStatus());
+            } catch (RuntimeException e) {
+                database.rollback();
+                throw e;
+            }
+            if (failNextCommit) {
+                failNextCommit = false;
+                database.rollback();
+                throw new TransactionSystemException("Commit failed");
+            }
+            database.commit();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixtureHttpClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testKeyIgnoresQueryOrderDefaultPortAndJsonFieldOrder() {
+        HttpFixtureStore store = new HttpFixtureStore(null, objectMapper);
+
+        String key = store.keyFor("post", URI.create("HTTPS://Api.Example.com:443/orders?b=2&a=1"),
+                "{\"id\": 1, \"name\": \"x\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(key, store.keyFor("POST", URI.create("https://api.example.com/orders?a=1&b=2"),
+                "{\"name\":\"x\",\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(key, store.keyFor("POST", URI.create("https://api.example.com/orders?a=1&b=2"),
+                "{\"name\":\"y\",\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("GET https://api.example.com:8443/", store.keyFor("GET", URI.create("https://api.example.com:8443"), null));
+    }
+
+    @Test
+    void testReplayServesFixtureThroughAnyBodyHandler() throws Exception {
+        HttpFixtureStore store = new HttpFixtureStore(null, objectMapper);
+        URI uri = URI.create("http://localhost:8080/users/1");
+        store.record(HttpFixtureStore.Fixture.of(store.keyFor("GET", uri, null), "GET", uri, 200,
+                Map.of("Set-Cookie", List.of("SESSION=abc")), "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        FixtureHttpClient client = new FixtureHttpClient(HttpClient.newHttpClient(), store, FixtureHttpClient.Mode.REPLAY);
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"id\":1}", response.body());
+        assertEquals("SESSION=abc", response.headers().firstValue("set-cookie").orElse(null));
+
+        HttpResponse<InputStream> streamed = client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).get();
+        try (InputStream in = streamed.body()) {
+            assertEquals("{\"id\":1}", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testReplayFailsForUnrecordedRequest() {
+        HttpFixtureStore store = new HttpFixtureStore(null, objectMapper);
+        FixtureHttpClient client = new FixtureHttpClient(HttpClient.newHttpClient(), store, FixtureHttpClient.Mode.REPLAY);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:8080/orders"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"qty\":2}"))
+                .build();
+
+        IOException error = assertThrows(IOException.class, () -> client.send(request, HttpResponse.BodyHandlers.ofString()));
+        assertTrue(error.getMessage().startsWith("No recorded fixture for POST http://localhost:8080/orders #"));
+    }
+
+    @Test
+    void testRecordedFileIsReloadedWithLatestFixtureWinning() throws Exception {
+        Path file = Files.createTempFile("fixtures", ".jsonl");
+        Files.delete(file);
+        try {
+            HttpFixtureStore store = new HttpFixtureStore(file, objectMapper);
+            URI uri = URI.create("http://localhost:8080/image");
+            String key = store.keyFor("GET", uri, null);
+            store.record(HttpFixtureStore.Fixture.of(key, "GET", uri, 500, Map.of(), new byte[0]));
+            store.record(HttpFixtureStore.Fixture.of(key, "GET", uri, 200, Map.of(), new byte[] { (byte) 0xFF, 0, 1 }));
+
+            HttpFixtureStore reloaded = HttpFixtureStore.load(file, objectMapper);
+
+            assertEquals(1, reloaded.size());
+            HttpFixtureStore.Fixture fixture = reloaded.find(key);
+            assertEquals(200, fixture.getStatus());
+            assertTrue(fixture.isBase64());
+            assertArrayEquals(new byte[] { (byte) 0xFF, 0, 1 }, fixture.bodyBytes());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineExecution;
+import com.example.apitest.entity.StepExecution;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FolderRunReportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testTotalsAndFailedSteps() throws Exception {
+        FolderRunReport report = new FolderRunReport();
+        report.add(pipeline(1L, "login"), execution(10L, PipelineExecution.ExecutionStatus.COMPLETED, null),
+                List.of(step(1, "sign in", StepExecution.StepStatus.SUCCESS, 200, 120L, null)), null);
+        report.add(pipeline(2L, "checkout"), execution(11L, PipelineExecution.ExecutionStatus.FAILED, "Step 2 failed"),
+                List.of(step(1, "cart", StepExecution.StepStatus.SUCCESS, 200, 80L, null),
+                        step(2, "pay", StepExecution.StepStatus.FAILED, 500, 300L, "HTTP 500 error"),
+                        step(3, "receipt", StepExecution.StepStatus.SKIPPED, null, null, null)), null);
+        report.skipped(pipeline(3L, "empty"));
+
+        JsonNode json = objectMapper.readTree(report.toJson(objectMapper, 1500));
+
+        assertEquals(1500, json.get("durationMs").asLong());
+        assertEquals(3, json.get("pipelines").get("total").asInt());
+        assertEquals(1, json.get("pipelines").get("passed").asInt());
+        assertEquals(1, json.get("pipelines").get("failed").asInt());
+        assertEquals(1, json.get("pipelines").get("skipped").asInt());
+        assertEquals(4, json.get("steps").get("total").asInt());
+        assertEquals(1, json.get("steps").get("failed").asInt());
+        assertEquals(1, json.get("steps").get("skipped").asInt());
+
+        JsonNode failures = json.get("failures");
+        assertEquals(1, failures.size());
+        assertEquals("checkout", failures.get(0).get("pipelineName").asText());
+        assertEquals(2, failures.get(0).get("stepOrder").asInt());
+        assertEquals("HTTP 500 error", failures.get(0).get("error").asText());
+        assertEquals(3, json.get("pipelineResults").size());
+    }
+
+    @Test
+    void testExecutionErrorIsReportedWhenNoStepFailed() throws Exception {
+        FolderRunReport report = new FolderRunReport();
+        report.add(pipeline(1L, "login"), execution(10L, PipelineExecution.ExecutionStatus.CANCELLED, "Execution cancelled"),
+                Collections.emptyList(), null);
+        report.add(pipeline(2L, "orders"), null, Collections.emptyList(), "Too many executions");
+
+        JsonNode failures = objectMapper.readTree(report.toJson(objectMapper, 0)).get("failures");
+
+        assertEquals(2, failures.size());
+        assertEquals("Execution cancelled", failures.get(0).get("error").asText());
+        assertTrue(failures.get(0).get("stepOrder").isNull());
+        assertTrue(failures.get(1).get("executionId").isNull());
+        assertEquals("Too many executions", failures.get(1).get("error").asText());
+    }
+
+    @Test
+    void testSlowestStepsAreKeptInOrderAndCapped() throws Exception {
+        FolderRunReport report = new FolderRunReport();
+        List<StepExecution> steps = new ArrayList<>();
+        for (int i = 1; i <= FolderRunReport.MAX_SLOWEST_STEPS + 5; i++) {
+            steps.add(step(i, "step " + i, StepExecution.StepStatus.SUCCESS, 200, (long) (i * 37 % 101), null));
+        }
+        report.add(pipeline(1L, "suite"), execution(10L, PipelineExecution.ExecutionStatus.COMPLETED, null), steps, null);
+
+        JsonNode slowest = objectMapper.readTree(report.toJson(objectMapper, 0)).get("slowestSteps");
+
+        assertEquals(FolderRunReport.MAX_SLOWEST_STEPS, slowest.size());
+        long previous = Long.MAX_VALUE;
+        for (JsonNode step : slowest) {
+            assertTrue(step.get("responseTimeMs").asLong() <= previous);
+            previous = step.get("responseTimeMs").asLong();
+        }
+        assertEquals(94, slowest.get(0).get("responseTimeMs").asLong());
+    }
+
+    private static Pipeline pipeline(Long id, String name) {
+        Pipeline pipeline = new Pipeline();
+        pipeline.setId(id);
+        pipeline.setName(name);
+        return pipeline;
+    }
+
+    private static PipelineExecution execution(Long id, PipelineExecution.ExecutionStatus status, String errorMessage) {
+        PipelineExecution execution = new PipelineExecution();
+        execution.setId(id);
+        execution.setStatus(status);
+        execution.setErrorMessage(errorMessage);
+        return execution;
+    }
+
+    private static StepExecution step(int order, String name, StepExecution.StepStatus status, Integer httpStatus,
+                                      Long responseTime, String errorMessage) {
+        StepExecution step = new StepExecution();
+        step.setStepOrder(order);
+        step.setStepName(name);
+        step.setStatus(status);
+        step.setHttpStatus(httpStatus);
+        step.setResponseTime(responseTime);
+        step.setErrorMessage(errorMessage);
+        return step;
+    }
+}
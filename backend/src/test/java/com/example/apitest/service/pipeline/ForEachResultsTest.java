@@ -0,0 +1,74 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForEachResultsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testExtractionsAreMergedInElementOrder() {
+        ForEachResults results = new ForEachResults(3, List.of("status"));
+
+        results.succeeded(2, 200, 5, Map.of("status", "shipped"));
+        results.succeeded(0, 200, 7, Map.of("status", "paid"));
+        results.succeeded(1, 200, 6, Map.of());
+
+        assertFalse(results.hasFailure());
+        assertEquals(Map.of("status", Arrays.asList("paid", null, "shipped")), results.mergedExtractions());
+        assertEquals("forEach:3/3 ok", results.attemptLog());
+        assertNull(results.errorMessage());
+    }
+
+    @Test
+    void testFirstFailedElementIsReported() {
+        ForEachResults results = new ForEachResults(4, List.of());
+
+        results.succeeded(0, 200, 5, null);
+        results.failed(3, 500, 9, "HTTP 500 error");
+        results.failed(1, 404, 4, "HTTP 404 error");
+        results.retried();
+
+        assertTrue(results.hasFailure());
+        assertEquals(Integer.valueOf(404), results.httpStatus());
+        assertEquals("2 of 4 elements failed, first at index 1: HTTP 404 error", results.errorMessage());
+        assertEquals("forEach:1/4 ok, 2 failed, 1 retries", results.attemptLog());
+    }
+
+    @Test
+    void testSummaryListsCompletedElementsOnly() throws Exception {
+        ForEachResults results = new ForEachResults(3, List.of());
+        results.succeeded(0, 200, 5, null);
+        results.failed(1, null, 0, "Connection refused");
+
+        JsonNode summary = objectMapper.readTree(results.summaryJson(objectMapper));
+
+        assertEquals(3, summary.get("elements").asInt());
+        assertEquals(1, summary.get("notStarted").asInt());
+        assertEquals(2, summary.get("items").size());
+        assertEquals("Connection refused", summary.get("items").get(1).get("error").asText());
+        assertFalse(summary.get("items").get(0).has("error"));
+    }
+
+    @Test
+    void testSummaryIsCapped() throws Exception {
+        int size = ForEachResults.MAX_ITEM_SUMMARIES + 10;
+        ForEachResults results = new ForEachResults(size, List.of());
+        for (int i = 0; i < size; i++) {
+            results.succeeded(i, 200, 1, null);
+        }
+
+        JsonNode summary = objectMapper.readTree(results.summaryJson(objectMapper));
+
+        assertEquals(ForEachResults.MAX_ITEM_SUMMARIES, summary.get("items").size());
+        assertEquals(size, summary.get("succeeded").asInt());
+    }
+}
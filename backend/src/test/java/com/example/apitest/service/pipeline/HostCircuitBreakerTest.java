@@ -0,0 +1,73 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HostCircuitBreakerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        HostCircuitBreaker breaker = new HostCircuitBreaker(3, 1000);
+
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        breaker.onSuccess();
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        assertEquals(HostCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure(0);
+        assertEquals(HostCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(500 * MS));
+    }
+
+    @Test
+    void testHalfOpenAllowsSingleProbe() {
+        HostCircuitBreaker breaker = new HostCircuitBreaker(1, 1000);
+        breaker.onFailure(0);
+
+        assertTrue(breaker.tryAcquire(1000 * MS));
+        assertEquals(HostCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(1000 * MS));
+
+        breaker.onSuccess();
+        assertEquals(HostCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire(1001 * MS));
+    }
+
+    @Test
+    void testFailedProbeReopens() {
+        HostCircuitBreaker breaker = new HostCircuitBreaker(5, 1000);
+        for (int i = 0; i < 5; i++) {
+            breaker.onFailure(0);
+        }
+
+        assertTrue(breaker.tryAcquire(1000 * MS));
+        breaker.onFailure(1000 * MS);
+        assertEquals(HostCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(1500 * MS));
+        assertTrue(breaker.tryAcquire(2000 * MS));
+    }
+
+    @Test
+    void testAbandonedProbeFreesSlot() {
+        HostCircuitBreaker breaker = new HostCircuitBreaker(1, 0);
+        breaker.onFailure(0);
+
+        assertTrue(breaker.tryAcquire(0));
+        breaker.onAbandoned();
+        assertTrue(breaker.tryAcquire(0));
+    }
+
+    @Test
+    void testFailureStatuses() {
+        assertTrue(HostCircuitBreaker.isFailureStatus(503));
+        assertFalse(HostCircuitBreaker.isFailureStatus(500));
+        assertFalse(HostCircuitBreaker.isFailureStatus(404));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonPathExpressionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonNode response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        response = objectMapper.readTree("{"
+                + "\"token\": \"abc\","
+                + "\"user id\": 7,"
+                + "\"data\": {\"items\": ["
+                + "  {\"id\": 1, \"status\": \"active\", \"price\": 5},"
+                + "  {\"id\": 2, \"status\": \"closed\", \"price\": 15},"
+                + "  {\"id\": 3, \"status\": \"active\", \"price\": 25, \"tag\": \"x\"}"
+                + "]}}");
+    }
+
+    private Object eval(String path) {
+        return JsonPathExpression.compile(path).evaluate(response);
+    }
+
+    @Test
+    void testLegacyDottedPaths() {
+        assertEquals("abc", eval("token"));
+        assertEquals("2", eval("data.items.1.id"));
+        assertNull(eval("data.items.9.id"));
+        assertNull(eval("missing.path"));
+    }
+
+    @Test
+    void testBracketKeysAndIndexes() {
+        assertEquals("7", eval("$['user id']"));
+        assertEquals("1", eval("$.data.items[0].id"));
+        assertEquals("3", eval("$.data.items[-1].id"));
+        assertEquals("active", eval("$.data['items'][0]['status']"));
+    }
+
+    @Test
+    void testWildcardsAndDeepScan() {
+        assertEquals(List.of(1, 2, 3), eval("$.data.items[*].id"));
+        assertEquals(List.of(1, 2, 3), eval("$..id"));
+    }
+
+    @Test
+    void testFilters() {
+        assertEquals(List.of(1, 3), eval("$.data.items[?(@.status == 'active')].id"));
+        assertEquals(List.of(2, 3), eval("$.data.items[?(@.price >= 10)].id"));
+        assertEquals(List.of(3), eval("$.data.items[?(@.tag)].id"));
+        assertNull(eval("$.data.items[?(@.price > 100)].id"));
+    }
+
+    @Test
+    void testFunctions() {
+        assertEquals(3, eval("$.data.items.length()"));
+        assertEquals(2, eval("$.data.items[?(@.status == 'active')].length()"));
+        assertEquals("1", eval("$.data.items[*].id.first()"));
+        assertEquals("3", eval("$.data.items[*].id.last()"));
+        assertEquals(3, eval("data.items.size()"));
+    }
+
+    @Test
+    void testContainerResultsAreConverted() {
+        Object item = eval("$.data.items[0]");
+        assertTrue(item instanceof Map);
+        assertEquals("active", ((Map<?, ?>) item).get("status"));
+    }
+
+    @Test
+    void testInvalidPathsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPathExpression.compile("$.items[abc]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathExpression.compile("$.items.unknown()"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathExpression.compile("$['unterminated"));
+    }
+}
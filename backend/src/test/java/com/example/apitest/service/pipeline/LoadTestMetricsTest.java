@@ -0,0 +1,83 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.dto.pipeline.response.LoadTestSnapshotDTO;
+import com.example.apitest.dto.pipeline.response.LoadTestStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadTestMetricsTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testWarmUpSamplesAreExcluded() {
+        LoadTestMetrics metrics = new LoadTestMetrics(List.of("login"), 0, 5 * SECOND, 0);
+
+        metrics.recordStep(0, 500 * MS, true, 1 * SECOND);
+        metrics.recordStep(0, 10 * MS, true, 6 * SECOND);
+        LoadTestSnapshotDTO snapshot = metrics.snapshot(7 * SECOND);
+
+        LoadTestStatsDTO login = snapshot.getSteps().get(0);
+        assertEquals(1, login.getRequests());
+        assertEquals(10.0, login.getMaxMs(), 0.01);
+        assertFalse(snapshot.isWarmingUp());
+    }
+
+    @Test
+    void testPercentilesAndErrorRate() {
+        LoadTestMetrics metrics = new LoadTestMetrics(List.of("get"), 0, 0, 0);
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordStep(0, i * MS, i % 10 != 0, SECOND);
+        }
+        LoadTestStatsDTO stats = metrics.snapshot(2 * SECOND).getSteps().get(0);
+
+        assertEquals(100, stats.getRequests());
+        assertEquals(10, stats.getErrors());
+        assertEquals(0.1, stats.getErrorRate(), 0.0001);
+        assertEquals(50.0, stats.getP50Ms(), 0.5);
+        assertEquals(99.0, stats.getP99Ms(), 0.5);
+        assertEquals(50.0, stats.getThroughput(), 0.01);
+    }
+
+    @Test
+    void testExpectedIntervalFillsInMissedSamples() {
+        // 10ms 페이싱에서 100ms 응답이면 그 동안 보내지 못한 요청의 지연(90, 80, ... 10ms)이 보정값으로 추가됨
+        LoadTestMetrics corrected = new LoadTestMetrics(List.of("slow"), 0, 0, 10_000);
+        LoadTestMetrics raw = new LoadTestMetrics(List.of("slow"), 0, 0, 0);
+        for (int i = 0; i < 9; i++) {
+            corrected.recordStep(0, MS, true, SECOND);
+            raw.recordStep(0, MS, true, SECOND);
+        }
+        corrected.recordStep(0, 100 * MS, true, SECOND);
+        raw.recordStep(0, 100 * MS, true, SECOND);
+
+        LoadTestStatsDTO correctedStats = corrected.snapshot(SECOND).getSteps().get(0);
+        LoadTestStatsDTO rawStats = raw.snapshot(SECOND).getSteps().get(0);
+
+        assertEquals(10, correctedStats.getRequests());
+        assertEquals(1.0, rawStats.getP50Ms(), 0.01);
+        assertTrue(correctedStats.getP90Ms() > 50.0);
+    }
+
+    @Test
+    void testIntervalStatsResetBetweenSnapshots() {
+        LoadTestMetrics metrics = new LoadTestMetrics(List.of("a"), 0, 0, 0);
+        metrics.recordIteration(20 * MS, true, SECOND);
+        metrics.snapshot(SECOND);
+        metrics.recordIteration(40 * MS, false, 2 * SECOND);
+        metrics.recordDropped(2 * SECOND);
+
+        LoadTestSnapshotDTO snapshot = metrics.snapshot(2 * SECOND);
+
+        assertEquals(1, snapshot.getIntervalIterations().getRequests());
+        assertEquals(40.0, snapshot.getIntervalIterations().getMaxMs(), 0.01);
+        // 누적: 반복 2회 + 시작하지 못한 반복 1회(실패)
+        assertEquals(3, snapshot.getIterations().getRequests());
+        assertEquals(2, snapshot.getIterations().getErrors());
+    }
+}
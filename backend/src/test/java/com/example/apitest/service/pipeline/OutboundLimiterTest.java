@@ -0,0 +1,136 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboundLimiterTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void testInFlightLimitQueuesInOrder() throws Exception {
+        OutboundLimiter limiter = new OutboundLimiter(1, 0, 1, timer);
+
+        CompletableFuture<OutboundLimiter.Permit> first = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> second = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> third = limiter.acquire();
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(2, limiter.getQueued());
+
+        first.get().release();
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        // 중복 반납은 무시
+        first.get().release();
+        assertFalse(third.isDone());
+
+        second.get().release();
+        assertTrue(third.isDone());
+        third.get().release();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testTokenBucketSpacesRequests() throws Exception {
+        // 초당 20회, 버스트 1: 두 번째 요청은 약 50ms 뒤에 허가됨
+        OutboundLimiter limiter = new OutboundLimiter(0, 20, 1, timer);
+
+        OutboundLimiter.Permit first = limiter.acquire().get(1, TimeUnit.SECONDS);
+        CompletableFuture<OutboundLimiter.Permit> second = limiter.acquire();
+        assertFalse(second.isDone());
+
+        OutboundLimiter.Permit permit = second.get(1, TimeUnit.SECONDS);
+        assertEquals(0, first.getWaitNanos(), TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(permit.getWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(40), "waited " + permit.getWaitNanos());
+    }
+
+    @Test
+    void testCancelledWaiterIsSkipped() throws Exception {
+        OutboundLimiter limiter = new OutboundLimiter(1, 0, 1, timer);
+
+        CompletableFuture<OutboundLimiter.Permit> first = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> cancelled = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> third = limiter.acquire();
+        cancelled.cancel(false);
+
+        first.get().release();
+        assertTrue(third.isDone());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void testUpdateLimitsKeepsQueueAndAdmitsWaiters() throws Exception {
+        OutboundLimiter limiter = new OutboundLimiter(1, 0, 1, timer);
+
+        CompletableFuture<OutboundLimiter.Permit> first = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> second = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> third = limiter.acquire();
+        assertFalse(second.isDone());
+
+        // 제한이 늘어나면 대기 중인 요청이 순서대로 바로 나감
+        limiter.updateLimits(2, 0);
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(2, limiter.getMaxInFlight());
+
+        // 제한이 줄어들어도 진행 중인 허가는 유지되고, 반납되어 상한 아래로 내려가야 다음 요청이 나감
+        limiter.updateLimits(1, 0);
+        first.get().release();
+        assertFalse(third.isDone());
+        second.get().release();
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    void testIdleOnlyWithoutPermitsOrWaiters() throws Exception {
+        OutboundLimiter limiter = new OutboundLimiter(1, 0, 1, timer);
+        long idleNanos = TimeUnit.MINUTES.toNanos(10);
+
+        CompletableFuture<OutboundLimiter.Permit> first = limiter.acquire();
+        CompletableFuture<OutboundLimiter.Permit> second = limiter.acquire();
+        assertFalse(limiter.isIdle(System.nanoTime() + 2 * idleNanos, idleNanos));
+
+        first.get().release();
+        assertFalse(limiter.isIdle(System.nanoTime() + 2 * idleNanos, idleNanos));
+
+        second.get().release();
+        assertFalse(limiter.isIdle(System.nanoTime(), idleNanos));
+        assertTrue(limiter.isIdle(System.nanoTime() + 2 * idleNanos, idleNanos));
+    }
+
+    @Test
+    void testRulesMatchInOrder() {
+        OutboundLimitRules rules = OutboundLimitRules.parse("api.staging.example.com:8443=2/5, *.staging.example.com=10/50");
+
+        OutboundLimitRules.Rule exact = rules.match("API.staging.example.com", 8443);
+        assertEquals("api.staging.example.com:8443", exact.getPattern());
+        assertEquals(2, exact.getMaxInFlight());
+
+        OutboundLimitRules.Rule wildcard = rules.match("api.staging.example.com", 443);
+        assertEquals("*.staging.example.com", wildcard.getPattern());
+        assertEquals(50.0, wildcard.getPermitsPerSecond(), 0.0001);
+
+        assertNull(rules.match("staging.example.org", 443));
+        assertNull(OutboundLimitRules.parse("").match("localhost", 80));
+    }
+
+    @Test
+    void testInvalidRuleIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> OutboundLimitRules.parse("localhost=10"));
+        assertThrows(IllegalArgumentException.class, () -> OutboundLimitRules.parse("localhost=a/b"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.ApiItem;
+import com.example.apitest.entity.Pipeline;
+import com.example.apitest.entity.PipelineStep;
+import com.example.apitest.repository.PipelineStepRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PipelineExecutionPlanCacheTest {
+
+    private static final Long PIPELINE_ID = 1L;
+
+    @Mock
+    private PipelineStepRepository pipelineStepRepository;
+
+    @Spy
+    private TemplateEngine templateEngine = new TemplateEngine();
+
+    @Spy
+    private ExtractionEngine extractionEngine = new ExtractionEngine();
+
+    @InjectMocks
+    private PipelineExecutionPlanCache planCache;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testPlanIsBuiltOnceUntilInvalidated() {
+        when(pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(PIPELINE_ID))
+                .thenReturn(steps(10L));
+
+        PipelineExecutionPlan first = planCache.planFor(PIPELINE_ID);
+        assertSame(first, planCache.planFor(PIPELINE_ID));
+
+        // 스텝이나 파이프라인 설정 수정
+        planCache.invalidate(PIPELINE_ID);
+        PipelineExecutionPlan rebuilt = planCache.planFor(PIPELINE_ID);
+
+        assertNotSame(first, rebuilt);
+        assertTrue(rebuilt.getVersion() > first.getVersion());
+        verify(pipelineStepRepository, times(2)).findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(PIPELINE_ID);
+    }
+
+    @Test
+    void testApiItemEditInvalidatesOnlyPlansUsingIt() {
+        when(pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(PIPELINE_ID))
+                .thenReturn(steps(10L));
+        PipelineExecutionPlan first = planCache.planFor(PIPELINE_ID);
+
+        planCache.invalidateApiItem(99L);
+        assertSame(first, planCache.planFor(PIPELINE_ID));
+
+        planCache.invalidateApiItem(10L);
+        assertNotSame(first, planCache.planFor(PIPELINE_ID));
+    }
+
+    @Test
+    void testInvalidationInsideTransactionEvictsAgainAfterCommit() {
+        when(pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(PIPELINE_ID))
+                .thenReturn(steps(10L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        planCache.invalidate(PIPELINE_ID);
+        // 커밋 전에 다른 실행이 이전 상태로 계획을 만들어 캐시함
+        PipelineExecutionPlan beforeCommit = planCache.planFor(PIPELINE_ID);
+        assertSame(beforeCommit, planCache.planFor(PIPELINE_ID));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertNotSame(beforeCommit, planCache.planFor(PIPELINE_ID));
+    }
+
+    @Test
+    void testPlanBuiltWhileInvalidatedIsUsedOnceButNotCached() {
+        when(pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(PIPELINE_ID))
+                .thenAnswer(invocation -> {
+                    // 스텝을 읽은 직후 다른 요청이 스텝을 수정함
+                    planCache.invalidate(PIPELINE_ID);
+                    return steps(10L);
+                })
+                .thenReturn(steps(10L, 11L));
+
+        PipelineExecutionPlan stale = planCache.planFor(PIPELINE_ID);
+        PipelineExecutionPlan current = planCache.planFor(PIPELINE_ID);
+
+        assertEquals(1, stale.size());
+        assertNotSame(stale, current);
+        assertEquals(2, current.size());
+        assertSame(current, planCache.planFor(PIPELINE_ID));
+    }
+
+    @Test
+    void testEmptyPlanIsNotCached() {
+        when(pipelineStepRepository.findByIsActiveTrueAndPipelineIdOrderByStepOrderAscWithApiItem(PIPELINE_ID))
+                .thenReturn(List.of())
+                .thenReturn(steps(10L));
+
+        assertTrue(planCache.planFor(PIPELINE_ID).isEmpty());
+        assertEquals(1, planCache.planFor(PIPELINE_ID).size());
+    }
+
+    private static List<PipelineStep> steps(Long... apiItemIds) {
+        Pipeline pipeline = new Pipeline();
+        pipeline.setId(PIPELINE_ID);
+        pipeline.setName("Plan cache");
+        PipelineStep[] steps = new PipelineStep[apiItemIds.length];
+        for (int i = 0; i < apiItemIds.length; i++) {
+            ApiItem apiItem = new ApiItem();
+            apiItem.setId(apiItemIds[i]);
+            apiItem.setName("Item " + apiItemIds[i]);
+            apiItem.setMethod(ApiItem.HttpMethod.GET);
+            apiItem.setUrl("https://api.example.com/items/" + apiItemIds[i]);
+            PipelineStep step = new PipelineStep(pipeline, apiItem, i + 1);
+            step.setId(100L + i);
+            step.setStepName("Step " + (i + 1));
+            steps[i] = step;
+        }
+        return List.of(steps);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseBodiesTest {
+
+    @Test
+    void testDrainsRemainderWithinLimit() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[20_000]);
+        body.read(new byte[100]);
+
+        assertTrue(ResponseBodies.drain(body, 19_900));
+        assertEquals(-1, body.read());
+    }
+
+    @Test
+    void testStopsOnceRemainderExceedsLimit() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[100_000]);
+
+        assertFalse(ResponseBodies.drain(body, 10_000));
+        // 상한에서 한 바이트만 더 읽고 멈춤
+        assertEquals(100_000 - 10_001, body.available());
+    }
+
+    @Test
+    void testEmptyRemainderWithZeroLimit() throws Exception {
+        assertTrue(ResponseBodies.drain(new ByteArrayInputStream(new byte[0]), 0));
+        assertFalse(ResponseBodies.drain(new ByteArrayInputStream(new byte[1]), 0));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCapturePolicyTest {
+
+    private final HttpHeaders headers = HttpHeaders.of(
+            Map.of("content-type", List.of("application/json")), (name, value) -> true);
+
+    @Test
+    void testFullModeKeepsBodiesWithinLimit() {
+        ResponseCapturePolicy policy = new ResponseCapturePolicy(ResponseCapturePolicy.Mode.FULL, 64);
+
+        assertEquals("{\"ok\":true}", policy.captureResponse(200, headers, "{\"ok\":true}", false, -1));
+        assertNull(policy.truncate(null));
+    }
+
+    @Test
+    void testLongBodiesAreTruncatedWithMarker() {
+        ResponseCapturePolicy policy = new ResponseCapturePolicy(ResponseCapturePolicy.Mode.FULL, 10);
+
+        String captured = policy.truncate("0123456789abcdef");
+
+        assertTrue(captured.startsWith("0123456789\n... [truncated"));
+        assertTrue(captured.contains("16 bytes read"));
+    }
+
+    @Test
+    void testTruncationDoesNotSplitMultiByteCharacters() {
+        ResponseCapturePolicy policy = new ResponseCapturePolicy(ResponseCapturePolicy.Mode.FULL, 4);
+
+        // "가나다" = 3 bytes each in UTF-8
+        String captured = policy.truncate("가나다");
+
+        assertTrue(captured.startsWith("가\n"), captured);
+    }
+
+    @Test
+    void testStreamedBodiesKeepReadCount() {
+        ResponseCapturePolicy policy = new ResponseCapturePolicy(ResponseCapturePolicy.Mode.FULL, 1024);
+
+        String captured = policy.captureResponse(200, headers, "{\"items\": [", true, 4096);
+
+        assertEquals("{\"items\": [\n... [truncated, 4096 bytes read]", captured);
+    }
+
+    @Test
+    void testErrorsOnlyModeRecordsHeadersForSuccess() {
+        ResponseCapturePolicy policy = new ResponseCapturePolicy(ResponseCapturePolicy.Mode.ERRORS_ONLY, 1024);
+
+        assertEquals("HTTP 200\ncontent-type: application/json", policy.captureResponse(200, headers, "{}", false, -1));
+        assertEquals("{\"error\":1}", policy.captureResponse(500, headers, "{\"error\":1}", false, -1));
+    }
+
+    @Test
+    void testHeadersOnlyModeNeverRecordsBodies() {
+        ResponseCapturePolicy policy = new ResponseCapturePolicy(ResponseCapturePolicy.Mode.HEADERS_ONLY, 1024);
+
+        assertFalse(policy.capturesBody(500));
+        assertEquals("HTTP 404\ncontent-type: application/json", policy.captureResponse(404, headers, "missing", false, -1));
+    }
+
+    @Test
+    void testBlobCompressionRoundTripAndStableHash() {
+        byte[] body = "{\"status\":\"UP\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = BodyBlobStore.compress(body);
+
+        assertTrue(compressed.length < body.length / 4);
+        assertEquals(new String(body, StandardCharsets.UTF_8),
+                new String(BodyBlobStore.decompress(compressed), StandardCharsets.UTF_8));
+        assertEquals(BodyBlobStore.hash(body), BodyBlobStore.hash(body.clone()));
+        assertEquals(64, BodyBlobStore.hash(body).length());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEmptyPolicyNeverRetries() {
+        RetryPolicy policy = RetryPolicy.parse(null, objectMapper);
+
+        assertSame(RetryPolicy.NONE, policy);
+        assertFalse(policy.shouldRetry(1, "GET", 503, new Exception("HTTP 503 error")));
+    }
+
+    @Test
+    void testRetriesConfiguredStatusesForIdempotentMethods() {
+        RetryPolicy policy = RetryPolicy.parse("{\"maxAttempts\": 3, \"retryOn\": [503]}", objectMapper);
+
+        assertTrue(policy.shouldRetry(1, "GET", 503, new Exception("HTTP 503 error")));
+        assertTrue(policy.shouldRetry(2, "delete", 503, new Exception("HTTP 503 error")));
+        assertFalse(policy.shouldRetry(3, "GET", 503, new Exception("HTTP 503 error")));
+        assertFalse(policy.shouldRetry(1, "GET", 502, new Exception("HTTP 502 error")));
+        assertFalse(policy.shouldRetry(1, "POST", 503, new Exception("HTTP 503 error")));
+    }
+
+    @Test
+    void testIoErrorsAreRetriedButOpenCircuitIsNot() {
+        RetryPolicy policy = RetryPolicy.parse("{\"maxAttempts\": 2, \"retryNonIdempotent\": true}", objectMapper);
+
+        assertTrue(policy.shouldRetry(1, "POST", null, new ConnectException("refused")));
+        assertFalse(policy.shouldRetry(1, "POST", null, new CircuitOpenException("api:443", 1000)));
+        assertFalse(policy.shouldRetry(1, "POST", null, new IllegalArgumentException("bad template")));
+    }
+
+    @Test
+    void testBackoffGrowsAndIsCapped() {
+        RetryPolicy policy = RetryPolicy.parse(
+                "{\"maxAttempts\": 5, \"backoffMs\": 100, \"maxBackoffMs\": 300, \"multiplier\": 2, \"jitter\": 0}", objectMapper);
+
+        assertEquals(100, policy.backoffMillis(1));
+        assertEquals(200, policy.backoffMillis(2));
+        assertEquals(300, policy.backoffMillis(3));
+        assertEquals(300, policy.backoffMillis(4));
+    }
+
+    @Test
+    void testJitterOnlyShortensBackoff() {
+        RetryPolicy policy = RetryPolicy.parse("{\"maxAttempts\": 3, \"backoffMs\": 1000, \"jitter\": 0.5}", objectMapper);
+
+        for (int i = 0; i < 100; i++) {
+            long backoff = policy.backoffMillis(1);
+            assertTrue(backoff >= 500 && backoff <= 1000, "backoff " + backoff);
+        }
+    }
+
+    @Test
+    void testInvalidPolicyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.parse("{\"maxAttempts\": 0}", objectMapper));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.parse("[1, 2]", objectMapper));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.parse("not json", objectMapper));
+    }
+
+    @Test
+    void testCircuitOpenExceptionIsAnIoError() {
+        assertTrue(IOException.class.isAssignableFrom(CircuitOpenException.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.apitest.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StepDependencyGraphTest {
+
+    private static StepDependencyGraph.StepNode node(long id, Set<String> references, Set<String> provides) {
+        return new StepDependencyGraph.StepNode(id, references, provides, null);
+    }
+
+    @Test
+    void testDependenciesInferredFromVariables() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+                node(1, Set.of(), Set.of("token")),
+                node(2, Set.of("token"), Set.of("userId")),
+                node(3, Set.of("token"), Set.of()),
+                node(4, Set.of("userId", "unknown"), Set.of())));
+
+        assertArrayEquals(new int[0], graph.dependenciesOf(0));
+        assertArrayEquals(new int[]{0}, graph.dependenciesOf(1));
+        assertArrayEquals(new int[]{0}, graph.dependenciesOf(2));
+        assertArrayEquals(new int[]{1}, graph.dependenciesOf(3));
+        assertArrayEquals(new int[]{1, 2}, graph.dependentsOf(0));
+        assertEquals(3, graph.criticalPathLength());
+    }
+
+    @Test
+    void testLatestProviderWins() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+                node(1, Set.of(), Set.of("token")),
+                node(2, Set.of(), Set.of("token")),
+                node(3, Set.of("token"), Set.of())));
+
+        assertArrayEquals(new int[]{1}, graph.dependenciesOf(2));
+    }
+
+    @Test
+    void testExplicitDependenciesOverrideInference() {
+        StepDependencyGraph graph = StepDependencyGraph.build(List.of(
+                node(10, Set.of(), Set.of("token")),
+                node(20, Set.of(), Set.of()),
+                new StepDependencyGraph.StepNode(30L, Set.of("token"), Set.of(), List.of(20L)),
+                new StepDependencyGraph.StepNode(40L, Set.of("token"), Set.of(), List.of())));
+
+        assertArrayEquals(new int[]{1}, graph.dependenciesOf(2));
+        assertArrayEquals(new int[0], graph.dependenciesOf(3));
+    }
+
+    @Test
+    void testExplicitDependencyMustRunEarlier() {
+        assertThrows(IllegalArgumentException.class, () -> StepDependencyGraph.build(List.of(
+                new StepDependencyGraph.StepNode(1L, Set.of(), Set.of(), List.of(2L)),
+                node(2, Set.of(), Set.of()))));
+        assertThrows(IllegalArgumentException.class, () -> StepDependencyGraph.build(List.of(
+                new StepDependencyGraph.StepNode(1L, Set.of(), Set.of(), List.of(99L)))));
+    }
+
+    @Test
+    void testParseStepIds() {
+        assertNull(StepDependencyGraph.parseStepIds(null));
+        assertEquals(List.of(), StepDependencyGraph.parseStepIds(""));
+        assertEquals(List.of(12L, 15L), StepDependencyGraph.parseStepIds("12, 15"));
+        assertEquals("12,15", StepDependencyGraph.formatStepIds(List.of(12L, 15L)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.apitest.service.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingExtractionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String RESPONSE = "{"
+            + "\"meta\": {\"page\": 1, \"next\": null},"
+            + "\"token\": \"abc\","
+            + "\"data\": {\"items\": ["
+            + "  {\"id\": 1, \"name\": \"first\", \"tags\": [\"a\", \"b\"]},"
+            + "  {\"id\": 2, \"name\": \"second\"}"
+            + "], \"0\": \"zero-key\"},"
+            + "\"trailer\": \"" + "x".repeat(50_000) + "\""
+            + "}";
+
+    private CompiledExtractionRules rules(String... pairs) {
+        Map<String, JsonPathExpression> rules = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            rules.put(pairs[i], JsonPathExpression.compile(pairs[i + 1]));
+        }
+        return new CompiledExtractionRules("test", rules);
+    }
+
+    private Map<String, Object> stream(CompiledExtractionRules rules, CapturingInputStream in) throws Exception {
+        return rules.extract(in, objectMapper);
+    }
+
+    private CapturingInputStream input(String json) {
+        return new CapturingInputStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), 1024);
+    }
+
+    @Test
+    void testStreamingMatchesTreeExtraction() throws Exception {
+        CompiledExtractionRules rules = rules(
+                "token", "token",
+                "firstId", "data.items.0.id",
+                "secondName", "$.data.items[1].name",
+                "tags", "$.data.items[0].tags",
+                "zeroKey", "data.0",
+                "next", "meta.next",
+                "missing", "data.items.5.id");
+        assertTrue(rules.isStreamable());
+
+        Map<String, Object> streamed = stream(rules, input(RESPONSE));
+        Map<String, Object> tree = rules.extract(objectMapper.readTree(RESPONSE));
+
+        assertEquals(tree, streamed);
+        assertEquals("abc", streamed.get("token"));
+        assertEquals("1", streamed.get("firstId"));
+        assertEquals("zero-key", streamed.get("zeroKey"));
+        assertFalse(streamed.containsKey("missing"));
+    }
+
+    @Test
+    void testNestedRulesUnderCapturedValue() throws Exception {
+        CompiledExtractionRules rules = rules(
+                "item", "data.items.0",
+                "itemName", "data.items.0.name");
+
+        Map<String, Object> streamed = stream(rules, input(RESPONSE));
+
+        assertEquals(rules.extract(objectMapper.readTree(RESPONSE)), streamed);
+        assertEquals("first", streamed.get("itemName"));
+    }
+
+    @Test
+    void testDuplicateKeysKeepLastValueLikeTreeExtraction() throws Exception {
+        // 대상을 모두 찾은 뒤에 나오는 중복 키도 반영되어야 함
+        String json = "{"
+                + "\"token\": \"first\","
+                + "\"meta\": {\"page\": 1, \"page\": 2},"
+                + "\"data\": {\"id\": 1, \"name\": \"old\"},"
+                + "\"trailer\": \"" + "x".repeat(50_000) + "\","
+                + "\"token\": \"second\","
+                + "\"data\": {\"id\": 2}"
+                + "}";
+        CompiledExtractionRules rules = rules(
+                "token", "token",
+                "page", "meta.page",
+                "id", "data.id",
+                "name", "data.name",
+                "data", "data");
+        CapturingInputStream in = input(json);
+
+        Map<String, Object> streamed = stream(rules, in);
+
+        assertEquals(rules.extract(objectMapper.readTree(json)), streamed);
+        assertEquals("second", streamed.get("token"));
+        assertEquals("2", streamed.get("page"));
+        assertEquals("2", streamed.get("id"));
+        assertFalse(streamed.containsKey("name"));
+    }
+
+    @Test
+    void testFillCaptureRecordsSmallBodiesCompletely() throws Exception {
+        String small = "{\"token\": \"abc\", \"rest\": [1, 2, 3]}";
+        CapturingInputStream in = input(small);
+
+        stream(rules("token", "token"), in);
+        in.fillCapture();
+
+        assertEquals(small, in.getCapturedText());
+        assertFalse(in.isTruncated());
+    }
+
+    @Test
+    void testNonSimplePathsAreNotStreamable() {
+        assertFalse(rules("ids", "$.data.items[*].id").isStreamable());
+        assertFalse(rules("last", "$.data.items[-1].id").isStreamable());
+        assertFalse(rules("count", "$.data.items.length()").isStreamable());
+        assertTrue(rules("id", "$.data.items[0].id").isStreamable());
+    }
+}
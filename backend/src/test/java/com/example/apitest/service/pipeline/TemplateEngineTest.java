@@ -0,0 +1,41 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.ApiItem;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemplateEngineTest {
+
+    private final TemplateEngine templateEngine = new TemplateEngine();
+
+    private static ApiItem item(String body) {
+        ApiItem apiItem = new ApiItem("item", ApiItem.HttpMethod.POST, "http://localhost/api");
+        apiItem.setRequestHeaders("{\"Authorization\": \"Bearer {{token}}\"}");
+        apiItem.setRequestBody(body);
+        return apiItem;
+    }
+
+    @Test
+    void testStaticBodyContentTypeIsResolvedAtCompileTime() throws Exception {
+        assertEquals("application/json", templateEngine.compile(item("{\"name\": \"a\"}")).getBodyContentType());
+        assertEquals("text/plain", templateEngine.compile(item("name=a")).getBodyContentType());
+        assertNull(templateEngine.compile(item("  ")).getBody());
+    }
+
+    @Test
+    void testJsonShapedTemplateIsResolvedAtCompileTime() throws Exception {
+        ApiItemTemplates templates = templateEngine.compile(item("{\"id\": {{id}}, \"name\": \"{{name}}\", \"tags\": {{tags}}}"));
+        assertEquals("application/json", templates.getBodyContentType());
+        assertEquals("Bearer {{token}}", templates.getHeaders().get("Authorization").getSource());
+    }
+
+    @Test
+    void testValueDependentBodyIsDecidedPerRequest() throws Exception {
+        // 본문 전체가 변수이면 값에 따라 JSON 일 수도, 텍스트일 수도 있음
+        ApiItemTemplates templates = templateEngine.compile(item("{{payload}}"));
+        assertNull(templates.getBodyContentType());
+        assertEquals("application/json", templateEngine.guessContentType("{\"a\": 1}"));
+        assertEquals("text/plain", templateEngine.guessContentType("hello"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.apitest.service.pipeline;
+
+import com.example.apitest.entity.Pipeline;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VariableScopeTest {
+
+    @Test
+    void testStepValuesAccumulateAndStayQualified() {
+        VariableScope scope = VariableScope.EMPTY
+                .withStep(1, Map.of("userId", 42, "token", "t1"))
+                .withStep(2, Map.of("orderId", 7))
+                .withStep(3, Map.of("token", "t3"));
+
+        assertEquals(42, scope.get("userId"));
+        assertEquals("t3", scope.get("token"));
+        assertEquals("t1", scope.get("steps.1.token"));
+        assertEquals(7, scope.get("steps.2.orderId"));
+        assertNull(scope.get("steps.2.token"));
+    }
+
+    @Test
+    void testEarlierScopesAreNotChanged() {
+        VariableScope first = VariableScope.of(Map.of("token", "t1"));
+        VariableScope second = first.with("token", "t2").with("extra", true);
+
+        assertEquals("t1", first.get("token"));
+        assertEquals(1, first.size());
+        assertEquals("t2", second.get("token"));
+        assertEquals(2, second.size());
+        assertSame(second, second.with("extra", Boolean.TRUE));
+    }
+
+    @Test
+    void testMatchesHashMapForManyKeys() {
+        Map<String, Object> expected = new HashMap<>();
+        VariableScope scope = VariableScope.EMPTY;
+        for (int i = 0; i < 5000; i++) {
+            expected.put("key" + (i % 3000), i);
+            scope = scope.with("key" + (i % 3000), i);
+        }
+
+        assertEquals(expected.size(), scope.size());
+        assertEquals(expected, new HashMap<>(scope));
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), scope.get(entry.getKey()));
+        }
+        assertFalse(scope.containsKey("key3000"));
+    }
+
+    @Test
+    void testKeysWithSameHashCode() {
+        // "Aa" and "BB" have the same String.hashCode
+        VariableScope scope = VariableScope.EMPTY.with("Aa", 1).with("BB", 2).with("AaAa", 3).with("BBBB", 4).with("Aa", 5);
+
+        assertEquals(5, scope.get("Aa"));
+        assertEquals(2, scope.get("BB"));
+        assertEquals(3, scope.get("AaAa"));
+        assertEquals(4, scope.get("BBBB"));
+        assertEquals(4, scope.size());
+    }
+
+    @Test
+    void testNullValuesAreKept() {
+        VariableScope scope = VariableScope.of(Map.of("token", "t1"));
+        Map<String, Object> extracted = new HashMap<>();
+        extracted.put("token", null);
+
+        VariableScope updated = scope.withStep(2, extracted);
+
+        assertTrue(updated.containsKey("token"));
+        assertNull(updated.get("token"));
+    }
+
+    @Test
+    void testFactoryAddsEnvironmentPipelineAndDatasetScopes() {
+        VariableScopeFactory factory = new VariableScopeFactory(Map.of("base-url", "https://staging.example.com"));
+        Pipeline pipeline = new Pipeline();
+        pipeline.setId(3L);
+        pipeline.setName("checkout");
+
+        VariableScope scope = factory.forExecution(pipeline, 11L, Map.of("email", "a@example.com"));
+
+        assertEquals("https://staging.example.com", scope.get("env.base-url"));
+        assertEquals(3L, scope.get("pipeline.id"));
+        assertEquals("checkout", scope.get("pipeline.name"));
+        assertEquals(11L, scope.get("execution.id"));
+        assertEquals("a@example.com", scope.get("dataset.email"));
+        assertEquals("a@example.com", scope.get("email"));
+    }
+}
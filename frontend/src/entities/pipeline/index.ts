@@ -5,5 +5,6 @@ export type {
   ApiItem, 
   CreateStepRequest,
   PipelineExecution,
-  StepExecution 
+  StepExecution,
+  PipelineExecutionEvent
 } from './types';
\ No newline at end of file
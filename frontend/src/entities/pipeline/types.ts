@@ -55,7 +55,7 @@ export interface CreateStepRequest {
 export interface PipelineExecution {
   id: number;
   pipelineId: number;
-  status: 'RUNNING' | 'COMPLETED' | 'FAILED';
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
   totalSteps: number;
   completedSteps: number;
   successfulSteps: number;
@@ -80,4 +80,27 @@ export interface StepExecution {
   startedAt?: Date;
   completedAt?: Date;
   errorMessage?: string;
+}
+
+// /topic/pipeline-executions/{id} 로 수신되는 진행 이벤트 (본문 미포함)
+export interface PipelineExecutionEvent {
+  type: 'STEP' | 'EXECUTION';
+  executionId: number;
+  executionStatus: PipelineExecution['status'];
+  totalSteps: number;
+  completedSteps: number;
+  successfulSteps: number;
+  failedSteps: number;
+  stepExecutionId?: number;
+  stepOrder?: number;
+  stepName?: string;
+  stepStatus?: StepExecution['status'];
+  httpStatus?: number;
+  // 본문 해시: stepExecutionId 는 기록 전이면 없으므로 본문은 해시로 조회
+  requestBlobHash?: string;
+  responseBlobHash?: string;
+  responseTime?: number;
+  extractedKeys?: string[];
+  errorMessage?: string;
+  timestamp: number;
 }
\ No newline at end of file
@@ -86,15 +86,37 @@ export const pipelineApi = {
     }
   },
 
-  async getStepExecutions(executionId: number): Promise<StepExecution[]> {
+  async getStepExecutions(executionId: number, includeBodies: boolean = true): Promise<StepExecution[]> {
     try {
-      const response = await pipelineApiClient.get(`/pipelines/executions/${executionId}/steps`);
+      const response = await pipelineApiClient.get(`/pipelines/executions/${executionId}/steps`, {
+        params: { includeBodies }
+      });
       return response.data;
     } catch (error) {
       throw error;
     }
   },
 
+  // 진행 목록에는 본문이 없으므로 필요할 때 스텝 하나의 요청/응답 본문만 조회
+  async getStepExecutionBodies(executionId: number, stepExecutionId: number): Promise<{ requestData?: string; responseData?: string }> {
+    try {
+      const response = await pipelineApiClient.get(`/pipelines/executions/${executionId}/steps/${stepExecutionId}/bodies`);
+      return response.data;
+    } catch (error) {
+      throw error;
+    }
+  },
+
+  // 진행 이벤트의 본문 해시로 조회 (아직 기록되지 않은 스텝도 가능)
+  async getExecutionBody(executionId: number, hash: string): Promise<string | undefined> {
+    try {
+      const response = await pipelineApiClient.get(`/pipelines/executions/${executionId}/bodies/${hash}`);
+      return response.data?.data;
+    } catch (error) {
+      throw error;
+    }
+  },
+
   async getExecutionHistory(pipelineId: number): Promise<PipelineExecution[]> {
     try {
       const response = await pipelineApiClient.get(`/pipelines/${pipelineId}/executions/history`);
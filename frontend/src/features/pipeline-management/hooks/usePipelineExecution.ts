@@ -1,6 +1,12 @@
 import { useState, useCallback, useRef } from 'react';
 import { pipelineApi } from '../api/pipelineApi';
-import { PipelineExecution, StepExecution } from '@/entities/pipeline';
+import { pipelineExecutionSocket } from '../lib/pipelineExecutionSocket';
+import { PipelineExecution, PipelineExecutionEvent, StepExecution } from '@/entities/pipeline';
+
+const TERMINAL_STATUSES = ['COMPLETED', 'FAILED', 'CANCELLED'];
+// WebSocket 연결이 안 될 때만 사용하는 폴링 (본문 제외 목록 조회)
+const FALLBACK_DELAY_MS = 3000;
+const FALLBACK_POLL_INTERVAL_MS = 2000;
 
 export const usePipelineExecution = () => {
   const [currentExecution, setCurrentExecution] = useState<PipelineExecution | null>(null);
@@ -8,68 +14,144 @@ export const usePipelineExecution = () => {
   const [isExecuting, setIsExecuting] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const pollingRef = useRef<NodeJS.Timeout | null>(null);
+  const fallbackRef = useRef<NodeJS.Timeout | null>(null);
+  const unsubscribeRef = useRef<(() => void) | null>(null);
 
-  const startExecution = useCallback(async (pipelineId: number) => {
-    try {
-      setIsExecuting(true);
-      setError(null);
+  const stopTracking = useCallback(() => {
+    if (pollingRef.current) {
+      clearInterval(pollingRef.current);
+      pollingRef.current = null;
+    }
+    if (fallbackRef.current) {
+      clearTimeout(fallbackRef.current);
+      fallbackRef.current = null;
+    }
+    if (unsubscribeRef.current) {
+      unsubscribeRef.current();
+      unsubscribeRef.current = null;
+    }
+  }, []);
 
-      const execution = await pipelineApi.executePipeline(pipelineId);
-      
+  // 실행/스텝 목록을 한 번 조회해서 상태를 맞춘다. 종료 상태면 추적을 멈춘다.
+  const syncExecution = useCallback(async (executionId: number) => {
+    try {
+      const execution = await pipelineApi.getExecutionStatus(executionId);
       setCurrentExecution(execution);
-      
-      // Start polling for status updates
-      startPolling(execution.id);
-      
-      return execution;
+
+      const steps = await pipelineApi.getStepExecutions(executionId, false);
+      setStepExecutions(steps);
+
+      if (TERMINAL_STATUSES.includes(execution.status)) {
+        stopTracking();
+        setIsExecuting(false);
+      }
     } catch (err: any) {
-      setError(err.message || 'Failed to start pipeline execution');
+      setError(err.message || 'Failed to get execution status');
+      stopTracking();
       setIsExecuting(false);
-      throw err;
     }
-  }, []);
+  }, [stopTracking]);
+
+  const applyEvent = useCallback((event: PipelineExecutionEvent) => {
+    setCurrentExecution(prev => prev ? {
+      ...prev,
+      status: event.executionStatus,
+      totalSteps: event.totalSteps,
+      completedSteps: event.completedSteps,
+      successfulSteps: event.successfulSteps,
+      failedSteps: event.failedSteps,
+      errorMessage: event.type === 'EXECUTION' ? event.errorMessage : prev.errorMessage
+    } : prev);
+
+    if (event.type === 'STEP' && event.stepOrder !== undefined && event.stepStatus) {
+      setStepExecutions(prev => {
+        const index = prev.findIndex(step => step.stepOrder === event.stepOrder);
+        const base: StepExecution = index >= 0 ? prev[index] : {
+          id: event.stepExecutionId ?? -(event.stepOrder ?? 0),
+          executionId: event.executionId,
+          stepOrder: event.stepOrder!,
+          stepName: event.stepName || `Step ${event.stepOrder}`,
+          status: event.stepStatus!
+        };
+        const updated: StepExecution = {
+          ...base,
+          id: event.stepExecutionId ?? base.id,
+          status: event.stepStatus!,
+          httpStatus: event.httpStatus,
+          responseTime: event.responseTime,
+          errorMessage: event.errorMessage
+        };
+        const next = index >= 0 ? [...prev] : [...prev, updated];
+        if (index >= 0) {
+          next[index] = updated;
+        }
+        return next.sort((a, b) => a.stepOrder - b.stepOrder);
+      });
+    }
+
+    // 종료 이벤트는 최종 기록 이후에 오므로 추출 데이터 등을 한 번 조회
+    if (event.type === 'EXECUTION' && TERMINAL_STATUSES.includes(event.executionStatus)) {
+      syncExecution(event.executionId);
+    }
+  }, [syncExecution]);
 
   const startPolling = useCallback((executionId: number) => {
     if (pollingRef.current) {
       clearInterval(pollingRef.current);
     }
+    pollingRef.current = setInterval(() => syncExecution(executionId), FALLBACK_POLL_INTERVAL_MS);
+  }, [syncExecution]);
 
-    pollingRef.current = setInterval(async () => {
-      try {
-        // Get execution status
-        const execution = await pipelineApi.getExecutionStatus(executionId);
-        setCurrentExecution(execution);
-
-        // Get step executions
-        const steps = await pipelineApi.getStepExecutions(executionId);
-        setStepExecutions(steps);
+  const startExecution = useCallback(async (pipelineId: number) => {
+    try {
+      stopTracking();
+      setIsExecuting(true);
+      setError(null);
+      setStepExecutions([]);
 
-        // Stop polling if execution is completed or failed
-        if (execution.status === 'COMPLETED' || execution.status === 'FAILED') {
-          setIsExecuting(false);
+      const execution = await pipelineApi.executePipeline(pipelineId);
+      
+      setCurrentExecution(execution);
+      
+      // 실행별 토픽 구독; (재)구독 직후 한 번 동기화해서 구독 전이나 연결이 끊긴 동안 지나간 이벤트를 보완
+      unsubscribeRef.current = pipelineExecutionSocket.subscribe(
+        execution.id,
+        applyEvent,
+        () => {
+          if (fallbackRef.current) {
+            clearTimeout(fallbackRef.current);
+            fallbackRef.current = null;
+          }
           if (pollingRef.current) {
             clearInterval(pollingRef.current);
             pollingRef.current = null;
           }
+          syncExecution(execution.id);
+        },
+        // 실행 중에 연결이 끊기면 재연결될 때까지 폴링
+        () => startPolling(execution.id)
+      );
+
+      // WebSocket 을 쓸 수 없으면 폴링으로 대체
+      fallbackRef.current = setTimeout(() => {
+        fallbackRef.current = null;
+        if (!pipelineExecutionSocket.isConnected()) {
+          startPolling(execution.id);
         }
-      } catch (err: any) {
-        setError(err.message || 'Failed to get execution status');
-        setIsExecuting(false);
-        if (pollingRef.current) {
-          clearInterval(pollingRef.current);
-          pollingRef.current = null;
-        }
-      }
-    }, 1000); // Poll every second
-  }, []);
+      }, FALLBACK_DELAY_MS);
+      
+      return execution;
+    } catch (err: any) {
+      setError(err.message || 'Failed to start pipeline execution');
+      setIsExecuting(false);
+      throw err;
+    }
+  }, [applyEvent, startPolling, stopTracking, syncExecution]);
 
   const stopPolling = useCallback(() => {
-    if (pollingRef.current) {
-      clearInterval(pollingRef.current);
-      pollingRef.current = null;
-    }
+    stopTracking();
     setIsExecuting(false);
-  }, []);
+  }, [stopTracking]);
 
   const resetExecution = useCallback(() => {
     stopPolling();
@@ -78,13 +160,10 @@ export const usePipelineExecution = () => {
     setError(null);
   }, [stopPolling]);
 
-  // Cleanup polling on unmount
+  // Cleanup subscriptions and polling on unmount
   const cleanup = useCallback(() => {
-    if (pollingRef.current) {
-      clearInterval(pollingRef.current);
-      pollingRef.current = null;
-    }
-  }, []);
+    stopTracking();
+  }, [stopTracking]);
 
   return {
     currentExecution,
@@ -96,4 +175,4 @@ export const usePipelineExecution = () => {
     resetExecution,
     cleanup
   };
-};
\ No newline at end of file
+};
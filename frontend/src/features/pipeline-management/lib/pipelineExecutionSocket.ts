@@ -0,0 +1,110 @@
+import { Client, IMessage, StompSubscription } from '@stomp/stompjs';
+import SockJS from 'sockjs-client';
+import { API_CONFIG } from '../../../config/api';
+import { PipelineExecutionEvent } from '@/entities/pipeline';
+
+interface ExecutionSubscription {
+  executionId: number;
+  onEvent: (event: PipelineExecutionEvent) => void;
+  onSubscribed?: () => void;
+  onDisconnected?: () => void;
+  subscription: StompSubscription | null;
+}
+
+// 파이프라인 실행 진행 이벤트 구독 (/topic/pipeline-executions/{id})
+// 구독 목록을 유지해서 자동 재연결(reconnectDelay) 후 다시 구독한다.
+class PipelineExecutionSocket {
+  private client: Client | null = null;
+  private connected = false;
+  private subscriptions = new Set<ExecutionSubscription>();
+
+  private connect(): void {
+    if (this.client) {
+      return;
+    }
+
+    this.client = new Client({
+      webSocketFactory: () => new SockJS(`${API_CONFIG.BASE_URL}/ws`),
+      reconnectDelay: 5000,
+      heartbeatIncoming: 4000,
+      heartbeatOutgoing: 4000,
+      onConnect: () => {
+        this.connected = true;
+        this.subscriptions.forEach((entry) => this.doSubscribe(entry));
+      },
+      onDisconnect: () => {
+        this.disconnected();
+      },
+      onWebSocketClose: () => {
+        this.disconnected();
+      },
+      onStompError: (frame) => {
+        console.error('[PipelineExecutionSocket] STOMP error:', frame);
+      },
+    });
+
+    this.client.activate();
+  }
+
+  // 연결이 끊기면 기존 구독은 무효가 되므로 버리고, 재연결될 때까지 구독자가 폴링하도록 알린다
+  private disconnected(): void {
+    if (!this.connected) {
+      return;
+    }
+    this.connected = false;
+    this.subscriptions.forEach((entry) => {
+      entry.subscription = null;
+      entry.onDisconnected?.();
+    });
+  }
+
+  private doSubscribe(entry: ExecutionSubscription): void {
+    if (!this.client || !this.connected || !this.subscriptions.has(entry)) {
+      return;
+    }
+    entry.subscription = this.client.subscribe(`/topic/pipeline-executions/${entry.executionId}`, (message: IMessage) => {
+      try {
+        entry.onEvent(JSON.parse(message.body));
+      } catch (error) {
+        console.error('Failed to parse pipeline execution event:', error);
+      }
+    });
+    // 구독 전(또는 연결이 끊긴 동안) 지나간 이벤트는 구독자가 한 번 조회해서 보완
+    entry.onSubscribed?.();
+  }
+
+  isConnected(): boolean {
+    return this.connected;
+  }
+
+  /**
+   * 실행 하나의 이벤트를 구독한다. 연결 전이면 연결 후 구독하고, 재연결될 때마다 다시 구독한다.
+   * onSubscribed 는 (재)구독할 때마다, onDisconnected 는 연결이 끊길 때마다 호출된다. 반환된 함수로 해제한다.
+   */
+  subscribe(
+    executionId: number,
+    onEvent: (event: PipelineExecutionEvent) => void,
+    onSubscribed?: () => void,
+    onDisconnected?: () => void
+  ): () => void {
+    this.connect();
+
+    const entry: ExecutionSubscription = { executionId, onEvent, onSubscribed, onDisconnected, subscription: null };
+    this.subscriptions.add(entry);
+    if (this.connected) {
+      this.doSubscribe(entry);
+    }
+
+    return () => {
+      this.subscriptions.delete(entry);
+      if (entry.subscription) {
+        if (this.connected) {
+          entry.subscription.unsubscribe();
+        }
+        entry.subscription = null;
+      }
+    };
+  }
+}
+
+export const pipelineExecutionSocket = new PipelineExecutionSocket();
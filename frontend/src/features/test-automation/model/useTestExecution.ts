@@ -167,14 +167,14 @@ export const useTestExecution = () => {
         executionResult = await pipelineApi.getExecutionResults(response.id.toString());
         attempts++;
       } while (
-        (executionResult.status === 'RUNNING' || executionResult.status === 'PENDING') && 
+        (executionResult.status === 'QUEUED' || executionResult.status === 'RUNNING' || executionResult.status === 'PENDING') && 
         attempts < maxAttempts
       );
       
       const endTime = Date.now();
       
       // 시간 초과 체크
-      if (attempts >= maxAttempts && (executionResult.status === 'RUNNING' || executionResult.status === 'PENDING')) {
+      if (attempts >= maxAttempts && (executionResult.status === 'QUEUED' || executionResult.status === 'RUNNING' || executionResult.status === 'PENDING')) {
         return {
           status: 'failed',
           stepExecutions: [],